@@ -0,0 +1,103 @@
+/*
+ * Copyright (C) by MinterTeam. 2019
+ * @link <a href="https://github.com/MinterTeam">Org Github</a>
+ * @link <a href="https://github.com/edwardstock">Maintainer Github</a>
+ *
+ * The MIT License
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package network.minter.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+
+import network.minter.blockchain.models.operational.BatchSigner;
+import network.minter.blockchain.models.operational.OperationInvalidDataException;
+import network.minter.blockchain.models.operational.Transaction;
+import network.minter.blockchain.models.operational.TransactionSign;
+import network.minter.core.MinterSDK;
+import network.minter.core.crypto.MinterAddress;
+import network.minter.core.crypto.PrivateKey;
+import network.minter.core.internal.exceptions.NativeLoadException;
+
+/**
+ * minter-android-benchmarks. 2019
+ * <p>
+ * Payout signing throughput: one-by-one {@link Transaction#signSingle(PrivateKey)} against {@link BatchSigner}.
+ * Score is time per transaction. Requires native secp256k1 library.
+ *
+ * @author Eduard Maximovich <edward.vstock@gmail.com>
+ */
+@State(Scope.Benchmark)
+public class BatchSignerBenchmark {
+    private static final int BATCH = 1024;
+
+    private PrivateKey mPrivateKey;
+    private Transaction mTemplate;
+    private List<BatchSigner.Payout> mPayouts;
+    private List<Transaction> mTransactions;
+    private BatchSigner mSigner;
+
+    @Setup
+    public void setUp() throws NativeLoadException, OperationInvalidDataException {
+        MinterSDK.initialize();
+        mPrivateKey = Fixtures.privateKey();
+        mTemplate = Fixtures.sendTransaction();
+        mSigner = new BatchSigner();
+        mPayouts = new ArrayList<>(BATCH);
+        mTransactions = new ArrayList<>(BATCH);
+        final MinterAddress to = new MinterAddress(Fixtures.ADDRESS);
+        for (int i = 0; i < BATCH; i++) {
+            mPayouts.add(new BatchSigner.Payout(BigInteger.valueOf(i + 1), to, new BigDecimal(i + 1)));
+            mTransactions.add(Fixtures.sendTransaction());
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public List<TransactionSign> sequential() {
+        final List<TransactionSign> out = new ArrayList<>(BATCH);
+        for (Transaction tx : mTransactions) {
+            out.add(tx.signSingle(mPrivateKey));
+        }
+        return out;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public List<TransactionSign> batch() {
+        return mSigner.signSingle(mTransactions, mPrivateKey);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public List<TransactionSign> batchFromTemplate() {
+        return mSigner.signSendCoin(mTemplate, mPayouts, mPrivateKey);
+    }
+}
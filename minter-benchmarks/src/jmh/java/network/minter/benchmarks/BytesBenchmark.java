@@ -0,0 +1,98 @@
+/*
+ * Copyright (C) by MinterTeam. 2019
+ * @link <a href="https://github.com/MinterTeam">Org Github</a>
+ * @link <a href="https://github.com/edwardstock">Maintainer Github</a>
+ *
+ * The MIT License
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package network.minter.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import network.minter.core.crypto.BytesData;
+import network.minter.core.crypto.MinterAddress;
+import network.minter.core.crypto.MinterHash;
+
+/**
+ * minter-android-benchmarks. 2019
+ * <p>
+ * Hex encoding and parsing of bytes, addresses and transaction hashes
+ *
+ * @author Eduard Maximovich <edward.vstock@gmail.com>
+ */
+@State(Scope.Benchmark)
+public class BytesBenchmark {
+    private BytesData mHash;
+    private BytesData mTx;
+    private String mAddress;
+    private String mTxHash;
+    private MinterAddress mParsedAddress;
+    private final StringBuilder mBuilder = new StringBuilder(128);
+
+    @Setup
+    public void setUp() {
+        mHash = new BytesData(Fixtures.data(32));
+        mTx = new BytesData(Fixtures.data(200));
+        mAddress = Fixtures.ADDRESS;
+        mTxHash = mHash.toHexString("Mt");
+        mParsedAddress = new MinterAddress(mAddress);
+    }
+
+    @Benchmark
+    public String hashToHexString() {
+        return mHash.toHexString();
+    }
+
+    @Benchmark
+    public String txToHexString() {
+        return mTx.toHexString();
+    }
+
+    @Benchmark
+    public MinterAddress parseAddress() {
+        return new MinterAddress(mAddress);
+    }
+
+    @Benchmark
+    public String addressToString() {
+        return new MinterAddress(mAddress).toString();
+    }
+
+    @Benchmark
+    public boolean testAddress() {
+        return MinterAddress.testString(mAddress);
+    }
+
+    @Benchmark
+    public MinterHash parseTxHash() {
+        return new MinterHash(mTxHash);
+    }
+
+    @Benchmark
+    public StringBuilder appendAddress() {
+        mBuilder.setLength(0);
+        return mParsedAddress.appendHexTo(mBuilder, "Mx");
+    }
+}
@@ -0,0 +1,103 @@
+/*
+ * Copyright (C) by MinterTeam. 2019
+ * @link <a href="https://github.com/MinterTeam">Org Github</a>
+ * @link <a href="https://github.com/edwardstock">Maintainer Github</a>
+ *
+ * The MIT License
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package network.minter.benchmarks;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+
+import network.minter.blockchain.models.operational.BlockchainID;
+import network.minter.blockchain.models.operational.OperationInvalidDataException;
+import network.minter.blockchain.models.operational.Transaction;
+import network.minter.core.crypto.MinterAddress;
+import network.minter.core.crypto.PrivateKey;
+import network.minter.core.internal.helpers.StringHelper;
+
+/**
+ * minter-android-benchmarks. 2019
+ * <p>
+ * Fixed benchmark fixtures: every run works with the same data, so results are comparable between runs
+ *
+ * @author Eduard Maximovich <edward.vstock@gmail.com>
+ */
+final class Fixtures {
+    static final String ADDRESS = "Mxee81347211c72524338f9680072af90744333146";
+    static final String PRIVATE_KEY = "df1f236d0396cc43147e44206c341a65573326e907d033690e31a21323c03a9f";
+    static final String SIGNATURE_R = "16c8d27b1038823f87fba01eb97c9b16614e62b64904d923f168e296acbb384c";
+    static final String SIGNATURE_S = "754daff93835277e46fcd718d5d0295dda1153183f257db6146c15975099fcf7";
+    static final String SIGNATURE_V = "1b";
+
+    private Fixtures() {
+    }
+
+    static PrivateKey privateKey() {
+        return new PrivateKey(PRIVATE_KEY);
+    }
+
+    /**
+     * @return unsigned send transaction with payload
+     */
+    static Transaction sendTransaction() throws OperationInvalidDataException {
+        return new Transaction.Builder(new BigInteger("1"))
+                .setBlockchainId(BlockchainID.TestNet)
+                .setGasCoin(0)
+                .setGasPrice(BigInteger.ONE)
+                .setPayload("test".getBytes())
+                .sendCoin()
+                .setCoin(0)
+                .setTo(new MinterAddress(ADDRESS))
+                .setValue(new BigDecimal("1"))
+                .build();
+    }
+
+    /**
+     * Doesn't require native secp256k1: transaction is signed with fixed external signature
+     * @return hex encoded signed transaction
+     */
+    static String encodedSendTransaction() throws OperationInvalidDataException {
+        return sendTransaction().signExternal(
+                StringHelper.hexStringToChars(SIGNATURE_R),
+                StringHelper.hexStringToChars(SIGNATURE_S),
+                StringHelper.hexStringToChars(SIGNATURE_V)
+        ).getTxSign();
+    }
+
+    /**
+     * @param size data size
+     * @return pseudo random data, same for every call
+     */
+    static byte[] data(int size) {
+        final byte[] out = new byte[size];
+        long seed = 0x9E3779B97F4A7C15L;
+        for (int i = 0; i < size; i++) {
+            seed ^= seed << 13;
+            seed ^= seed >>> 7;
+            seed ^= seed << 17;
+            out[i] = (byte) seed;
+        }
+        return out;
+    }
+}
@@ -0,0 +1,90 @@
+/*
+ * Copyright (C) by MinterTeam. 2019
+ * @link <a href="https://github.com/MinterTeam">Org Github</a>
+ * @link <a href="https://github.com/edwardstock">Maintainer Github</a>
+ *
+ * The MIT License
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package network.minter.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.nio.ByteBuffer;
+
+import network.minter.core.crypto.HashUtil;
+import network.minter.core.crypto.cryptohash.Keccak256;
+
+/**
+ * minter-android-benchmarks. 2019
+ * <p>
+ * Keccak-256 of small (hash, address), transaction-sized and large inputs: thread-local digest,
+ * JCA provider lookup and a fresh digest per call
+ *
+ * @author Eduard Maximovich <edward.vstock@gmail.com>
+ */
+@State(Scope.Thread)
+public class HashBenchmark {
+    @Param({"32", "200", "4096"})
+    public int size;
+
+    private byte[] mData;
+    private ByteBuffer mDirect;
+    private final byte[] mOut = new byte[HashUtil.SHA3_LENGTH];
+
+    @Setup
+    public void setUp() {
+        mData = Fixtures.data(size);
+        mDirect = ByteBuffer.allocateDirect(size);
+        mDirect.put(mData);
+        mDirect.flip();
+    }
+
+    @Benchmark
+    public byte[] sha3() {
+        return HashUtil.sha3(mData);
+    }
+
+    @Benchmark
+    public byte[] sha3Provider() {
+        return HashUtil.sha3Provider(mData);
+    }
+
+    @Benchmark
+    public byte[] sha3NewDigest() {
+        return new Keccak256().digest(mData);
+    }
+
+    @Benchmark
+    public byte[] sha3Into() {
+        HashUtil.sha3Into(mData, mOut, 0);
+        return mOut;
+    }
+
+    @Benchmark
+    public byte[] sha3DirectBuffer() {
+        return HashUtil.sha3(mDirect);
+    }
+}
@@ -0,0 +1,101 @@
+/*
+ * Copyright (C) by MinterTeam. 2019
+ * @link <a href="https://github.com/MinterTeam">Org Github</a>
+ * @link <a href="https://github.com/edwardstock">Maintainer Github</a>
+ *
+ * The MIT License
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package network.minter.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import network.minter.core.crypto.cryptohash.Keccak256;
+import network.minter.core.crypto.cryptohash.KeccakSponge;
+
+/**
+ * minter-android-benchmarks. 2019
+ * <p>
+ * Keccak-256: sphlib based {@link Keccak256} against {@link KeccakSponge}, single message and whole block
+ * of transaction-sized messages
+ *
+ * @author Eduard Maximovich <edward.vstock@gmail.com>
+ */
+@State(Scope.Thread)
+public class KeccakBenchmark {
+    private static final int BLOCK_TXS = 500;
+
+    @Param({"32", "200", "4096"})
+    public int size;
+
+    private byte[] mData;
+    private List<byte[]> mBlock;
+    private final byte[] mOut = new byte[32];
+    private final byte[] mBlockOut = new byte[BLOCK_TXS * 32];
+    private final Keccak256 mCore = new Keccak256();
+    private final KeccakSponge mSponge = KeccakSponge.keccak256();
+
+    @Setup
+    public void setUp() {
+        mData = Fixtures.data(size);
+        mBlock = new ArrayList<>(BLOCK_TXS);
+        for (int i = 0; i < BLOCK_TXS; i++) {
+            mBlock.add(Fixtures.data(size));
+        }
+    }
+
+    @Benchmark
+    public byte[] core() {
+        mCore.update(mData, 0, mData.length);
+        mCore.digest(mOut, 0, mOut.length);
+        return mOut;
+    }
+
+    @Benchmark
+    public byte[] sponge() {
+        mSponge.update(mData, 0, mData.length);
+        mSponge.digest(mOut, 0, mOut.length);
+        return mOut;
+    }
+
+    @Benchmark
+    public byte[] coreBlock() {
+        int off = 0;
+        for (byte[] tx : mBlock) {
+            mCore.update(tx, 0, tx.length);
+            off += mCore.digest(mBlockOut, off, 32);
+        }
+        return mBlockOut;
+    }
+
+    @Benchmark
+    public byte[] spongeBlock() {
+        mSponge.digestAll(mBlock, mBlockOut, 0);
+        return mBlockOut;
+    }
+}
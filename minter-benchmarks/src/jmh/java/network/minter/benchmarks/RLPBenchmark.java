@@ -0,0 +1,169 @@
+/*
+ * Copyright (C) by MinterTeam. 2019
+ * @link <a href="https://github.com/MinterTeam">Org Github</a>
+ * @link <a href="https://github.com/edwardstock">Maintainer Github</a>
+ *
+ * The MIT License
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package network.minter.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.math.BigInteger;
+
+import network.minter.core.crypto.MinterAddress;
+import network.minter.core.util.DecodeResult;
+import network.minter.core.util.RLPBoxed;
+import network.minter.core.util.RLPReader;
+import network.minter.core.util.RLPWriter;
+
+import static network.minter.core.internal.helpers.BytesHelper.charsToBytes;
+
+/**
+ * minter-android-benchmarks. 2019
+ * <p>
+ * RLP encoding and decoding of transaction-like structure: boxed {@link RLPBoxed} against
+ * {@link RLPWriter} and {@link RLPReader}. Allocations per call are reported by gc profiler
+ * (enabled by default, or {@code -prof gc} with JMH jar) as {@code gc.alloc.rate.norm}
+ *
+ * @author Eduard Maximovich <edward.vstock@gmail.com>
+ */
+@State(Scope.Benchmark)
+public class RLPBenchmark {
+    private Object[] mTx;
+    private RLPWriter.Encodable mTxEncodable;
+    private RLPWriter.Encodable mTxObjectEncodable;
+    private byte[] mObjectOut;
+    private RLPWriter mWriter;
+    private byte[] mOut;
+    private char[] mEncodedChars;
+    private byte[] mEncoded;
+
+    @Setup
+    public void setUp() {
+        final MinterAddress to = new MinterAddress(Fixtures.ADDRESS);
+        final BigInteger value = new BigInteger("1000000000000000000");
+        final byte[] payload = Fixtures.data(64);
+        final byte[] signature = Fixtures.data(67);
+        mTx = new Object[]{
+                BigInteger.ONE,
+                2L,
+                BigInteger.ONE,
+                0L,
+                1L,
+                RLPBoxed.encode(new Object[]{0L, to, value}),
+                payload,
+                new byte[0],
+                1L,
+                signature
+        };
+        mTxEncodable = new RLPWriter.Encodable() {
+            @Override
+            public void writeRLP(RLPWriter writer) {
+                writer.beginList()
+                        .writeBigInteger(BigInteger.ONE)
+                        .writeLong(2L)
+                        .writeBigInteger(BigInteger.ONE)
+                        .writeLong(0L)
+                        .writeLong(1L)
+                        .beginNested()
+                        .beginList()
+                        .writeLong(0L)
+                        .writeData(to)
+                        .writeBigInteger(value)
+                        .endList()
+                        .endNested()
+                        .writeBytes(payload)
+                        .writeBytes(new byte[0])
+                        .writeLong(1L)
+                        .writeBytes(signature)
+                        .endList();
+            }
+        };
+        mTxObjectEncodable = new RLPWriter.Encodable() {
+            @Override
+            public void writeRLP(RLPWriter writer) {
+                writer.write(mTx);
+            }
+        };
+        mWriter = new RLPWriter();
+        mOut = new byte[mWriter.measure(mTxEncodable)];
+        mObjectOut = new byte[mWriter.measure(mTxObjectEncodable)];
+        mEncodedChars = RLPBoxed.encode(mTx);
+        mEncoded = charsToBytes(mEncodedChars);
+    }
+
+    @Benchmark
+    public char[] encodeBoxed() {
+        return RLPBoxed.encode(mTx);
+    }
+
+    @Benchmark
+    public byte[] encodeWriter() {
+        return RLPWriter.encode(mTxEncodable);
+    }
+
+    @Benchmark
+    public byte[] encodeWriterReused() {
+        mWriter.encode(mTxEncodable, mOut, 0);
+        return mOut;
+    }
+
+    /**
+     * The same object tree as {@link #encodeBoxed()}, written by {@link RLPWriter#write(Object)} into reused array
+     */
+    @Benchmark
+    public byte[] encodeWriterObjectReused() {
+        mWriter.encode(mTxObjectEncodable, mObjectOut, 0);
+        return mObjectOut;
+    }
+
+    @Benchmark
+    public DecodeResult decodeBoxed() {
+        return RLPBoxed.decode(mEncodedChars, 0);
+    }
+
+    @Benchmark
+    public long decodeReader() {
+        final RLPReader reader = new RLPReader(mEncoded);
+        reader.beginList();
+        long sum = reader.readBigInteger().longValue();
+        sum += reader.readLong();
+        sum += reader.readBigInteger().longValue();
+        sum += reader.readLong();
+        sum += reader.readLong();
+        reader.beginNested().beginList();
+        sum += reader.readLong();
+        sum += reader.readAddress().hashCode();
+        sum += reader.readBigInteger().longValue();
+        reader.endList().endNested();
+        sum += reader.readBytesData().size();
+        reader.skip();
+        sum += reader.readLong();
+        sum += reader.readBytesData().size();
+        reader.endList();
+        return sum;
+    }
+}
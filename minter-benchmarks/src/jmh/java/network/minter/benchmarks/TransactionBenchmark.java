@@ -0,0 +1,85 @@
+/*
+ * Copyright (C) by MinterTeam. 2019
+ * @link <a href="https://github.com/MinterTeam">Org Github</a>
+ * @link <a href="https://github.com/edwardstock">Maintainer Github</a>
+ *
+ * The MIT License
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package network.minter.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import network.minter.blockchain.models.operational.OperationInvalidDataException;
+import network.minter.blockchain.models.operational.Transaction;
+import network.minter.blockchain.models.operational.TransactionSign;
+import network.minter.core.MinterSDK;
+import network.minter.core.crypto.BytesData;
+import network.minter.core.crypto.PrivateKey;
+import network.minter.core.internal.exceptions.NativeLoadException;
+
+/**
+ * minter-android-benchmarks. 2019
+ * <p>
+ * Transaction signing and decoding. Only {@link #signSingle(NativeState)} requires native secp256k1 library,
+ * pass it's location with -PnativeLibPath
+ *
+ * @author Eduard Maximovich <edward.vstock@gmail.com>
+ */
+@State(Scope.Benchmark)
+public class TransactionBenchmark {
+    private PrivateKey mPrivateKey;
+    private Transaction mTransaction;
+    private String mEncoded;
+
+    @State(Scope.Benchmark)
+    public static class NativeState {
+        @Setup
+        public void setUp() throws NativeLoadException {
+            MinterSDK.initialize();
+        }
+    }
+
+    @Setup
+    public void setUp() throws OperationInvalidDataException {
+        mPrivateKey = Fixtures.privateKey();
+        mTransaction = Fixtures.sendTransaction();
+        mEncoded = Fixtures.encodedSendTransaction();
+    }
+
+    @Benchmark
+    public TransactionSign signSingle(NativeState nativeState) {
+        return mTransaction.signSingle(mPrivateKey);
+    }
+
+    @Benchmark
+    public BytesData unsignedTxHash() {
+        return mTransaction.getUnsignedTxHash();
+    }
+
+    @Benchmark
+    public Transaction fromEncoded() {
+        return Transaction.fromEncoded(mEncoded);
+    }
+}
@@ -32,6 +32,9 @@ import java.math.BigInteger;
 
 import javax.annotation.Nonnull;
 
+import network.minter.blockchain.api.NodePool;
+import network.minter.blockchain.api.converters.BlockChainStreamingAdapterFactory;
+import network.minter.blockchain.repo.BlockCache;
 import network.minter.blockchain.repo.BlockChainAccountRepository;
 import network.minter.blockchain.repo.BlockChainBlockRepository;
 import network.minter.blockchain.repo.BlockChainCandidateRepository;
@@ -68,6 +71,9 @@ public class MinterBlockChainApi {
     private BlockChainCandidateRepository mBlockChainCandidateRepository;
     private BlockChainStatusRepository mStatusRepository;
     private BlockChainEventRepository mEventRepository;
+    private BlockChainStreamingAdapterFactory mStreamingAdapters;
+    private NodePool mNodePool;
+    private BlockCache mBlockCache;
 
     private MinterBlockChainApi() {
         this(BASE_NODE_URL);
@@ -119,6 +125,21 @@ public class MinterBlockChainApi {
         }
     }
 
+    /**
+     * Initialize with multiple nodes, see {@link NodePool}
+     * @param nodePool pool of nodes
+     * @param debug
+     * @param logger
+     */
+    public static void initialize(@Nonnull NodePool nodePool, boolean debug, Mint.Leaf logger) {
+        if (INSTANCE != null) {
+            return;
+        }
+
+        initialize(nodePool.getBaseUrl(), debug, logger);
+        INSTANCE.setNodePool(nodePool);
+    }
+
     public static void initialize(boolean debug) {
         initialize(BASE_NODE_URL, debug, new TimberLogger());
     }
@@ -138,6 +159,70 @@ public class MinterBlockChainApi {
         return mApiService;
     }
 
+    /**
+     * Route requests through pool of nodes instead of single base url. Pool status refresh is not started here,
+     * call {@link NodePool#start(long, java.util.concurrent.TimeUnit)} or {@link NodePool#refresh()} yourself.
+     * @param nodePool pool or null to use base url only
+     */
+    public void setNodePool(NodePool nodePool) {
+        if (mNodePool != null) {
+            mApiService.removeHttpInterceptor(mNodePool);
+        }
+        mNodePool = nodePool;
+        if (nodePool != null) {
+            nodePool.setGsonBuilder(getGsonBuilder());
+            mApiService.addHttpInterceptor(nodePool);
+        }
+    }
+
+    public NodePool getNodePool() {
+        return mNodePool;
+    }
+
+    /**
+     * Cache blocks and events by height in {@link #block()} and {@link #event()} repositories
+     * @param cache cache or null to disable
+     * @see BlockCache
+     */
+    public void setBlockCache(BlockCache cache) {
+        mBlockCache = cache;
+        if (mBlockRepository != null) {
+            mBlockRepository.setBlockCache(cache);
+        }
+        if (mEventRepository != null) {
+            mEventRepository.setBlockCache(cache);
+        }
+    }
+
+    public BlockCache getBlockCache() {
+        return mBlockCache;
+    }
+
+    /**
+     * Enable streaming json adapters of heavy response models (blocks, transactions history etc). They read
+     * response directly into models without building intermediate json tree.
+     * Disabled by default.
+     * @param enable true to enable
+     * @see BlockChainStreamingAdapterFactory
+     */
+    public void setStreamingAdapters(boolean enable) {
+        if (enable == isStreamingAdapters()) {
+            return;
+        }
+
+        if (enable) {
+            mStreamingAdapters = new BlockChainStreamingAdapterFactory();
+            mApiService.registerTypeAdapterFactory(mStreamingAdapters);
+        } else {
+            mApiService.unregisterTypeAdapterFactory(mStreamingAdapters);
+            mStreamingAdapters = null;
+        }
+    }
+
+    public boolean isStreamingAdapters() {
+        return mStreamingAdapters != null;
+    }
+
     public GsonBuilder getGsonBuilder() {
         GsonBuilder out = new GsonBuilder();
         out.registerTypeAdapter(MinterAddress.class, new MinterAddressJsonConverter());
@@ -152,6 +237,7 @@ public class MinterBlockChainApi {
     public BlockChainEventRepository event() {
         if (mEventRepository == null) {
             mEventRepository = new BlockChainEventRepository(mApiService);
+            mEventRepository.setBlockCache(mBlockCache);
         }
 
         return mEventRepository;
@@ -176,6 +262,7 @@ public class MinterBlockChainApi {
     public BlockChainBlockRepository block() {
         if (mBlockRepository == null) {
             mBlockRepository = new BlockChainBlockRepository(mApiService);
+            mBlockRepository.setBlockCache(mBlockCache);
         }
 
         return mBlockRepository;
@@ -29,6 +29,7 @@ package network.minter.blockchain.api;
 import network.minter.blockchain.models.BCResult;
 import network.minter.blockchain.models.Balance;
 import network.minter.blockchain.models.TransactionSendResult;
+import network.minter.core.internal.api.Coalesce;
 import retrofit2.Call;
 import retrofit2.http.GET;
 import retrofit2.http.Query;
@@ -44,6 +45,7 @@ public interface BlockChainAccountEndpoint {
      * @param address Address of an account
      * @return
      */
+    @Coalesce
     @GET("/address")
     Call<BCResult<Balance>> getBalance(@Query("address") String address);
 
@@ -30,6 +30,8 @@ import java.math.BigInteger;
 
 import network.minter.blockchain.models.BCResult;
 import network.minter.blockchain.models.BlockInfo;
+import network.minter.core.internal.api.Cached;
+import network.minter.core.internal.api.Coalesce;
 import retrofit2.Call;
 import retrofit2.http.GET;
 import retrofit2.http.Query;
@@ -43,12 +45,15 @@ public interface BlockChainBlockEndpoint {
     @GET("/block")
     Call<BCResult<BlockInfo>> getByHeight(@Query("height") long height);
 
+    @Coalesce
     @GET("/max_gas")
     Call<BCResult<BigInteger>> getMaxGas();
 
     @GET("/max_gas")
     Call<BCResult<BigInteger>> getMaxGasByHeight(@Query("height") long height);
 
+    @Coalesce
+    @Cached(perBlock = true)
     @GET("/min_gas_price")
     Call<BCResult<BigInteger>> getMinGas();
 }
@@ -5,6 +5,8 @@ import java.util.List;
 import network.minter.blockchain.models.BCResult;
 import network.minter.blockchain.models.CandidateItem;
 import network.minter.blockchain.models.CandidateStatus;
+import network.minter.core.internal.api.Cached;
+import network.minter.core.internal.api.Coalesce;
 import retrofit2.Call;
 import retrofit2.http.GET;
 import retrofit2.http.Query;
@@ -15,12 +17,18 @@ import retrofit2.http.Query;
  */
 public interface BlockChainCandidateEndpoint {
 
+    @Coalesce
+    @Cached(perBlock = true)
     @GET("/candidate")
     Call<BCResult<CandidateItem>> getCandidate(@Query("pubkey") String pubKey);
 
+    @Coalesce
+    @Cached(perBlock = true)
     @GET("/candidate")
     Call<BCResult<CandidateItem>> getCandidate(@Query("pubkey") String pubKey, long blockHeight);
 
+    @Coalesce
+    @Cached(perBlock = true)
     @GET("/candidates")
     Call<BCResult<List<CandidateStatus>>> getCandidates(@Query("height") long blockHeight);
 }
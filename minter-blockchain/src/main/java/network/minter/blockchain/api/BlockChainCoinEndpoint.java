@@ -30,6 +30,8 @@ import network.minter.blockchain.models.BCResult;
 import network.minter.blockchain.models.Coin;
 import network.minter.blockchain.models.ExchangeBuyValue;
 import network.minter.blockchain.models.ExchangeSellValue;
+import network.minter.core.internal.api.Cached;
+import network.minter.core.internal.api.Coalesce;
 import retrofit2.Call;
 import retrofit2.http.GET;
 import retrofit2.http.Query;
@@ -47,6 +49,8 @@ public interface BlockChainCoinEndpoint {
      * @param coin Coin Symbol (min: 3, max 10 chars)
      * @return Coin information pojo
      */
+    @Coalesce
+    @Cached(ttl = 300)
     @GET("/coin_info")
     Call<BCResult<Coin>> getCoinInformation(@Query("symbol") String coin);
 
@@ -30,6 +30,10 @@ import java.util.List;
 
 import network.minter.blockchain.models.BCResult;
 import network.minter.blockchain.models.NetworkStatus;
+import network.minter.blockchain.repo.BlockChainStatusRepository;
+import network.minter.core.internal.api.Cached;
+import network.minter.core.internal.api.Coalesce;
+import network.minter.core.internal.api.ReportsHeight;
 import retrofit2.Call;
 import retrofit2.http.GET;
 
@@ -39,9 +43,13 @@ import retrofit2.http.GET;
  */
 public interface BlockChainStatusEndpoint {
 
+    @Coalesce
+    @ReportsHeight(BlockChainStatusRepository.NetworkStatusHeightReader.class)
     @GET("/status")
     Call<BCResult<NetworkStatus>> status();
 
+    @Coalesce
+    @Cached(perBlock = true)
     @GET("/validators")
     Call<BCResult<List<NetworkStatus.Validator>>> validators();
 }
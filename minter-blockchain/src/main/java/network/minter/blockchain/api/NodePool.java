@@ -0,0 +1,451 @@
+/*
+ * Copyright (C) by MinterTeam. 2019
+ * @link <a href="https://github.com/MinterTeam">Org Github</a>
+ * @link <a href="https://github.com/edwardstock">Maintainer Github</a>
+ *
+ * The MIT License
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package network.minter.blockchain.api;
+
+import com.google.gson.GsonBuilder;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import javax.annotation.Nonnull;
+
+import network.minter.blockchain.models.BCResult;
+import network.minter.blockchain.models.NetworkStatus;
+import network.minter.blockchain.repo.BlockChainStatusRepository;
+import network.minter.core.internal.api.ApiService;
+import network.minter.core.internal.log.Mint;
+import okhttp3.HttpUrl;
+import okhttp3.Interceptor;
+import okhttp3.Request;
+import okhttp3.Response;
+
+import static network.minter.core.internal.common.Preconditions.checkArgument;
+import static network.minter.core.internal.common.Preconditions.checkNotNull;
+
+/**
+ * minter-android-blockchain. 2019
+ * <p>
+ * Pool of nodes with latency-aware routing. Works as OkHttp interceptor: every request is sent to the best node
+ * by replacing scheme, host and port of it's url.
+ * <ul>
+ * <li>reads go to the in-sync node with lowest EWMA latency, on network error or 5xx response request is repeated
+ * on the next node</li>
+ * <li>transactions (/send_transaction) go to the send nodes (all nodes if not set), and failover to the next
+ * send node only on network error. Repeated transaction is rejected by node by it's nonce, so it can't be sent twice</li>
+ * <li>node that failed {@link #setMaxFailures(int)} times in a row is ejected for {@link #setEjectTimeout(long, TimeUnit)}</li>
+ * <li>node that lags more than {@link #setMaxLagBlocks(long)} behind the highest node is not used for reads
+ * until it catches up. Heights are updated by {@link #refresh()} or periodically by {@link #start(long, TimeUnit)}
+ * using {@link BlockChainStatusRepository#getNetworkStatus()}</li>
+ * </ul>
+ * If there is no healthy node, all nodes are tried ordered by latency.
+ * <p>
+ * Use it with {@link network.minter.blockchain.MinterBlockChainApi#setNodePool(NodePool)}
+ *
+ * @author Eduard Maximovich <edward.vstock@gmail.com>
+ */
+public final class NodePool implements Interceptor {
+    private final static String SEND_PATH = "/send_transaction";
+    private final List<Node> mNodes;
+    private final Object mScheduleLock = new Object();
+    private double mEwmaAlpha = 0.3;
+    private long mMaxLagBlocks = 2;
+    private int mMaxFailures = 3;
+    private long mEjectTimeoutMs = TimeUnit.SECONDS.toMillis(30);
+    private GsonBuilder mGsonBuilder;
+    private ScheduledExecutorService mScheduler;
+    private ScheduledFuture<?> mRefreshTask;
+
+    /**
+     * @param nodeUrls base urls of nodes, first is used as default base url of api
+     */
+    public NodePool(@Nonnull List<String> nodeUrls) {
+        checkNotNull(nodeUrls, "Node urls required");
+        checkArgument(!nodeUrls.isEmpty(), "At least one node url required");
+        final List<Node> nodes = new ArrayList<>(nodeUrls.size());
+        for (String url : nodeUrls) {
+            nodes.add(new Node(url));
+        }
+        mNodes = Collections.unmodifiableList(nodes);
+    }
+
+    public NodePool(String... nodeUrls) {
+        this(Arrays.asList(nodeUrls));
+    }
+
+    /**
+     * @return default base url: url of the first node
+     */
+    public String getBaseUrl() {
+        return mNodes.get(0).getUrl();
+    }
+
+    public List<Node> getNodes() {
+        return mNodes;
+    }
+
+    /**
+     * Nodes to broadcast transactions. Default: all nodes
+     * @param nodeUrls subset of pool nodes
+     * @return self
+     */
+    public NodePool setSendNodes(@Nonnull List<String> nodeUrls) {
+        checkNotNull(nodeUrls, "Node urls required");
+        for (String url : nodeUrls) {
+            checkArgument(findNode(url) != null, "Node %s is not in pool", url);
+        }
+        for (Node node : mNodes) {
+            node.mSendNode = nodeUrls.isEmpty() || nodeUrls.contains(node.getUrl());
+        }
+        return this;
+    }
+
+    /**
+     * @param alpha weight of the last latency sample: 0 < alpha <= 1. Default: 0.3
+     * @return self
+     */
+    public NodePool setEwmaAlpha(double alpha) {
+        checkArgument(alpha > 0 && alpha <= 1, "Alpha must be in range (0, 1]");
+        mEwmaAlpha = alpha;
+        return this;
+    }
+
+    /**
+     * @param blocks how many blocks node can lag behind the highest node to be used for reads. Default: 2
+     * @return self
+     */
+    public NodePool setMaxLagBlocks(long blocks) {
+        checkArgument(blocks >= 0, "Max lag can't be negative");
+        mMaxLagBlocks = blocks;
+        return this;
+    }
+
+    /**
+     * @param failures count of failures in a row to eject node. Default: 3
+     * @return self
+     */
+    public NodePool setMaxFailures(int failures) {
+        checkArgument(failures > 0, "Max failures must be greater than 0");
+        mMaxFailures = failures;
+        return this;
+    }
+
+    /**
+     * @param timeout how long ejected node is not used. Default: 30 seconds
+     * @param unit time unit
+     * @return self
+     */
+    public NodePool setEjectTimeout(long timeout, TimeUnit unit) {
+        checkArgument(timeout >= 0, "Timeout can't be negative");
+        mEjectTimeoutMs = unit.toMillis(timeout);
+        return this;
+    }
+
+    /**
+     * Set by {@link network.minter.blockchain.MinterBlockChainApi#setNodePool(NodePool)}, use
+     * {@link network.minter.blockchain.MinterBlockChainApi#getGsonBuilder()} if pool is used separately
+     * @param gsonBuilder gson to parse node status in {@link #refresh()}
+     * @return self
+     */
+    public NodePool setGsonBuilder(@Nonnull GsonBuilder gsonBuilder) {
+        mGsonBuilder = checkNotNull(gsonBuilder, "Gson builder required");
+        return this;
+    }
+
+    /**
+     * Start periodical {@link #refresh()} in background thread
+     * @param period refresh period
+     * @param unit time unit
+     */
+    public void start(long period, TimeUnit unit) {
+        checkArgument(period > 0, "Period must be greater than 0");
+        synchronized (mScheduleLock) {
+            stop();
+            mScheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+                final Thread t = new Thread(r, "minter-node-pool");
+                t.setDaemon(true);
+                return t;
+            });
+            mRefreshTask = mScheduler.scheduleWithFixedDelay(() -> {
+                try {
+                    refresh().join();
+                } catch (Throwable t) {
+                    Mint.w(t, "Unable to refresh nodes status");
+                }
+            }, 0, period, unit);
+        }
+    }
+
+    /**
+     * Stop periodical refresh
+     */
+    public void stop() {
+        synchronized (mScheduleLock) {
+            if (mRefreshTask != null) {
+                mRefreshTask.cancel(false);
+                mRefreshTask = null;
+            }
+            if (mScheduler != null) {
+                mScheduler.shutdownNow();
+                mScheduler = null;
+            }
+        }
+    }
+
+    /**
+     * Request status of every node, update it's latency and height
+     * @return future completes when all nodes respond or fail
+     */
+    public CompletableFuture<Void> refresh() {
+        checkNotNull(mGsonBuilder, "Gson builder is not set");
+        final CompletableFuture<?>[] requests = new CompletableFuture[mNodes.size()];
+        for (int i = 0; i < mNodes.size(); i++) {
+            final Node node = mNodes.get(i);
+            final long start = System.nanoTime();
+            requests[i] = node.getStatusRepository(mGsonBuilder).getNetworkStatusAsync()
+                    .handle((res, t) -> {
+                        onStatus(node, res, t, System.nanoTime() - start);
+                        return null;
+                    });
+        }
+        return CompletableFuture.allOf(requests);
+    }
+
+    /**
+     * @return highest known block height among not ejected nodes
+     */
+    public long getMaxHeight() {
+        final long now = System.currentTimeMillis();
+        long max = 0;
+        for (Node node : mNodes) {
+            if (!node.isEjected(now)) {
+                max = Math.max(max, node.mHeight);
+            }
+        }
+        return max;
+    }
+
+    /**
+     * @return nodes ordered by priority for reads
+     */
+    public List<Node> selectRead() {
+        final long now = System.currentTimeMillis();
+        final long minHeight = getMaxHeight() - mMaxLagBlocks;
+        final List<Node> out = new ArrayList<>(mNodes.size());
+        for (Node node : mNodes) {
+            if (!node.isEjected(now) && node.mHeight >= minHeight) {
+                out.add(node);
+            }
+        }
+        return ordered(out);
+    }
+
+    /**
+     * @return send nodes ordered by priority
+     */
+    public List<Node> selectSend() {
+        final long now = System.currentTimeMillis();
+        final List<Node> senders = new ArrayList<>(mNodes.size());
+        final List<Node> out = new ArrayList<>(mNodes.size());
+        for (Node node : mNodes) {
+            if (node.mSendNode) {
+                senders.add(node);
+                if (!node.isEjected(now)) {
+                    out.add(node);
+                }
+            }
+        }
+        return out.isEmpty() ? sortByLatency(senders) : sortByLatency(out);
+    }
+
+    @Override
+    public Response intercept(Chain chain) throws IOException {
+        final Request request = chain.request();
+        final boolean send = request.url().encodedPath().endsWith(SEND_PATH);
+        final List<Node> nodes = send ? selectSend() : selectRead();
+
+        IOException lastError = null;
+        for (int i = 0; i < nodes.size(); i++) {
+            final Node node = nodes.get(i);
+            final boolean last = i == nodes.size() - 1;
+            final long start = System.nanoTime();
+            final Response response;
+            try {
+                response = chain.proceed(request.newBuilder().url(node.rewrite(request.url())).build());
+            } catch (IOException e) {
+                onFailure(node);
+                lastError = e;
+                if (chain.call().isCanceled()) {
+                    throw e;
+                }
+                continue;
+            }
+
+            if (response.code() >= 500 && !send) {
+                onFailure(node);
+                if (!last) {
+                    response.close();
+                    continue;
+                }
+            } else {
+                onSuccess(node, System.nanoTime() - start);
+            }
+            return response;
+        }
+
+        throw lastError != null ? lastError : new IOException("There are no nodes to send request");
+    }
+
+    private List<Node> ordered(List<Node> healthy) {
+        if (healthy.isEmpty()) {
+            // better to try anything than fail
+            return sortByLatency(new ArrayList<>(mNodes));
+        }
+        return sortByLatency(healthy);
+    }
+
+    private static List<Node> sortByLatency(List<Node> nodes) {
+        Collections.sort(nodes, Comparator.comparingDouble(Node::getLatencyMs));
+        return nodes;
+    }
+
+    private Node findNode(String url) {
+        for (Node node : mNodes) {
+            if (node.getUrl().equals(url)) {
+                return node;
+            }
+        }
+        return null;
+    }
+
+    private void onStatus(Node node, BCResult<NetworkStatus> res, Throwable t, long tookNanos) {
+        if (t != null || res == null || res.result == null) {
+            Mint.w("Node %s status request failed: %s", node.getUrl(), t != null ? t.getMessage() : "empty result");
+            onFailure(node);
+            return;
+        }
+        node.mHeight = res.result.latestBlockHeight;
+        onSuccess(node, tookNanos);
+    }
+
+    private void onSuccess(Node node, long tookNanos) {
+        synchronized (node) {
+            final double ms = tookNanos / 1_000_000d;
+            node.mLatencyMs = node.mLatencyMs < 0 ? ms : mEwmaAlpha * ms + (1 - mEwmaAlpha) * node.mLatencyMs;
+            node.mFailures = 0;
+            node.mEjectedUntil = 0;
+        }
+    }
+
+    private void onFailure(Node node) {
+        synchronized (node) {
+            node.mFailures++;
+            if (node.mFailures >= mMaxFailures) {
+                node.mEjectedUntil = System.currentTimeMillis() + mEjectTimeoutMs;
+            }
+        }
+    }
+
+    public static final class Node {
+        private final String mUrl;
+        private final HttpUrl mHttpUrl;
+        private volatile double mLatencyMs = -1;
+        private volatile long mHeight;
+        private volatile int mFailures;
+        private volatile long mEjectedUntil;
+        private volatile boolean mSendNode = true;
+        private BlockChainStatusRepository mStatusRepository;
+
+        Node(String url) {
+            mUrl = checkNotNull(url, "Node url required");
+            mHttpUrl = HttpUrl.get(url);
+        }
+
+        public String getUrl() {
+            return mUrl;
+        }
+
+        /**
+         * @return EWMA latency in milliseconds, or 0 if node was not requested yet
+         */
+        public double getLatencyMs() {
+            return Math.max(mLatencyMs, 0);
+        }
+
+        /**
+         * @return last known block height
+         */
+        public long getHeight() {
+            return mHeight;
+        }
+
+        public int getFailures() {
+            return mFailures;
+        }
+
+        public boolean isEjected() {
+            return isEjected(System.currentTimeMillis());
+        }
+
+        public boolean isSendNode() {
+            return mSendNode;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("Node{url=%s, latency=%.2fms, height=%d, failures=%d}", mUrl, getLatencyMs(), mHeight, mFailures);
+        }
+
+        boolean isEjected(long now) {
+            return mEjectedUntil > now;
+        }
+
+        HttpUrl rewrite(HttpUrl url) {
+            return url.newBuilder()
+                    .scheme(mHttpUrl.scheme())
+                    .host(mHttpUrl.host())
+                    .port(mHttpUrl.port())
+                    .build();
+        }
+
+        synchronized BlockChainStatusRepository getStatusRepository(GsonBuilder gsonBuilder) {
+            if (mStatusRepository == null) {
+                // separate client without pool interceptor: status of this exact node is needed
+                mStatusRepository = new BlockChainStatusRepository(new ApiService.Builder(mUrl, gsonBuilder));
+            }
+            return mStatusRepository;
+        }
+    }
+}
@@ -0,0 +1,457 @@
+/*
+ * Copyright (C) by MinterTeam. 2019
+ * @link <a href="https://github.com/MinterTeam">Org Github</a>
+ * @link <a href="https://github.com/edwardstock">Maintainer Github</a>
+ *
+ * The MIT License
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package network.minter.blockchain.api.converters;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonElement;
+import com.google.gson.TypeAdapter;
+import com.google.gson.TypeAdapterFactory;
+import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+import network.minter.blockchain.models.BlockInfo;
+import network.minter.blockchain.models.CandidateItem;
+import network.minter.blockchain.models.EventList;
+import network.minter.blockchain.models.HistoryTransaction;
+import network.minter.blockchain.models.NetworkStatus;
+import network.minter.blockchain.models.ValidatorInfo;
+import network.minter.core.crypto.BytesData;
+import network.minter.core.crypto.MinterAddress;
+import network.minter.core.crypto.MinterPublicKey;
+import network.minter.core.internal.api.converters.StreamingTypeAdapter;
+import network.minter.core.internal.log.Mint;
+
+/**
+ * minter-android-blockchain. 2019
+ * <p>
+ * Streaming adapters of node response models: {@link BlockInfo}, {@link HistoryTransaction}, {@link EventList},
+ * {@link CandidateItem} and {@link NetworkStatus}. Polymorphic transaction data and event values are read
+ * directly into class of it's type, tree is built only if "data" (or "value") goes before "type".
+ * <p>
+ * Enable it with {@link network.minter.blockchain.MinterBlockChainApi#setStreamingAdapters(boolean)}
+ *
+ * @author Eduard Maximovich <edward.vstock@gmail.com>
+ */
+public final class BlockChainStreamingAdapterFactory implements TypeAdapterFactory {
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public <T> TypeAdapter<T> create(Gson gson, TypeToken<T> type) {
+        final Class<? super T> cls = type.getRawType();
+        final TypeAdapter<?> out;
+        if (cls == BlockInfo.class) {
+            out = new BlockInfoAdapter(gson, gson.getDelegateAdapter(this, TypeToken.get(BlockInfo.class)));
+        } else if (cls == HistoryTransaction.class) {
+            out = new HistoryTransactionAdapter(gson, gson.getDelegateAdapter(this, TypeToken.get(HistoryTransaction.class)));
+        } else if (cls == EventList.class) {
+            out = new EventListAdapter(gson, gson.getDelegateAdapter(this, TypeToken.get(EventList.class)));
+        } else if (cls == CandidateItem.class) {
+            out = new CandidateItemAdapter(gson, gson.getDelegateAdapter(this, TypeToken.get(CandidateItem.class)));
+        } else if (cls == CandidateItem.StakeInfo.class) {
+            out = new StakeInfoAdapter(gson, gson.getDelegateAdapter(this, TypeToken.get(CandidateItem.StakeInfo.class)));
+        } else if (cls == NetworkStatus.class) {
+            out = new NetworkStatusAdapter(gson, gson.getDelegateAdapter(this, TypeToken.get(NetworkStatus.class)));
+        } else {
+            return null;
+        }
+
+        return (TypeAdapter<T>) out;
+    }
+
+    static final class BlockInfoAdapter extends StreamingTypeAdapter<BlockInfo> {
+        private final TypeAdapter<BytesData> mBytes;
+        private final TypeAdapter<BigInteger> mBigInt;
+        private final TypeAdapter<MinterPublicKey> mPubKey;
+        private final TypeAdapter<List<HistoryTransaction>> mTransactions;
+        private final TypeAdapter<List<ValidatorInfo>> mValidators;
+
+        BlockInfoAdapter(Gson gson, TypeAdapter<BlockInfo> delegate) {
+            super(delegate);
+            mBytes = gson.getAdapter(BytesData.class);
+            mBigInt = gson.getAdapter(BigInteger.class);
+            mPubKey = gson.getAdapter(MinterPublicKey.class);
+            mTransactions = gson.getAdapter(new TypeToken<List<HistoryTransaction>>() {
+            });
+            mValidators = gson.getAdapter(new TypeToken<List<ValidatorInfo>>() {
+            });
+        }
+
+        @Override
+        protected BlockInfo create() {
+            return new BlockInfo();
+        }
+
+        @Override
+        protected boolean readField(JsonReader in, String name, BlockInfo out) throws IOException {
+            switch (name) {
+                case "hash":
+                    out.hash = mBytes.read(in);
+                    return true;
+                case "height":
+                    out.height = nextLong(in, out.height);
+                    return true;
+                case "time":
+                    out.time = nextString(in);
+                    return true;
+                case "num_txs":
+                    out.numTxs = mBigInt.read(in);
+                    return true;
+                case "total_txs":
+                    out.totalTxs = mBigInt.read(in);
+                    return true;
+                case "transactions":
+                    out.transactions = mTransactions.read(in);
+                    return true;
+                case "block_reward":
+                    out.blockReward = mBigInt.read(in);
+                    return true;
+                case "size":
+                    out.size = nextString(in);
+                    return true;
+                case "proposer":
+                    out.proposer = mPubKey.read(in);
+                    return true;
+                case "validators":
+                    out.validators = mValidators.read(in);
+                    return true;
+            }
+            return false;
+        }
+    }
+
+    static final class HistoryTransactionAdapter extends StreamingTypeAdapter<HistoryTransaction> {
+        private final TypeAdapter<BytesData> mBytes;
+        private final TypeAdapter<BigInteger> mBigInt;
+        private final TypeAdapter<MinterAddress> mAddress;
+        private final TypeAdapter<HistoryTransaction.Type> mType;
+        private final TypeAdapter<Map<String, String>> mTags;
+        private final TypeAdapter<JsonElement> mElement;
+        private final Map<HistoryTransaction.Type, TypeAdapter<? extends HistoryTransaction.TxBaseResult>> mData =
+                new EnumMap<>(HistoryTransaction.Type.class);
+
+        HistoryTransactionAdapter(Gson gson, TypeAdapter<HistoryTransaction> delegate) {
+            super(delegate);
+            mBytes = gson.getAdapter(BytesData.class);
+            mBigInt = gson.getAdapter(BigInteger.class);
+            mAddress = gson.getAdapter(MinterAddress.class);
+            mType = gson.getAdapter(HistoryTransaction.Type.class);
+            mTags = gson.getAdapter(new TypeToken<Map<String, String>>() {
+            });
+            mElement = gson.getAdapter(JsonElement.class);
+            for (HistoryTransaction.Type type : HistoryTransaction.Type.values()) {
+                mData.put(type, gson.getAdapter(type.getOpClass()));
+            }
+        }
+
+        @Override
+        public HistoryTransaction read(JsonReader in) throws IOException {
+            if (in.peek() == JsonToken.NULL) {
+                in.nextNull();
+                return null;
+            }
+
+            final HistoryTransaction out = create();
+            JsonElement pendingData = null;
+            in.beginObject();
+            while (in.hasNext()) {
+                final String name = in.nextName();
+                if (name.equals("data") && out.type == null) {
+                    // type is unknown yet
+                    pendingData = mElement.read(in);
+                } else if (!readField(in, name, out)) {
+                    in.skipValue();
+                }
+            }
+            in.endObject();
+
+            if (pendingData != null && out.type != null) {
+                out.data = mData.get(out.type).fromJsonTree(pendingData);
+            }
+            return out;
+        }
+
+        @Override
+        protected HistoryTransaction create() {
+            return new HistoryTransaction();
+        }
+
+        @Override
+        protected boolean readField(JsonReader in, String name, HistoryTransaction out) throws IOException {
+            switch (name) {
+                case "hash":
+                    out.hash = mBytes.read(in);
+                    return true;
+                case "raw_tx":
+                    out.rawTx = mBytes.read(in);
+                    return true;
+                case "from":
+                    out.from = mAddress.read(in);
+                    return true;
+                case "nonce":
+                    out.nonce = mBigInt.read(in);
+                    return true;
+                case "type":
+                    out.type = mType.read(in);
+                    return true;
+                case "gas_price":
+                    out.gasPrice = nextInt(in, out.gasPrice);
+                    return true;
+                case "gas":
+                    out.gas = nextInt(in, out.gas);
+                    return true;
+                case "gas_coin":
+                    out.gasCoin = nextSymbol(in);
+                    return true;
+                case "payload":
+                    out.payload = nextString(in);
+                    return true;
+                case "service_data":
+                    out.serviceData = nextString(in);
+                    return true;
+                case "data":
+                    out.data = mData.get(out.type).read(in);
+                    return true;
+                case "tags":
+                    out.tags = mTags.read(in);
+                    return true;
+            }
+            return false;
+        }
+    }
+
+    static final class EventListAdapter extends StreamingTypeAdapter<EventList> {
+        private final TypeAdapter<JsonElement> mElement;
+        private final Map<EventList.Type, TypeAdapter<? extends EventList.BaseEvent>> mValues = new EnumMap<>(EventList.Type.class);
+
+        EventListAdapter(Gson gson, TypeAdapter<EventList> delegate) {
+            super(delegate);
+            mElement = gson.getAdapter(JsonElement.class);
+            for (EventList.Type type : EventList.Type.values()) {
+                mValues.put(type, gson.getAdapter(type.getCls()));
+            }
+        }
+
+        @Override
+        protected EventList create() {
+            final EventList out = new EventList();
+            out.events = new ArrayList<>(0);
+            return out;
+        }
+
+        @Override
+        protected boolean readField(JsonReader in, String name, EventList out) throws IOException {
+            if (!name.equals("events")) {
+                return false;
+            }
+            if (in.peek() == JsonToken.NULL) {
+                in.nextNull();
+                return true;
+            }
+
+            in.beginArray();
+            while (in.hasNext()) {
+                final EventList.EventItem item = readItem(in);
+                if (item != null) {
+                    out.events.add(item);
+                }
+            }
+            in.endArray();
+            return true;
+        }
+
+        private EventList.EventItem readItem(JsonReader in) throws IOException {
+            final EventList.EventItem item = new EventList.EventItem();
+            String typeName = null;
+            JsonElement pendingValue = null;
+
+            in.beginObject();
+            while (in.hasNext()) {
+                final String name = in.nextName();
+                if (name.equals("type")) {
+                    typeName = nextString(in);
+                    item.type = typeName == null ? null : EventList.Type.findByName(typeName);
+                } else if (name.equals("value") && item.type != null) {
+                    item.value = mValues.get(item.type).read(in);
+                } else if (name.equals("value") && typeName == null) {
+                    // type is unknown yet
+                    pendingValue = mElement.read(in);
+                } else {
+                    in.skipValue();
+                }
+            }
+            in.endObject();
+
+            if (item.type == null) {
+                Mint.e("Unknown event type: %s", typeName);
+                return null;
+            }
+            if (pendingValue != null) {
+                item.value = mValues.get(item.type).fromJsonTree(pendingValue);
+            }
+            return item;
+        }
+    }
+
+    static final class CandidateItemAdapter extends StreamingTypeAdapter<CandidateItem> {
+        private final TypeAdapter<MinterAddress> mAddress;
+        private final TypeAdapter<MinterPublicKey> mPubKey;
+        private final TypeAdapter<BigInteger> mBigInt;
+        private final TypeAdapter<List<CandidateItem.StakeInfo>> mStakes;
+
+        CandidateItemAdapter(Gson gson, TypeAdapter<CandidateItem> delegate) {
+            super(delegate);
+            mAddress = gson.getAdapter(MinterAddress.class);
+            mPubKey = gson.getAdapter(MinterPublicKey.class);
+            mBigInt = gson.getAdapter(BigInteger.class);
+            mStakes = gson.getAdapter(new TypeToken<List<CandidateItem.StakeInfo>>() {
+            });
+        }
+
+        @Override
+        protected CandidateItem create() {
+            return new CandidateItem();
+        }
+
+        @Override
+        protected boolean readField(JsonReader in, String name, CandidateItem out) throws IOException {
+            switch (name) {
+                case "reward_address":
+                    out.rewardAddress = mAddress.read(in);
+                    return true;
+                case "owner_address":
+                    out.ownerAddress = mAddress.read(in);
+                    return true;
+                case "total_stake":
+                    out.totalStake = mBigInt.read(in);
+                    return true;
+                case "pubkey":
+                    out.pubKey = mPubKey.read(in);
+                    return true;
+                case "commission":
+                    out.commission = nextInt(in, out.commission);
+                    return true;
+                case "stakes":
+                    out.stakes = mStakes.read(in);
+                    return true;
+                case "created_at_block":
+                    out.createdAtBlock = nextLong(in, out.createdAtBlock);
+                    return true;
+                case "status":
+                    out.status = nextInt(in, out.status);
+                    return true;
+            }
+            return false;
+        }
+    }
+
+    static final class StakeInfoAdapter extends StreamingTypeAdapter<CandidateItem.StakeInfo> {
+        private final TypeAdapter<MinterAddress> mAddress;
+        private final TypeAdapter<BigInteger> mBigInt;
+
+        StakeInfoAdapter(Gson gson, TypeAdapter<CandidateItem.StakeInfo> delegate) {
+            super(delegate);
+            mAddress = gson.getAdapter(MinterAddress.class);
+            mBigInt = gson.getAdapter(BigInteger.class);
+        }
+
+        @Override
+        protected CandidateItem.StakeInfo create() {
+            return new CandidateItem.StakeInfo();
+        }
+
+        @Override
+        protected boolean readField(JsonReader in, String name, CandidateItem.StakeInfo out) throws IOException {
+            switch (name) {
+                case "owner":
+                    out.owner = mAddress.read(in);
+                    return true;
+                case "coin":
+                    out.coin = nextSymbol(in);
+                    return true;
+                case "value":
+                    out.value = mBigInt.read(in);
+                    return true;
+                case "bip_value":
+                    out.bipValue = mBigInt.read(in);
+                    return true;
+            }
+            return false;
+        }
+    }
+
+    static final class NetworkStatusAdapter extends StreamingTypeAdapter<NetworkStatus> {
+        private final TypeAdapter<BytesData> mBytes;
+        private final TypeAdapter<NetworkStatus.TmStatus> mTmStatus;
+
+        NetworkStatusAdapter(Gson gson, TypeAdapter<NetworkStatus> delegate) {
+            super(delegate);
+            mBytes = gson.getAdapter(BytesData.class);
+            mTmStatus = gson.getAdapter(NetworkStatus.TmStatus.class);
+        }
+
+        @Override
+        protected NetworkStatus create() {
+            return new NetworkStatus();
+        }
+
+        @Override
+        protected boolean readField(JsonReader in, String name, NetworkStatus out) throws IOException {
+            switch (name) {
+                case "version":
+                    out.version = nextString(in);
+                    return true;
+                case "latest_block_hash":
+                    out.latestBlockHash = mBytes.read(in);
+                    return true;
+                case "latest_app_hash":
+                    out.latestAppHash = mBytes.read(in);
+                    return true;
+                case "latest_block_height":
+                    out.latestBlockHeight = nextLong(in, out.latestBlockHeight);
+                    return true;
+                case "latest_block_time":
+                    out.latestBlockTime = nextString(in);
+                    return true;
+                case "state_history":
+                    out.stateHistory = nextString(in);
+                    return true;
+                case "tm_status":
+                    out.tmStatus = mTmStatus.read(in);
+                    return true;
+            }
+            return false;
+        }
+    }
+}
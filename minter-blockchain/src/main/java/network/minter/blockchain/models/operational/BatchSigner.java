@@ -0,0 +1,236 @@
+/*
+ * Copyright (C) by MinterTeam. 2019
+ * @link <a href="https://github.com/MinterTeam">Org Github</a>
+ * @link <a href="https://github.com/edwardstock">Maintainer Github</a>
+ *
+ * The MIT License
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package network.minter.blockchain.models.operational;
+
+import com.edwardstock.secp256k1.NativeSecp256k1ContextPool;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+import javax.annotation.Nonnull;
+
+import network.minter.core.crypto.MinterAddress;
+import network.minter.core.crypto.PrivateKey;
+
+import static network.minter.core.internal.common.Preconditions.checkArgument;
+import static network.minter.core.internal.common.Preconditions.checkNotNull;
+
+/**
+ * minter-android-blockchain. 2019
+ * <p>
+ * Signs many transactions in parallel using {@link ForkJoinPool}. Work is split into chunks, every chunk
+ * borrows one secp256k1 context from {@link NativeSecp256k1ContextPool} and uses it for all of it's transactions.
+ * Results are returned in the same order as source transactions.
+ * <p>
+ * Usage:
+ * <pre>
+ *     {@code
+ *     final BatchSigner signer = new BatchSigner();
+ *     final List<TransactionSign> signs = signer.signSendCoin(template, payouts, privateKey);
+ *     }
+ * </pre>
+ *
+ * @author Eduard Maximovich <edward.vstock@gmail.com>
+ */
+public final class BatchSigner {
+    private final ForkJoinPool mPool;
+    private final NativeSecp256k1ContextPool mContexts;
+    private int mChunkSize = 32;
+
+    /**
+     * Uses common fork-join pool and default secp256k1 context pool
+     */
+    public BatchSigner() {
+        this(ForkJoinPool.commonPool(), NativeSecp256k1ContextPool.getDefault());
+    }
+
+    /**
+     * @param pool worker pool
+     * @param contexts secp256k1 context pool. If it's smaller than worker pool, workers will wait for free context
+     * as managed blockers, so worker pool may start spare threads meanwhile
+     */
+    public BatchSigner(@Nonnull ForkJoinPool pool, @Nonnull NativeSecp256k1ContextPool contexts) {
+        mPool = checkNotNull(pool, "Pool required");
+        mContexts = checkNotNull(contexts, "Context pool required");
+    }
+
+    /**
+     * @param chunkSize count of transactions signed by one task with one context. Default: 32
+     * @return self
+     */
+    public BatchSigner setChunkSize(int chunkSize) {
+        checkArgument(chunkSize > 0, "Chunk size must be greater than 0");
+        mChunkSize = chunkSize;
+        return this;
+    }
+
+    /**
+     * Sign prepared transactions with single key
+     * @param transactions transactions to sign
+     * @param privateKey private key
+     * @return signs in the same order, sign is null if transaction can't be signed (as {@link Transaction#signSingle(PrivateKey)} does)
+     */
+    public List<TransactionSign> signSingle(@Nonnull final List<Transaction> transactions, @Nonnull final PrivateKey privateKey) {
+        checkNotNull(transactions, "Transactions required");
+        checkNotNull(privateKey, "Private key required");
+        return sign(transactions.size(), privateKey, transactions::get);
+    }
+
+    /**
+     * Create and sign "send coin" transactions from template: all fields except nonce, recipient and value are taken
+     * from template
+     * @param template built {@link TxSendCoin} transaction
+     * @param payouts per-transaction nonce, recipient and value
+     * @param privateKey private key
+     * @return signs in the same order as payouts
+     */
+    public List<TransactionSign> signSendCoin(@Nonnull final Transaction template, @Nonnull final List<Payout> payouts, @Nonnull final PrivateKey privateKey) {
+        checkNotNull(template, "Template required");
+        checkNotNull(payouts, "Payouts required");
+        checkNotNull(privateKey, "Private key required");
+        checkArgument(template.mOperationData instanceof TxSendCoin, "Template must be a send coin transaction");
+        final long coin = ((TxSendCoin) template.mOperationData).getCoin();
+
+        return sign(payouts.size(), privateKey, i -> {
+            final Payout payout = payouts.get(i);
+            final Transaction tx = template.copyWithNonce(payout.nonce);
+            return tx.setData(new TxSendCoin(tx)
+                    .setCoin(coin)
+                    .setTo(payout.to)
+                    .setValue(payout.value));
+        });
+    }
+
+    private List<TransactionSign> sign(int count, PrivateKey privateKey, Source source) {
+        if (count == 0) {
+            return Collections.emptyList();
+        }
+        final TransactionSign[] out = new TransactionSign[count];
+        mPool.invoke(new SignTask(source, privateKey, out, 0, count));
+        return Arrays.asList(out);
+    }
+
+    private interface Source {
+        Transaction get(int index);
+    }
+
+    /**
+     * Waits for a free context without starving fork-join pool
+     */
+    private static final class ContextBlocker implements ForkJoinPool.ManagedBlocker {
+        private final NativeSecp256k1ContextPool mContexts;
+        private Long mCtx = null;
+
+        ContextBlocker(NativeSecp256k1ContextPool contexts) {
+            mContexts = contexts;
+        }
+
+        @Override
+        public boolean block() {
+            if (mCtx == null) {
+                mCtx = mContexts.acquire();
+            }
+            return true;
+        }
+
+        @Override
+        public boolean isReleasable() {
+            if (mCtx == null) {
+                mCtx = mContexts.tryAcquire();
+            }
+            return mCtx != null;
+        }
+    }
+
+    private final class SignTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+        private final Source mSource;
+        private final PrivateKey mPrivateKey;
+        private final TransactionSign[] mOut;
+        private final int mFrom;
+        private final int mTo;
+
+        SignTask(Source source, PrivateKey privateKey, TransactionSign[] out, int from, int to) {
+            mSource = source;
+            mPrivateKey = privateKey;
+            mOut = out;
+            mFrom = from;
+            mTo = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (mTo - mFrom > mChunkSize) {
+                final int mid = (mFrom + mTo) >>> 1;
+                invokeAll(
+                        new SignTask(mSource, mPrivateKey, mOut, mFrom, mid),
+                        new SignTask(mSource, mPrivateKey, mOut, mid, mTo)
+                );
+                return;
+            }
+
+            final ContextBlocker blocker = new ContextBlocker(mContexts);
+            try {
+                ForkJoinPool.managedBlock(blocker);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while waiting for secp256k1 context", e);
+            }
+
+            final long ctx = blocker.mCtx;
+            try {
+                for (int i = mFrom; i < mTo; i++) {
+                    mOut[i] = mSource.get(i).signSingle(mPrivateKey, ctx);
+                }
+            } finally {
+                mContexts.release(ctx);
+            }
+        }
+    }
+
+    public static final class Payout {
+        final BigInteger nonce;
+        final MinterAddress to;
+        final BigDecimal value;
+
+        /**
+         * @param nonce transaction nonce
+         * @param to recipient
+         * @param value human readable value, for example 1.5
+         */
+        public Payout(@Nonnull BigInteger nonce, @Nonnull MinterAddress to, @Nonnull BigDecimal value) {
+            this.nonce = checkNotNull(nonce, "Nonce required");
+            this.to = checkNotNull(to, "Recipient required");
+            this.value = checkNotNull(value, "Value required");
+        }
+    }
+}
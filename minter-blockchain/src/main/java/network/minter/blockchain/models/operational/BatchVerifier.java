@@ -0,0 +1,225 @@
+/*
+ * Copyright (C) by MinterTeam. 2019
+ * @link <a href="https://github.com/MinterTeam">Org Github</a>
+ * @link <a href="https://github.com/edwardstock">Maintainer Github</a>
+ *
+ * The MIT License
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package network.minter.blockchain.models.operational;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+import javax.annotation.Nonnull;
+
+import network.minter.blockchain.models.BlockInfo;
+import network.minter.blockchain.models.HistoryTransaction;
+import network.minter.blockchain.models.UnconfirmedTransactions;
+import network.minter.core.crypto.MinterAddress;
+
+import static network.minter.core.internal.common.Preconditions.checkArgument;
+import static network.minter.core.internal.common.Preconditions.checkNotNull;
+
+/**
+ * minter-android-blockchain. 2019
+ * <p>
+ * Recovers senders of many transactions in parallel using {@link ForkJoinPool}, so raw transactions
+ * from mempool or blocks can be authenticated locally. Work is split into chunks like in {@link BatchSigner}.
+ * Recovery is done in java, so no secp256k1 context is needed and native library may be not loaded.
+ * Results are returned in the same order as source transactions.
+ * <p>
+ * Usage:
+ * <pre>
+ *     {@code
+ *     final BatchVerifier verifier = new BatchVerifier();
+ *     final List<MinterAddress> senders = verifier.recoverSenders(unconfirmedTransactions);
+ *     }
+ * </pre>
+ *
+ * @author Eduard Maximovich <edward.vstock@gmail.com>
+ */
+public final class BatchVerifier {
+    private final ForkJoinPool mPool;
+    private int mChunkSize = 32;
+
+    /**
+     * Uses common fork-join pool
+     */
+    public BatchVerifier() {
+        this(ForkJoinPool.commonPool());
+    }
+
+    /**
+     * @param pool worker pool
+     */
+    public BatchVerifier(@Nonnull ForkJoinPool pool) {
+        mPool = checkNotNull(pool, "Pool required");
+    }
+
+    /**
+     * @param chunkSize count of transactions processed by one task. Default: 32
+     * @return self
+     */
+    public BatchVerifier setChunkSize(int chunkSize) {
+        checkArgument(chunkSize > 0, "Chunk size must be greater than 0");
+        mChunkSize = chunkSize;
+        return this;
+    }
+
+    /**
+     * Recover senders of decoded transactions
+     * @param transactions transactions
+     * @return senders in the same order, sender is null if signature is invalid (as {@link Transaction#recoverSender()} does)
+     */
+    public List<MinterAddress> recoverSenders(@Nonnull final List<Transaction> transactions) {
+        checkNotNull(transactions, "Transactions required");
+        return run(transactions.size(), i -> transactions.get(i).recoverSender());
+    }
+
+    /**
+     * Decode and recover senders of hex-encoded transactions
+     * @param encoded hex-encoded signed transactions
+     * @return senders in the same order, sender is null if transaction can't be decoded or signature is invalid
+     */
+    public List<MinterAddress> recoverSendersEncoded(@Nonnull final List<String> encoded) {
+        checkNotNull(encoded, "Encoded transactions required");
+        return run(encoded.size(), i -> {
+            final String tx = encoded.get(i);
+            if (tx == null || tx.isEmpty()) {
+                return null;
+            }
+            try {
+                return Transaction.fromEncoded(tx).recoverSender();
+            } catch (RuntimeException e) {
+                return null;
+            }
+        });
+    }
+
+    /**
+     * Recover senders of mempool transactions
+     * @param unconfirmed unconfirmed transactions
+     * @return senders in the same order, sender is null if transaction can't be decoded or signature is invalid
+     */
+    public List<MinterAddress> recoverSenders(@Nonnull final UnconfirmedTransactions unconfirmed) {
+        checkNotNull(unconfirmed, "Unconfirmed transactions required");
+        final List<String> encoded = new ArrayList<>(unconfirmed.size());
+        final Iterator<TransactionSign> it = unconfirmed.iterator();
+        while (it.hasNext()) {
+            encoded.add(it.next().getTxSign());
+        }
+        return recoverSendersEncoded(encoded);
+    }
+
+    /**
+     * Recover senders of block transactions from their raw data. Useful to check node response,
+     * as block transactions already have {@link HistoryTransaction#from}
+     * @param block block with transactions
+     * @return senders in the same order as {@link BlockInfo#transactions}
+     */
+    public List<MinterAddress> recoverSenders(@Nonnull final BlockInfo block) {
+        checkNotNull(block, "Block required");
+        if (block.transactions == null) {
+            return Collections.emptyList();
+        }
+        final List<HistoryTransaction> txs = block.transactions;
+        return run(txs.size(), i -> {
+            final HistoryTransaction tx = txs.get(i);
+            if (tx.rawTx == null || tx.rawTx.size() == 0) {
+                return null;
+            }
+            try {
+                return Transaction.fromEncoded(tx.rawTx).recoverSender();
+            } catch (RuntimeException e) {
+                return null;
+            }
+        });
+    }
+
+    /**
+     * Check every transaction is signed by it's sender
+     * @param transactions transactions
+     * @param senders expected senders, same size as transactions
+     * @return verification results in the same order
+     * @see Transaction#verifySignatures(MinterAddress)
+     */
+    public List<Boolean> verify(@Nonnull final List<Transaction> transactions, @Nonnull final List<MinterAddress> senders) {
+        checkNotNull(transactions, "Transactions required");
+        checkNotNull(senders, "Senders required");
+        checkArgument(transactions.size() == senders.size(), "Transactions and senders must have the same size");
+        return run(transactions.size(), i -> {
+            final MinterAddress sender = senders.get(i);
+            return sender != null && sender.equals(transactions.get(i).recoverSender());
+        });
+    }
+
+    private <T> List<T> run(int count, Job<T> job) {
+        if (count == 0) {
+            return Collections.emptyList();
+        }
+        final Object[] out = new Object[count];
+        mPool.invoke(new VerifyTask<>(job, out, 0, count));
+        @SuppressWarnings("unchecked")
+        final List<T> result = (List<T>) Arrays.asList(out);
+        return result;
+    }
+
+    private interface Job<T> {
+        T apply(int index);
+    }
+
+    private final class VerifyTask<T> extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+        private final Job<T> mJob;
+        private final Object[] mOut;
+        private final int mFrom;
+        private final int mTo;
+
+        VerifyTask(Job<T> job, Object[] out, int from, int to) {
+            mJob = job;
+            mOut = out;
+            mFrom = from;
+            mTo = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (mTo - mFrom > mChunkSize) {
+                final int mid = (mFrom + mTo) >>> 1;
+                invokeAll(
+                        new VerifyTask<>(mJob, mOut, mFrom, mid),
+                        new VerifyTask<>(mJob, mOut, mid, mTo)
+                );
+                return;
+            }
+
+            for (int i = mFrom; i < mTo; i++) {
+                mOut[i] = mJob.apply(i);
+            }
+        }
+    }
+}
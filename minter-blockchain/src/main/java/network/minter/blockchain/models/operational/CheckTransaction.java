@@ -41,13 +41,12 @@ import network.minter.core.crypto.MinterCheck;
 import network.minter.core.crypto.PrivateKey;
 import network.minter.core.internal.helpers.StringHelper;
 import com.edwardstock.secp256k1.NativeSecp256k1;
-import network.minter.core.util.DecodeResult;
+import com.edwardstock.secp256k1.NativeSecp256k1ContextPool;
 import network.minter.core.util.RLPBoxed;
+import network.minter.core.util.RLPReader;
 
 import static network.minter.core.internal.common.Preconditions.checkArgument;
 import static network.minter.core.internal.common.Preconditions.checkNotNull;
-import static network.minter.core.internal.helpers.BytesHelper.fixBigintSignedByte;
-import static network.minter.core.internal.helpers.StringHelper.charsToStringSafe;
 import static network.minter.core.internal.helpers.StringHelper.strrpad;
 
 /**
@@ -101,11 +100,12 @@ public class CheckTransaction {
         BytesData encodedAddress = new BytesData(RLPBoxed.encode(new Object[]{address.getData()})).sha3Mutable();
 
         NativeSecp256k1.RecoverableSignature signature;
-        long ctx = NativeSecp256k1.contextCreate();
+        final NativeSecp256k1ContextPool pool = NativeSecp256k1ContextPool.getDefault();
+        long ctx = pool.acquire();
         try {
-            signature = NativeSecp256k1.signRecoverableSerialized(ctx, encodedAddress.getBytes(), key.getBytes());
+            signature = NativeSecp256k1.signRecoverableSerialized(ctx, encodedAddress.getBytesView(), key.getBytesView());
         } finally {
-            NativeSecp256k1.contextCleanup(ctx);
+            pool.release(ctx);
         }
 
         signature.v[0] = signature.v[0] == 27 ? 0x0 : (byte) 0x01;
@@ -120,16 +120,16 @@ public class CheckTransaction {
     public static CheckTransaction fromEncoded(@Nonnull String hexEncoded) {
         checkNotNull(hexEncoded, "hexEncoded data can't be null");
         checkArgument(hexEncoded.length() > 0, "Encoded transaction is empty");
-        final BytesData bd = new BytesData(new MinterCheck(hexEncoded));
-        final DecodeResult rlp = RLPBoxed.decode(bd.getData(), 0);
-        final Object[] decoded = (Object[]) rlp.getDecoded();
+        final RLPReader reader = new RLPReader(new MinterCheck(hexEncoded).getBytesView());
+        reader.beginList();
 
-        if (decoded.length != 10) {
-            throw new InvalidEncodedTransactionException("Encoded transaction has invalid data length: expected 10, given %d", decoded.length);
+        final int fields = reader.remaining();
+        if (fields != 10) {
+            throw new InvalidEncodedTransactionException("Encoded transaction has invalid data length: expected 10, given %d", fields);
         }
 
         CheckTransaction transaction = new CheckTransaction();
-        transaction.decodeRLP(decoded);
+        transaction.readRLP(reader);
 
         return transaction;
     }
@@ -159,7 +159,7 @@ public class CheckTransaction {
     }
 
     public BigInteger getNonceNumeric() {
-        return new BigInteger(new String(mNonce.getData()));
+        return new BigInteger(mNonce.stringValue());
     }
 
     /**
@@ -206,11 +206,12 @@ public class CheckTransaction {
 
         NativeSecp256k1.RecoverableSignature lockSig;
 
-        long ctx = NativeSecp256k1.contextCreate();
+        final NativeSecp256k1ContextPool pool = NativeSecp256k1ContextPool.getDefault();
+        long ctx = pool.acquire();
         try {
-            lockSig = NativeSecp256k1.signRecoverableSerialized(ctx, hash.getBytes(), pk.getBytes());
+            lockSig = NativeSecp256k1.signRecoverableSerialized(ctx, hash.getBytesView(), pk.getBytesView());
         } finally {
-            NativeSecp256k1.contextCleanup(ctx);
+            pool.release(ctx);
         }
 
         lockSig.v[0] = lockSig.v[0] == 27 ? 0x0 : (byte) 0x01;
@@ -220,11 +221,11 @@ public class CheckTransaction {
         BytesData withLock = new BytesData(encode(false)).sha3Mutable();
 
         NativeSecp256k1.RecoverableSignature rsv;
-        long ctx2 = NativeSecp256k1.contextCreate();
+        long ctx2 = pool.acquire();
         try {
-            rsv = NativeSecp256k1.signRecoverableSerialized(ctx2, withLock.getBytes(), privateKey.getBytes());
+            rsv = NativeSecp256k1.signRecoverableSerialized(ctx2, withLock.getBytesView(), privateKey.getBytesView());
         } finally {
-            NativeSecp256k1.contextCleanup(ctx2);
+            pool.release(ctx2);
         }
 
         mSignature = new SignatureSingleData();
@@ -243,30 +244,21 @@ public class CheckTransaction {
         return mGasCoin;//.replace("\0", "");
     }
 
-    char[] fromRawRlp(int idx, Object[] raw) {
-        if (raw[idx] instanceof String) {
-            return ((String) raw[idx]).toCharArray();
-        }
-        return (char[]) raw[idx];
-    }
+    private void readRLP(RLPReader reader) {
+        mNonce = reader.readBytesData();
+        mChainId = BlockchainID.valueOf(reader.readBigInteger());
+        mDueBlock = reader.readBigInteger();
+        mCoin = reader.readLong();
+        mValue = reader.readBigInteger();
+        mGasCoin = reader.readLong();
+        mLock = reader.readBytesData();
 
-    @SuppressWarnings("UnusedAssignment")
-    private void decodeRLP(Object[] raw) {
-        int idx = 0;
-        mNonce = new BytesData((char[]) raw[idx++]);
-        mChainId = BlockchainID.valueOf(fixBigintSignedByte(fromRawRlp(idx++, raw)));
-        mDueBlock = fixBigintSignedByte(raw[idx++]);
-        mCoin = Long.valueOf(charsToStringSafe(fromRawRlp(idx++, raw), 10));
-        mValue = fixBigintSignedByte(raw[idx++]);
-        mGasCoin = Long.valueOf(charsToStringSafe(fromRawRlp(idx++, raw), 10));
-        mLock = new BytesData((char[]) raw[idx++]);
         mSignature = new SignatureSingleData();
-
-        char[][] vrs = new char[3][];
-        vrs[0] = (char[]) raw[idx++];
-        vrs[1] = (char[]) raw[idx++];
-        vrs[2] = (char[]) raw[idx++];
-        mSignature.decodeRaw(vrs);
+        mSignature.decodeRaw(new byte[][]{
+                reader.readBytes(),
+                reader.readBytes(),
+                reader.readBytes()
+        });
     }
 
     private char[] encode(boolean forSigning) {
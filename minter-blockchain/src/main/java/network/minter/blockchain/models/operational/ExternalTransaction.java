@@ -36,16 +36,12 @@ import javax.annotation.Nonnull;
 
 import network.minter.core.MinterSDK;
 import network.minter.core.crypto.BytesData;
-import network.minter.core.internal.helpers.StringHelper;
-import network.minter.core.util.DecodeResult;
-import network.minter.core.util.RLPBoxed;
+import network.minter.core.util.RLPReader;
+import network.minter.core.util.RLPWriter;
 
 import static network.minter.core.internal.common.Preconditions.checkArgument;
 import static network.minter.core.internal.common.Preconditions.checkNotNull;
 import static network.minter.core.internal.common.Preconditions.firstNonNull;
-import static network.minter.core.internal.helpers.BytesHelper.charsToBytes;
-import static network.minter.core.internal.helpers.BytesHelper.fixBigintSignedByte;
-import static network.minter.core.internal.helpers.StringHelper.charsToString;
 import static network.minter.core.internal.helpers.StringHelper.strrpad;
 
 /**
@@ -84,23 +80,16 @@ public class ExternalTransaction  {
     public static ExternalTransaction fromEncoded(@Nonnull String hexEncoded) {
         checkNotNull(hexEncoded, "hexEncoded data can't be null");
         checkArgument(hexEncoded.length() > 0, "Encoded transaction is empty");
-        final BytesData bd = new BytesData(hexEncoded);
-        final DecodeResult rlp = RLPBoxed.decode(bd.getData(), 0);
-        final Object[] decoded = (Object[]) rlp.getDecoded();
+        final RLPReader reader = new RLPReader(new BytesData(hexEncoded).getBytesView());
+        reader.beginList();
 
-        if (decoded.length < 6) {
-            throw new InvalidEncodedTransactionException("Encoded transaction has invalid data length: expected 6, given %d", decoded.length);
+        final int fields = reader.remaining();
+        if (fields < 6) {
+            throw new InvalidEncodedTransactionException("Encoded transaction has invalid data length: expected 6, given %d", fields);
         }
 
         ExternalTransaction transaction = new ExternalTransaction();
-        transaction.decodeRLP(decoded);
-
-        try {
-            transaction.mOperationData = transaction.mType.getOpClass().getDeclaredConstructor().newInstance();
-            transaction.mOperationData.decodeRLP(transaction.fromRawRlp(1, decoded));
-        } catch (Throwable e) {
-            throw new InvalidEncodedTransactionException("Unable to decode transaction data field", e);
-        }
+        transaction.readRLP(reader);
 
         return transaction;
     }
@@ -110,16 +99,24 @@ public class ExternalTransaction  {
      * @return char[] container. Use BytesData#toHexString() to get hex string
      */
     public BytesData encode() {
-        char[] res = RLPBoxed.encode(new Object[]{
-                mOperationData.getType().getValue(),
-                mOperationData.encodeRLP(),
-                mPayload.getData(),
-                firstNonNull(mNonce, BigInteger.ZERO),
-                firstNonNull(mGasPrice, new BigInteger("1")),
-                mGasCoin
-//                firstNonNull(StringHelper.strrpad(10, mGasCoin), ""),
+        final byte[] res = RLPWriter.encode(new RLPWriter.Encodable() {
+            @Override
+            public void writeRLP(RLPWriter writer) {
+                writer.beginList()
+                        .writeBigInteger(mOperationData.getType().getValue());
+
+                writer.beginNested();
+                mOperationData.writeRLP(writer);
+                writer.endNested();
+
+                writer.writeDataChars(mPayload)
+                        .writeBigInteger(firstNonNull(mNonce, BigInteger.ZERO))
+                        .writeBigInteger(firstNonNull(mGasPrice, BigInteger.ONE))
+                        .writeLong(mGasCoin)
+                        .endList();
+            }
         });
-        return new BytesData(res);
+        return new BytesData(res, false);
     }
 
     /**
@@ -177,7 +174,7 @@ public class ExternalTransaction  {
      * @return string from bytes
      */
     public String getPayloadString() {
-        return new String(getPayload().getData());
+        return getPayload().stringValue();
     }
 
     /**
@@ -193,19 +190,22 @@ public class ExternalTransaction  {
     }
 
 
-    char[] fromRawRlp(int idx, Object[] raw) {
-        if (raw[idx] instanceof String) {
-            return ((String) raw[idx]).toCharArray();
+    void readRLP(RLPReader reader) {
+        mType = OperationType.findByValue(reader.readBigInteger());
+
+        try {
+            mOperationData = mType.getOpClass().getDeclaredConstructor().newInstance();
+            reader.beginNested();
+            mOperationData.readRLP(reader);
+            reader.endNested();
+        } catch (Throwable e) {
+            throw new InvalidEncodedTransactionException("Unable to decode transaction data field", e);
         }
-        return (char[]) raw[idx];
-    }
 
-    void decodeRLP(Object[] raw) {
-        mType = OperationType.findByValue(new BigInteger(charsToBytes(fromRawRlp(0, raw))));
-        mPayload = new BytesData(fromRawRlp(2, raw));
-        mNonce = fixBigintSignedByte(raw[3]);
-        mGasPrice = fixBigintSignedByte((raw[4]));
-        mGasCoin = Long.valueOf(charsToString(fromRawRlp(5, raw)));
+        mPayload = reader.readBytesData();
+        mNonce = reader.readBigInteger();
+        mGasPrice = reader.readBigInteger();
+        mGasCoin = reader.readLong();
     }
 
     public static class Builder {
@@ -251,7 +251,7 @@ public class ExternalTransaction  {
          */
         public Builder setPayload(BytesData data) {
             checkArgument(data.size() <= 1024, "Payload maximum size: 1024 bytes");
-            mTx.mPayload = new BytesData(data.getData(), true);
+            mTx.mPayload = new BytesData(data, true);
             return this;
         }
 
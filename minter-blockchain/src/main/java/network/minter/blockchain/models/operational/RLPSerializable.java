@@ -28,23 +28,48 @@ package network.minter.blockchain.models.operational;
 
 import javax.annotation.Nonnull;
 
+import network.minter.core.util.RLPReader;
+import network.minter.core.util.RLPWriter;
+
+import static network.minter.core.internal.helpers.BytesHelper.charsToBytes;
+
 /**
  * minter-android-blockchain. 2018
  * @author Eduard Maximovich [edward.vstock@gmail.com]
  */
-public abstract class RLPSerializable {
+public abstract class RLPSerializable implements RLPWriter.Encodable {
+    /**
+     * Reads all fields from {@link RLPReader}, cursor must point to the item written by {@link #writeRLP(RLPWriter)}
+     * @param reader rlp reader
+     */
+    public abstract void readRLP(RLPReader reader);
+
     /**
      * Decode data from encoded RLP
      * @param rlpEncodedData
+     * @see #readRLP(RLPReader)
      */
-    protected abstract void decodeRLP(@Nonnull char[] rlpEncodedData);
+    protected void decodeRLP(@Nonnull char[] rlpEncodedData) {
+        readRLP(new RLPReader(charsToBytes(rlpEncodedData)));
+    }
+
+    /**
+     * Writes all fields via {@link RLPWriter}. Called twice per encoding: to measure and to write, so
+     * implementation must not change state
+     * @param writer rlp writer
+     */
+    @Override
+    public abstract void writeRLP(RLPWriter writer);
+
     /**
      * Encodes all create fields via RLP
      * @return encoded byte[]
-     * @see RLP
+     * @see RLPWriter
      */
     @Nonnull
-    protected abstract char[] encodeRLP();
+    protected char[] encodeRLP() {
+        return RLPWriter.encodeChars(this);
+    }
 
     protected char[][] objArrToByteArrArr(Object[] input) {
         char[][] out = new char[input.length][];
@@ -26,8 +26,9 @@
 
 package network.minter.blockchain.models.operational;
 
+import java.util.List;
 
-
+import network.minter.core.crypto.MinterAddress;
 
 /**
  * minter-android-blockchain. 2018
@@ -35,4 +36,10 @@ package network.minter.blockchain.models.operational;
  */
 public abstract class SignatureData extends RLPSerializable  {
 
+    /**
+     * Recover addresses of all signers
+     * @param hash signed data hash
+     * @return signer addresses, null in place of invalid signature
+     */
+    abstract List<MinterAddress> recoverSigners(byte[] hash);
 }
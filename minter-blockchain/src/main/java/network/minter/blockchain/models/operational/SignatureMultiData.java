@@ -32,11 +32,10 @@ import java.util.ArrayList;
 import java.util.LinkedList;
 import java.util.List;
 
-import javax.annotation.Nonnull;
 
 import network.minter.core.crypto.MinterAddress;
-import network.minter.core.util.DecodeResult;
-import network.minter.core.util.RLPBoxed;
+import network.minter.core.util.RLPReader;
+import network.minter.core.util.RLPWriter;
 
 /**
  * minter-android-blockchain. 2018
@@ -60,25 +59,48 @@ public final class SignatureMultiData extends SignatureData {
     }
 
 
+    /**
+     * Recover addresses of all signers. Multisig address itself can't be checked offline, as it's owners and weights
+     * are stored in blockchain
+     * @param hash signed data hash, for transaction it's hash of transaction without signature
+     * @return signer addresses in signatures order, null in place of invalid signature
+     */
+    public List<MinterAddress> recoverAddresses(byte[] hash) {
+        return recoverSigners(hash);
+    }
+
+    @Override
+    List<MinterAddress> recoverSigners(byte[] hash) {
+        if (mSignatures == null) {
+            return new ArrayList<>(0);
+        }
+        final List<MinterAddress> out = new ArrayList<>(mSignatures.size());
+        for (SignatureSingleData signature : mSignatures) {
+            out.addAll(signature.recoverSigners(hash));
+        }
+        return out;
+    }
+
     protected void setSigns(MinterAddress signatureAddress, List<SignatureSingleData> signatures) {
         mSignatureAddress = signatureAddress;
         mSignatures = signatures;
     }
 
     @Override
-    protected void decodeRLP(@Nonnull char[] rlpEncodedData) {
-	    final DecodeResult rlp = RLPBoxed.decode(rlpEncodedData, 0);
-        final Object[] decoded = (Object[]) rlp.getDecoded();
-        mSignatureAddress = new MinterAddress(fromRawRlp(0, decoded));
+    public void readRLP(RLPReader reader) {
+        reader.beginList();
+        mSignatureAddress = reader.readAddress();
 
-        Object[] signs = (Object[]) decoded[1];
         mSignatures = new LinkedList<>();
-        for (int i = 0; i < signs.length; i++) {
+        reader.beginList();
+        while (reader.hasNext()) {
             final SignatureSingleData data = new SignatureSingleData();
-            // object array of object array contains 3 byte array (V R S)
-            data.decodeRaw(objArrToByteArrArr((Object[]) signs[i]));
-            mSignatures.add(i, data);
+            data.readRLP(reader);
+            mSignatures.add(data);
         }
+        reader.endList();
+
+        reader.endList();
     }
 
     @Override
@@ -98,21 +120,21 @@ public final class SignatureMultiData extends SignatureData {
         return mSignatures.equals(md.mSignatures);
     }
 
-    @Nonnull
     @Override
-    protected char[] encodeRLP() {
-        final Object[][] signatures = new Object[mSignatures.size()][];
-        for (int i = 0; i < mSignatures.size(); i++) {
-            signatures[i] = new Object[]{
-                    mSignatures.get(i).getV(),
-                    mSignatures.get(i).getR(),
-                    mSignatures.get(i).getS(),
-            };
+    public void writeRLP(RLPWriter writer) {
+        writer.beginList()
+                .writeDataChars(mSignatureAddress);
+
+        writer.beginList();
+        for (SignatureSingleData signature : mSignatures) {
+            writer.beginList()
+                    .writeData(signature.getV())
+                    .writeData(signature.getR())
+                    .writeData(signature.getS())
+                    .endList();
         }
+        writer.endList();
 
-	    return RLPBoxed.encode(new Object[]{
-                mSignatureAddress.getData(),
-                signatures
-        });
+        writer.endList();
     }
 }
@@ -29,13 +29,17 @@ package network.minter.blockchain.models.operational;
 
 
 
-import javax.annotation.Nonnull;
+
+import java.util.Collections;
+import java.util.List;
 
 import network.minter.core.crypto.BytesData;
+import network.minter.core.crypto.MinterAddress;
+import network.minter.core.crypto.PublicKey;
 import network.minter.core.internal.helpers.BytesHelper;
 import com.edwardstock.secp256k1.NativeSecp256k1;
-import network.minter.core.util.DecodeResult;
-import network.minter.core.util.RLPBoxed;
+import network.minter.core.util.RLPReader;
+import network.minter.core.util.RLPWriter;
 
 import static network.minter.core.internal.common.Preconditions.checkArgument;
 
@@ -87,6 +91,49 @@ public final class SignatureSingleData extends SignatureData {
         return mV;
     }
 
+    /**
+     * Recover public key of signer
+     * @param hash signed data hash, for transaction it's hash of transaction without signature
+     * @return uncompressed public key or null if signature is invalid
+     */
+    public PublicKey recoverPublicKey(byte[] hash) {
+        checkArgument(hash != null && hash.length == 32, "Hash length must be 32");
+        if (mR == null || mS == null || mV == null || mR.size() > 32 || mS.size() > 32 || mV.size() != 1) {
+            return null;
+        }
+
+        // r and s come from RLP without leading zeroes
+        final byte[] rs = new byte[64];
+        final byte[] r = mR.getBytesView();
+        final byte[] s = mS.getBytesView();
+        System.arraycopy(r, 0, rs, 32 - r.length, r.length);
+        System.arraycopy(s, 0, rs, 64 - s.length, s.length);
+
+        final int recId = (mV.getBytesView()[0] & 0xFF) - 27;
+        if (recId < 0 || recId > 1) {
+            return null;
+        }
+
+        final byte[] pub = NativeSecp256k1.ecdsaRecover(hash, rs, recId, false);
+        return pub.length == 0 ? null : new PublicKey(pub);
+    }
+
+    /**
+     * Recover address of signer
+     * @param hash signed data hash, for transaction it's hash of transaction without signature
+     * @return signer address or null if signature is invalid
+     */
+    public MinterAddress recoverAddress(byte[] hash) {
+        final PublicKey publicKey = recoverPublicKey(hash);
+        return publicKey == null ? null : publicKey.toMinter();
+    }
+
+    @Override
+    List<MinterAddress> recoverSigners(byte[] hash) {
+        final PublicKey publicKey = recoverPublicKey(hash);
+        return Collections.singletonList(publicKey == null ? null : publicKey.toMinter());
+    }
+
     @Override
     public String toString() {
         return String.format("%s%s%s", mR, mS, mV);
@@ -121,27 +168,26 @@ public final class SignatureSingleData extends SignatureData {
         return mV.equals(sd.getV()) && mR.equals(sd.getR()) && mS.equals(sd.getS());
     }
 
-    @Nonnull
     @Override
-    protected char[] encodeRLP() {
-	    char[] v = mV.getData();
-	    char[] r = BytesHelper.dropLeadingZeroes(mR.getData());
-	    char[] s = BytesHelper.dropLeadingZeroes(mS.getData());
-
-	    return RLPBoxed.encode(new Object[]{v, r, s});
+    public void writeRLP(RLPWriter writer) {
+        final byte[] r = mR.getBytesView();
+        final byte[] s = mS.getBytesView();
+        final int rOffset = BytesHelper.countLeadingZeroes(r);
+        final int sOffset = BytesHelper.countLeadingZeroes(s);
+
+        writer.beginList()
+                .writeDataChars(mV)
+                .writeBytes(r, rOffset, r.length - rOffset)
+                .writeBytes(s, sOffset, s.length - sOffset)
+                .endList();
     }
 
-    /**
-     * Unused method cause can't decode with base argument type byte[], needs byte[][]
-     * @param rlpEncodedData
-     * @see #decodeRaw(byte[][])
-     */
     @Override
-    protected void decodeRLP(@Nonnull char[] rlpEncodedData) {
-        final DecodeResult rlp = RLPBoxed.decode(rlpEncodedData, 0);
-        final Object[] decoded = (Object[]) rlp.getDecoded();
-        mV = new BytesData(fromRawRlp(0, decoded));
-        mR = new BytesData(fromRawRlp(1, decoded));
-        mS = new BytesData(fromRawRlp(2, decoded));
+    public void readRLP(RLPReader reader) {
+        reader.beginList();
+        mV = reader.readBytesData();
+        mR = reader.readBytesData();
+        mS = reader.readBytesData();
+        reader.endList();
     }
 }
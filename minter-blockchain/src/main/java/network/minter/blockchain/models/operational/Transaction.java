@@ -35,6 +35,8 @@ import java.math.BigDecimal;
 import java.math.BigInteger;
 import java.nio.ByteBuffer;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
 
 import javax.annotation.Nonnull;
@@ -42,20 +44,19 @@ import javax.annotation.Nonnull;
 import network.minter.blockchain.BuildConfig;
 import network.minter.core.MinterSDK;
 import network.minter.core.crypto.BytesData;
+import network.minter.core.crypto.HashUtil;
 import network.minter.core.crypto.MinterAddress;
 import network.minter.core.crypto.PrivateKey;
 import com.edwardstock.secp256k1.NativeSecp256k1;
-import network.minter.core.util.DecodeResult;
-import network.minter.core.util.RLPBoxed;
+import com.edwardstock.secp256k1.NativeSecp256k1ContextPool;
+import network.minter.core.util.RLPReader;
+import network.minter.core.util.RLPWriter;
 
 import static network.minter.blockchain.models.operational.Transaction.SignatureType.Multi;
 import static network.minter.blockchain.models.operational.Transaction.SignatureType.Single;
 import static network.minter.core.internal.common.Preconditions.checkArgument;
 import static network.minter.core.internal.common.Preconditions.checkNotNull;
 import static network.minter.core.internal.common.Preconditions.firstNonNull;
-import static network.minter.core.internal.helpers.BytesHelper.charsToBytes;
-import static network.minter.core.internal.helpers.BytesHelper.fixBigintSignedByte;
-import static network.minter.core.internal.helpers.StringHelper.charsToString;
 import static network.minter.core.internal.helpers.StringHelper.strrpad;
 
 /**
@@ -140,30 +141,31 @@ public class Transaction  {
     public static Transaction fromEncoded(@Nonnull String hexEncoded) {
         checkNotNull(hexEncoded, "hexEncoded data can't be null");
         checkArgument(hexEncoded.length() > 0, "Encoded transaction is empty");
-        final BytesData bd = new BytesData(hexEncoded);
-        final DecodeResult rlp = RLPBoxed.decode(bd.getData(), 0);
-        final Object[] decoded = (Object[]) rlp.getDecoded();
+        return fromEncoded(new BytesData(hexEncoded).getBytesView());
+    }
 
-        if (decoded.length < 10) {
-            throw new InvalidEncodedTransactionException("Encoded transaction has invalid data length: expected 10, given %d", decoded.length);
-        }
+    /**
+     * Decodes raw transaction, for example {@link network.minter.blockchain.models.HistoryTransaction#rawTx}
+     * @param encoded transaction bytes
+     * @return Valid transaction with operation data
+     */
+    public static Transaction fromEncoded(@Nonnull BytesData encoded) {
+        checkNotNull(encoded, "encoded data can't be null");
+        checkArgument(encoded.size() > 0, "Encoded transaction is empty");
+        return fromEncoded(encoded.getBytesView());
+    }
 
-        Transaction transaction = new Transaction();
-        transaction.decodeRLP(decoded);
+    private static Transaction fromEncoded(byte[] encoded) {
+        final RLPReader reader = new RLPReader(encoded);
+        reader.beginList();
 
-        try {
-            transaction.mOperationData = transaction.mType.getOpClass().getDeclaredConstructor(Transaction.class).newInstance(transaction);
-            transaction.mOperationData.decodeRLP(transaction.fromRawRlp(5, decoded));
-        } catch (Throwable e) {
-            throw new InvalidEncodedTransactionException("Unable to decode transaction data field", e);
+        final int fields = reader.remaining();
+        if (fields < 10) {
+            throw new InvalidEncodedTransactionException("Encoded transaction has invalid data length: expected 10, given %d", fields);
         }
 
-        try {
-            transaction.mSignatureData = transaction.mSignatureType.getSignClass().newInstance();
-            transaction.mSignatureData.decodeRLP(transaction.fromRawRlp(9, decoded));
-        } catch (Throwable e) {
-            throw new InvalidEncodedTransactionException("Unable to decode transaction signature data field", e);
-        }
+        Transaction transaction = new Transaction();
+        transaction.readRLP(reader);
 
         return transaction;
     }
@@ -236,45 +238,45 @@ public class Transaction  {
         mSignatureType = Multi;
         checkArgument(privateKeys.size() > 0, "Private keys can't be empty");
 
-        final BytesData rawTxData = new BytesData(encode(true));
+        final BytesData rawTxData = new BytesData(encode(true), false);
         final BytesData hash = rawTxData.sha3Data();
 
         final List<SignatureSingleData> signaturesData = new ArrayList<>(privateKeys.size());
 
-        long ctx = NativeSecp256k1.contextCreate();
+        final NativeSecp256k1ContextPool pool = NativeSecp256k1ContextPool.getDefault();
+        long ctx = pool.acquire();
         try {
             for (final PrivateKey pk : privateKeys) {
-                final NativeSecp256k1.RecoverableSignature signature = NativeSecp256k1.signRecoverableSerialized(ctx, charsToBytes(hash.getData()), pk.getBytes());
+                final NativeSecp256k1.RecoverableSignature signature = NativeSecp256k1.signRecoverableSerialized(ctx, hash.getBytesView(), pk.getBytesView());
                 final SignatureSingleData signatureData = new SignatureSingleData();
                 signatureData.setSign(signature);
                 signaturesData.add(signatureData);
             }
         } finally {
-            // DON'T forget cleanup to avoid leaks
-            NativeSecp256k1.contextCleanup(ctx);
+            // DON'T forget to release context, otherwise pool will be exhausted
+            pool.release(ctx);
         }
 
         mSignatureData = new SignatureMultiData();
         ((SignatureMultiData) mSignatureData).setSigns(signatureAddress, signaturesData);
 
-        return new TransactionSign(new BytesData(encode(false)).toHexString());
+        return new TransactionSign(new BytesData(encode(false), false).toHexString());
     }
 
     public BytesData getUnsignedTxHash() {
         mSignatureType = Single;
-        char[] encoded = encode(true);
-        final BytesData rawTxData = new BytesData(encoded);
+        final BytesData rawTxData = new BytesData(encode(true), false);
         return rawTxData.sha3Data();
     }
 
     public TransactionSign signExternal(SignatureSingleData signature) {
         mSignatureData = signature;
-        return new TransactionSign(new BytesData(encode(false)).toHexString());
+        return new TransactionSign(new BytesData(encode(false), false).toHexString());
     }
 
     public TransactionSign signExternal(char[] r, char[] s, char[] v) {
         mSignatureData = new SignatureSingleData(r, s, v);
-        return new TransactionSign(new BytesData(encode(false)).toHexString());
+        return new TransactionSign(new BytesData(encode(false), false).toHexString());
     }
 
     /**
@@ -284,21 +286,26 @@ public class Transaction  {
      * @since 0.3.0
      */
     public TransactionSign signSingle(@Nonnull final PrivateKey privateKey) {
-        mSignatureType = Single;
-        char[] encoded = encode(true);
-        final BytesData rawTxData = new BytesData(encoded);
-        final BytesData hash = rawTxData.sha3Data();
-
-        NativeSecp256k1.RecoverableSignature signature;
-
-        long ctx = NativeSecp256k1.contextCreate();
+        final NativeSecp256k1ContextPool pool = NativeSecp256k1ContextPool.getDefault();
+        long ctx = pool.acquire();
         try {
-            signature = NativeSecp256k1.signRecoverableSerialized(ctx, charsToBytes(hash.getData()), privateKey.getBytes());
+            return signSingle(privateKey, ctx);
         } finally {
-            // DON'T forget cleanup to avoid leaks
-            NativeSecp256k1.contextCleanup(ctx);
+            // DON'T forget to release context, otherwise pool will be exhausted
+            pool.release(ctx);
         }
+    }
 
+    /**
+     * Sign using already acquired context, see {@link BatchSigner}
+     * @param privateKey private key data
+     * @param ctx secp256k1 context
+     * @return {@link TransactionSign} Raw transaction sign or null if unable to sign
+     */
+    TransactionSign signSingle(@Nonnull final PrivateKey privateKey, long ctx) {
+        mSignatureType = Single;
+        final byte[] hash = HashUtil.sha3(encode(true));
+        final NativeSecp256k1.RecoverableSignature signature = NativeSecp256k1.signRecoverableSerialized(ctx, hash, privateKey.getBytesView());
         if (signature == null) {
             return null;
         }
@@ -306,7 +313,62 @@ public class Transaction  {
         mSignatureData = new SignatureSingleData();
         ((SignatureSingleData) mSignatureData).setSign(signature);
 
-        return new TransactionSign(new BytesData(encode(false)).toHexString());
+        return new TransactionSign(new BytesData(encode(false), false).toHexString());
+    }
+
+    /**
+     * Recover transaction sender from signature, without asking node.
+     * For multisig transaction sender is multisig address, it's returned if all signatures are valid
+     * @return sender address or null if transaction is not signed or signature is invalid
+     */
+    public MinterAddress recoverSender() {
+        final List<MinterAddress> signers = recoverSigners();
+        if (signers.isEmpty() || signers.contains(null)) {
+            return null;
+        }
+
+        if (mSignatureType == Multi) {
+            // same key can't sign twice
+            if (new HashSet<>(signers).size() != signers.size()) {
+                return null;
+            }
+            return ((SignatureMultiData) mSignatureData).getSignatureAddress();
+        }
+
+        return signers.get(0);
+    }
+
+    /**
+     * Recover addresses of all signers: single signer or every multisig signer
+     * @return signer addresses, null in place of invalid signature, or empty list if transaction is not signed
+     */
+    public List<MinterAddress> recoverSigners() {
+        if (mSignatureData == null || mOperationData == null) {
+            return Collections.emptyList();
+        }
+        final byte[] hash = HashUtil.sha3(encode(true));
+        return mSignatureData.recoverSigners(hash);
+    }
+
+    /**
+     * Check transaction has valid signatures: every signature recovers to a public key and multisig signers are unique.
+     * This doesn't check who signed transaction, use {@link #verifySignatures(MinterAddress)} for that
+     * @return true if signatures are valid
+     */
+    public boolean verifySignatures() {
+        return recoverSender() != null;
+    }
+
+    /**
+     * Check transaction is signed by sender: for single signature recovered address must be equal to sender,
+     * for multisig transaction sender must be it's multisig address and all signatures must be valid.
+     * Multisig owners and weights are stored in blockchain and are not checked here
+     * @param sender expected sender
+     * @return true if transaction is signed by sender
+     */
+    public boolean verifySignatures(@Nonnull MinterAddress sender) {
+        checkNotNull(sender, "Sender required");
+        return sender.equals(recoverSender());
     }
 
     /**
@@ -347,63 +409,96 @@ public class Transaction  {
     }
 
     public String getPayloadString() {
-        return new String(getPayload().getData());
+        return getPayload().stringValue();
     }
 
 
-    char[] fromRawRlp(int idx, Object[] raw) {
-        if (raw[idx] instanceof String) {
-            return ((String) raw[idx]).toCharArray();
+    /**
+     * Reads exact 10 fields, reader must be inside transaction list
+     * @param reader rlp reader
+     */
+    void readRLP(RLPReader reader) {
+        mNonce = reader.readBigInteger();
+        mChainId = BlockchainID.valueOf(reader.readBigInteger());
+        mGasPrice = reader.readBigInteger();
+        mGasCoin = reader.readLong();
+        mType = OperationType.findByValue(reader.readBigInteger());
+
+        try {
+            mOperationData = mType.getOpClass().getDeclaredConstructor(Transaction.class).newInstance(this);
+            reader.beginNested();
+            mOperationData.readRLP(reader);
+            reader.endNested();
+        } catch (Throwable e) {
+            throw new InvalidEncodedTransactionException("Unable to decode transaction data field", e);
+        }
+
+        mPayload = reader.readBytesData();
+        mServiceData = reader.readBytesData();
+        mSignatureType = SignatureType.findByValue(reader.readBigInteger());
+
+        try {
+            mSignatureData = mSignatureType.getSignClass().newInstance();
+            reader.beginNested();
+            mSignatureData.readRLP(reader);
+            reader.endNested();
+        } catch (Throwable e) {
+            throw new InvalidEncodedTransactionException("Unable to decode transaction signature data field", e);
         }
-        return (char[]) raw[idx];
     }
 
     /**
-     * Object[] contains exact 10 elements
-     * @param raw rlp encoded bytes array
+     * Copy of common transaction fields with other nonce. Operation data and signature are not copied
+     * @param nonce nonce of the copy
+     * @return new transaction
      */
-    void decodeRLP(Object[] raw) {
-        mNonce = fixBigintSignedByte(raw[0]);
-        mChainId = BlockchainID.valueOf(fixBigintSignedByte(fromRawRlp(1, raw)));
-        mGasPrice = fixBigintSignedByte((raw[2]));
-        mGasCoin = Long.valueOf(charsToString(fromRawRlp(3, raw), 10));
-        mType = OperationType.findByValue(new BigInteger(charsToBytes(fromRawRlp(4, raw))));
-        /**
-         * ha, where is the 5th index?
-         * see here: {@link #fromEncoded(String)}
-         */
-        mPayload = new BytesData(fromRawRlp(6, raw));
-        mServiceData = new BytesData(fromRawRlp(7, raw));
-        mSignatureType = SignatureType.findByValue(new BigInteger(charsToBytes(fromRawRlp(8, raw))));
-        /**
-         * And there's no 9 index, it's signature data
-         * decoded here: {@link #fromEncoded(String)}
-         */
+    Transaction copyWithNonce(BigInteger nonce) {
+        final Transaction out = new Transaction(nonce);
+        out.mChainId = mChainId;
+        out.mGasPrice = mGasPrice;
+        out.mGasCoin = mGasCoin;
+        out.mType = mType;
+        out.mPayload = mPayload;
+        out.mServiceData = mServiceData;
+        out.mSignatureType = mSignatureType;
+        return out;
     }
 
-    char[] encode(boolean excludeSignature) {
-        final char[] data = mOperationData.encodeRLP();
+    byte[] encode(final boolean excludeSignature) {
+        return RLPWriter.encode(new RLPWriter.Encodable() {
+            @Override
+            public void writeRLP(RLPWriter writer) {
+                Transaction.this.writeRLP(writer, excludeSignature);
+            }
+        });
+    }
 
+    void writeRLP(RLPWriter writer, boolean excludeSignature) {
+        writer.beginList();
         if (excludeSignature) {
-            return RLPBoxed.encode(new Object[]{
-                    mNonce, BigInteger.valueOf(mChainId.getId()), mGasPrice, mGasCoin, mOperationData.getType().getValue(),
-                    data,
-                    mPayload.getData(),
-                    mServiceData.getData(),
-                    mSignatureType.getValue()
-            });
-        }
-
-        final char[] signData = mSignatureData.encodeRLP();
-
-        return RLPBoxed.encode(new Object[]{
-                mNonce.toByteArray(), BigInteger.valueOf(mChainId.getId()), mGasPrice, mGasCoin, mOperationData.getType().getValue(),
-                data,
-                mPayload.getData(),
-                mServiceData.getData(),
-                mSignatureType.getValue(),
-                signData
-        });
+            writer.writeBigInteger(mNonce);
+        } else {
+            writer.writeBytes(mNonce.toByteArray());
+        }
+        writer.writeBigInteger(BigInteger.valueOf(mChainId.getId()))
+                .writeBigInteger(mGasPrice)
+                .writeLong(mGasCoin)
+                .writeBigInteger(mOperationData.getType().getValue());
+
+        writer.beginNested();
+        mOperationData.writeRLP(writer);
+        writer.endNested();
+
+        writer.writeDataChars(mPayload)
+                .writeDataChars(mServiceData)
+                .writeBigInteger(mSignatureType.getValue());
+
+        if (!excludeSignature) {
+            writer.beginNested();
+            mSignatureData.writeRLP(writer);
+            writer.endNested();
+        }
+        writer.endList();
     }
 
     FieldsValidationResult validate() {
@@ -508,7 +603,7 @@ public class Transaction  {
          */
         public Builder setPayload(BytesData data) {
             checkArgument(data.size() <= 1024, "Payload maximum size: 1024 bytes");
-            mTx.mPayload = new BytesData(data.getData(), true);
+            mTx.mPayload = new BytesData(data, true);
             return this;
         }
 
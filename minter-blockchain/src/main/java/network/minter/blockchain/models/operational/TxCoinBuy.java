@@ -36,11 +36,9 @@ import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 
 import network.minter.core.internal.helpers.StringHelper;
-import network.minter.core.util.DecodeResult;
-import network.minter.core.util.RLPBoxed;
+import network.minter.core.util.RLPReader;
+import network.minter.core.util.RLPWriter;
 
-import static network.minter.core.internal.helpers.BytesHelper.fixBigintSignedByte;
-import static network.minter.core.internal.helpers.StringHelper.charsToString;
 
 /**
  * minter-android-blockchain. 2018
@@ -141,25 +139,23 @@ public final class TxCoinBuy extends Operation {
                 .addResult("mMaxValueToSell", mMaxValueToSell != null, "Maximum value to sell must be set");
     }
 
-    @Nonnull
     @Override
-    protected char[] encodeRLP() {
-	    return RLPBoxed.encode(new Object[]{
-                mCoinToBuy,
-                mValueToBuy,
-                mCoinToSell,
-                mMaxValueToSell
-        });
+    public void writeRLP(RLPWriter writer) {
+        writer.beginList()
+                .writeLong(mCoinToBuy)
+                .writeBigInteger(mValueToBuy)
+                .writeLong(mCoinToSell)
+                .writeBigInteger(mMaxValueToSell)
+                .endList();
     }
 
     @Override
-    protected void decodeRLP(@Nonnull char[] rlpEncodedData) {
-	    final DecodeResult rlp = RLPBoxed.decode(rlpEncodedData, 0);/**/
-        final Object[] decoded = (Object[]) rlp.getDecoded();
-
-	    mCoinToBuy = Long.valueOf(charsToString(fromRawRlp(0, decoded)));
-        mValueToBuy = fixBigintSignedByte(fromRawRlp(1, decoded));
-	    mCoinToSell = Long.valueOf(charsToString(fromRawRlp(2, decoded)));
-        mMaxValueToSell = fixBigintSignedByte(fromRawRlp(3, decoded));
+    public void readRLP(RLPReader reader) {
+        reader.beginList();
+        mCoinToBuy = reader.readLong();
+        mValueToBuy = reader.readBigInteger();
+        mCoinToSell = reader.readLong();
+        mMaxValueToSell = reader.readBigInteger();
+        reader.endList();
     }
 }
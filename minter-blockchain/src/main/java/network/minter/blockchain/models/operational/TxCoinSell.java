@@ -35,12 +35,10 @@ import java.math.BigInteger;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 
-import network.minter.core.util.DecodeResult;
-import network.minter.core.util.RLPBoxed;
+import network.minter.core.util.RLPReader;
+import network.minter.core.util.RLPWriter;
 
 import static network.minter.blockchain.models.operational.Transaction.normalizeValue;
-import static network.minter.core.internal.helpers.BytesHelper.fixBigintSignedByte;
-import static network.minter.core.internal.helpers.StringHelper.charsToString;
 import static network.minter.core.internal.helpers.StringHelper.strrpad;
 
 /**
@@ -133,25 +131,23 @@ public final class TxCoinSell extends Operation {
                 .addResult("mMinValueToBuy", mMinValueToBuy != null, "Minimum value to buy must be set");
     }
 
-    @Nonnull
     @Override
-    protected char[] encodeRLP() {
-	    return RLPBoxed.encode(new Object[]{
-                mCoinToSell,
-                mValueToSell,
-                mCoinToBuy,
-                mMinValueToBuy
-        });
+    public void writeRLP(RLPWriter writer) {
+        writer.beginList()
+                .writeLong(mCoinToSell)
+                .writeBigInteger(mValueToSell)
+                .writeLong(mCoinToBuy)
+                .writeBigInteger(mMinValueToBuy)
+                .endList();
     }
 
     @Override
-    protected void decodeRLP(@Nonnull char[] rlpEncodedData) {
-	    final DecodeResult rlp = RLPBoxed.decode(rlpEncodedData, 0);/**/
-        final Object[] decoded = (Object[]) rlp.getDecoded();
-
-	    mCoinToSell = Long.valueOf(charsToString(fromRawRlp(0, decoded)));
-        mValueToSell = fixBigintSignedByte(fromRawRlp(1, decoded));
-	    mCoinToBuy = Long.valueOf(charsToString(fromRawRlp(2, decoded)));
-        mMinValueToBuy = fixBigintSignedByte(fromRawRlp(3, decoded));
+    public void readRLP(RLPReader reader) {
+        reader.beginList();
+        mCoinToSell = reader.readLong();
+        mValueToSell = reader.readBigInteger();
+        mCoinToBuy = reader.readLong();
+        mMinValueToBuy = reader.readBigInteger();
+        reader.endList();
     }
 }
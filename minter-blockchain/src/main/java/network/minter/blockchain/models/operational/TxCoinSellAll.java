@@ -36,13 +36,11 @@ import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 
 import network.minter.core.internal.helpers.StringHelper;
-import network.minter.core.util.DecodeResult;
-import network.minter.core.util.RLPBoxed;
+import network.minter.core.util.RLPReader;
+import network.minter.core.util.RLPWriter;
 
 import static network.minter.blockchain.models.operational.Transaction.humanizeValue;
 import static network.minter.blockchain.models.operational.Transaction.normalizeValue;
-import static network.minter.core.internal.helpers.BytesHelper.fixBigintSignedByte;
-import static network.minter.core.internal.helpers.StringHelper.charsToString;
 
 /**
  * minter-android-blockchain. 2018
@@ -116,23 +114,21 @@ public final class TxCoinSellAll extends Operation {
                 .addResult("mMinValueToBuy", mMinValueToBuy != null, "Minimum value to buy must be set");
     }
 
-    @Nonnull
     @Override
-    protected char[] encodeRLP() {
-	    return RLPBoxed.encode(new Object[]{
-                mCoinToSell,
-                mCoinToBuy,
-                mMinValueToBuy
-        });
+    public void writeRLP(RLPWriter writer) {
+        writer.beginList()
+                .writeLong(mCoinToSell)
+                .writeLong(mCoinToBuy)
+                .writeBigInteger(mMinValueToBuy)
+                .endList();
     }
 
     @Override
-    protected void decodeRLP(@Nonnull char[] rlpEncodedData) {
-	    final DecodeResult rlp = RLPBoxed.decode(rlpEncodedData, 0);/**/
-        final Object[] decoded = (Object[]) rlp.getDecoded();
-
-	    mCoinToSell = Long.valueOf(charsToString(fromRawRlp(0, decoded)));
-	    mCoinToBuy = Long.valueOf(charsToString(fromRawRlp(1, decoded)));
-        mMinValueToBuy = fixBigintSignedByte(fromRawRlp(2, decoded));
+    public void readRLP(RLPReader reader) {
+        reader.beginList();
+        mCoinToSell = reader.readLong();
+        mCoinToBuy = reader.readLong();
+        mMinValueToBuy = reader.readBigInteger();
+        reader.endList();
     }
 }
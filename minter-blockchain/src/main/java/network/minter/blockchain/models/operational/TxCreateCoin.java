@@ -32,18 +32,15 @@ package network.minter.blockchain.models.operational;
 import java.math.BigDecimal;
 import java.math.BigInteger;
 
-import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 
 import network.minter.core.internal.helpers.StringHelper;
-import network.minter.core.util.DecodeResult;
-import network.minter.core.util.RLPBoxed;
+import network.minter.core.util.RLPReader;
+import network.minter.core.util.RLPWriter;
 
 import static network.minter.blockchain.models.operational.Transaction.humanizeValue;
 import static network.minter.blockchain.models.operational.Transaction.normalizeValue;
 import static network.minter.core.internal.common.Preconditions.checkArgument;
-import static network.minter.core.internal.helpers.BytesHelper.fixBigintSignedByte;
-import static network.minter.core.internal.helpers.StringHelper.charsToString;
 
 /**
  * minter-android-blockchain. 2018
@@ -186,26 +183,25 @@ public final class TxCreateCoin extends Operation {
                 .addResult("mConstantReserveRatio", mConstantReserveRatio != null && mConstantReserveRatio > 1 && mConstantReserveRatio <= 100, "Reserve ratio must from 1% to 100%");
     }
 
-    @Nonnull
     @Override
-    protected char[] encodeRLP() {
-	    return RLPBoxed.encode(new Object[]{
-                mName,
-                mSymbol,
-                mInitialAmount,
-                mInitialReserve,
-                mConstantReserveRatio
-        });
+    public void writeRLP(RLPWriter writer) {
+        writer.beginList()
+                .writeString(mName)
+                .writeString(mSymbol)
+                .writeBigInteger(mInitialAmount)
+                .writeBigInteger(mInitialReserve)
+                .writeLong(mConstantReserveRatio)
+                .endList();
     }
 
     @Override
-    protected void decodeRLP(@Nonnull char[] rlpEncodedData) {
-	    final DecodeResult rlp = RLPBoxed.decode(rlpEncodedData, 0);/**/
-        final Object[] decoded = (Object[]) rlp.getDecoded();
-	    mName = charsToString(fromRawRlp(0, decoded));
-	    mSymbol = charsToString(fromRawRlp(1, decoded));
-        mInitialAmount = fixBigintSignedByte(fromRawRlp(2, decoded));
-        mInitialReserve = fixBigintSignedByte(fromRawRlp(3, decoded));
-        mConstantReserveRatio = fixBigintSignedByte(fromRawRlp(4, decoded)).intValue();
+    public void readRLP(RLPReader reader) {
+        reader.beginList();
+        mName = reader.readString();
+        mSymbol = reader.readString();
+        mInitialAmount = reader.readBigInteger();
+        mInitialReserve = reader.readBigInteger();
+        mConstantReserveRatio = reader.readInt();
+        reader.endList();
     }
 }
@@ -36,10 +36,9 @@ import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 
 import network.minter.core.crypto.MinterAddress;
-import network.minter.core.util.DecodeResult;
-import network.minter.core.util.RLPBoxed;
+import network.minter.core.util.RLPReader;
+import network.minter.core.util.RLPWriter;
 
-import static network.minter.core.internal.helpers.BytesHelper.fixBigintSignedByte;
 
 /**
  * Transaction for creating multisignature address.
@@ -98,43 +97,44 @@ public class TxCreateMultisigAddress extends Operation {
     }
 
     @Override
-    protected void decodeRLP(@Nonnull char[] rlpEncodedData) {
-	    final DecodeResult rlp = RLPBoxed.decode(rlpEncodedData, 0);
-        final Object[] decoded = (Object[]) rlp.getDecoded();
-        mThreshold = fixBigintSignedByte(fromRawRlp(0, decoded));
+    public void readRLP(RLPReader reader) {
+        reader.beginList();
+        mThreshold = reader.readBigInteger();
 
-        Object[] weights = (Object[]) decoded[1];
         mWeights = new LinkedList<>();
-        for (Object weightsEncoded : weights) {
-	        final char[][] weightsBytes = objArrToByteArrArr((Object[]) weightsEncoded);
-	        for (char[] weight : weightsBytes) {
-                mWeights.add(fixBigintSignedByte(weight));
-            }
+        reader.beginList();
+        while (reader.hasNext()) {
+            mWeights.add(reader.readBigInteger());
         }
+        reader.endList();
 
-        Object[] addresses = (Object[]) decoded[2];
         mAddresses = new LinkedList<>();
-        for (Object address : addresses) {
-	        char[][] ws = objArrToByteArrArr((Object[]) address);
-	        for (char[] w : ws) {
-                mAddresses.add(new MinterAddress(w));
-            }
+        reader.beginList();
+        while (reader.hasNext()) {
+            mAddresses.add(reader.readAddress());
         }
+        reader.endList();
+
+        reader.endList();
     }
 
-    @Nonnull
     @Override
-    protected char[] encodeRLP() {
-        final BigInteger[] weights = mWeights.toArray(new BigInteger[mWeights.size()]);
-	    final MinterAddress[] addresses = new MinterAddress[mAddresses.size()];
-        for (int i = 0; i < mAddresses.size(); i++) {
-	        addresses[i] = mAddresses.get(i);
+    public void writeRLP(RLPWriter writer) {
+        writer.beginList()
+                .writeBytes(mThreshold.toByteArray());
+
+        writer.beginList();
+        for (BigInteger weight : mWeights) {
+            writer.writeBigInteger(weight);
+        }
+        writer.endList();
+
+        writer.beginList();
+        for (MinterAddress address : mAddresses) {
+            writer.writeData(address);
         }
+        writer.endList();
 
-	    return RLPBoxed.encode(new Object[]{
-			    mThreshold.toByteArray(),
-                weights,
-                addresses
-        });
+        writer.endList();
     }
 }
@@ -38,13 +38,11 @@ import javax.annotation.Nullable;
 import network.minter.core.crypto.MinterAddress;
 import network.minter.core.crypto.MinterPublicKey;
 import network.minter.core.internal.helpers.StringHelper;
-import network.minter.core.util.DecodeResult;
-import network.minter.core.util.RLPBoxed;
+import network.minter.core.util.RLPReader;
+import network.minter.core.util.RLPWriter;
 
 import static network.minter.blockchain.models.operational.Transaction.normalizeValue;
 import static network.minter.core.internal.common.Preconditions.checkArgument;
-import static network.minter.core.internal.helpers.BytesHelper.fixBigintSignedByte;
-import static network.minter.core.internal.helpers.StringHelper.charsToString;
 
 /**
  * minter-android-blockchain. 2018
@@ -161,26 +159,25 @@ public final class TxDeclareCandidacy extends Operation {
                 .addResult("mStake", mStake != null && mStake.compareTo(new BigInteger("0")) > 0, "Stake must be set (more than 0)");
     }
 
-    @Nonnull
     @Override
-    protected char[] encodeRLP() {
-        return RLPBoxed.encode(new Object[]{
-                mAddress,
-                mPubKey,
-                mCommission,
-                mCoin,
-                mStake
-        });
+    public void writeRLP(RLPWriter writer) {
+        writer.beginList()
+                .writeData(mAddress)
+                .writeData(mPubKey)
+                .writeLong(mCommission)
+                .writeString(mCoin)
+                .writeBigInteger(mStake)
+                .endList();
     }
 
     @Override
-    protected void decodeRLP(@Nonnull char[] rlpEncodedData) {
-        final DecodeResult rlp = RLPBoxed.decode(rlpEncodedData, 0);/**/
-        final Object[] decoded = (Object[]) rlp.getDecoded();
-        mAddress = new MinterAddress(fromRawRlp(0, decoded));
-        mPubKey = new MinterPublicKey(fromRawRlp(1, decoded));
-        mCommission = fixBigintSignedByte(fromRawRlp(2, decoded)).intValue();
-        mCoin = charsToString(fromRawRlp(3, decoded));
-        mStake = fixBigintSignedByte(fromRawRlp(4, decoded));
+    public void readRLP(RLPReader reader) {
+        reader.beginList();
+        mAddress = reader.readAddress();
+        mPubKey = reader.readPublicKey();
+        mCommission = reader.readInt();
+        mCoin = reader.readString();
+        mStake = reader.readBigInteger();
+        reader.endList();
     }
 }
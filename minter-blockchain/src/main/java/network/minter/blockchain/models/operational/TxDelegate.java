@@ -37,12 +37,10 @@ import javax.annotation.Nullable;
 
 import network.minter.core.crypto.MinterPublicKey;
 import network.minter.core.internal.helpers.StringHelper;
-import network.minter.core.util.DecodeResult;
-import network.minter.core.util.RLPBoxed;
+import network.minter.core.util.RLPReader;
+import network.minter.core.util.RLPWriter;
 
 import static network.minter.blockchain.models.operational.Transaction.normalizeValue;
-import static network.minter.core.internal.helpers.BytesHelper.fixBigintSignedByte;
-import static network.minter.core.internal.helpers.StringHelper.charsToString;
 
 /**
  * minter-android-blockchain. 2018
@@ -127,23 +125,22 @@ public final class TxDelegate extends Operation {
                 .addResult("mStake", mStake != null && mStake.compareTo(new BigInteger("0")) > 0, "Stake must be set (more than 0)");
     }
 
-    @Nonnull
     @Override
-    protected char[] encodeRLP() {
-        return RLPBoxed.encode(new Object[]{
-                mPubKey,
-                mCoin,
-                mStake
-        });
+    public void writeRLP(RLPWriter writer) {
+        writer.beginList()
+                .writeData(mPubKey)
+                .writeString(mCoin)
+                .writeBigInteger(mStake)
+                .endList();
     }
 
     @Override
-    protected void decodeRLP(@Nonnull char[] rlpEncodedData) {
-        final DecodeResult rlp = RLPBoxed.decode(rlpEncodedData, 0);/**/
-        final Object[] decoded = (Object[]) rlp.getDecoded();
-        mPubKey = new MinterPublicKey(fromRawRlp(0, decoded));
-        mCoin = charsToString(fromRawRlp(1, decoded));
-        mStake = fixBigintSignedByte(fromRawRlp(2, decoded));
+    public void readRLP(RLPReader reader) {
+        reader.beginList();
+        mPubKey = reader.readPublicKey();
+        mCoin = reader.readString();
+        mStake = reader.readBigInteger();
+        reader.endList();
     }
 
 
@@ -34,8 +34,8 @@ import javax.annotation.Nullable;
 
 import network.minter.core.crypto.MinterAddress;
 import network.minter.core.crypto.MinterPublicKey;
-import network.minter.core.util.DecodeResult;
-import network.minter.core.util.RLPBoxed;
+import network.minter.core.util.RLPReader;
+import network.minter.core.util.RLPWriter;
 
 /**
  * minter-android-blockchain. 2019
@@ -98,21 +98,20 @@ public class TxEditCandidate extends Operation {
     }
 
     @Override
-    protected void decodeRLP(@Nonnull char[] rlpEncodedData) {
-        final DecodeResult rlp = RLPBoxed.decode(rlpEncodedData, 0);/**/
-        final Object[] decoded = (Object[]) rlp.getDecoded();
-        mPubKey = new MinterPublicKey(fromRawRlp(0, decoded));
-        mRewardAddress = new MinterAddress(fromRawRlp(1, decoded));
-        mOwnerAddress = new MinterAddress(fromRawRlp(2, decoded));
+    public void readRLP(RLPReader reader) {
+        reader.beginList();
+        mPubKey = reader.readPublicKey();
+        mRewardAddress = reader.readAddress();
+        mOwnerAddress = reader.readAddress();
+        reader.endList();
     }
 
-    @Nonnull
     @Override
-    protected char[] encodeRLP() {
-        return RLPBoxed.encode(new Object[]{
-                mPubKey,
-                mRewardAddress,
-                mOwnerAddress
-        });
+    public void writeRLP(RLPWriter writer) {
+        writer.beginList()
+                .writeData(mPubKey)
+                .writeData(mRewardAddress)
+                .writeData(mOwnerAddress)
+                .endList();
     }
 }
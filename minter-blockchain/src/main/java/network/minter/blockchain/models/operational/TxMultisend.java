@@ -40,8 +40,8 @@ import javax.annotation.Nullable;
 
 import network.minter.core.Coin;
 import network.minter.core.crypto.MinterAddress;
-import network.minter.core.util.DecodeResult;
-import network.minter.core.util.RLPBoxed;
+import network.minter.core.util.RLPReader;
+import network.minter.core.util.RLPWriter;
 
 /**
  * Transaction for sending coins to multiple addresses.
@@ -124,29 +124,28 @@ public class TxMultisend extends Operation {
     }
 
     @Override
-    protected void decodeRLP(@Nonnull char[] rlpEncodedData) {
-	    final DecodeResult rlp = RLPBoxed.decode(rlpEncodedData, 0);
-        final Object[] decoded = (Object[]) rlp.getDecoded();
-
-        Object[] items = (Object[]) decoded[0];
+    public void readRLP(RLPReader reader) {
         mItems = new LinkedList<>();
-        for (int i = 0; i < items.length; i++) {
+        reader.beginList().beginList();
+        while (reader.hasNext()) {
+            // every item is encoded the same way as single send
             final TxSendCoin data = new TxSendCoin(getTx());
-            // object array of object array contains 3 byte array (V R S)
-            data.decodeRaw(objArrToByteArrArr((Object[]) items[i]));
-            mItems.add(i, data);
+            data.readRLP(reader);
+            mItems.add(data);
         }
+        reader.endList().endList();
     }
 
-    @Nonnull
     @Override
-    protected char[] encodeRLP() {
-        final Object[][] items = new Object[mItems.size()][3];
-        for (int i = 0; i < mItems.size(); i++) {
-            items[i] = new Object[]{mItems.get(i).getCoinRaw(), mItems.get(i).getTo(), mItems.get(i).getValueBigInteger()};
+    public void writeRLP(RLPWriter writer) {
+        writer.beginList().beginList();
+        for (TxSendCoin item : mItems) {
+            writer.beginList()
+                    .writeLong(item.getCoinRaw())
+                    .writeData(item.getTo())
+                    .writeBigInteger(item.getValueBigInteger())
+                    .endList();
         }
-
-	    return RLPBoxed.encode(new Object[]{items});
-
+        writer.endList().endList();
     }
 }
@@ -31,13 +31,12 @@ package network.minter.blockchain.models.operational;
 
 import java.util.Locale;
 
-import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 
 import network.minter.core.crypto.BytesData;
 import network.minter.core.crypto.MinterCheck;
-import network.minter.core.util.DecodeResult;
-import network.minter.core.util.RLPBoxed;
+import network.minter.core.util.RLPReader;
+import network.minter.core.util.RLPWriter;
 
 import static java.lang.String.format;
 import static network.minter.core.internal.common.Preconditions.checkArgument;
@@ -122,21 +121,21 @@ public final class TxRedeemCheck extends Operation {
                         PROOF_LENGTH, format(Locale.getDefault(), "Proof data must be set (%d bytes)", PROOF_LENGTH));
     }
 
-    @Nonnull
     @Override
-    protected char[] encodeRLP() {
-        return RLPBoxed.encode(new Object[]{
-                mRawCheck.getData(),
-                mProof.getData()
-        });
+    public void writeRLP(RLPWriter writer) {
+        writer.beginList()
+                .writeDataChars(mRawCheck)
+                .writeDataChars(mProof)
+                .endList();
     }
 
     @Override
-    protected void decodeRLP(@Nonnull char[] rlpEncodedData) {
-        final DecodeResult rlp = RLPBoxed.decode(rlpEncodedData, 0);/**/
-        final Object[] decoded = (Object[]) rlp.getDecoded();
-        mRawCheck = new MinterCheck(fromRawRlp(0, decoded));
-        mProof = new BytesData(fromRawRlp(1, decoded));
+    public void readRLP(RLPReader reader) {
+        reader.beginList();
+        reader.next();
+        mRawCheck = new MinterCheck(reader.data(), reader.offset(), reader.length());
+        mProof = reader.readBytesData();
+        reader.endList();
     }
 
 
@@ -40,13 +40,12 @@ import network.minter.core.MinterSDK;
 import network.minter.core.crypto.MinterAddress;
 import network.minter.core.internal.helpers.BytesHelper;
 import network.minter.core.internal.helpers.StringHelper;
-import network.minter.core.util.DecodeResult;
-import network.minter.core.util.RLPBoxed;
+import network.minter.core.util.RLPReader;
+import network.minter.core.util.RLPWriter;
 
 import static network.minter.blockchain.models.operational.Transaction.normalizeValue;
 import static network.minter.core.internal.common.Preconditions.checkArgument;
 import static network.minter.core.internal.common.Preconditions.checkNotNull;
-import static network.minter.core.internal.helpers.StringHelper.charsToString;
 
 /**
  * minter-android-blockchain. 2018
@@ -164,20 +163,22 @@ public final class TxSendCoin extends Operation {
                 .addResult("mValue", mValue != null, "Value must be set");
     }
 
-    @Nonnull
     @Override
-    protected char[] encodeRLP() {
-	    return RLPBoxed.encode(new Object[]{mCoin, mTo, mValue});
+    public void writeRLP(RLPWriter writer) {
+        writer.beginList()
+                .writeLong(mCoin)
+                .writeData(mTo)
+                .writeBigInteger(mValue)
+                .endList();
     }
 
     @Override
-    protected void decodeRLP(@Nonnull char[] rlpEncodedData) {
-	    final DecodeResult rlp = RLPBoxed.decode(rlpEncodedData, 0);/**/
-        final Object[] decoded = (Object[]) rlp.getDecoded();
-
-	    mCoin = Long.valueOf(charsToString(fromRawRlp(0, decoded)));
-        mTo = new MinterAddress(fromRawRlp(1, decoded));
-        mValue = BytesHelper.fixBigintSignedByte(fromRawRlp(2, decoded));
+    public void readRLP(RLPReader reader) {
+        reader.beginList();
+        mCoin = reader.readLong();
+        mTo = reader.readAddress();
+        mValue = reader.readBigInteger();
+        reader.endList();
     }
 
 	protected void decodeRaw(char[][] vrs) {
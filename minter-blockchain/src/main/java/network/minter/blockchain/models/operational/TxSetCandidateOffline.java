@@ -29,12 +29,11 @@ package network.minter.blockchain.models.operational;
 
 
 
-import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 
 import network.minter.core.crypto.MinterPublicKey;
-import network.minter.core.util.DecodeResult;
-import network.minter.core.util.RLPBoxed;
+import network.minter.core.util.RLPReader;
+import network.minter.core.util.RLPWriter;
 
 /**
  * minter-android-blockchain. 2018
@@ -78,10 +77,11 @@ public final class TxSetCandidateOffline extends Operation {
         return OperationType.SetCandidateOffline;
     }
 
-    @Nonnull
     @Override
-    protected char[] encodeRLP() {
-        return RLPBoxed.encode(new Object[]{mPubKey});
+    public void writeRLP(RLPWriter writer) {
+        writer.beginList()
+                .writeData(mPubKey)
+                .endList();
     }
 
     @Nullable
@@ -92,10 +92,10 @@ public final class TxSetCandidateOffline extends Operation {
     }
 
     @Override
-    protected void decodeRLP(@Nonnull char[] rlpEncodedData) {
-        final DecodeResult rlp = RLPBoxed.decode(rlpEncodedData, 0);/**/
-        final Object[] decoded = (Object[]) rlp.getDecoded();
-        mPubKey = new MinterPublicKey(fromRawRlp(0, decoded));
+    public void readRLP(RLPReader reader) {
+        reader.beginList();
+        mPubKey = reader.readPublicKey();
+        reader.endList();
     }
 
 
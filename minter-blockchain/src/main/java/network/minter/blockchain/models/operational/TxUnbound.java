@@ -37,13 +37,11 @@ import javax.annotation.Nullable;
 
 import network.minter.core.crypto.MinterPublicKey;
 import network.minter.core.internal.helpers.StringHelper;
-import network.minter.core.util.DecodeResult;
-import network.minter.core.util.RLPBoxed;
+import network.minter.core.util.RLPReader;
+import network.minter.core.util.RLPWriter;
 
 import static network.minter.blockchain.models.operational.Transaction.normalizeValue;
 import static network.minter.core.internal.common.Preconditions.checkNotNull;
-import static network.minter.core.internal.helpers.BytesHelper.fixBigintSignedByte;
-import static network.minter.core.internal.helpers.StringHelper.charsToString;
 
 /**
  * minter-android-blockchain. 2018
@@ -130,19 +128,22 @@ public final class TxUnbound extends Operation {
                 .addResult("mValue", mValue != null, "Value must be set");
     }
 
-    @Nonnull
     @Override
-    protected char[] encodeRLP() {
-        return RLPBoxed.encode(new Object[]{mPubKey, mCoin, mValue});
+    public void writeRLP(RLPWriter writer) {
+        writer.beginList()
+                .writeData(mPubKey)
+                .writeString(mCoin)
+                .writeBigInteger(mValue)
+                .endList();
     }
 
     @Override
-    protected void decodeRLP(@Nonnull char[] rlpEncodedData) {
-        final DecodeResult rlp = RLPBoxed.decode(rlpEncodedData, 0);/**/
-        final Object[] decoded = (Object[]) rlp.getDecoded();
-        mPubKey = new MinterPublicKey(fromRawRlp(0, decoded));
-        mCoin = charsToString(fromRawRlp(1, decoded), 10);
-        mValue = fixBigintSignedByte(fromRawRlp(2, decoded));
+    public void readRLP(RLPReader reader) {
+        reader.beginList();
+        mPubKey = reader.readPublicKey();
+        mCoin = reader.readString();
+        mValue = reader.readBigInteger();
+        reader.endList();
     }
 
 
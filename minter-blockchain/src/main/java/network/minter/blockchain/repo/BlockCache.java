@@ -0,0 +1,275 @@
+/*
+ * Copyright (C) by MinterTeam. 2019
+ * @link <a href="https://github.com/MinterTeam">Org Github</a>
+ * @link <a href="https://github.com/edwardstock">Maintainer Github</a>
+ *
+ * The MIT License
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package network.minter.blockchain.repo;
+
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongFunction;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+import network.minter.blockchain.models.BCResult;
+import network.minter.blockchain.models.BlockInfo;
+import network.minter.blockchain.models.EventList;
+import network.minter.core.internal.log.Mint;
+
+import static network.minter.core.internal.common.Preconditions.checkArgument;
+import static network.minter.core.internal.common.Preconditions.checkNotNull;
+
+/**
+ * minter-android-blockchain. 2019
+ * <p>
+ * Cache of blocks and events by height. Blocks are final once committed, so entries never expire.
+ * First tier is in-heap LRU of {@link #BlockCache(int)} blocks (and the same count of event lists),
+ * optional second tier is {@link Storage}, for example {@link MappedBlockStorage}. Values found in storage are
+ * promoted to heap, values loaded from network are written to both tiers.
+ * <p>
+ * Set it with {@link BlockChainBlockRepository#setBlockCache(BlockCache)} and
+ * {@link BlockChainEventRepository#setBlockCache(BlockCache)}, or for both with
+ * {@link network.minter.blockchain.MinterBlockChainApi#setBlockCache(BlockCache)}.
+ * Cached models are shared between callers, so don't modify them. Thread safe.
+ *
+ * @author Eduard Maximovich <edward.vstock@gmail.com>
+ */
+public final class BlockCache {
+    private final int mMaxEntries;
+    private final Map<Long, BlockInfo> mBlocks;
+    private final Map<Long, EventList> mEvents;
+    private final AtomicLong mHeapHits = new AtomicLong(0);
+    private final AtomicLong mStorageHits = new AtomicLong(0);
+    private final AtomicLong mMisses = new AtomicLong(0);
+    private volatile Storage mStorage;
+
+    /**
+     * Second cache tier, usually on disk. Implementations must be thread safe
+     */
+    public interface Storage {
+        @Nullable
+        BlockInfo getBlock(long height) throws IOException;
+        void putBlock(@Nonnull BlockInfo block) throws IOException;
+        @Nullable
+        EventList getEvents(long height) throws IOException;
+        void putEvents(long height, @Nonnull EventList events) throws IOException;
+    }
+
+    /**
+     * @param maxEntries max count of blocks kept in heap, the same for event lists
+     */
+    public BlockCache(int maxEntries) {
+        checkArgument(maxEntries > 0, "Max entries must be greater than 0");
+        mMaxEntries = maxEntries;
+        mBlocks = createLru();
+        mEvents = createLru();
+    }
+
+    /**
+     * @param storage second tier or null
+     * @return self
+     */
+    public BlockCache setStorage(@Nullable Storage storage) {
+        mStorage = storage;
+        return this;
+    }
+
+    @Nullable
+    public Storage getStorage() {
+        return mStorage;
+    }
+
+    @Nullable
+    public BlockInfo getBlock(long height) {
+        BlockInfo block;
+        synchronized (mBlocks) {
+            block = mBlocks.get(height);
+        }
+        if (block != null) {
+            mHeapHits.incrementAndGet();
+            return block;
+        }
+
+        final Storage storage = mStorage;
+        if (storage != null) {
+            try {
+                block = storage.getBlock(height);
+            } catch (IOException e) {
+                Mint.w(e, "Unable to read block %d from storage", height);
+            }
+        }
+        if (block == null) {
+            mMisses.incrementAndGet();
+            return null;
+        }
+
+        mStorageHits.incrementAndGet();
+        synchronized (mBlocks) {
+            mBlocks.put(height, block);
+        }
+        return block;
+    }
+
+    public void putBlock(@Nonnull BlockInfo block) {
+        checkNotNull(block, "Block required");
+        synchronized (mBlocks) {
+            mBlocks.put(block.height, block);
+        }
+        final Storage storage = mStorage;
+        if (storage != null) {
+            try {
+                storage.putBlock(block);
+            } catch (IOException | IllegalArgumentException e) {
+                // IllegalArgumentException: storage can't encode block, e.g. transaction data without concrete type
+                Mint.w(e, "Unable to write block %d to storage", block.height);
+            }
+        }
+    }
+
+    @Nullable
+    public EventList getEvents(long height) {
+        EventList events;
+        synchronized (mEvents) {
+            events = mEvents.get(height);
+        }
+        if (events != null) {
+            mHeapHits.incrementAndGet();
+            return events;
+        }
+
+        final Storage storage = mStorage;
+        if (storage != null) {
+            try {
+                events = storage.getEvents(height);
+            } catch (IOException e) {
+                Mint.w(e, "Unable to read events %d from storage", height);
+            }
+        }
+        if (events == null) {
+            mMisses.incrementAndGet();
+            return null;
+        }
+
+        mStorageHits.incrementAndGet();
+        synchronized (mEvents) {
+            mEvents.put(height, events);
+        }
+        return events;
+    }
+
+    public void putEvents(long height, @Nonnull EventList events) {
+        checkNotNull(events, "Events required");
+        synchronized (mEvents) {
+            mEvents.put(height, events);
+        }
+        final Storage storage = mStorage;
+        if (storage != null) {
+            try {
+                storage.putEvents(height, events);
+            } catch (IOException e) {
+                Mint.w(e, "Unable to write events %d to storage", height);
+            }
+        }
+    }
+
+    /**
+     * Drop heap tier, storage is not touched
+     */
+    public void clear() {
+        synchronized (mBlocks) {
+            mBlocks.clear();
+        }
+        synchronized (mEvents) {
+            mEvents.clear();
+        }
+    }
+
+    /**
+     * @return count of values found in heap
+     */
+    public long getHeapHits() {
+        return mHeapHits.get();
+    }
+
+    /**
+     * @return count of values found in storage
+     */
+    public long getStorageHits() {
+        return mStorageHits.get();
+    }
+
+    /**
+     * @return count of values not found in any tier
+     */
+    public long getMisses() {
+        return mMisses.get();
+    }
+
+    CompletableFuture<BCResult<BlockInfo>> getBlock(long height, LongFunction<CompletableFuture<BCResult<BlockInfo>>> loader) {
+        final BlockInfo cached = getBlock(height);
+        if (cached != null) {
+            return CompletableFuture.completedFuture(wrap(cached));
+        }
+        final CompletableFuture<BCResult<BlockInfo>> out = loader.apply(height);
+        out.thenAccept(res -> {
+            if (res != null && res.isOk()) {
+                putBlock(res.result);
+            }
+        });
+        return out;
+    }
+
+    CompletableFuture<BCResult<EventList>> getEvents(long height, LongFunction<CompletableFuture<BCResult<EventList>>> loader) {
+        final EventList cached = getEvents(height);
+        if (cached != null) {
+            return CompletableFuture.completedFuture(wrap(cached));
+        }
+        final CompletableFuture<BCResult<EventList>> out = loader.apply(height);
+        out.thenAccept(res -> {
+            if (res != null && res.isOk()) {
+                putEvents(height, res.result);
+            }
+        });
+        return out;
+    }
+
+    private static <T> BCResult<T> wrap(T value) {
+        final BCResult<T> out = new BCResult<>();
+        out.result = value;
+        return out;
+    }
+
+    private <V> Map<Long, V> createLru() {
+        return new LinkedHashMap<Long, V>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, V> eldest) {
+                return size() > mMaxEntries;
+            }
+        };
+    }
+}
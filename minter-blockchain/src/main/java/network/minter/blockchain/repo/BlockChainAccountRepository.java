@@ -36,6 +36,7 @@ import java.lang.reflect.Type;
 import java.math.BigInteger;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 import javax.annotation.Nonnull;
 
@@ -65,6 +66,13 @@ public class BlockChainAccountRepository extends DataRepository<BlockChainAccoun
         return getBalance(key.toString());
     }
 
+    /**
+     * Async variant of {@link #getBalance(MinterAddress)}
+     */
+    public CompletableFuture<BCResult<Balance>> getBalanceAsync(@Nonnull MinterAddress key) {
+        return async(getBalance(key));
+    }
+
     /**
      * Returns balance result data for specified address
      * @param address
@@ -75,6 +83,13 @@ public class BlockChainAccountRepository extends DataRepository<BlockChainAccoun
                 .getBalance(checkNotNull(address, "Address required!"));
     }
 
+    /**
+     * Async variant of {@link #getBalance(String)}
+     */
+    public CompletableFuture<BCResult<Balance>> getBalanceAsync(@Nonnull String address) {
+        return async(getBalance(address));
+    }
+
     /**
      * SendCoin transaction
      * @param transactionSign Raw signed TX
@@ -91,6 +106,13 @@ public class BlockChainAccountRepository extends DataRepository<BlockChainAccoun
         return getInstantService().sendTransaction(sig);
     }
 
+    /**
+     * Async variant of {@link #sendTransaction(TransactionSign)}
+     */
+    public CompletableFuture<BCResult<TransactionSendResult>> sendTransactionAsync(@Nonnull TransactionSign transactionSign) {
+        return async(sendTransaction(transactionSign));
+    }
+
     @Nonnull
     @Override
     protected Class<BlockChainAccountEndpoint> getServiceClass() {
@@ -27,8 +27,10 @@
 package network.minter.blockchain.repo;
 
 import java.math.BigInteger;
+import java.util.concurrent.CompletableFuture;
 
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 
 import network.minter.blockchain.api.BlockChainBlockEndpoint;
 import network.minter.blockchain.models.BCResult;
@@ -41,11 +43,26 @@ import retrofit2.Call;
  * minter-android-blockchain. 2019
  * @author Eduard Maximovich [edward.vstock@gmail.com]
  */
-public class BlockChainBlockRepository extends DataRepository<BlockChainBlockEndpoint> {
+public class BlockChainBlockRepository extends DataRepository<BlockChainBlockEndpoint> implements DataRepository.Configurator {
+    private volatile BlockCache mBlockCache;
+
     public BlockChainBlockRepository(@Nonnull ApiService.Builder apiBuilder) {
         super(apiBuilder);
     }
 
+    /**
+     * Serve {@link #getByHeightAsync(long)} from cache and store loaded blocks in it
+     * @param cache cache or null to disable
+     */
+    public void setBlockCache(@Nullable BlockCache cache) {
+        mBlockCache = cache;
+    }
+
+    @Nullable
+    public BlockCache getBlockCache() {
+        return mBlockCache;
+    }
+
     /**
      * Resolve block info by its height
      * @param height
@@ -55,6 +72,29 @@ public class BlockChainBlockRepository extends DataRepository<BlockChainBlockEnd
         return getInstantService().getByHeight(height);
     }
 
+    /**
+     * Async variant of {@link #getByHeight(long)}. If {@link BlockCache} is set, cached block is returned without request
+     */
+    public CompletableFuture<BCResult<BlockInfo>> getByHeightAsync(long height) {
+        final BlockCache cache = mBlockCache;
+        if (cache != null) {
+            return cache.getBlock(height, h -> async(getByHeight(h)));
+        }
+        return async(getByHeight(height));
+    }
+
+    /**
+     * Download range of blocks with default {@link BlockRangeFetcher} settings.
+     * Use {@link BlockRangeFetcher} directly to configure concurrency, rate limit etc
+     * @param from first height, inclusive
+     * @param to last height, inclusive
+     * @param listener receives blocks in height order
+     * @return future completes after last block delivered
+     */
+    public CompletableFuture<BlockRangeFetcher.Progress> fetchBlocks(long from, long to, BlockRangeFetcher.Listener listener) {
+        return new BlockRangeFetcher(this).fetchBlocks(from, to, listener);
+    }
+
     /**
      * Get current minimum gas price to send transaction
      * @return
@@ -63,6 +103,13 @@ public class BlockChainBlockRepository extends DataRepository<BlockChainBlockEnd
         return getInstantService().getMinGas();
     }
 
+    /**
+     * Async variant of {@link #getMinGasPrice()}
+     */
+    public CompletableFuture<BCResult<BigInteger>> getMinGasPriceAsync() {
+        return async(getMinGasPrice());
+    }
+
     /**
      * Get current maximum gas price to send transaction
      * @return
@@ -71,6 +118,13 @@ public class BlockChainBlockRepository extends DataRepository<BlockChainBlockEnd
         return getInstantService().getMaxGas();
     }
 
+    /**
+     * Async variant of {@link #getMaxGasPrice()}
+     */
+    public CompletableFuture<BCResult<BigInteger>> getMaxGasPriceAsync() {
+        return async(getMaxGasPrice());
+    }
+
     /**
      * Get block maximum gas price
      * @param blockHeight
@@ -80,6 +134,19 @@ public class BlockChainBlockRepository extends DataRepository<BlockChainBlockEnd
         return getInstantService().getMaxGasByHeight(blockHeight);
     }
 
+    /**
+     * Async variant of {@link #getMaxGasPrice(long)}
+     */
+    public CompletableFuture<BCResult<BigInteger>> getMaxGasPriceAsync(long blockHeight) {
+        return async(getMaxGasPrice(blockHeight));
+    }
+
+    @Override
+    public void configure(ApiService.Builder api) {
+        // block transactions have the same polymorphic "data" as transactions history
+        api.registerTypeAdapterFactory(new BlockChainTransactionRepository.HistoryTransactionDeserializer());
+    }
+
     @Nonnull
     @Override
     protected Class<BlockChainBlockEndpoint> getServiceClass() {
@@ -1,6 +1,7 @@
 package network.minter.blockchain.repo;
 
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 import javax.annotation.Nonnull;
 
@@ -26,22 +27,57 @@ public class BlockChainCandidateRepository extends DataRepository<BlockChainCand
         return getInstantService().getCandidate(pubKey);
     }
 
+    /**
+     * Async variant of {@link #getCandidate(String)}
+     */
+    public CompletableFuture<BCResult<CandidateItem>> getCandidateAsync(String pubKey) {
+        return async(getCandidate(pubKey));
+    }
+
     public Call<BCResult<CandidateItem>> getCandidate(MinterPublicKey pubKey) {
         return getCandidate(pubKey.toString());
     }
 
+    /**
+     * Async variant of {@link #getCandidate(MinterPublicKey)}
+     */
+    public CompletableFuture<BCResult<CandidateItem>> getCandidateAsync(MinterPublicKey pubKey) {
+        return async(getCandidate(pubKey));
+    }
+
     public Call<BCResult<CandidateItem>> getCandidate(String pubKey, long blockHeight) {
         return getInstantService().getCandidate(pubKey, blockHeight);
     }
 
+    /**
+     * Async variant of {@link #getCandidate(String, long)}
+     */
+    public CompletableFuture<BCResult<CandidateItem>> getCandidateAsync(String pubKey, long blockHeight) {
+        return async(getCandidate(pubKey, blockHeight));
+    }
+
     public Call<BCResult<CandidateItem>> getCandidate(MinterPublicKey pubKey, long blockHeight) {
         return getInstantService().getCandidate(pubKey.toString(), blockHeight);
     }
 
+    /**
+     * Async variant of {@link #getCandidate(MinterPublicKey, long)}
+     */
+    public CompletableFuture<BCResult<CandidateItem>> getCandidateAsync(MinterPublicKey pubKey, long blockHeight) {
+        return async(getCandidate(pubKey, blockHeight));
+    }
+
     public Call<BCResult<List<CandidateStatus>>> getBlockCandidates(long blockHeight) {
         return getInstantService().getCandidates(blockHeight);
     }
 
+    /**
+     * Async variant of {@link #getBlockCandidates(long)}
+     */
+    public CompletableFuture<BCResult<List<CandidateStatus>>> getBlockCandidatesAsync(long blockHeight) {
+        return async(getBlockCandidates(blockHeight));
+    }
+
     @Nonnull
     @Override
     protected Class<BlockChainCandidateEndpoint> getServiceClass() {
@@ -28,6 +28,7 @@ package network.minter.blockchain.repo;
 
 import java.math.BigDecimal;
 import java.math.BigInteger;
+import java.util.concurrent.CompletableFuture;
 
 import javax.annotation.Nonnull;
 
@@ -63,6 +64,13 @@ public class BlockChainCoinRepository extends DataRepository<BlockChainCoinEndpo
         return getInstantService().getCoinInformation(checkNotNull(symbol, "Symbol required"));
     }
 
+    /**
+     * Async variant of {@link #getCoinInfo(String)}
+     */
+    public CompletableFuture<BCResult<Coin>> getCoinInfoAsync(@Nonnull String symbol) {
+        return async(getCoinInfo(symbol));
+    }
+
     /**
      * @param coinToSell  Selling coin
      * @param valueToSell Selling amount of exchange (big integer amount like: 1 BIP equals
@@ -74,6 +82,13 @@ public class BlockChainCoinRepository extends DataRepository<BlockChainCoinEndpo
         return getCoinExchangeCurrencyToSell(coinToSell, normalizeValue(valueToSell), coinToBuy);
     }
 
+    /**
+     * Async variant of {@link #getCoinExchangeCurrencyToSell(String, BigDecimal, String)}
+     */
+    public CompletableFuture<BCResult<ExchangeSellValue>> getCoinExchangeCurrencyToSellAsync(@Nonnull String coinToSell, BigDecimal valueToSell, @Nonnull String coinToBuy) {
+        return async(getCoinExchangeCurrencyToSell(coinToSell, valueToSell, coinToBuy));
+    }
+
     /**
      * @param coinToSell  Selling coin
      * @param valueToSell Selling amount of exchange (big integer amount like: 1 BIP equals
@@ -88,6 +103,13 @@ public class BlockChainCoinRepository extends DataRepository<BlockChainCoinEndpo
         );
     }
 
+    /**
+     * Async variant of {@link #getCoinExchangeCurrencyToSell(String, BigInteger, String)}
+     */
+    public CompletableFuture<BCResult<ExchangeSellValue>> getCoinExchangeCurrencyToSellAsync(@Nonnull String coinToSell, BigInteger valueToSell, @Nonnull String coinToBuy) {
+        return async(getCoinExchangeCurrencyToSell(coinToSell, valueToSell, coinToBuy));
+    }
+
     /**
      * @param coinToSell Selling coin
      * @param valueToBuy Buying amount of exchange (human readable amount like: 1 BIP equals 1.0 in
@@ -99,6 +121,13 @@ public class BlockChainCoinRepository extends DataRepository<BlockChainCoinEndpo
         return getCoinExchangeCurrencyToBuy(coinToSell, normalizeValue(valueToBuy), coinToBuy);
     }
 
+    /**
+     * Async variant of {@link #getCoinExchangeCurrencyToBuy(String, BigDecimal, String)}
+     */
+    public CompletableFuture<BCResult<ExchangeBuyValue>> getCoinExchangeCurrencyToBuyAsync(@Nonnull String coinToSell, BigDecimal valueToBuy, @Nonnull String coinToBuy) {
+        return async(getCoinExchangeCurrencyToBuy(coinToSell, valueToBuy, coinToBuy));
+    }
+
     /**
      * @param coinToSell Selling coin
      * @param valueToBuy Buying amount of exchange (big integer amount like: 1 BIP equals
@@ -113,6 +142,13 @@ public class BlockChainCoinRepository extends DataRepository<BlockChainCoinEndpo
         );
     }
 
+    /**
+     * Async variant of {@link #getCoinExchangeCurrencyToBuy(String, BigInteger, String)}
+     */
+    public CompletableFuture<BCResult<ExchangeBuyValue>> getCoinExchangeCurrencyToBuyAsync(@Nonnull String coinToSell, BigInteger valueToBuy, @Nonnull String coinToBuy) {
+        return async(getCoinExchangeCurrencyToBuy(coinToSell, valueToBuy, coinToBuy));
+    }
+
     @Nonnull
     @Override
     protected Class<BlockChainCoinEndpoint> getServiceClass() {
@@ -1,7 +1,5 @@
 package network.minter.blockchain.repo;
 
-import com.google.gson.Gson;
-import com.google.gson.GsonBuilder;
 import com.google.gson.JsonArray;
 import com.google.gson.JsonDeserializationContext;
 import com.google.gson.JsonDeserializer;
@@ -11,10 +9,11 @@ import com.google.gson.JsonParseException;
 
 import java.lang.reflect.Type;
 import java.util.ArrayList;
+import java.util.concurrent.CompletableFuture;
 
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 
-import network.minter.blockchain.MinterBlockChainApi;
 import network.minter.blockchain.api.BlockChainEventEndpoint;
 import network.minter.blockchain.models.BCResult;
 import network.minter.blockchain.models.EventList;
@@ -28,19 +27,45 @@ import retrofit2.Call;
  * @author Eduard Maximovich [edward.vstock@gmail.com]
  */
 public class BlockChainEventRepository extends DataRepository<BlockChainEventEndpoint> implements DataRepository.Configurator {
+    private volatile BlockCache mBlockCache;
+
     public BlockChainEventRepository(@Nonnull ApiService.Builder apiBuilder) {
         super(apiBuilder);
     }
 
+    /**
+     * Serve {@link #getEventsAsync(long)} from cache and store loaded events in it
+     * @param cache cache or null to disable
+     */
+    public void setBlockCache(@Nullable BlockCache cache) {
+        mBlockCache = cache;
+    }
+
+    @Nullable
+    public BlockCache getBlockCache() {
+        return mBlockCache;
+    }
+
     @Override
     public void configure(ApiService.Builder api) {
-        api.registerTypeAdapter(EventList.class, new EventTypeDeserializer(MinterBlockChainApi.getInstance().getGsonBuilder()));
+        api.registerTypeAdapter(EventList.class, new EventTypeDeserializer());
     }
 
     public Call<BCResult<EventList>> getEvents(long blockHeight) {
         return getInstantService().getByHeight(blockHeight);
     }
 
+    /**
+     * Async variant of {@link #getEvents(long)}. If {@link BlockCache} is set, cached events are returned without request
+     */
+    public CompletableFuture<BCResult<EventList>> getEventsAsync(long blockHeight) {
+        final BlockCache cache = mBlockCache;
+        if (cache != null) {
+            return cache.getEvents(blockHeight, h -> async(getEvents(h)));
+        }
+        return async(getEvents(blockHeight));
+    }
+
     @Nonnull
     @Override
     protected Class<BlockChainEventEndpoint> getServiceClass() {
@@ -48,12 +73,6 @@ public class BlockChainEventRepository extends DataRepository<BlockChainEventEnd
     }
 
     public static final class EventTypeDeserializer implements JsonDeserializer<EventList> {
-        private final Gson mGson;
-
-        EventTypeDeserializer(GsonBuilder builder) {
-            mGson = builder.create();
-        }
-
         @Override
         public EventList deserialize(JsonElement json, Type typeOfT, JsonDeserializationContext context) throws JsonParseException {
             EventList eventList = new EventList();
@@ -74,7 +93,7 @@ public class BlockChainEventRepository extends DataRepository<BlockChainEventEnd
                     continue;
                 }
                 JsonObject itemValue = item.get("value").getAsJsonObject();
-                event.value = mGson.fromJson(itemValue, event.type.getCls());
+                event.value = context.deserialize(itemValue, event.type.getCls());
 
                 eventList.events.add(event);
             }
@@ -27,6 +27,7 @@
 package network.minter.blockchain.repo;
 
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 import javax.annotation.Nonnull;
 
@@ -34,6 +35,7 @@ import network.minter.blockchain.api.BlockChainStatusEndpoint;
 import network.minter.blockchain.models.BCResult;
 import network.minter.blockchain.models.NetworkStatus;
 import network.minter.core.internal.api.ApiService;
+import network.minter.core.internal.api.ResponseCache;
 import network.minter.core.internal.data.DataRepository;
 import retrofit2.Call;
 
@@ -54,13 +56,41 @@ public class BlockChainStatusRepository extends DataRepository<BlockChainStatusE
         return getInstantService().status();
     }
 
+    /**
+     * Async variant of {@link #getNetworkStatus()}
+     */
+    public CompletableFuture<BCResult<NetworkStatus>> getNetworkStatusAsync() {
+        return async(getNetworkStatus());
+    }
+
     public Call<BCResult<List<NetworkStatus.Validator>>> getValidators() {
         return getInstantService().validators();
     }
 
+    /**
+     * Async variant of {@link #getValidators()}
+     */
+    public CompletableFuture<BCResult<List<NetworkStatus.Validator>>> getValidatorsAsync() {
+        return async(getValidators());
+    }
+
     @Nonnull
     @Override
     protected Class<BlockChainStatusEndpoint> getServiceClass() {
         return BlockChainStatusEndpoint.class;
     }
+
+    /**
+     * Reports {@link NetworkStatus#latestBlockHeight} of status responses to {@link ResponseCache}
+     */
+    public static final class NetworkStatusHeightReader implements ResponseCache.HeightReader {
+        @Override
+        public long read(@Nonnull Object body) {
+            final BCResult<?> res = (BCResult<?>) body;
+            if (!res.isOk() || !(res.result instanceof NetworkStatus)) {
+                return -1;
+            }
+            return ((NetworkStatus) res.result).latestBlockHeight;
+        }
+    }
 }
@@ -32,15 +32,21 @@ import com.google.gson.JsonDeserializer;
 import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
 import com.google.gson.JsonParseException;
+import com.google.gson.TypeAdapter;
+import com.google.gson.TypeAdapterFactory;
+import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
 
+import java.io.IOException;
 import java.lang.reflect.Type;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 import javax.annotation.Nonnull;
 
-import network.minter.blockchain.MinterBlockChainApi;
 import network.minter.blockchain.api.BlockChainTransactionEndpoint;
 import network.minter.blockchain.models.BCResult;
 import network.minter.blockchain.models.HistoryTransaction;
@@ -52,6 +58,7 @@ import network.minter.core.crypto.MinterAddress;
 import network.minter.core.crypto.MinterHash;
 import network.minter.core.crypto.PrivateKey;
 import network.minter.core.internal.api.ApiService;
+import network.minter.core.internal.api.converters.StreamingTypeAdapter;
 import network.minter.core.internal.data.DataRepository;
 import retrofit2.Call;
 
@@ -76,6 +83,13 @@ public class BlockChainTransactionRepository extends DataRepository<BlockChainTr
         return getInstantService(this).getTransactions(checkNotNull(query, "Query required").build());
     }
 
+    /**
+     * Async variant of {@link #getTransactions(TQuery)}
+     */
+    public CompletableFuture<BCResult<List<HistoryTransaction>>> getTransactionsAsync(@Nonnull TQuery query) {
+        return async(getTransactions(query));
+    }
+
     /**
      * Get full transaction information
      * @param hash Valid transaction hash
@@ -86,6 +100,13 @@ public class BlockChainTransactionRepository extends DataRepository<BlockChainTr
         return getTransaction(hash.toString());
     }
 
+    /**
+     * Async variant of {@link #getTransaction(MinterHash)}
+     */
+    public CompletableFuture<BCResult<HistoryTransaction>> getTransactionAsync(MinterHash hash) {
+        return async(getTransaction(hash));
+    }
+
     /**
      * Get full transaction information
      * @param txHash Valid transaction hash with prefix "Mt"
@@ -95,9 +116,16 @@ public class BlockChainTransactionRepository extends DataRepository<BlockChainTr
         return getInstantService(this).getTransaction(txHash);
     }
 
+    /**
+     * Async variant of {@link #getTransaction(String)}
+     */
+    public CompletableFuture<BCResult<HistoryTransaction>> getTransactionAsync(String txHash) {
+        return async(getTransaction(txHash));
+    }
+
     @Override
     public void configure(ApiService.Builder api) {
-        api.registerTypeAdapter(HistoryTransaction.class, new HistoryTransactionDeserializer());
+        api.registerTypeAdapterFactory(new HistoryTransactionDeserializer());
         api.registerTypeAdapter(TransactionSign.class, new TransactionSignDeserializer());
     }
 
@@ -111,6 +139,13 @@ public class BlockChainTransactionRepository extends DataRepository<BlockChainTr
         return getTransactionCommission(sign.getTxSign());
     }
 
+    /**
+     * Async variant of {@link #getTransactionCommission(TransactionSign)}
+     */
+    public CompletableFuture<BCResult<TransactionCommissionValue>> getTransactionCommissionAsync(TransactionSign sign) {
+        return async(getTransactionCommission(sign));
+    }
+
     /**
      * Resolve transaction commission before sending it
      * @param sign
@@ -120,6 +155,13 @@ public class BlockChainTransactionRepository extends DataRepository<BlockChainTr
         return getInstantService().getTxCommission(sign);
     }
 
+    /**
+     * Async variant of {@link #getTransactionCommission(String)}
+     */
+    public CompletableFuture<BCResult<TransactionCommissionValue>> getTransactionCommissionAsync(String sign) {
+        return async(getTransactionCommission(sign));
+    }
+
     /**
      * Get unconfirmed transactions signatures
      * Use result as collection
@@ -129,6 +171,13 @@ public class BlockChainTransactionRepository extends DataRepository<BlockChainTr
         return getInstantService().getUnconfirmed();
     }
 
+    /**
+     * Async variant of {@link #getUnconfirmedList()}
+     */
+    public CompletableFuture<BCResult<UnconfirmedTransactions>> getUnconfirmedListAsync() {
+        return async(getUnconfirmedList());
+    }
+
     @Nonnull
     @Override
     protected Class<BlockChainTransactionEndpoint> getServiceClass() {
@@ -148,22 +197,47 @@ public class BlockChainTransactionRepository extends DataRepository<BlockChainTr
         }
     }
 
-    public static final class HistoryTransactionDeserializer implements JsonDeserializer<HistoryTransaction> {
+    /**
+     * Reads common fields using reflective adapter of the same Gson and then dispatches "data" by transaction type.
+     * All adapters are taken from Gson cache, so nothing is built per element.
+     * Register with {@link ApiService.Builder#registerTypeAdapterFactory(TypeAdapterFactory)}
+     */
+    public static final class HistoryTransactionDeserializer implements TypeAdapterFactory {
 
+        @SuppressWarnings("unchecked")
         @Override
-        public HistoryTransaction deserialize(JsonElement json, Type typeOfT, JsonDeserializationContext context)
-                throws JsonParseException {
-            if (json.isJsonNull() || !json.isJsonObject()) {
+        public <T> TypeAdapter<T> create(Gson gson, TypeToken<T> type) {
+            if (type.getRawType() != HistoryTransaction.class) {
                 return null;
             }
 
-            final Gson gson = MinterBlockChainApi.getInstance().getGsonBuilder().create();
+            final TypeAdapter<HistoryTransaction> delegate = gson.getDelegateAdapter(this, TypeToken.get(HistoryTransaction.class));
+            if (StreamingTypeAdapter.isStreaming(delegate)) {
+                // streaming adapters enabled, they don't need a tree
+                return (TypeAdapter<T>) delegate;
+            }
+            final TypeAdapter<JsonElement> elementAdapter = gson.getAdapter(JsonElement.class);
 
-            final HistoryTransaction out = gson.fromJson(json, HistoryTransaction.class);
-            JsonObject data = json.getAsJsonObject().get("data").getAsJsonObject();
-            out.data = gson.fromJson(data, out.type.getOpClass());
+            return (TypeAdapter<T>) new TypeAdapter<HistoryTransaction>() {
+                @Override
+                public void write(JsonWriter out, HistoryTransaction value) throws IOException {
+                    delegate.write(out, value);
+                }
 
-            return out;
+                @Override
+                public HistoryTransaction read(JsonReader in) throws IOException {
+                    final JsonElement json = elementAdapter.read(in);
+                    if (json.isJsonNull() || !json.isJsonObject()) {
+                        return null;
+                    }
+
+                    final HistoryTransaction out = delegate.fromJsonTree(json);
+                    JsonObject data = json.getAsJsonObject().get("data").getAsJsonObject();
+                    out.data = gson.getAdapter(out.type.getOpClass()).fromJsonTree(data);
+
+                    return out;
+                }
+            };
         }
     }
 
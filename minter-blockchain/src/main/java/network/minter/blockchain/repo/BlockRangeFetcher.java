@@ -0,0 +1,528 @@
+/*
+ * Copyright (C) by MinterTeam. 2019
+ * @link <a href="https://github.com/MinterTeam">Org Github</a>
+ * @link <a href="https://github.com/edwardstock">Maintainer Github</a>
+ *
+ * The MIT License
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package network.minter.blockchain.repo;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.ToLongFunction;
+
+import javax.annotation.Nonnull;
+
+import network.minter.blockchain.models.BCResult;
+import network.minter.blockchain.models.BlockInfo;
+
+import static network.minter.core.internal.common.Preconditions.checkArgument;
+import static network.minter.core.internal.common.Preconditions.checkNotNull;
+
+/**
+ * minter-android-blockchain. 2019
+ * <p>
+ * Bulk downloader of historical blocks. Range is split into chunks of {@link #setChunkSize(int)} heights, up to
+ * {@link #setConcurrency(int)} chunks are downloaded at the same time (every chunk sequentially), and blocks are
+ * delivered to {@link Listener} in height order from a single thread.
+ * <p>
+ * Memory is bounded: new chunk is not started until it's first height is closer than
+ * {@link #setMaxBuffered(int)} to the next height waiting for delivery, so slow listener also slows down downloading.
+ * <p>
+ * Every {@link #fetchBlocks(long, long, Listener)} call uses it's own threads, they are released when fetch completes.
+ * <p>
+ * The same machinery (chunks, retries, ordered delivery) is used by {@link BlockStream} to follow the chain.
+ *
+ * @author Eduard Maximovich <edward.vstock@gmail.com>
+ */
+public final class BlockRangeFetcher {
+    private final BlockSource mSource;
+    // shared threads, null - every fetch creates it's own
+    private final ScheduledExecutorService mScheduler;
+    private final ExecutorService mDelivery;
+    private int mChunkSize = 100;
+    private int mConcurrency = 8;
+    private int mMaxBuffered = 1000;
+    private double mRateLimit = 0;
+    private int mMaxRetries = 5;
+    private long mRetryDelayMs = 1000;
+    private long mProgressIntervalMs = 1000;
+
+    public interface BlockSource {
+        CompletableFuture<BCResult<BlockInfo>> getBlock(long height);
+    }
+
+    /**
+     * Loads item of given height. Returned future completes exceptionally if item can't be loaded
+     * @param <T> item type
+     */
+    interface Loader<T> {
+        CompletableFuture<T> load(long height);
+    }
+
+    /**
+     * Receives items in height order, on delivery thread
+     * @param <T> item type
+     */
+    interface Sink<T> {
+        void onItem(T item) throws Exception;
+    }
+
+    public interface Listener {
+        /**
+         * Called for every block in height order. Throwing an exception cancels fetch
+         * @param block block
+         */
+        void onBlock(BlockInfo block) throws Exception;
+
+        /**
+         * Called periodically (see {@link #setProgressInterval(long, TimeUnit)}) and once on completion,
+         * on the same thread as {@link #onBlock(BlockInfo)}
+         * @param progress current progress
+         */
+        default void onProgress(Progress progress) {
+        }
+    }
+
+    public BlockRangeFetcher(@Nonnull BlockChainBlockRepository repository) {
+        this(checkNotNull(repository, "Repository required")::getByHeightAsync);
+    }
+
+    public BlockRangeFetcher(@Nonnull BlockSource source) {
+        mSource = checkNotNull(source, "Block source required");
+        mScheduler = null;
+        mDelivery = null;
+    }
+
+    /**
+     * Fetcher that runs on given threads and doesn't shut them down
+     * @param source block source
+     * @param scheduler used for retries and rate limit
+     * @param delivery single thread executor, used to call listener
+     */
+    BlockRangeFetcher(@Nonnull BlockSource source, @Nonnull ScheduledExecutorService scheduler, @Nonnull ExecutorService delivery) {
+        mSource = checkNotNull(source, "Block source required");
+        mScheduler = checkNotNull(scheduler, "Scheduler required");
+        mDelivery = checkNotNull(delivery, "Delivery executor required");
+    }
+
+    /**
+     * @param chunkSize count of heights downloaded sequentially by one worker. Default: 100
+     * @return self
+     */
+    public BlockRangeFetcher setChunkSize(int chunkSize) {
+        checkArgument(chunkSize > 0, "Chunk size must be greater than 0");
+        mChunkSize = chunkSize;
+        return this;
+    }
+
+    /**
+     * @param concurrency count of chunks downloaded at the same time. Default: 8
+     * @return self
+     */
+    public BlockRangeFetcher setConcurrency(int concurrency) {
+        checkArgument(concurrency > 0, "Concurrency must be greater than 0");
+        mConcurrency = concurrency;
+        return this;
+    }
+
+    /**
+     * @param maxBuffered how far (in heights) downloading can go ahead of delivery. Default: 1000
+     * @return self
+     */
+    public BlockRangeFetcher setMaxBuffered(int maxBuffered) {
+        checkArgument(maxBuffered > 0, "Max buffered must be greater than 0");
+        mMaxBuffered = maxBuffered;
+        return this;
+    }
+
+    /**
+     * @param requestsPerSecond max requests per second, 0 - unlimited. Default: 0
+     * @return self
+     */
+    public BlockRangeFetcher setRateLimit(double requestsPerSecond) {
+        checkArgument(requestsPerSecond >= 0, "Rate limit can't be negative");
+        mRateLimit = requestsPerSecond;
+        return this;
+    }
+
+    /**
+     * @param maxRetries how many times retry failed height before fail whole fetch. Default: 5
+     * @param delay delay between retries. Default: 1 second
+     * @param unit time unit
+     * @return self
+     */
+    public BlockRangeFetcher setRetry(int maxRetries, long delay, TimeUnit unit) {
+        checkArgument(maxRetries >= 0, "Max retries can't be negative");
+        checkArgument(delay >= 0, "Delay can't be negative");
+        mMaxRetries = maxRetries;
+        mRetryDelayMs = unit.toMillis(delay);
+        return this;
+    }
+
+    /**
+     * @param interval how often call {@link Listener#onProgress(Progress)}. Default: 1 second
+     * @param unit time unit
+     * @return self
+     */
+    public BlockRangeFetcher setProgressInterval(long interval, TimeUnit unit) {
+        checkArgument(interval > 0, "Interval must be greater than 0");
+        mProgressIntervalMs = unit.toMillis(interval);
+        return this;
+    }
+
+    /**
+     * Download blocks
+     * @param from first height, inclusive
+     * @param to last height, inclusive
+     * @param listener block listener
+     * @return future completes with final progress after last block delivered. Cancel it to stop downloading
+     */
+    public CompletableFuture<Progress> fetchBlocks(long from, long to, @Nonnull Listener listener) {
+        checkArgument(from > 0, "Height must be greater than 0");
+        checkArgument(to >= from, "Invalid range");
+        checkNotNull(listener, "Listener required");
+        return new Job<>(from, to, this::loadBlock, listener::onBlock, listener::onProgress, BlockRangeFetcher::sizeOf).start();
+    }
+
+    /**
+     * The same as {@link #fetchBlocks(long, long, Listener)}, but for any item that can be loaded by height
+     * @param from first height, inclusive
+     * @param to last height, inclusive
+     * @param loader item loader
+     * @param sink item receiver
+     * @param <T> item type
+     * @return future completes after last item delivered. Cancel it to stop downloading
+     */
+    <T> CompletableFuture<Progress> fetch(long from, long to, @Nonnull Loader<T> loader, @Nonnull Sink<T> sink) {
+        checkArgument(from > 0, "Height must be greater than 0");
+        checkArgument(to >= from, "Invalid range");
+        checkNotNull(loader, "Loader required");
+        checkNotNull(sink, "Sink required");
+        return new Job<>(from, to, loader, sink, null, item -> 0).start();
+    }
+
+    public static final class Progress {
+        private final long mFrom;
+        private final long mTo;
+        private final long mBlocks;
+        private final long mBytes;
+        private final long mElapsedMs;
+
+        Progress(long from, long to, long blocks, long bytes, long elapsedMs) {
+            mFrom = from;
+            mTo = to;
+            mBlocks = blocks;
+            mBytes = bytes;
+            mElapsedMs = elapsedMs;
+        }
+
+        /**
+         * @return count of delivered blocks
+         */
+        public long getBlocks() {
+            return mBlocks;
+        }
+
+        /**
+         * @return count of all blocks in range
+         */
+        public long getTotal() {
+            return mTo - mFrom + 1;
+        }
+
+        /**
+         * @return sum of delivered block sizes, as reported by node in {@link BlockInfo#size}
+         */
+        public long getBytes() {
+            return mBytes;
+        }
+
+        public long getElapsedMs() {
+            return mElapsedMs;
+        }
+
+        public double getBlocksPerSecond() {
+            return mElapsedMs == 0 ? 0 : mBlocks * 1000.0 / mElapsedMs;
+        }
+
+        public double getBytesPerSecond() {
+            return mElapsedMs == 0 ? 0 : mBytes * 1000.0 / mElapsedMs;
+        }
+
+        public boolean isDone() {
+            return mBlocks == getTotal();
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%d/%d blocks, %.1f blocks/s, %.1f bytes/s", mBlocks, getTotal(), getBlocksPerSecond(), getBytesPerSecond());
+        }
+    }
+
+    private CompletableFuture<BlockInfo> loadBlock(long height) {
+        return mSource.getBlock(height).thenApply(res -> {
+            if (res == null || !res.isOk() || res.result == null) {
+                throw new CompletionException(new IllegalStateException(String.format("Unable to get block %d: %s", height, res)));
+            }
+            return res.result;
+        });
+    }
+
+    private static long sizeOf(BlockInfo block) {
+        if (block.size == null) {
+            return 0;
+        }
+        try {
+            return Long.parseLong(block.size);
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    private final class Job<T> {
+        private final long mFrom;
+        private final long mTo;
+        private final Loader<T> mLoader;
+        private final Sink<T> mSink;
+        private final Consumer<Progress> mProgressListener;
+        private final ToLongFunction<T> mSizeOf;
+        private final CompletableFuture<Progress> mResult = new CompletableFuture<>();
+        private final ScheduledExecutorService mScheduler;
+        private final ExecutorService mDelivery;
+        private final boolean mOwnThreads;
+        private final Map<Long, T> mReady = new HashMap<>();
+        private final long mStartedAt = System.nanoTime();
+        private final long mPermitIntervalNanos;
+        // guarded by this
+        private long mNextChunk;
+        private long mNextDeliver;
+        private int mActiveChunks = 0;
+        private boolean mDelivering = false;
+        private long mNextPermit = System.nanoTime();
+        // written only by delivery thread
+        private volatile long mBlocks = 0;
+        private volatile long mBytes = 0;
+
+        Job(long from, long to, Loader<T> loader, Sink<T> sink, Consumer<Progress> progressListener, ToLongFunction<T> sizeOf) {
+            mFrom = from;
+            mTo = to;
+            mLoader = loader;
+            mSink = sink;
+            mProgressListener = progressListener;
+            mSizeOf = sizeOf;
+            mNextChunk = from;
+            mNextDeliver = from;
+            mPermitIntervalNanos = mRateLimit == 0 ? 0 : (long) (TimeUnit.SECONDS.toNanos(1) / mRateLimit);
+            mOwnThreads = BlockRangeFetcher.this.mScheduler == null;
+            if (!mOwnThreads) {
+                mScheduler = BlockRangeFetcher.this.mScheduler;
+                mDelivery = BlockRangeFetcher.this.mDelivery;
+                return;
+            }
+            mScheduler = Executors.newScheduledThreadPool(1, r -> {
+                final Thread t = new Thread(r, "minter-block-range");
+                t.setDaemon(true);
+                return t;
+            });
+            mDelivery = Executors.newSingleThreadExecutor(r -> {
+                final Thread t = new Thread(r, "minter-block-range-delivery");
+                t.setDaemon(true);
+                return t;
+            });
+        }
+
+        CompletableFuture<Progress> start() {
+            final ScheduledFuture<?> progressTask;
+            if (mProgressListener != null) {
+                progressTask = mScheduler.scheduleWithFixedDelay(() -> mDelivery.execute(this::reportProgress), mProgressIntervalMs, mProgressIntervalMs, TimeUnit.MILLISECONDS);
+            } else {
+                progressTask = null;
+            }
+            mResult.whenComplete((res, t) -> {
+                if (progressTask != null) {
+                    progressTask.cancel(false);
+                }
+                if (mOwnThreads) {
+                    mScheduler.shutdownNow();
+                    mDelivery.shutdown();
+                }
+            });
+            startChunks();
+            return mResult;
+        }
+
+        private Progress progress() {
+            return new Progress(mFrom, mTo, mBlocks, mBytes, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - mStartedAt));
+        }
+
+        private void reportProgress() {
+            if (!mResult.isDone()) {
+                mProgressListener.accept(progress());
+            }
+        }
+
+        private void startChunks() {
+            while (true) {
+                final long chunkStart;
+                synchronized (this) {
+                    if (mResult.isDone() || mNextChunk > mTo || mActiveChunks >= mConcurrency
+                            || mNextChunk - mNextDeliver >= mMaxBuffered) {
+                        return;
+                    }
+                    chunkStart = mNextChunk;
+                    mNextChunk = Math.min(mTo + 1, mNextChunk + mChunkSize);
+                    mActiveChunks++;
+                }
+                fetch(chunkStart, Math.min(mTo, chunkStart + mChunkSize - 1), 0);
+            }
+        }
+
+        private synchronized long acquirePermitDelay() {
+            if (mPermitIntervalNanos == 0) {
+                return 0;
+            }
+            final long now = System.nanoTime();
+            final long permit = Math.max(now, mNextPermit);
+            mNextPermit = permit + mPermitIntervalNanos;
+            return permit - now;
+        }
+
+        private void fetch(final long height, final long chunkEnd, final int attempt) {
+            final long delay = acquirePermitDelay();
+            if (delay > 0) {
+                schedule(() -> request(height, chunkEnd, attempt), delay, TimeUnit.NANOSECONDS);
+            } else {
+                request(height, chunkEnd, attempt);
+            }
+        }
+
+        private void schedule(Runnable task, long delay, TimeUnit unit) {
+            try {
+                mScheduler.schedule(task, delay, unit);
+            } catch (RuntimeException e) {
+                // fetch already completed
+                mResult.completeExceptionally(e);
+            }
+        }
+
+        private void request(final long height, final long chunkEnd, final int attempt) {
+            if (mResult.isDone()) {
+                return;
+            }
+            final CompletableFuture<T> request;
+            try {
+                request = mLoader.load(height);
+            } catch (RuntimeException e) {
+                onFailed(height, chunkEnd, attempt, e);
+                return;
+            }
+            request.whenComplete((item, t) -> {
+                if (t != null) {
+                    onFailed(height, chunkEnd, attempt, t);
+                } else {
+                    onFetched(height, item);
+                    if (height < chunkEnd) {
+                        fetch(height + 1, chunkEnd, 0);
+                    } else {
+                        synchronized (this) {
+                            mActiveChunks--;
+                        }
+                        startChunks();
+                    }
+                }
+            });
+        }
+
+        private void onFailed(long height, long chunkEnd, int attempt, Throwable t) {
+            if (attempt < mMaxRetries) {
+                schedule(() -> fetch(height, chunkEnd, attempt + 1), mRetryDelayMs, TimeUnit.MILLISECONDS);
+                return;
+            }
+            mResult.completeExceptionally(t instanceof CompletionException && t.getCause() != null ? t.getCause() : t);
+        }
+
+        private void onFetched(long height, T item) {
+            synchronized (this) {
+                if (mResult.isDone()) {
+                    return;
+                }
+                mReady.put(height, item);
+                if (mDelivering || height != mNextDeliver) {
+                    return;
+                }
+                mDelivering = true;
+            }
+            try {
+                mDelivery.execute(this::deliver);
+            } catch (RejectedExecutionException ignore) {
+                // cancelled
+            }
+        }
+
+        private void deliver() {
+            while (true) {
+                final T item;
+                synchronized (this) {
+                    item = mResult.isDone() ? null : mReady.remove(mNextDeliver);
+                    if (item == null) {
+                        mDelivering = false;
+                        return;
+                    }
+                }
+
+                try {
+                    mSink.onItem(item);
+                } catch (Throwable t) {
+                    mResult.completeExceptionally(t);
+                    return;
+                }
+                mBlocks++;
+                mBytes += mSizeOf.applyAsLong(item);
+
+                final boolean last;
+                synchronized (this) {
+                    last = mNextDeliver == mTo;
+                    mNextDeliver++;
+                }
+                if (last) {
+                    final Progress progress = progress();
+                    if (mProgressListener != null) {
+                        mProgressListener.accept(progress);
+                    }
+                    mResult.complete(progress);
+                    return;
+                }
+                startChunks();
+            }
+        }
+    }
+}
@@ -0,0 +1,408 @@
+/*
+ * Copyright (C) by MinterTeam. 2019
+ * @link <a href="https://github.com/MinterTeam">Org Github</a>
+ * @link <a href="https://github.com/edwardstock">Maintainer Github</a>
+ *
+ * The MIT License
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package network.minter.blockchain.repo;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+import network.minter.blockchain.models.BCResult;
+import network.minter.blockchain.models.BlockInfo;
+import network.minter.blockchain.models.EventList;
+import network.minter.blockchain.models.NetworkStatus;
+
+import static network.minter.core.internal.common.Preconditions.checkArgument;
+import static network.minter.core.internal.common.Preconditions.checkNotNull;
+
+/**
+ * minter-android-blockchain. 2019
+ * <p>
+ * Chain follower. Watches {@link NetworkStatus#latestBlockHeight} and fetches new blocks (and optionally it's events)
+ * in parallel, but delivers them to {@link Listener} strictly in height order, one by one.
+ * <p>
+ * Blocks are fetched by {@link BlockRangeFetcher} from the next height to the latest known one, with chunks of
+ * one block, so retries and ordered delivery work the same way as there.
+ * <p>
+ * Backpressure: not more than {@link #setPrefetch(int)} blocks can be requested or waiting for delivery. Listener is
+ * called on a separate thread, so while it is busy, window doesn't move and no new requests are sent.
+ * When stream is far behind the chain (more than {@link #setCatchUpThreshold(long)} blocks), window is extended
+ * to {@link #setCatchUpPrefetch(int)} to download history concurrently.
+ * <p>
+ * To resume after restart, save {@link #getCheckpoint()} and start from {@code checkpoint + 1}.
+ *
+ * @author Eduard Maximovich <edward.vstock@gmail.com>
+ */
+public final class BlockStream {
+    private final Backend mBackend;
+    private final ScheduledExecutorService mScheduler;
+    private final ExecutorService mDelivery;
+    private int mPrefetch = 8;
+    private int mCatchUpPrefetch = 64;
+    private long mCatchUpThreshold = 100;
+    private long mPollIntervalMs = 5000;
+    private long mRetryDelayMs = 1000;
+    private int mMaxRetries = 5;
+    private boolean mIncludeEvents = true;
+
+    // state guarded by this
+    private Listener mListener;
+    private ScheduledFuture<?> mPollTask;
+    private CompletableFuture<BlockRangeFetcher.Progress> mFetch;
+    private boolean mRunning = false;
+    // incremented on every start, to ignore blocks of previous run
+    private int mGeneration = 0;
+    private long mKnownHeight = -1;
+    private volatile long mCheckpoint = -1;
+
+    public interface Listener {
+        /**
+         * Called for every block in height order. Throwing an exception stops the stream
+         * @param block fetched block
+         */
+        void onBlock(Block block) throws Exception;
+
+        /**
+         * Called once when stream stops because of error
+         * @param t error
+         */
+        void onError(Throwable t);
+    }
+
+    /**
+     * Node operations used by stream
+     */
+    public interface Backend {
+        CompletableFuture<BCResult<NetworkStatus>> getNetworkStatus();
+        CompletableFuture<BCResult<BlockInfo>> getBlock(long height);
+        CompletableFuture<BCResult<EventList>> getEvents(long height);
+    }
+
+    public BlockStream(@Nonnull final BlockChainStatusRepository statusRepository, @Nonnull final BlockChainBlockRepository blockRepository, @Nonnull final BlockChainEventRepository eventRepository) {
+        this(new Backend() {
+            @Override
+            public CompletableFuture<BCResult<NetworkStatus>> getNetworkStatus() {
+                return statusRepository.getNetworkStatusAsync();
+            }
+
+            @Override
+            public CompletableFuture<BCResult<BlockInfo>> getBlock(long height) {
+                return blockRepository.getByHeightAsync(height);
+            }
+
+            @Override
+            public CompletableFuture<BCResult<EventList>> getEvents(long height) {
+                return eventRepository.getEventsAsync(height);
+            }
+        });
+    }
+
+    public BlockStream(@Nonnull Backend backend) {
+        mBackend = checkNotNull(backend, "Backend required");
+        mScheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            final Thread t = new Thread(r, "minter-block-stream");
+            t.setDaemon(true);
+            return t;
+        });
+        mDelivery = Executors.newSingleThreadExecutor(r -> {
+            final Thread t = new Thread(r, "minter-block-stream-delivery");
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    /**
+     * @param prefetch max count of blocks requested or waiting for delivery while following the chain. Default: 8
+     * @return self
+     */
+    public BlockStream setPrefetch(int prefetch) {
+        checkArgument(prefetch > 0, "Prefetch must be greater than 0");
+        mPrefetch = prefetch;
+        return this;
+    }
+
+    /**
+     * @param prefetch max count of blocks requested or waiting for delivery while catching up. Default: 64
+     * @return self
+     */
+    public BlockStream setCatchUpPrefetch(int prefetch) {
+        checkArgument(prefetch > 0, "Prefetch must be greater than 0");
+        mCatchUpPrefetch = prefetch;
+        return this;
+    }
+
+    /**
+     * @param blocks how many blocks stream should be behind the chain to switch to catch-up mode. Default: 100
+     * @return self
+     */
+    public BlockStream setCatchUpThreshold(long blocks) {
+        checkArgument(blocks >= 0, "Threshold can't be negative");
+        mCatchUpThreshold = blocks;
+        return this;
+    }
+
+    /**
+     * @param interval how often request latest block height. Default: 5 seconds
+     * @param unit time unit
+     * @return self
+     */
+    public BlockStream setPollInterval(long interval, TimeUnit unit) {
+        checkArgument(interval > 0, "Interval must be greater than 0");
+        mPollIntervalMs = unit.toMillis(interval);
+        return this;
+    }
+
+    /**
+     * @param maxRetries how many times retry failed block request before stop with error. Default: 5
+     * @param delay delay between retries. Default: 1 second
+     * @param unit time unit
+     * @return self
+     */
+    public BlockStream setRetry(int maxRetries, long delay, TimeUnit unit) {
+        checkArgument(maxRetries >= 0, "Max retries can't be negative");
+        checkArgument(delay >= 0, "Delay can't be negative");
+        mMaxRetries = maxRetries;
+        mRetryDelayMs = unit.toMillis(delay);
+        return this;
+    }
+
+    /**
+     * @param include fetch events for every block. Default: true
+     * @return self
+     */
+    public BlockStream setIncludeEvents(boolean include) {
+        mIncludeEvents = include;
+        return this;
+    }
+
+    /**
+     * Start streaming
+     * @param fromHeight first block to deliver, usually last processed height + 1
+     * @param listener block listener
+     */
+    public synchronized void start(long fromHeight, @Nonnull Listener listener) {
+        checkArgument(fromHeight > 0, "Height must be greater than 0");
+        checkNotNull(listener, "Listener required");
+        if (mRunning) {
+            throw new IllegalStateException("Stream already started");
+        }
+        mListener = listener;
+        mRunning = true;
+        mGeneration++;
+        mCheckpoint = fromHeight - 1;
+        mPollTask = mScheduler.scheduleWithFixedDelay(this::poll, 0, mPollIntervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Stop streaming. Requests in flight are ignored, listener is not called anymore.
+     * Stream can be started again from {@link #getCheckpoint()} + 1
+     */
+    public synchronized void stop() {
+        mRunning = false;
+        if (mPollTask != null) {
+            mPollTask.cancel(false);
+            mPollTask = null;
+        }
+        if (mFetch != null) {
+            final CompletableFuture<?> fetch = mFetch;
+            mFetch = null;
+            fetch.cancel(false);
+        }
+    }
+
+    /**
+     * Stop streaming and release threads. Stream can't be used after that
+     */
+    public void shutdown() {
+        stop();
+        mScheduler.shutdownNow();
+        mDelivery.shutdownNow();
+    }
+
+    public synchronized boolean isRunning() {
+        return mRunning;
+    }
+
+    /**
+     * Checkpoint is updated after {@link Listener#onBlock(Block)} returns, even if stream was stopped meanwhile
+     * @return height of last delivered block, or start height - 1 if nothing delivered yet
+     */
+    public long getCheckpoint() {
+        return mCheckpoint;
+    }
+
+    /**
+     * @return latest chain height known by stream, or -1
+     */
+    public synchronized long getKnownHeight() {
+        return mKnownHeight;
+    }
+
+    private void poll() {
+        mBackend.getNetworkStatus().whenComplete((res, t) -> {
+            if (t != null || res == null || !res.isOk() || res.result == null) {
+                // try next time
+                return;
+            }
+            synchronized (this) {
+                if (res.result.latestBlockHeight > mKnownHeight) {
+                    mKnownHeight = res.result.latestBlockHeight;
+                }
+            }
+            fill();
+        });
+    }
+
+    /**
+     * Starts fetching from the next height to the latest known one, if not fetching yet
+     */
+    private void fill() {
+        final int generation;
+        final long from;
+        final long to;
+        final int window;
+        final CompletableFuture<BlockRangeFetcher.Progress> fetch;
+        synchronized (this) {
+            from = mCheckpoint + 1;
+            to = mKnownHeight;
+            if (!mRunning || mFetch != null || from > to) {
+                return;
+            }
+            generation = mGeneration;
+            window = to - from > mCatchUpThreshold ? mCatchUpPrefetch : mPrefetch;
+            final BlockRangeFetcher fetcher = new BlockRangeFetcher(mBackend::getBlock, mScheduler, mDelivery)
+                    .setChunkSize(1)
+                    .setConcurrency(window)
+                    .setMaxBuffered(window)
+                    .setRetry(mMaxRetries, mRetryDelayMs, TimeUnit.MILLISECONDS);
+            fetch = fetcher.fetch(from, to, this::load, block -> deliver(generation, block));
+            mFetch = fetch;
+        }
+        fetch.whenComplete((progress, t) -> onFetchComplete(generation, fetch, t));
+    }
+
+    private CompletableFuture<Block> load(final long height) {
+        final CompletableFuture<BCResult<BlockInfo>> blockRequest = mBackend.getBlock(height);
+        final CompletableFuture<BCResult<EventList>> eventsRequest;
+        if (mIncludeEvents) {
+            eventsRequest = mBackend.getEvents(height);
+        } else {
+            eventsRequest = CompletableFuture.completedFuture(null);
+        }
+
+        return blockRequest.thenCombine(eventsRequest, (block, events) -> {
+            if (block == null || !block.isOk()) {
+                throw new CompletionException(new IllegalStateException(String.format("Unable to get block %d: %s", height, block)));
+            }
+            if (events != null && !events.isOk()) {
+                throw new CompletionException(new IllegalStateException(String.format("Unable to get events of block %d: %s", height, events)));
+            }
+            return new Block(height, block.result, events == null ? null : events.result);
+        });
+    }
+
+    private void deliver(int generation, Block block) throws Exception {
+        final Listener listener;
+        synchronized (this) {
+            if (!mRunning || generation != mGeneration) {
+                throw new CancellationException("Stream has been stopped");
+            }
+            listener = mListener;
+        }
+
+        listener.onBlock(block);
+
+        synchronized (this) {
+            // checkpoint of restarted stream is not changed
+            if (generation == mGeneration) {
+                mCheckpoint = block.getHeight();
+            }
+        }
+    }
+
+    private void onFetchComplete(int generation, CompletableFuture<?> fetch, Throwable t) {
+        synchronized (this) {
+            if (!mRunning || generation != mGeneration || fetch != mFetch) {
+                return;
+            }
+            mFetch = null;
+        }
+        if (t != null) {
+            fail(generation, t instanceof CompletionException && t.getCause() != null ? t.getCause() : t);
+            return;
+        }
+        // chain could grow while fetching
+        fill();
+    }
+
+    private void fail(int generation, Throwable t) {
+        final Listener listener;
+        synchronized (this) {
+            if (!mRunning || generation != mGeneration) {
+                return;
+            }
+            listener = mListener;
+            stop();
+        }
+        listener.onError(t);
+    }
+
+    public static final class Block {
+        private final long mHeight;
+        private final BlockInfo mBlock;
+        private final EventList mEvents;
+
+        Block(long height, BlockInfo block, EventList events) {
+            mHeight = height;
+            mBlock = block;
+            mEvents = events;
+        }
+
+        public long getHeight() {
+            return mHeight;
+        }
+
+        public BlockInfo getBlock() {
+            return mBlock;
+        }
+
+        /**
+         * @return block events or null if events are disabled with {@link #setIncludeEvents(boolean)}
+         */
+        @Nullable
+        public EventList getEvents() {
+            return mEvents;
+        }
+    }
+}
@@ -0,0 +1,273 @@
+/*
+ * Copyright (C) by MinterTeam. 2019
+ * @link <a href="https://github.com/MinterTeam">Org Github</a>
+ * @link <a href="https://github.com/edwardstock">Maintainer Github</a>
+ *
+ * The MIT License
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package network.minter.blockchain.repo;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonPrimitive;
+import com.google.gson.JsonSerializer;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.util.HashMap;
+import java.util.Map;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+import network.minter.blockchain.models.BlockInfo;
+import network.minter.blockchain.models.EventList;
+import network.minter.core.crypto.BytesData;
+import network.minter.core.crypto.MinterAddress;
+import network.minter.core.crypto.MinterCheck;
+import network.minter.core.crypto.MinterHash;
+import network.minter.core.crypto.MinterPublicKey;
+import network.minter.core.internal.api.converters.BigIntegerJsonConverter;
+import network.minter.core.internal.api.converters.BytesDataJsonConverter;
+import network.minter.core.internal.api.converters.MinterAddressJsonConverter;
+import network.minter.core.internal.api.converters.MinterCheckJsonConverter;
+import network.minter.core.internal.api.converters.MinterHashJsonConverter;
+import network.minter.core.internal.api.converters.MinterPublicKeyJsonConverter;
+
+import static network.minter.core.internal.common.Preconditions.checkNotNull;
+
+/**
+ * minter-android-blockchain. 2019
+ * <p>
+ * Disk tier of {@link BlockCache}: two append-only files (blocks.dat, events.dat) in given directory,
+ * records are read with positional channel reads, so appends never invalidate anything. Every record is [height: int64][length: int32][json: length bytes].
+ * Height index is kept in memory and rebuilt on open by scanning record headers, incomplete record at the end
+ * (left by crash while writing) is cut off.
+ * <p>
+ * File size is limited to 2Gb, writes above limit fail with {@link IOException}. Thread safe.
+ *
+ * @author Eduard Maximovich <edward.vstock@gmail.com>
+ */
+public final class MappedBlockStorage implements BlockCache.Storage, Closeable {
+    private final static int HEADER_SIZE = 8 + 4;
+    private final static Charset UTF_8 = Charset.forName("UTF-8");
+    private final Gson mGson;
+    private final Segment mBlocks;
+    private final Segment mEvents;
+
+    /**
+     * Open or create storage
+     * @param dir storage directory, created if not exists
+     * @throws IOException if files can't be opened
+     */
+    public MappedBlockStorage(@Nonnull File dir) throws IOException {
+        checkNotNull(dir, "Directory required");
+        if (!dir.isDirectory() && !dir.mkdirs()) {
+            throw new IOException("Unable to create directory " + dir);
+        }
+        mGson = createGson();
+        mBlocks = new Segment(new File(dir, "blocks.dat"));
+        try {
+            mEvents = new Segment(new File(dir, "events.dat"));
+        } catch (IOException e) {
+            mBlocks.close();
+            throw e;
+        }
+    }
+
+    @Nullable
+    @Override
+    public BlockInfo getBlock(long height) throws IOException {
+        final byte[] data = mBlocks.read(height);
+        return data == null ? null : mGson.fromJson(new String(data, UTF_8), BlockInfo.class);
+    }
+
+    @Override
+    public void putBlock(@Nonnull BlockInfo block) throws IOException {
+        if (!mBlocks.contains(block.height)) {
+            mBlocks.append(block.height, mGson.toJson(block).getBytes(UTF_8));
+        }
+    }
+
+    @Nullable
+    @Override
+    public EventList getEvents(long height) throws IOException {
+        final byte[] data = mEvents.read(height);
+        return data == null ? null : mGson.fromJson(new String(data, UTF_8), EventList.class);
+    }
+
+    @Override
+    public void putEvents(long height, @Nonnull EventList events) throws IOException {
+        if (!mEvents.contains(height)) {
+            mEvents.append(height, mGson.toJson(events).getBytes(UTF_8));
+        }
+    }
+
+    /**
+     * @return count of stored blocks
+     */
+    public int getBlocksCount() {
+        return mBlocks.count();
+    }
+
+    /**
+     * @return count of stored event lists
+     */
+    public int getEventsCount() {
+        return mEvents.count();
+    }
+
+    /**
+     * Flush written data to disk
+     * @throws IOException
+     */
+    public void sync() throws IOException {
+        mBlocks.sync();
+        mEvents.sync();
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            mBlocks.close();
+        } finally {
+            mEvents.close();
+        }
+    }
+
+    private static Gson createGson() {
+        return new GsonBuilder()
+                .registerTypeAdapter(MinterAddress.class, new MinterAddressJsonConverter())
+                .registerTypeAdapter(MinterHash.class, new MinterHashJsonConverter())
+                .registerTypeAdapter(MinterCheck.class, new MinterCheckJsonConverter())
+                .registerTypeAdapter(MinterPublicKey.class, new MinterPublicKeyJsonConverter())
+                .registerTypeAdapter(BigInteger.class, new BigIntegerJsonConverter())
+                .registerTypeAdapter(BytesData.class, new BytesDataJsonConverter())
+                .registerTypeAdapterFactory(new BlockChainTransactionRepository.HistoryTransactionDeserializer())
+                .registerTypeAdapter(EventList.class, new BlockChainEventRepository.EventTypeDeserializer())
+                // written the same way as node returns it, to be readable by EventTypeDeserializer
+                .registerTypeAdapter(EventList.Type.class, (JsonSerializer<EventList.Type>) (src, t, ctx) -> new JsonPrimitive(src.getEventName()))
+                .create();
+    }
+
+    private static final class Segment implements Closeable {
+        private final RandomAccessFile mFile;
+        private final FileChannel mChannel;
+        private final Map<Long, Long> mIndex = new HashMap<>();
+        private long mSize;
+
+        Segment(File file) throws IOException {
+            mFile = new RandomAccessFile(file, "rw");
+            mChannel = mFile.getChannel();
+            try {
+                recover();
+            } catch (IOException e) {
+                mFile.close();
+                throw e;
+            }
+        }
+
+        synchronized boolean contains(long height) {
+            return mIndex.containsKey(height);
+        }
+
+        synchronized int count() {
+            return mIndex.size();
+        }
+
+        synchronized byte[] read(long height) throws IOException {
+            final Long offset = mIndex.get(height);
+            if (offset == null) {
+                return null;
+            }
+            final ByteBuffer length = ByteBuffer.allocate(4);
+            readFully(length, offset + 8);
+            final ByteBuffer out = ByteBuffer.allocate(length.getInt(0));
+            readFully(out, offset + HEADER_SIZE);
+            return out.array();
+        }
+
+        synchronized void append(long height, byte[] data) throws IOException {
+            if (mSize + HEADER_SIZE + data.length > Integer.MAX_VALUE) {
+                throw new IOException("Storage file is full");
+            }
+            final ByteBuffer buf = ByteBuffer.allocate(HEADER_SIZE + data.length);
+            buf.putLong(height).putInt(data.length).put(data);
+            buf.flip();
+            long pos = mSize;
+            while (buf.hasRemaining()) {
+                pos += mChannel.write(buf, pos);
+            }
+            mIndex.put(height, mSize);
+            mSize = pos;
+        }
+
+        synchronized void sync() throws IOException {
+            mChannel.force(false);
+        }
+
+        @Override
+        public synchronized void close() throws IOException {
+            mFile.close();
+        }
+
+        private void readFully(ByteBuffer buf, long pos) throws IOException {
+            while (buf.hasRemaining()) {
+                if (mChannel.read(buf, pos + buf.position()) < 0) {
+                    throw new IOException("Unexpected end of storage file");
+                }
+            }
+        }
+
+        private void recover() throws IOException {
+            final long fileSize = mChannel.size();
+            final ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+            long pos = 0;
+            while (pos + HEADER_SIZE <= fileSize) {
+                header.clear();
+                while (header.hasRemaining()) {
+                    if (mChannel.read(header, pos + header.position()) < 0) {
+                        break;
+                    }
+                }
+                header.flip();
+                final long height = header.getLong();
+                final int length = header.getInt();
+                if (length < 0 || pos + HEADER_SIZE + length > fileSize) {
+                    break;
+                }
+                mIndex.put(height, pos);
+                pos += HEADER_SIZE + length;
+            }
+            if (pos < fileSize) {
+                mChannel.truncate(pos);
+            }
+            mSize = pos;
+        }
+    }
+}
@@ -0,0 +1,96 @@
+/*
+ * Copyright (C) by MinterTeam. 2019
+ * @link <a href="https://github.com/MinterTeam">Org Github</a>
+ * @link <a href="https://github.com/edwardstock">Maintainer Github</a>
+ *
+ * The MIT License
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package network.minter.blockchain.repo;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+
+import java.io.IOException;
+import java.util.concurrent.CompletionException;
+
+import javax.annotation.Nullable;
+
+import network.minter.blockchain.models.BCResult;
+import network.minter.core.internal.api.CallFuture;
+import okhttp3.ResponseBody;
+import okio.BufferedSource;
+import retrofit2.HttpException;
+import retrofit2.Response;
+
+/**
+ * minter-android-blockchain. 2019
+ * <p>
+ * Node rejects transactions with 4xx response, so async calls (see {@link CallFuture}) complete with
+ * {@link HttpException} and node result (with {@link BCResult.ResultCode}) stays in error body.
+ *
+ * @author Eduard Maximovich <edward.vstock@gmail.com>
+ */
+final class NodeErrors {
+    private final static Gson sGson = new Gson();
+
+    private NodeErrors() {
+    }
+
+    /**
+     * Decode node result from error body. Body is read from a copy, so it's still readable after this call
+     * @param t request failure, may be wrapped with {@link CompletionException}
+     * @return node result with error and status code of response, or null if failure is not a node error response
+     */
+    @Nullable
+    static BCResult<?> parse(@Nullable Throwable t) {
+        t = unwrap(t);
+        if (!(t instanceof HttpException)) {
+            return null;
+        }
+        final Response<?> response = ((HttpException) t).response();
+        final ResponseBody body = response == null ? null : response.errorBody();
+        if (body == null) {
+            return null;
+        }
+
+        final BCResult<?> out;
+        try {
+            final BufferedSource source = body.source();
+            source.request(Long.MAX_VALUE);
+            out = sGson.fromJson(source.buffer().clone().readUtf8(), BCResult.class);
+        } catch (IOException | JsonParseException e) {
+            return null;
+        }
+        if (out == null || out.error == null) {
+            return null;
+        }
+        out.statusCode = response.code();
+        return out;
+    }
+
+    static Throwable unwrap(Throwable t) {
+        while (t instanceof CompletionException && t.getCause() != null) {
+            t = t.getCause();
+        }
+        return t;
+    }
+}
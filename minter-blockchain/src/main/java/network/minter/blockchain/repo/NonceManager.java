@@ -0,0 +1,251 @@
+/*
+ * Copyright (C) by MinterTeam. 2019
+ * @link <a href="https://github.com/MinterTeam">Org Github</a>
+ * @link <a href="https://github.com/edwardstock">Maintainer Github</a>
+ *
+ * The MIT License
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package network.minter.blockchain.repo;
+
+import java.math.BigInteger;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+import network.minter.blockchain.models.BCResult;
+import network.minter.core.crypto.MinterAddress;
+
+import static network.minter.core.internal.common.Preconditions.checkNotNull;
+
+/**
+ * minter-android-blockchain. 2019
+ * <p>
+ * Local nonce counter for senders. Nonce of address is requested from node only once (and after failures),
+ * then nonces are given out locally without blocking: {@link #reserve(MinterAddress)} is safe to call from many threads.
+ * <p>
+ * Report every send result with {@link #onSendResult(MinterAddress, BigInteger, BCResult, Throwable)}:
+ * <ul>
+ * <li>{@link BCResult.ResultCode#WrongNonce} or network failure (transaction may be accepted or not):
+ * address is resynced from node on next reservation</li>
+ * <li>other node error: transaction was rejected, it's nonce is returned to the manager and will be given out
+ * before new ones, so there will be no gap in nonce sequence</li>
+ * </ul>
+ * Usage:
+ * <pre>
+ *     {@code
+ *     final NonceManager nonces = new NonceManager(api.account());
+ *     final BigInteger nonce = nonces.reserve(address).join();
+ *     // build and sign transaction with nonce
+ *     api.account().sendTransactionAsync(sign)
+ *         .whenComplete((res, t) -> nonces.onSendResult(address, nonce, res, t));
+ *     }
+ * </pre>
+ *
+ * @author Eduard Maximovich <edward.vstock@gmail.com>
+ */
+public final class NonceManager {
+    private final NonceSource mSource;
+    private final Map<MinterAddress, State> mStates = new ConcurrentHashMap<>();
+
+    /**
+     * Source of transactions count of address. For example, explorer gate can be used:
+     * {@code address -> gate.getTransactionCountAsync(address).thenApply(res -> res.result.count)}
+     */
+    public interface NonceSource {
+        /**
+         * @param address sender address
+         * @return count of sent transactions, next nonce is count + 1
+         */
+        CompletableFuture<BigInteger> getTransactionCount(MinterAddress address);
+    }
+
+    /**
+     * Uses {@link BlockChainAccountRepository#getBalanceAsync(MinterAddress)} as source of transactions count
+     * @param accountRepository node account repository
+     */
+    public NonceManager(@Nonnull final BlockChainAccountRepository accountRepository) {
+        this(address -> accountRepository.getBalanceAsync(address).thenApply(res -> {
+            if (!res.isOk()) {
+                throw new IllegalStateException("Unable to get transactions count: " + res.toString());
+            }
+            return res.result.txCount;
+        }));
+    }
+
+    public NonceManager(@Nonnull NonceSource source) {
+        mSource = checkNotNull(source, "Nonce source required");
+    }
+
+    /**
+     * Reserve next nonce of address. If nonce is known, returned future is already completed
+     * @param address sender address
+     * @return future with reserved nonce
+     */
+    public CompletableFuture<BigInteger> reserve(@Nonnull final MinterAddress address) {
+        checkNotNull(address, "Address required");
+        final State state = state(address);
+        final CompletableFuture<Void> sync;
+        synchronized (state) {
+            if (state.mNext != null) {
+                return CompletableFuture.completedFuture(state.take());
+            }
+            if (state.mSync == null) {
+                sync = sync(address, state);
+                // source may complete synchronously
+                if (!sync.isDone()) {
+                    state.mSync = sync;
+                }
+            } else {
+                sync = state.mSync;
+            }
+        }
+
+        // address can be invalidated again while waiting, so just try again
+        return sync.thenCompose(v -> reserve(address));
+    }
+
+    /**
+     * Return unused nonce, for example if transaction was not sent. It will be given out before new ones
+     * @param address sender address
+     * @param nonce reserved nonce
+     */
+    public void release(@Nonnull MinterAddress address, @Nonnull BigInteger nonce) {
+        checkNotNull(address, "Address required");
+        checkNotNull(nonce, "Nonce required");
+        final State state = state(address);
+        synchronized (state) {
+            if (state.mNext != null && nonce.compareTo(state.mNext) < 0) {
+                state.mGaps.add(nonce);
+            }
+        }
+    }
+
+    /**
+     * Forget local nonce of address, it will be requested from node on next reservation
+     * @param address sender address
+     */
+    public void invalidate(@Nonnull MinterAddress address) {
+        checkNotNull(address, "Address required");
+        final State state = state(address);
+        synchronized (state) {
+            state.mNext = null;
+            state.mGaps.clear();
+            state.mGeneration++;
+        }
+    }
+
+    /**
+     * Handle result of sending transaction with reserved nonce
+     * @param address sender address
+     * @param nonce nonce of sent transaction
+     * @param result node result, may be null if request failed
+     * @param error request failure, may be null. For node error response ({@link retrofit2.HttpException})
+     * node result is decoded from error body
+     */
+    public void onSendResult(@Nonnull MinterAddress address, @Nonnull BigInteger nonce, @Nullable BCResult<?> result, @Nullable Throwable error) {
+        if (error == null && result != null && result.isOk()) {
+            return;
+        }
+
+        if (result == null && error != null) {
+            final BCResult<?> rejected = NodeErrors.parse(error);
+            // 5xx doesn't tell was transaction accepted or not
+            if (rejected != null && rejected.statusCode < 500) {
+                result = rejected;
+                error = null;
+            }
+        }
+
+        if (error != null || result == null || result.error == null || result.error.getResultCode() == BCResult.ResultCode.WrongNonce) {
+            // local counter is wrong or we don't know was transaction accepted or not
+            invalidate(address);
+            return;
+        }
+
+        release(address, nonce);
+    }
+
+    /**
+     * @param address sender address
+     * @return next nonce to give out (excluding returned ones) or null if it's unknown yet
+     */
+    @Nullable
+    public BigInteger peek(@Nonnull MinterAddress address) {
+        final State state = mStates.get(address);
+        if (state == null) {
+            return null;
+        }
+        synchronized (state) {
+            return state.mNext;
+        }
+    }
+
+    private State state(MinterAddress address) {
+        return mStates.computeIfAbsent(address, k -> new State());
+    }
+
+    private CompletableFuture<Void> sync(MinterAddress address, State state) {
+        final int generation = state.mGeneration;
+        final CompletableFuture<BigInteger> request;
+        try {
+            request = mSource.getTransactionCount(address);
+        } catch (RuntimeException e) {
+            final CompletableFuture<Void> failed = new CompletableFuture<>();
+            failed.completeExceptionally(e);
+            return failed;
+        }
+
+        return request.handle((count, t) -> {
+            synchronized (state) {
+                state.mSync = null;
+                if (t != null) {
+                    throw t instanceof RuntimeException ? (RuntimeException) t : new IllegalStateException(t);
+                }
+                if (generation == state.mGeneration && state.mNext == null) {
+                    state.mNext = checkNotNull(count, "Transactions count is null").add(BigInteger.ONE);
+                }
+            }
+            return null;
+        });
+    }
+
+    private static final class State {
+        private final TreeSet<BigInteger> mGaps = new TreeSet<>();
+        private BigInteger mNext;
+        private CompletableFuture<Void> mSync;
+        private int mGeneration;
+
+        // must be called under lock
+        private BigInteger take() {
+            if (!mGaps.isEmpty()) {
+                return mGaps.pollFirst();
+            }
+            final BigInteger out = mNext;
+            mNext = mNext.add(BigInteger.ONE);
+            return out;
+        }
+    }
+}
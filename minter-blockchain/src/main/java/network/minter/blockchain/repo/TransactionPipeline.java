@@ -0,0 +1,577 @@
+/*
+ * Copyright (C) by MinterTeam. 2019
+ * @link <a href="https://github.com/MinterTeam">Org Github</a>
+ * @link <a href="https://github.com/edwardstock">Maintainer Github</a>
+ *
+ * The MIT License
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package network.minter.blockchain.repo;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.regex.Pattern;
+
+import javax.annotation.Nonnull;
+
+import network.minter.blockchain.models.BCResult;
+import network.minter.blockchain.models.HistoryTransaction;
+import network.minter.blockchain.models.TransactionSendResult;
+import network.minter.blockchain.models.UnconfirmedTransactions;
+import network.minter.blockchain.models.operational.TransactionSign;
+import network.minter.core.crypto.BytesData;
+import network.minter.core.crypto.HashUtil;
+import network.minter.core.crypto.MinterHash;
+import retrofit2.HttpException;
+
+import static network.minter.core.internal.common.Preconditions.checkArgument;
+import static network.minter.core.internal.common.Preconditions.checkNotNull;
+
+/**
+ * minter-android-blockchain. 2019
+ * <p>
+ * Submission pipeline for bulk sending. Keeps up to {@link #setMaxInFlight(int)} transactions sent but not confirmed,
+ * others wait in queue. Every accepted transaction is tracked until it's found by
+ * {@link BlockChainTransactionRepository#getTransaction(MinterHash)}. To not request every transaction on every poll,
+ * transactions that are still in {@link BlockChainTransactionRepository#getUnconfirmedList()} are skipped.
+ * <p>
+ * Network errors and 5xx responses are retried. Retry is idempotent: transaction hash is known before sending
+ * (sha256 of raw transaction), so before sending it again pipeline checks that transaction is not in mempool or
+ * blockchain already. Node errors (like {@link BCResult.ResultCode#WrongNonce}) are not retried, submission fails
+ * with {@link SubmissionException} with node result.
+ * <p>
+ * When used with {@link network.minter.blockchain.api.NodePool}, per-node request limit is set by
+ * {@link network.minter.core.internal.api.ApiService.Builder#setMaxRequestsPerHost(int)}
+ *
+ * @author Eduard Maximovich <edward.vstock@gmail.com>
+ */
+public final class TransactionPipeline {
+    private final static Pattern HEX = Pattern.compile("^[0-9a-fA-F]*$");
+    private final Backend mBackend;
+    private final ScheduledExecutorService mScheduler;
+    private final Queue<Submission> mQueue = new ArrayDeque<>();
+    private final List<Submission> mAccepted = new ArrayList<>();
+    // submitted but not finished yet, including sending and waiting for retry
+    private final Set<Submission> mActive = new LinkedHashSet<>();
+    private final AtomicBoolean mPolling = new AtomicBoolean(false);
+    private int mInFlight = 0;
+    private int mMaxInFlight = 16;
+    private int mMaxRetries = 3;
+    private long mRetryDelayMs = 500;
+    private long mPollIntervalMs = 1000;
+    private long mConfirmTimeoutMs = TimeUnit.MINUTES.toMillis(1);
+    private boolean mPollStarted = false;
+    private volatile boolean mShutdown = false;
+
+    /**
+     * Node operations used by pipeline
+     */
+    public interface Backend {
+        CompletableFuture<BCResult<TransactionSendResult>> send(TransactionSign sign);
+        CompletableFuture<BCResult<HistoryTransaction>> getTransaction(MinterHash hash);
+        CompletableFuture<BCResult<UnconfirmedTransactions>> getUnconfirmed();
+    }
+
+    public TransactionPipeline(@Nonnull final BlockChainAccountRepository accountRepository, @Nonnull final BlockChainTransactionRepository transactionRepository) {
+        this(new Backend() {
+            @Override
+            public CompletableFuture<BCResult<TransactionSendResult>> send(TransactionSign sign) {
+                return accountRepository.sendTransactionAsync(sign);
+            }
+
+            @Override
+            public CompletableFuture<BCResult<HistoryTransaction>> getTransaction(MinterHash hash) {
+                return transactionRepository.getTransactionAsync(hash);
+            }
+
+            @Override
+            public CompletableFuture<BCResult<UnconfirmedTransactions>> getUnconfirmed() {
+                return transactionRepository.getUnconfirmedListAsync();
+            }
+        });
+    }
+
+    public TransactionPipeline(@Nonnull Backend backend) {
+        mBackend = checkNotNull(backend, "Backend required");
+        mScheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            final Thread t = new Thread(r, "minter-tx-pipeline");
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    /**
+     * @param maxInFlight max count of sent, but not confirmed yet transactions. Default: 16
+     * @return self
+     */
+    public TransactionPipeline setMaxInFlight(int maxInFlight) {
+        checkArgument(maxInFlight > 0, "Max in flight must be greater than 0");
+        synchronized (this) {
+            mMaxInFlight = maxInFlight;
+        }
+        dispatch();
+        return this;
+    }
+
+    /**
+     * @param maxRetries max count of resending after network failure. Default: 3
+     * @return self
+     */
+    public TransactionPipeline setMaxRetries(int maxRetries) {
+        checkArgument(maxRetries >= 0, "Max retries can't be negative");
+        mMaxRetries = maxRetries;
+        return this;
+    }
+
+    /**
+     * @param delay delay before retry. Default: 500 milliseconds
+     * @param unit time unit
+     * @return self
+     */
+    public TransactionPipeline setRetryDelay(long delay, TimeUnit unit) {
+        checkArgument(delay >= 0, "Delay can't be negative");
+        mRetryDelayMs = unit.toMillis(delay);
+        return this;
+    }
+
+    /**
+     * @param interval how often check accepted transactions. Default: 1 second
+     * @param unit time unit
+     * @return self
+     */
+    public TransactionPipeline setConfirmPollInterval(long interval, TimeUnit unit) {
+        checkArgument(interval > 0, "Interval must be greater than 0");
+        mPollIntervalMs = unit.toMillis(interval);
+        return this;
+    }
+
+    /**
+     * @param timeout how long wait for confirmation after transaction was accepted. Default: 1 minute
+     * @param unit time unit
+     * @return self
+     */
+    public TransactionPipeline setConfirmTimeout(long timeout, TimeUnit unit) {
+        checkArgument(timeout > 0, "Timeout must be greater than 0");
+        mConfirmTimeoutMs = unit.toMillis(timeout);
+        return this;
+    }
+
+    /**
+     * Add signed transaction to pipeline
+     * @param sign signed transaction, it's not cleared
+     * @return future completes when transaction is confirmed, or exceptionally with {@link SubmissionException}
+     * @throws IllegalStateException if pipeline has been shut down
+     */
+    public CompletableFuture<Submission> submit(@Nonnull TransactionSign sign) {
+        checkNotNull(sign, "Transaction sign required");
+        checkNotNull(sign.getTxSign(), "Transaction sign is empty");
+        final Submission submission = new Submission(sign.getTxSign());
+        synchronized (this) {
+            if (mShutdown) {
+                throw new IllegalStateException("Pipeline has been shut down");
+            }
+            startPolling();
+            mQueue.add(submission);
+            mActive.add(submission);
+        }
+        dispatch();
+        return submission.mFuture;
+    }
+
+    /**
+     * @return count of queued, but not sent transactions
+     */
+    public synchronized int getQueued() {
+        return mQueue.size();
+    }
+
+    /**
+     * @return count of sent, but not confirmed transactions
+     */
+    public synchronized int getInFlight() {
+        return mInFlight;
+    }
+
+    /**
+     * Stop confirmation tracking and fail all unfinished transactions: queued, sending, waiting for retry
+     * and accepted. Transactions that are already sent may still be confirmed by network.
+     */
+    public void shutdown() {
+        final List<Submission> dropped;
+        synchronized (this) {
+            mShutdown = true;
+            dropped = new ArrayList<>(mActive);
+            mQueue.clear();
+            mAccepted.clear();
+            mActive.clear();
+        }
+        mScheduler.shutdownNow();
+        for (Submission s : dropped) {
+            s.mFuture.completeExceptionally(shutdownError(s));
+        }
+    }
+
+    public boolean isShutdown() {
+        return mShutdown;
+    }
+
+    /**
+     * Hash of transaction as node calculates it
+     * @param rawTx hex encoded signed transaction
+     * @return transaction hash
+     */
+    public static MinterHash hashOf(String rawTx) {
+        return new MinterHash(HashUtil.sha256(new BytesData(stripPrefix(rawTx)).getBytesView()));
+    }
+
+    private static String stripPrefix(String rawTx) {
+        if (rawTx.startsWith("0x") || rawTx.startsWith("Mt")) {
+            return rawTx.substring(2);
+        }
+        return rawTx;
+    }
+
+    /**
+     * Tendermint gives unconfirmed transactions in base64, older nodes in hex
+     */
+    private static String normalize(String rawTx) {
+        final String stripped = stripPrefix(rawTx);
+        if (stripped.length() % 2 == 0 && HEX.matcher(stripped).matches()) {
+            return stripped.toLowerCase();
+        }
+        try {
+            return new BytesData(Base64.getDecoder().decode(rawTx)).toHexString().toLowerCase();
+        } catch (IllegalArgumentException e) {
+            return rawTx;
+        }
+    }
+
+    private static SubmissionException shutdownError(Submission s) {
+        return new SubmissionException(s, null, "Pipeline has been shut down", null);
+    }
+
+    private static boolean isTransient(Throwable t) {
+        t = NodeErrors.unwrap(t);
+        if (t instanceof IOException) {
+            return true;
+        }
+        if (t instanceof HttpException) {
+            final int code = ((HttpException) t).code();
+            return code >= 500 || code == 429;
+        }
+        return false;
+    }
+
+    private void startPolling() {
+        if (mPollStarted) {
+            return;
+        }
+        mPollStarted = true;
+        mScheduler.scheduleWithFixedDelay(this::poll, mPollIntervalMs, mPollIntervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    private void dispatch() {
+        final List<Submission> toSend = new ArrayList<>();
+        synchronized (this) {
+            while (mInFlight < mMaxInFlight && !mQueue.isEmpty()) {
+                mInFlight++;
+                toSend.add(mQueue.poll());
+            }
+        }
+        for (Submission s : toSend) {
+            s.mSentAt = System.nanoTime();
+            send(s);
+        }
+    }
+
+    private void send(final Submission s) {
+        if (mShutdown) {
+            finish(s, shutdownError(s));
+            return;
+        }
+        s.mAttempts++;
+        final CompletableFuture<BCResult<TransactionSendResult>> request;
+        try {
+            request = mBackend.send(new TransactionSign(s.mRawTx));
+        } catch (RuntimeException e) {
+            onSendFailed(s, e);
+            return;
+        }
+        request.whenComplete((res, t) -> {
+            if (t != null) {
+                onSendFailed(s, t);
+            } else if (res == null || !res.isOk()) {
+                finish(s, new SubmissionException(s, res, "Node rejected transaction: " + res, null));
+            } else {
+                onAccepted(s);
+            }
+        });
+    }
+
+    private void onSendFailed(final Submission s, Throwable t) {
+        if (!isTransient(t) || s.mAttempts > mMaxRetries) {
+            // node rejects transaction with 4xx, it's result is in error body
+            final BCResult<?> result = NodeErrors.parse(t);
+            final String message = result != null ? "Node rejected transaction: " + result : "Unable to send transaction";
+            finish(s, new SubmissionException(s, result, message, NodeErrors.unwrap(t)));
+            return;
+        }
+        if (mShutdown) {
+            finish(s, shutdownError(s));
+            return;
+        }
+
+        try {
+            mScheduler.schedule(() -> retry(s), mRetryDelayMs, TimeUnit.MILLISECONDS);
+        } catch (RuntimeException e) {
+            finish(s, new SubmissionException(s, null, "Unable to schedule retry", e));
+        }
+    }
+
+    /**
+     * Transaction can be received by node even if we've got network error, so check it before sending again
+     */
+    private void retry(final Submission s) {
+        if (mShutdown) {
+            finish(s, shutdownError(s));
+            return;
+        }
+        mBackend.getTransaction(s.mHash)
+                .handle((res, t) -> t == null && res != null && res.isOk())
+                .thenCompose(found -> {
+                    if (found) {
+                        return CompletableFuture.completedFuture(true);
+                    }
+                    return mBackend.getUnconfirmed()
+                            .handle((res, t) -> t == null && res != null && res.isOk() && containsTx(res.result, s));
+                })
+                .whenComplete((known, t) -> {
+                    if (Boolean.TRUE.equals(known)) {
+                        onAccepted(s);
+                    } else {
+                        send(s);
+                    }
+                });
+    }
+
+    private void onAccepted(Submission s) {
+        s.mAcceptedAt = System.nanoTime();
+        synchronized (this) {
+            if (!mShutdown) {
+                mAccepted.add(s);
+                return;
+            }
+        }
+        // nobody tracks confirmation after shutdown
+        finish(s, shutdownError(s));
+    }
+
+    private void poll() {
+        if (!mPolling.compareAndSet(false, true)) {
+            return;
+        }
+
+        final List<Submission> accepted;
+        synchronized (this) {
+            accepted = new ArrayList<>(mAccepted);
+        }
+        if (accepted.isEmpty()) {
+            mPolling.set(false);
+            return;
+        }
+
+        mBackend.getUnconfirmed()
+                .handle((res, t) -> {
+                    if (t != null || res == null || !res.isOk() || res.result == null) {
+                        // check every transaction
+                        return new HashSet<String>();
+                    }
+                    return rawSet(res.result);
+                })
+                .thenCompose(mempool -> {
+                    final List<CompletableFuture<?>> checks = new ArrayList<>();
+                    for (Submission s : accepted) {
+                        if (mempool.contains(s.mNormalizedTx)) {
+                            checkTimeout(s);
+                            continue;
+                        }
+                        checks.add(mBackend.getTransaction(s.mHash).handle((res, t) -> {
+                            if (t == null && res != null && res.isOk()) {
+                                s.mConfirmedAt = System.nanoTime();
+                                finish(s, null);
+                            } else {
+                                checkTimeout(s);
+                            }
+                            return null;
+                        }));
+                    }
+                    return CompletableFuture.allOf(checks.toArray(new CompletableFuture[0]));
+                })
+                .whenComplete((v, t) -> mPolling.set(false));
+    }
+
+    private void checkTimeout(Submission s) {
+        if (System.nanoTime() - s.mAcceptedAt > TimeUnit.MILLISECONDS.toNanos(mConfirmTimeoutMs)) {
+            finish(s, new SubmissionException(s, null, "Transaction was not confirmed in time", null));
+        }
+    }
+
+    private static Set<String> rawSet(UnconfirmedTransactions txs) {
+        final Set<String> out = new HashSet<>();
+        if (txs.signatures == null) {
+            return out;
+        }
+        for (TransactionSign sign : txs.signatures) {
+            if (sign != null && sign.getTxSign() != null) {
+                out.add(normalize(sign.getTxSign()));
+            }
+        }
+        return out;
+    }
+
+    private static boolean containsTx(UnconfirmedTransactions txs, Submission s) {
+        return txs != null && rawSet(txs).contains(s.mNormalizedTx);
+    }
+
+    private void finish(Submission s, SubmissionException error) {
+        synchronized (this) {
+            if (s.mFuture.isDone()) {
+                return;
+            }
+            mAccepted.remove(s);
+            mActive.remove(s);
+            mInFlight--;
+        }
+        if (error != null) {
+            s.mFuture.completeExceptionally(error);
+        } else {
+            s.mFuture.complete(s);
+        }
+        dispatch();
+    }
+
+    public static final class Submission {
+        private final String mRawTx;
+        private final String mNormalizedTx;
+        private final MinterHash mHash;
+        private final long mSubmittedAt = System.nanoTime();
+        private final CompletableFuture<Submission> mFuture = new CompletableFuture<>();
+        private volatile int mAttempts = 0;
+        private volatile long mSentAt;
+        private volatile long mAcceptedAt;
+        private volatile long mConfirmedAt;
+
+        Submission(String rawTx) {
+            mRawTx = rawTx;
+            mNormalizedTx = normalize(rawTx);
+            mHash = hashOf(rawTx);
+        }
+
+        public MinterHash getHash() {
+            return mHash;
+        }
+
+        public String getTxSign() {
+            return mRawTx;
+        }
+
+        /**
+         * @return count of send requests
+         */
+        public int getAttempts() {
+            return mAttempts;
+        }
+
+        /**
+         * @return time spent in queue waiting for free slot
+         */
+        public long getQueueLatencyMs() {
+            return elapsedMs(mSubmittedAt, mSentAt);
+        }
+
+        /**
+         * @return time from first send request to node acceptance, including retries
+         */
+        public long getSendLatencyMs() {
+            return elapsedMs(mSentAt, mAcceptedAt);
+        }
+
+        /**
+         * @return time from node acceptance to confirmation
+         */
+        public long getConfirmLatencyMs() {
+            return elapsedMs(mAcceptedAt, mConfirmedAt);
+        }
+
+        /**
+         * @return time from submit to confirmation
+         */
+        public long getTotalLatencyMs() {
+            return elapsedMs(mSubmittedAt, mConfirmedAt);
+        }
+
+        public boolean isConfirmed() {
+            return mConfirmedAt != 0;
+        }
+
+        private static long elapsedMs(long from, long to) {
+            if (from == 0 || to == 0) {
+                return -1;
+            }
+            return TimeUnit.NANOSECONDS.toMillis(to - from);
+        }
+    }
+
+    public static final class SubmissionException extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+        private final transient Submission mSubmission;
+        private final transient BCResult<?> mResult;
+
+        SubmissionException(Submission submission, BCResult<?> result, String message, Throwable cause) {
+            super(message, cause);
+            mSubmission = submission;
+            mResult = result;
+        }
+
+        public Submission getSubmission() {
+            return mSubmission;
+        }
+
+        /**
+         * @return node result if transaction was rejected by node, otherwise null
+         */
+        public BCResult<?> getResult() {
+            return mResult;
+        }
+    }
+}
@@ -0,0 +1,193 @@
+package network.minter.blockchain.repos;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.RandomAccessFile;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+
+import network.minter.blockchain.models.BCResult;
+import network.minter.blockchain.models.BlockInfo;
+import network.minter.blockchain.models.EventList;
+import network.minter.blockchain.models.HistoryTransaction;
+import network.minter.blockchain.repo.BlockCache;
+import network.minter.blockchain.repo.BlockChainBlockRepository;
+import network.minter.blockchain.repo.MappedBlockStorage;
+import network.minter.core.crypto.MinterAddress;
+import network.minter.core.internal.api.ApiService;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * minter-android-blockchain. 2019
+ * @author Eduard Maximovich [edward.vstock@gmail.com]
+ */
+public class BlockCacheTest {
+    private static final MinterAddress ADDRESS = new MinterAddress("Mxee81347211c72524338f9680072af90744333146");
+
+    @Rule
+    public TemporaryFolder mTmp = new TemporaryFolder();
+
+    private static BlockInfo block(long height) {
+        BlockInfo block = new BlockInfo();
+        block.height = height;
+        block.size = String.valueOf(height * 10);
+        block.numTxs = BigInteger.ONE;
+        block.transactions = new ArrayList<>();
+
+        HistoryTransaction tx = new HistoryTransaction();
+        tx.from = ADDRESS;
+        tx.nonce = BigInteger.valueOf(height);
+        tx.type = HistoryTransaction.Type.Send;
+        tx.gasCoin = "MNT";
+        HistoryTransaction.TxSendCoinResult data = new HistoryTransaction.TxSendCoinResult();
+        data.to = ADDRESS;
+        data.coin = "MNT";
+        data.amount = new BigInteger("1000000000000000000");
+        tx.data = data;
+        block.transactions.add(tx);
+        return block;
+    }
+
+    private static EventList events(long height) {
+        EventList events = new EventList();
+        events.events = new ArrayList<>();
+        EventList.EventItem item = new EventList.EventItem();
+        item.type = EventList.Type.Reward;
+        EventList.RewardEvent reward = new EventList.RewardEvent();
+        reward.address = ADDRESS;
+        reward.amount = BigInteger.valueOf(height);
+        reward.role = "DAO";
+        item.value = reward;
+        events.events.add(item);
+        return events;
+    }
+
+    @Test
+    public void testHeapLru() {
+        BlockCache cache = new BlockCache(2);
+        cache.putBlock(block(1));
+        cache.putBlock(block(2));
+        assertNotNull(cache.getBlock(1));
+        cache.putBlock(block(3));
+
+        // 2 was least recently used
+        assertNull(cache.getBlock(2));
+        assertNotNull(cache.getBlock(1));
+        assertNotNull(cache.getBlock(3));
+        assertEquals(3, cache.getHeapHits());
+        assertEquals(1, cache.getMisses());
+    }
+
+    @Test
+    public void testStorageRoundTrip() throws Exception {
+        File dir = mTmp.newFolder("blocks");
+        try (MappedBlockStorage storage = new MappedBlockStorage(dir)) {
+            for (long h = 1; h <= 100; h++) {
+                storage.putBlock(block(h));
+                storage.putEvents(h, events(h));
+            }
+            // duplicates are not written
+            storage.putBlock(block(1));
+            assertEquals(100, storage.getBlocksCount());
+            assertEquals(100, storage.getEventsCount());
+        }
+
+        try (MappedBlockStorage storage = new MappedBlockStorage(dir)) {
+            assertEquals(100, storage.getBlocksCount());
+            assertNull(storage.getBlock(101));
+
+            BlockInfo block = storage.getBlock(42);
+            assertNotNull(block);
+            assertEquals(42, block.height);
+            assertEquals("420", block.size);
+            assertEquals(1, block.transactions.size());
+            HistoryTransaction tx = block.transactions.get(0);
+            assertEquals(ADDRESS, tx.from);
+            assertEquals(HistoryTransaction.Type.Send, tx.type);
+            assertTrue(tx.data instanceof HistoryTransaction.TxSendCoinResult);
+            assertEquals(new BigInteger("1000000000000000000"), ((HistoryTransaction.TxSendCoinResult) tx.data).amount);
+
+            EventList events = storage.getEvents(42);
+            assertNotNull(events);
+            assertEquals(1, events.events.size());
+            assertEquals(EventList.Type.Reward, events.events.get(0).type);
+            EventList.RewardEvent reward = events.events.get(0).getValue();
+            assertEquals("DAO", reward.role);
+            assertEquals(BigInteger.valueOf(42), reward.amount);
+        }
+    }
+
+    @Test
+    public void testStorageReadWhileAppending() throws Exception {
+        File dir = mTmp.newFolder("blocks");
+        try (MappedBlockStorage storage = new MappedBlockStorage(dir)) {
+            for (long h = 1; h <= 50; h++) {
+                storage.putBlock(block(h));
+                assertEquals(h, storage.getBlock(h).height);
+                assertEquals(1, storage.getBlock(1).height);
+            }
+            final long size = new File(dir, "blocks.dat").length();
+            // reads must not grow the file, otherwise reopening would see garbage tail
+            assertNotNull(storage.getBlock(50));
+            assertEquals(size, new File(dir, "blocks.dat").length());
+        }
+        try (MappedBlockStorage storage = new MappedBlockStorage(dir)) {
+            assertEquals(50, storage.getBlocksCount());
+        }
+    }
+
+    @Test
+    public void testStorageTruncatedTail() throws Exception {
+        File dir = mTmp.newFolder("blocks");
+        try (MappedBlockStorage storage = new MappedBlockStorage(dir)) {
+            storage.putBlock(block(1));
+            storage.putBlock(block(2));
+        }
+        File file = new File(dir, "blocks.dat");
+        try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+            raf.setLength(raf.length() - 5);
+        }
+
+        try (MappedBlockStorage storage = new MappedBlockStorage(dir)) {
+            assertEquals(1, storage.getBlocksCount());
+            assertNotNull(storage.getBlock(1));
+            assertNull(storage.getBlock(2));
+            storage.putBlock(block(2));
+            assertEquals(2, storage.getBlock(2).height);
+        }
+    }
+
+    @Test
+    public void testRepositoryServedFromCache() throws Exception {
+        File dir = mTmp.newFolder("blocks");
+        try (MappedBlockStorage storage = new MappedBlockStorage(dir)) {
+            BlockCache cache = new BlockCache(10).setStorage(storage);
+            // node is not reachable, every request fails
+            BlockChainBlockRepository repo = new BlockChainBlockRepository(new ApiService.Builder("http://localhost:1/"));
+            repo.setBlockCache(cache);
+
+            cache.putBlock(block(5));
+            BCResult<BlockInfo> res = repo.getByHeightAsync(5).get(5, TimeUnit.SECONDS);
+            assertTrue(res.isOk());
+            assertEquals(5, res.result.height);
+
+            // second cache over the same storage: heap is empty, block comes from disk
+            BlockCache second = new BlockCache(10).setStorage(storage);
+            repo.setBlockCache(second);
+            BlockInfo fromDisk = repo.getByHeightAsync(5).get(5, TimeUnit.SECONDS).result;
+            assertEquals(5, fromDisk.height);
+            assertEquals(1, second.getStorageHits());
+            assertSame(fromDisk, repo.getByHeightAsync(5).get(5, TimeUnit.SECONDS).result);
+            assertEquals(1, second.getHeapHits());
+        }
+    }
+}
@@ -0,0 +1,145 @@
+package network.minter.blockchain.repos;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import network.minter.blockchain.models.BCResult;
+import network.minter.blockchain.models.BlockInfo;
+import network.minter.blockchain.repo.BlockRangeFetcher;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * minter-android-blockchain. 2019
+ * @author Eduard Maximovich [edward.vstock@gmail.com]
+ */
+public class BlockRangeFetcherTest {
+
+    private static class FakeSource implements BlockRangeFetcher.BlockSource {
+        final ScheduledExecutorService executor = Executors.newScheduledThreadPool(4);
+        final Random random = new Random(1);
+        final AtomicInteger inFlight = new AtomicInteger();
+        final AtomicInteger maxInFlight = new AtomicInteger();
+        final AtomicInteger requests = new AtomicInteger();
+        // every height fails this count of times
+        final int failures;
+        final int[] failed = new int[100000];
+
+        FakeSource(int failures) {
+            this.failures = failures;
+        }
+
+        @Override
+        public CompletableFuture<BCResult<BlockInfo>> getBlock(long height) {
+            requests.incrementAndGet();
+            maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            final CompletableFuture<BCResult<BlockInfo>> out = new CompletableFuture<>();
+            final int delay;
+            synchronized (random) {
+                delay = random.nextInt(3);
+            }
+            executor.schedule(() -> {
+                inFlight.decrementAndGet();
+                synchronized (failed) {
+                    if (failed[(int) height]++ < failures) {
+                        out.completeExceptionally(new IOException("Connection reset"));
+                        return;
+                    }
+                }
+                final BCResult<BlockInfo> res = new BCResult<>();
+                res.result = new BlockInfo();
+                res.result.height = height;
+                res.result.size = "100";
+                out.complete(res);
+            }, delay, TimeUnit.MILLISECONDS);
+            return out;
+        }
+    }
+
+    @Test
+    public void testOrderedDelivery() throws Exception {
+        final FakeSource source = new FakeSource(0);
+        final List<Long> heights = Collections.synchronizedList(new ArrayList<>());
+        final BlockRangeFetcher.Progress progress = new BlockRangeFetcher(source)
+                .setChunkSize(10)
+                .setConcurrency(4)
+                .fetchBlocks(5, 1004, block -> heights.add(block.height))
+                .get(10, TimeUnit.SECONDS);
+
+        assertEquals(1000, heights.size());
+        for (int i = 0; i < heights.size(); i++) {
+            assertEquals(Long.valueOf(5 + i), heights.get(i));
+        }
+        assertTrue(progress.isDone());
+        assertEquals(1000, progress.getBlocks());
+        assertEquals(100000, progress.getBytes());
+        assertTrue(progress.getBlocksPerSecond() > 0);
+        assertTrue(source.maxInFlight.get() > 1);
+        assertTrue(source.maxInFlight.get() <= 4);
+    }
+
+    @Test
+    public void testRetryFailedHeights() throws Exception {
+        final FakeSource source = new FakeSource(2);
+        final AtomicInteger delivered = new AtomicInteger();
+        new BlockRangeFetcher(source)
+                .setChunkSize(7)
+                .setRetry(3, 1, TimeUnit.MILLISECONDS)
+                .fetchBlocks(1, 50, block -> delivered.incrementAndGet())
+                .get(10, TimeUnit.SECONDS);
+
+        assertEquals(50, delivered.get());
+        assertEquals(150, source.requests.get());
+    }
+
+    @Test
+    public void testFailsAfterRetries() throws Exception {
+        try {
+            new BlockRangeFetcher(new FakeSource(10))
+                    .setRetry(1, 1, TimeUnit.MILLISECONDS)
+                    .fetchBlocks(1, 50, block -> {
+                    })
+                    .get(10, TimeUnit.SECONDS);
+            fail("Fetch must fail");
+        } catch (ExecutionException e) {
+            assertTrue(e.getCause() instanceof IOException);
+        }
+    }
+
+    @Test
+    public void testBoundedBufferAndRateLimit() throws Exception {
+        final FakeSource source = new FakeSource(0);
+        final AtomicInteger maxAhead = new AtomicInteger();
+        final AtomicInteger delivered = new AtomicInteger();
+        final long start = System.nanoTime();
+        final BlockRangeFetcher.Progress progress = new BlockRangeFetcher(source)
+                .setChunkSize(5)
+                .setConcurrency(8)
+                .setMaxBuffered(10)
+                .setRateLimit(500)
+                .fetchBlocks(1, 100, block -> {
+                    Thread.sleep(1);
+                    // requested heights can't go further than buffer + chunk
+                    maxAhead.accumulateAndGet((int) (source.requests.get() - delivered.incrementAndGet()), Math::max);
+                })
+                .get(10, TimeUnit.SECONDS);
+
+        assertEquals(100, progress.getBlocks());
+        assertTrue(maxAhead.get() < 15);
+        // 100 requests at 500 per second
+        assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) >= 190);
+    }
+}
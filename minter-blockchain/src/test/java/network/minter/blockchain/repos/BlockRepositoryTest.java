@@ -34,9 +34,15 @@ import java.math.BigInteger;
 import network.minter.blockchain.MinterBlockChainApi;
 import network.minter.blockchain.models.BCResult;
 import network.minter.blockchain.models.BlockInfo;
+import network.minter.blockchain.models.HistoryTransaction;
 import network.minter.blockchain.repo.BlockChainBlockRepository;
+import network.minter.core.internal.log.StdLogger;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
 import retrofit2.Response;
 
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertTrue;
 
@@ -45,6 +51,35 @@ import static org.junit.Assert.assertTrue;
  * @author Eduard Maximovich [edward.vstock@gmail.com]
  */
 public class BlockRepositoryTest {
+    private final static String BLOCK_WITH_SEND = "{\"jsonrpc\":\"2.0\",\"id\":\"\",\"result\":{\"hash\":\"3f5d2e1a\",\"height\":\"12\"," +
+            "\"time\":\"2019-06-01T10:00:00Z\",\"num_txs\":\"1\",\"total_txs\":\"100\",\"transactions\":[" +
+            "{\"hash\":\"Mt1ab5b2b25d1c8e98fd8b0f1ad4a1e5f4a3d2c1b0a9f8e7d6c5b4a39281706050\",\"raw_tx\":\"f88301\"," +
+            "\"from\":\"Mxeeee1973381ab793719fff497b9a516719fcd5a2\",\"nonce\":\"5\",\"gas_price\":1,\"gas_coin\":\"MNT\"," +
+            "\"gas\":10,\"type\":1,\"data\":{\"coin\":\"MNT\",\"to\":\"Mx06431236daf96979aa6cdf470a7df26430ad8efb\"," +
+            "\"value\":\"1000000000000000000\"},\"payload\":\"\"}],\"block_reward\":\"333000000000000000000\",\"size\":\"1234\"}}";
+
+    @Test
+    public void testBlockTransactionData() throws IOException {
+        final MockWebServer server = new MockWebServer();
+        server.enqueue(new MockResponse().setBody(BLOCK_WITH_SEND));
+        server.start();
+        try {
+            final MinterBlockChainApi api = MinterBlockChainApi.createInstance(server.url("/").toString(), false, new StdLogger());
+            assertFalse(api.isStreamingAdapters());
+
+            final Response<BCResult<BlockInfo>> response = api.block().getByHeight(12).execute();
+            assertTrue(response.isSuccessful());
+            final BlockInfo block = response.body().result;
+            assertEquals(1, block.transactions.size());
+
+            final HistoryTransaction tx = block.transactions.get(0);
+            assertEquals(HistoryTransaction.Type.Send, tx.type);
+            assertTrue(tx.data instanceof HistoryTransaction.TxSendCoinResult);
+            assertEquals("MNT", ((HistoryTransaction.TxSendCoinResult) tx.data).coin);
+        } finally {
+            server.shutdown();
+        }
+    }
 
     @Test
     public void testGetBlockInfo() throws IOException {
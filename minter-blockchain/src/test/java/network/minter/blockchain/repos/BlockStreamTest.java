@@ -0,0 +1,231 @@
+package network.minter.blockchain.repos;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import network.minter.blockchain.models.BCResult;
+import network.minter.blockchain.models.BlockInfo;
+import network.minter.blockchain.models.EventList;
+import network.minter.blockchain.models.NetworkStatus;
+import network.minter.blockchain.repo.BlockStream;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * minter-android-blockchain. 2019
+ * @author Eduard Maximovich [edward.vstock@gmail.com]
+ */
+public class BlockStreamTest {
+
+    private static <T> BCResult<T> ok(T value) {
+        final BCResult<T> out = new BCResult<>();
+        out.result = value;
+        return out;
+    }
+
+    /**
+     * Answers with random delay, so blocks come out of order
+     */
+    private static class FakeNode implements BlockStream.Backend {
+        final ScheduledExecutorService executor = Executors.newScheduledThreadPool(4);
+        final Random random = new Random(1);
+        final AtomicLong height = new AtomicLong();
+        final AtomicInteger inFlight = new AtomicInteger();
+        final AtomicInteger maxInFlight = new AtomicInteger();
+        final AtomicInteger failures = new AtomicInteger();
+
+        FakeNode(long height) {
+            this.height.set(height);
+        }
+
+        @Override
+        public CompletableFuture<BCResult<NetworkStatus>> getNetworkStatus() {
+            final NetworkStatus status = new NetworkStatus();
+            status.latestBlockHeight = height.get();
+            return CompletableFuture.completedFuture(ok(status));
+        }
+
+        @Override
+        public CompletableFuture<BCResult<BlockInfo>> getBlock(long h) {
+            maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            final CompletableFuture<BCResult<BlockInfo>> out = new CompletableFuture<>();
+            final int delay;
+            synchronized (random) {
+                delay = random.nextInt(5);
+            }
+            executor.schedule(() -> {
+                inFlight.decrementAndGet();
+                if (failures.getAndDecrement() > 0) {
+                    out.completeExceptionally(new java.io.IOException("Connection reset"));
+                    return;
+                }
+                final BlockInfo block = new BlockInfo();
+                block.height = h;
+                out.complete(ok(block));
+            }, delay, TimeUnit.MILLISECONDS);
+            return out;
+        }
+
+        @Override
+        public CompletableFuture<BCResult<EventList>> getEvents(long h) {
+            final EventList events = new EventList();
+            events.events = Collections.emptyList();
+            return CompletableFuture.completedFuture(ok(events));
+        }
+    }
+
+    private static class Collector implements BlockStream.Listener {
+        final List<Long> heights = Collections.synchronizedList(new ArrayList<>());
+        final AtomicReference<Throwable> error = new AtomicReference<>();
+        final CountDownLatch done;
+        final long sleepMs;
+
+        Collector(int count, long sleepMs) {
+            done = new CountDownLatch(count);
+            this.sleepMs = sleepMs;
+        }
+
+        @Override
+        public void onBlock(BlockStream.Block block) throws Exception {
+            assertEquals(block.getHeight(), block.getBlock().height);
+            assertNotNull(block.getEvents());
+            heights.add(block.getHeight());
+            if (sleepMs > 0) {
+                Thread.sleep(sleepMs);
+            }
+            done.countDown();
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            error.set(t);
+            while (done.getCount() > 0) {
+                done.countDown();
+            }
+        }
+    }
+
+    private static void assertSequence(List<Long> heights, long from, int count) {
+        assertEquals(count, heights.size());
+        for (int i = 0; i < count; i++) {
+            assertEquals(Long.valueOf(from + i), heights.get(i));
+        }
+    }
+
+    private static void awaitCheckpoint(BlockStream stream, long height) throws InterruptedException {
+        // checkpoint is updated after listener returns
+        final long deadline = System.currentTimeMillis() + 5000;
+        while (stream.getCheckpoint() < height && System.currentTimeMillis() < deadline) {
+            Thread.sleep(1);
+        }
+        assertEquals(height, stream.getCheckpoint());
+    }
+
+    @Test
+    public void testCatchUpDeliversInOrder() throws Exception {
+        final FakeNode node = new FakeNode(1000);
+        final BlockStream stream = new BlockStream(node)
+                .setCatchUpPrefetch(32)
+                .setPollInterval(10, TimeUnit.MILLISECONDS);
+        final Collector collector = new Collector(1000, 0);
+
+        stream.start(1, collector);
+        assertTrue(collector.done.await(10, TimeUnit.SECONDS));
+        assertNull(collector.error.get());
+        assertSequence(collector.heights, 1, 1000);
+        awaitCheckpoint(stream, 1000);
+        assertTrue(node.maxInFlight.get() > 1);
+        assertTrue(node.maxInFlight.get() <= 32);
+        stream.shutdown();
+    }
+
+    @Test
+    public void testSlowListenerLimitsPrefetch() throws Exception {
+        final FakeNode node = new FakeNode(40);
+        final BlockStream stream = new BlockStream(node)
+                .setPrefetch(4)
+                .setCatchUpThreshold(1000)
+                .setPollInterval(10, TimeUnit.MILLISECONDS);
+        final Collector collector = new Collector(40, 5);
+        final AtomicInteger maxAhead = new AtomicInteger();
+        final BlockStream.Listener listener = new BlockStream.Listener() {
+            @Override
+            public void onBlock(BlockStream.Block block) throws Exception {
+                maxAhead.accumulateAndGet(node.inFlight.get(), Math::max);
+                collector.onBlock(block);
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                collector.onError(t);
+            }
+        };
+
+        stream.start(1, listener);
+        assertTrue(collector.done.await(10, TimeUnit.SECONDS));
+        assertSequence(collector.heights, 1, 40);
+        // current block is delivered, so at most 3 requests can be sent at this time
+        assertTrue(maxAhead.get() <= 3);
+        assertTrue(node.maxInFlight.get() <= 4);
+        stream.shutdown();
+    }
+
+    @Test
+    public void testFollowAndResumeFromCheckpoint() throws Exception {
+        final FakeNode node = new FakeNode(10);
+        node.failures.set(3);
+        final BlockStream stream = new BlockStream(node)
+                .setRetry(5, 1, TimeUnit.MILLISECONDS)
+                .setPollInterval(10, TimeUnit.MILLISECONDS);
+        Collector collector = new Collector(15, 0);
+
+        stream.start(1, collector);
+        Thread.sleep(50);
+        node.height.set(15);
+        assertTrue(collector.done.await(10, TimeUnit.SECONDS));
+        assertNull(collector.error.get());
+        assertSequence(collector.heights, 1, 15);
+
+        awaitCheckpoint(stream, 15);
+        stream.stop();
+        final long checkpoint = stream.getCheckpoint();
+        node.height.set(20);
+        collector = new Collector(5, 0);
+        stream.start(checkpoint + 1, collector);
+        assertTrue(collector.done.await(10, TimeUnit.SECONDS));
+        assertSequence(collector.heights, 16, 5);
+        stream.shutdown();
+    }
+
+    @Test
+    public void testStopsAfterRetries() throws Exception {
+        final FakeNode node = new FakeNode(10);
+        node.failures.set(100);
+        final BlockStream stream = new BlockStream(node)
+                .setRetry(2, 1, TimeUnit.MILLISECONDS)
+                .setPollInterval(10, TimeUnit.MILLISECONDS);
+        final Collector collector = new Collector(1, 0);
+
+        stream.start(1, collector);
+        assertTrue(collector.done.await(10, TimeUnit.SECONDS));
+        assertNotNull(collector.error.get());
+        assertTrue(collector.heights.isEmpty());
+        assertTrue(!stream.isRunning());
+        stream.shutdown();
+    }
+}
@@ -0,0 +1,144 @@
+package network.minter.blockchain.repos;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+import network.minter.blockchain.MinterBlockChainApi;
+import network.minter.blockchain.api.NodePool;
+import network.minter.blockchain.models.BCResult;
+import network.minter.blockchain.models.NetworkStatus;
+import network.minter.core.internal.log.StdLogger;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import retrofit2.Response;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * minter-android-blockchain. 2019
+ * @author Eduard Maximovich [edward.vstock@gmail.com]
+ */
+public class NodePoolTest {
+    private MockWebServer mFirst;
+    private MockWebServer mSecond;
+    private NodePool mPool;
+    private MinterBlockChainApi mApi;
+
+    private static String status(long height) {
+        return "{\"jsonrpc\":\"2.0\",\"id\":\"\",\"result\":{\"version\":\"1.0.0\",\"latest_block_height\":\"" + height + "\"}}";
+    }
+
+    private static Dispatcher node(long height, int statusCode, long delayMs) {
+        return new Dispatcher() {
+            @Override
+            public MockResponse dispatch(RecordedRequest request) {
+                final MockResponse response = new MockResponse().setBodyDelay(delayMs, TimeUnit.MILLISECONDS);
+                if (request.getPath().startsWith("/send_transaction")) {
+                    return response.setBody("{\"jsonrpc\":\"2.0\",\"id\":\"\",\"result\":{\"code\":0,\"hash\":\"Mt00\"}}");
+                }
+                if (statusCode != 200) {
+                    return response.setResponseCode(statusCode).setBody("{}");
+                }
+                return response.setBody(status(height));
+            }
+        };
+    }
+
+    @Before
+    public void setUp() throws IOException {
+        mFirst = new MockWebServer();
+        mSecond = new MockWebServer();
+        mFirst.start();
+        mSecond.start();
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        if (mPool != null) {
+            mPool.stop();
+        }
+        mFirst.shutdown();
+        mSecond.shutdown();
+    }
+
+    private void createApi() {
+        mPool = new NodePool(mFirst.url("/").toString(), mSecond.url("/").toString())
+                .setMaxFailures(1);
+        mApi = MinterBlockChainApi.createInstance(mPool.getBaseUrl(), false, new StdLogger());
+        mApi.setNodePool(mPool);
+    }
+
+    @Test
+    public void testFailoverOnServerError() throws IOException {
+        mFirst.setDispatcher(node(100, 502, 0));
+        mSecond.setDispatcher(node(100, 200, 0));
+        createApi();
+
+        Response<BCResult<NetworkStatus>> response = mApi.status().getNetworkStatus().execute();
+        assertTrue(response.isSuccessful());
+        assertEquals(100, response.body().result.latestBlockHeight);
+
+        final NodePool.Node first = mPool.getNodes().get(0);
+        final NodePool.Node second = mPool.getNodes().get(1);
+        // first was ejected after the failure, so second is used directly now
+        assertTrue(first.isEjected());
+        assertFalse(second.isEjected());
+        assertEquals(mPool.selectRead().get(0), second);
+
+        final int firstRequests = mFirst.getRequestCount();
+        response = mApi.status().getNetworkStatus().execute();
+        assertTrue(response.isSuccessful());
+        assertEquals(firstRequests, mFirst.getRequestCount());
+    }
+
+    @Test
+    public void testLaggingNodeIsNotUsedForReads() throws IOException {
+        mFirst.setDispatcher(node(90, 200, 0));
+        mSecond.setDispatcher(node(100, 200, 50));
+        createApi();
+
+        mPool.refresh().join();
+        assertEquals(100, mPool.getMaxHeight());
+        assertEquals(90, mPool.getNodes().get(0).getHeight());
+        // first is faster, but lags
+        assertEquals(Collections.singletonList(mPool.getNodes().get(1)), mPool.selectRead());
+
+        final int firstRequests = mFirst.getRequestCount();
+        assertEquals(100, mApi.status().getNetworkStatus().execute().body().result.latestBlockHeight);
+        assertEquals(firstRequests, mFirst.getRequestCount());
+
+        mPool.setMaxLagBlocks(10);
+        // both are in sync, faster is first
+        assertEquals(Arrays.asList(mPool.getNodes().get(0), mPool.getNodes().get(1)), mPool.selectRead());
+    }
+
+    @Test
+    public void testSendToPreferredNodes() throws IOException {
+        mFirst.setDispatcher(node(100, 200, 0));
+        mSecond.setDispatcher(node(100, 200, 50));
+        createApi();
+        mPool.setSendNodes(Collections.singletonList(mSecond.url("/").toString()));
+        mPool.refresh().join();
+
+        final int firstRequests = mFirst.getRequestCount();
+        final int secondRequests = mSecond.getRequestCount();
+        final OkHttpClient client = new OkHttpClient.Builder().addInterceptor(mPool).build();
+        try (okhttp3.Response response = client.newCall(new Request.Builder().url(mFirst.url("/send_transaction?tx=f8")).build()).execute()) {
+            assertTrue(response.isSuccessful());
+        }
+        assertEquals(firstRequests, mFirst.getRequestCount());
+        assertEquals(secondRequests + 1, mSecond.getRequestCount());
+    }
+}
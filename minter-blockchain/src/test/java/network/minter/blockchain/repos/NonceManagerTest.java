@@ -0,0 +1,184 @@
+package network.minter.blockchain.repos;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import network.minter.blockchain.MinterBlockChainApi;
+import network.minter.blockchain.models.BCResult;
+import network.minter.blockchain.models.operational.TransactionSign;
+import network.minter.blockchain.repo.BlockChainAccountRepository;
+import network.minter.blockchain.repo.NonceManager;
+import network.minter.core.crypto.MinterAddress;
+import network.minter.core.internal.log.StdLogger;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * minter-android-blockchain. 2019
+ * @author Eduard Maximovich [edward.vstock@gmail.com]
+ */
+public class NonceManagerTest {
+    private static final MinterAddress ADDRESS = new MinterAddress("Mxee81347211c72524338f9680072af90744333146");
+
+    private static BCResult<Object> error(BCResult.ResultCode code) {
+        final BCResult<Object> out = new BCResult<>();
+        out.error = new BCResult.ErrorResult();
+        out.error.code = code.getValue();
+        return out;
+    }
+
+    private static String rejected(BCResult.ResultCode code) {
+        return "{\"jsonrpc\":\"2.0\",\"id\":\"\",\"error\":{\"code\":" + code.getValue() + ",\"message\":\"rejected\",\"data\":\"\"}}";
+    }
+
+    private static void send(BlockChainAccountRepository account, NonceManager nonces, BigInteger nonce) {
+        account.sendTransactionAsync(new TransactionSign("f8"))
+                .handle((res, t) -> {
+                    nonces.onSendResult(ADDRESS, nonce, res, t);
+                    return null;
+                })
+                .join();
+    }
+
+    @Test
+    public void testConcurrentReservationsSyncOnce() throws Exception {
+        final AtomicInteger requests = new AtomicInteger();
+        final CompletableFuture<BigInteger> count = new CompletableFuture<>();
+        final NonceManager nonces = new NonceManager(address -> {
+            requests.incrementAndGet();
+            return count;
+        });
+
+        final int threads = 8;
+        final int perThread = 500;
+        final ExecutorService executor = Executors.newFixedThreadPool(threads);
+        final CountDownLatch reserved = new CountDownLatch(threads);
+        final List<Future<List<CompletableFuture<BigInteger>>>> results = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            results.add(executor.submit(() -> {
+                final List<CompletableFuture<BigInteger>> out = new ArrayList<>();
+                for (int i = 0; i < perThread; i++) {
+                    out.add(nonces.reserve(ADDRESS));
+                }
+                reserved.countDown();
+                return out;
+            }));
+        }
+
+        assertTrue(reserved.await(10, TimeUnit.SECONDS));
+        final List<CompletableFuture<BigInteger>> pending = new ArrayList<>();
+        for (Future<List<CompletableFuture<BigInteger>>> f : results) {
+            pending.addAll(f.get());
+        }
+        executor.shutdown();
+        // nothing is given out until nonce is known
+        for (CompletableFuture<BigInteger> f : pending) {
+            assertFalse(f.isDone());
+        }
+        count.complete(BigInteger.valueOf(10));
+
+        final List<BigInteger> all = new ArrayList<>();
+        for (CompletableFuture<BigInteger> f : pending) {
+            all.add(f.join());
+        }
+
+        Collections.sort(all);
+        assertEquals(threads * perThread, all.size());
+        for (int i = 0; i < all.size(); i++) {
+            assertEquals(BigInteger.valueOf(11 + i), all.get(i));
+        }
+        assertEquals(1, requests.get());
+    }
+
+    @Test
+    public void testRejectedNonceIsReused() {
+        final NonceManager nonces = new NonceManager(address -> CompletableFuture.completedFuture(BigInteger.ZERO));
+        for (int i = 1; i <= 5; i++) {
+            assertEquals(BigInteger.valueOf(i), nonces.reserve(ADDRESS).join());
+        }
+
+        nonces.onSendResult(ADDRESS, BigInteger.valueOf(3), error(BCResult.ResultCode.InsufficientFunds), null);
+        nonces.onSendResult(ADDRESS, BigInteger.valueOf(2), error(BCResult.ResultCode.InsufficientFunds), null);
+        assertEquals(BigInteger.valueOf(2), nonces.reserve(ADDRESS).join());
+        assertEquals(BigInteger.valueOf(3), nonces.reserve(ADDRESS).join());
+        assertEquals(BigInteger.valueOf(6), nonces.reserve(ADDRESS).join());
+    }
+
+    @Test
+    public void testResyncOnWrongNonceAndFailure() {
+        final AtomicReference<BigInteger> count = new AtomicReference<>(BigInteger.ZERO);
+        final AtomicInteger requests = new AtomicInteger();
+        final NonceManager nonces = new NonceManager(address -> {
+            requests.incrementAndGet();
+            return CompletableFuture.completedFuture(count.get());
+        });
+
+        assertNull(nonces.peek(ADDRESS));
+        assertEquals(BigInteger.ONE, nonces.reserve(ADDRESS).join());
+        assertEquals(BigInteger.valueOf(2), nonces.reserve(ADDRESS).join());
+
+        // someone else sent 10 transactions from this address
+        count.set(BigInteger.valueOf(11));
+        nonces.onSendResult(ADDRESS, BigInteger.valueOf(2), error(BCResult.ResultCode.WrongNonce), null);
+        assertNull(nonces.peek(ADDRESS));
+        assertEquals(BigInteger.valueOf(12), nonces.reserve(ADDRESS).join());
+        assertEquals(2, requests.get());
+
+        // unknown whether transaction accepted
+        count.set(BigInteger.valueOf(12));
+        nonces.onSendResult(ADDRESS, BigInteger.valueOf(12), null, new IOException("timeout"));
+        assertEquals(BigInteger.valueOf(13), nonces.reserve(ADDRESS).join());
+        assertEquals(3, requests.get());
+    }
+
+    @Test
+    public void testNodeRejectionFromErrorBody() throws IOException {
+        final MockWebServer server = new MockWebServer();
+        server.enqueue(new MockResponse().setResponseCode(400).setBody(rejected(BCResult.ResultCode.InsufficientFunds)));
+        server.enqueue(new MockResponse().setResponseCode(400).setBody(rejected(BCResult.ResultCode.WrongNonce)));
+        server.start();
+        try {
+            final BlockChainAccountRepository account = MinterBlockChainApi.createInstance(server.url("/").toString(), false, new StdLogger())
+                    .account();
+            final AtomicInteger requests = new AtomicInteger();
+            final NonceManager nonces = new NonceManager(address -> {
+                requests.incrementAndGet();
+                return CompletableFuture.completedFuture(BigInteger.ZERO);
+            });
+            assertEquals(BigInteger.ONE, nonces.reserve(ADDRESS).join());
+            assertEquals(BigInteger.valueOf(2), nonces.reserve(ADDRESS).join());
+
+            // rejected by node: nonce is given out again
+            send(account, nonces, BigInteger.ONE);
+            assertEquals(BigInteger.valueOf(3), nonces.peek(ADDRESS));
+            assertEquals(BigInteger.ONE, nonces.reserve(ADDRESS).join());
+            assertEquals(1, requests.get());
+
+            // wrong nonce: resync from node
+            send(account, nonces, BigInteger.ONE);
+            assertNull(nonces.peek(ADDRESS));
+            assertEquals(BigInteger.ONE, nonces.reserve(ADDRESS).join());
+            assertEquals(2, requests.get());
+        } finally {
+            server.shutdown();
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package network.minter.blockchain.repos;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import network.minter.blockchain.MinterBlockChainApi;
+import network.minter.blockchain.api.converters.BlockChainStreamingAdapterFactory;
+import network.minter.blockchain.models.BlockInfo;
+import network.minter.blockchain.models.EventList;
+import network.minter.blockchain.models.HistoryTransaction;
+import network.minter.blockchain.repo.BlockChainEventRepository;
+import network.minter.blockchain.repo.BlockChainTransactionRepository;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * minter-android-blockchain. 2019
+ * @author Eduard Maximovich [edward.vstock@gmail.com]
+ */
+public class StreamingAdaptersTest {
+    private final static String TX_SEND = "{\"hash\":\"Mt1ab5b2b25d1c8e98fd8b0f1ad4a1e5f4a3d2c1b0a9f8e7d6c5b4a39281706050\"," +
+            "\"raw_tx\":\"f88301\",\"height\":\"12\",\"index\":0,\"from\":\"Mxeeee1973381ab793719fff497b9a516719fcd5a2\"," +
+            "\"nonce\":\"5\",\"gas_price\":1,\"gas_coin\":\"MNT\",\"gas\":10,\"type\":1," +
+            "\"data\":{\"coin\":\"MNT\",\"to\":\"Mx06431236daf96979aa6cdf470a7df26430ad8efb\",\"value\":\"1000000000000000000\"}," +
+            "\"payload\":\"\",\"tags\":{\"tx.type\":\"01\",\"tx.from\":\"eeee1973381ab793719fff497b9a516719fcd5a2\"}}";
+    // data goes before type
+    private final static String TX_DELEGATE = "{\"hash\":\"Mt2ab5b2b25d1c8e98fd8b0f1ad4a1e5f4a3d2c1b0a9f8e7d6c5b4a39281706050\"," +
+            "\"from\":\"Mxeeee1973381ab793719fff497b9a516719fcd5a2\",\"nonce\":\"6\"," +
+            "\"data\":{\"pub_key\":\"Mp0208f8a2bd535f65ecbe4b057b3b3c5fbfae6a3ff3c8b1e4a2b4b3fdf2e66c0a\",\"coin\":\"MNT\",\"value\":\"15\"}," +
+            "\"type\":7,\"gas_price\":1,\"gas_coin\":\"MNT\",\"gas\":200,\"payload\":null}";
+
+    private static Gson sTreeGson;
+    private static Gson sStreamGson;
+
+    @BeforeClass
+    public static void setUp() {
+        MinterBlockChainApi.initialize("https://minter-node-1.testnet.minter.network:8841");
+        sTreeGson = configure(MinterBlockChainApi.getInstance().getGsonBuilder()).create();
+        sStreamGson = configure(MinterBlockChainApi.getInstance().getGsonBuilder())
+                .registerTypeAdapterFactory(new BlockChainStreamingAdapterFactory())
+                .create();
+    }
+
+    private static GsonBuilder configure(GsonBuilder builder) {
+        // same as repositories do
+        return builder
+                .serializeNulls()
+                .registerTypeAdapter(EventList.class, new BlockChainEventRepository.EventTypeDeserializer())
+                .registerTypeAdapterFactory(new BlockChainTransactionRepository.HistoryTransactionDeserializer());
+    }
+
+    private static <T> void assertSameResult(String json, Class<T> cls) {
+        final T tree = sTreeGson.fromJson(json, cls);
+        final T stream = sStreamGson.fromJson(json, cls);
+        assertEquals(sTreeGson.toJson(tree), sTreeGson.toJson(stream));
+    }
+
+    @Test
+    public void testHistoryTransaction() {
+        assertSameResult(TX_SEND, HistoryTransaction.class);
+        assertSameResult(TX_DELEGATE, HistoryTransaction.class);
+
+        final HistoryTransaction tx = sStreamGson.fromJson(TX_DELEGATE, HistoryTransaction.class);
+        assertEquals(HistoryTransaction.Type.Delegate, tx.type);
+        assertTrue(tx.data instanceof HistoryTransaction.TxDelegateUnbondResult);
+        assertNull(tx.payload);
+    }
+
+    @Test
+    public void testBlockInfo() {
+        final String json = "{\"hash\":\"3f5d2e1a\",\"height\":\"12\",\"time\":\"2019-06-01T10:00:00Z\",\"num_txs\":\"2\"," +
+                "\"total_txs\":\"100\",\"transactions\":[" + TX_SEND + "," + TX_DELEGATE + "],\"block_reward\":\"333000000000000000000\"," +
+                "\"size\":\"1234\",\"unknown\":{\"a\":[1,2,3]},\"proposer\":null,\"validators\":[]}";
+        assertSameResult(json, BlockInfo.class);
+
+        final BlockInfo block = sStreamGson.fromJson(json, BlockInfo.class);
+        assertEquals(12, block.height);
+        assertEquals(2, block.transactions.size());
+    }
+
+    @Test
+    public void testEvents() {
+        final String json = "{\"events\":[" +
+                "{\"type\":\"minter/RewardEvent\",\"value\":{\"role\":\"DAO\",\"address\":\"Mxeeee1973381ab793719fff497b9a516719fcd5a2\",\"amount\":\"10\"," +
+                "\"validator_pub_key\":\"Mp0208f8a2bd535f65ecbe4b057b3b3c5fbfae6a3ff3c8b1e4a2b4b3fdf2e66c0a\"}}," +
+                "{\"value\":{\"coin\":\"MNT\",\"address\":\"Mxeeee1973381ab793719fff497b9a516719fcd5a2\",\"amount\":\"3\"}," +
+                "\"type\":\"minter/SlashEvent\"}," +
+                "{\"type\":\"minter/UnknownEvent\",\"value\":{}}]}";
+
+        final EventList tree = sTreeGson.fromJson(json, EventList.class);
+        final EventList stream = sStreamGson.fromJson(json, EventList.class);
+        assertEquals(2, stream.events.size());
+        assertEquals(EventList.Type.Reward, stream.events.get(0).type);
+        assertEquals(EventList.Type.Slash, stream.events.get(1).type);
+        assertEquals(sTreeGson.toJson(tree.events.get(0).value), sTreeGson.toJson(stream.events.get(0).value));
+        assertEquals(sTreeGson.toJson(tree.events.get(1).value), sTreeGson.toJson(stream.events.get(1).value));
+    }
+
+    @Test
+    public void testToggle() {
+        final MinterBlockChainApi api = MinterBlockChainApi.getInstance();
+        assertFalse(api.isStreamingAdapters());
+        final int generation = api.getApiService().getGeneration();
+        api.setStreamingAdapters(true);
+        assertTrue(api.isStreamingAdapters());
+        assertTrue(api.getApiService().getGeneration() > generation);
+        api.setStreamingAdapters(false);
+        assertFalse(api.isStreamingAdapters());
+    }
+}
@@ -0,0 +1,306 @@
+package network.minter.blockchain.repos;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import network.minter.blockchain.models.BCResult;
+import network.minter.blockchain.models.HistoryTransaction;
+import network.minter.blockchain.models.TransactionSendResult;
+import network.minter.blockchain.models.UnconfirmedTransactions;
+import network.minter.blockchain.models.operational.TransactionSign;
+import network.minter.blockchain.repo.TransactionPipeline;
+import network.minter.core.crypto.MinterHash;
+import okhttp3.MediaType;
+import okhttp3.ResponseBody;
+import retrofit2.HttpException;
+import retrofit2.Response;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * minter-android-blockchain. 2019
+ * @author Eduard Maximovich [edward.vstock@gmail.com]
+ */
+public class TransactionPipelineTest {
+
+    private static String rawTx(int i) {
+        return String.format("f8%062x", i + 1);
+    }
+
+    private static <T> BCResult<T> ok(T value) {
+        final BCResult<T> out = new BCResult<>();
+        out.result = value;
+        return out;
+    }
+
+    private static <T> BCResult<T> error(BCResult.ResultCode code) {
+        final BCResult<T> out = new BCResult<>();
+        out.error = new BCResult.ErrorResult();
+        out.error.code = code.getValue();
+        return out;
+    }
+
+    /**
+     * Accepts transactions, keeps them in mempool until {@link #mine()}
+     */
+    private static class FakeNode implements TransactionPipeline.Backend {
+        final Set<String> mempool = ConcurrentHashMap.newKeySet();
+        final Set<MinterHash> mined = ConcurrentHashMap.newKeySet();
+        final AtomicInteger sends = new AtomicInteger();
+        final AtomicInteger failNextSends = new AtomicInteger();
+        final AtomicInteger maxPending = new AtomicInteger();
+        // completes when first transaction gets into mempool
+        final CompletableFuture<Void> received = new CompletableFuture<>();
+        // completes when mempool is requested first time
+        final CompletableFuture<Void> mempoolChecked = new CompletableFuture<>();
+        // transaction is received by node, but response is lost
+        volatile boolean loseResponse = false;
+        // every mempool request mines pending transactions first
+        volatile boolean autoMine = false;
+
+        @Override
+        public CompletableFuture<BCResult<TransactionSendResult>> send(TransactionSign sign) {
+            sends.incrementAndGet();
+            final CompletableFuture<BCResult<TransactionSendResult>> out = new CompletableFuture<>();
+            if (loseResponse) {
+                mempool.add(sign.getTxSign());
+                received.complete(null);
+                loseResponse = false;
+                out.completeExceptionally(new IOException("Connection reset"));
+                return out;
+            }
+            if (failNextSends.getAndDecrement() > 0) {
+                out.completeExceptionally(new IOException("Connection reset"));
+                return out;
+            }
+            mempool.add(sign.getTxSign());
+            maxPending.accumulateAndGet(mempool.size(), Math::max);
+            received.complete(null);
+            out.complete(ok(new TransactionSendResult()));
+            return out;
+        }
+
+        @Override
+        public CompletableFuture<BCResult<HistoryTransaction>> getTransaction(MinterHash hash) {
+            if (mined.contains(hash)) {
+                return CompletableFuture.completedFuture(ok(new HistoryTransaction()));
+            }
+            return CompletableFuture.completedFuture(error(BCResult.ResultCode.UnknownError));
+        }
+
+        @Override
+        public CompletableFuture<BCResult<UnconfirmedTransactions>> getUnconfirmed() {
+            if (autoMine) {
+                mine();
+            }
+            final UnconfirmedTransactions txs = new UnconfirmedTransactions();
+            txs.signatures = new ArrayList<>();
+            for (String raw : mempool) {
+                txs.signatures.add(new TransactionSign(raw));
+            }
+            txs.count = txs.signatures.size();
+            mempoolChecked.complete(null);
+            return CompletableFuture.completedFuture(ok(txs));
+        }
+
+        void mine() {
+            for (String raw : new ArrayList<>(mempool)) {
+                mined.add(TransactionPipeline.hashOf(raw));
+                mempool.remove(raw);
+            }
+        }
+    }
+
+    private static TransactionPipeline pipeline(FakeNode node) {
+        return new TransactionPipeline(node)
+                .setRetryDelay(10, TimeUnit.MILLISECONDS)
+                .setConfirmPollInterval(10, TimeUnit.MILLISECONDS);
+    }
+
+    @Test
+    public void testInFlightWindow() throws Exception {
+        final FakeNode node = new FakeNode();
+        final TransactionPipeline pipeline = pipeline(node).setMaxInFlight(4);
+
+        final List<CompletableFuture<TransactionPipeline.Submission>> futures = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            futures.add(pipeline.submit(new TransactionSign(rawTx(i))));
+        }
+        assertEquals(4, pipeline.getInFlight());
+        assertEquals(6, pipeline.getQueued());
+        assertEquals(4, node.sends.get());
+
+        node.autoMine = true;
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).get(5, TimeUnit.SECONDS);
+
+        for (CompletableFuture<TransactionPipeline.Submission> f : futures) {
+            final TransactionPipeline.Submission s = f.get(5, TimeUnit.SECONDS);
+            assertTrue(s.isConfirmed());
+            assertEquals(1, s.getAttempts());
+            assertTrue(s.getTotalLatencyMs() >= s.getConfirmLatencyMs());
+            assertTrue(s.getConfirmLatencyMs() >= 0);
+        }
+        assertEquals(10, node.sends.get());
+        assertTrue(node.maxPending.get() <= 4);
+        assertEquals(0, pipeline.getInFlight());
+        pipeline.shutdown();
+    }
+
+    @Test
+    public void testRetryTransientFailure() throws Exception {
+        final FakeNode node = new FakeNode();
+        node.failNextSends.set(2);
+        final TransactionPipeline pipeline = pipeline(node).setMaxRetries(3);
+
+        final CompletableFuture<TransactionPipeline.Submission> future = pipeline.submit(new TransactionSign(rawTx(0)));
+        node.received.get(5, TimeUnit.SECONDS);
+        node.mine();
+
+        final TransactionPipeline.Submission s = future.get(5, TimeUnit.SECONDS);
+        assertEquals(3, s.getAttempts());
+        assertEquals(TransactionPipeline.hashOf(rawTx(0)), s.getHash());
+        pipeline.shutdown();
+    }
+
+    @Test
+    public void testRetryIsIdempotent() throws Exception {
+        final FakeNode node = new FakeNode();
+        node.loseResponse = true;
+        final TransactionPipeline pipeline = pipeline(node);
+
+        final CompletableFuture<TransactionPipeline.Submission> future = pipeline.submit(new TransactionSign(rawTx(0)));
+        // retry check looks into mempool and finds transaction there
+        node.mempoolChecked.get(5, TimeUnit.SECONDS);
+        node.mine();
+
+        final TransactionPipeline.Submission s = future.get(5, TimeUnit.SECONDS);
+        assertTrue(s.isConfirmed());
+        assertEquals(1, node.sends.get());
+        pipeline.shutdown();
+    }
+
+    @Test
+    public void testRejectedTransactionFails() throws Exception {
+        final TransactionPipeline pipeline = new TransactionPipeline(new FakeNode() {
+            @Override
+            public CompletableFuture<BCResult<TransactionSendResult>> send(TransactionSign sign) {
+                sends.incrementAndGet();
+                return CompletableFuture.completedFuture(error(BCResult.ResultCode.WrongNonce));
+            }
+        });
+
+        try {
+            pipeline.submit(new TransactionSign(rawTx(0))).get(5, TimeUnit.SECONDS);
+            fail("Rejected transaction must fail");
+        } catch (ExecutionException e) {
+            assertTrue(e.getCause() instanceof TransactionPipeline.SubmissionException);
+            final TransactionPipeline.SubmissionException err = (TransactionPipeline.SubmissionException) e.getCause();
+            assertNotNull(err.getResult());
+            assertEquals(BCResult.ResultCode.WrongNonce, err.getResult().error.getResultCode());
+            assertEquals(1, err.getSubmission().getAttempts());
+        }
+        assertEquals(0, pipeline.getInFlight());
+        pipeline.shutdown();
+    }
+
+    @Test
+    public void testRejectionResultFromErrorBody() throws Exception {
+        final String body = "{\"jsonrpc\":\"2.0\",\"id\":\"\",\"error\":{\"code\":101,\"message\":\"Unexpected nonce\",\"data\":\"\"}}";
+        final TransactionPipeline pipeline = new TransactionPipeline(new FakeNode() {
+            @Override
+            public CompletableFuture<BCResult<TransactionSendResult>> send(TransactionSign sign) {
+                sends.incrementAndGet();
+                final CompletableFuture<BCResult<TransactionSendResult>> out = new CompletableFuture<>();
+                out.completeExceptionally(new HttpException(Response.error(400, ResponseBody.create(MediaType.parse("application/json"), body))));
+                return out;
+            }
+        });
+
+        try {
+            pipeline.submit(new TransactionSign(rawTx(0))).get(5, TimeUnit.SECONDS);
+            fail("Rejected transaction must fail");
+        } catch (ExecutionException e) {
+            final TransactionPipeline.SubmissionException err = (TransactionPipeline.SubmissionException) e.getCause();
+            assertNotNull(err.getResult());
+            assertEquals(BCResult.ResultCode.WrongNonce, err.getResult().error.getResultCode());
+            assertEquals(400, err.getResult().statusCode);
+            assertTrue(err.getCause() instanceof HttpException);
+            assertEquals(1, err.getSubmission().getAttempts());
+        }
+        pipeline.shutdown();
+    }
+
+    @Test
+    public void testShutdownFailsUnfinished() throws Exception {
+        final List<CompletableFuture<BCResult<TransactionSendResult>>> requests = new ArrayList<>();
+        // node doesn't answer until we say so
+        final TransactionPipeline pipeline = new TransactionPipeline(new FakeNode() {
+            @Override
+            public CompletableFuture<BCResult<TransactionSendResult>> send(TransactionSign sign) {
+                final CompletableFuture<BCResult<TransactionSendResult>> out = new CompletableFuture<>();
+                requests.add(out);
+                return out;
+            }
+        }).setMaxInFlight(1);
+
+        final CompletableFuture<TransactionPipeline.Submission> sending = pipeline.submit(new TransactionSign(rawTx(0)));
+        final CompletableFuture<TransactionPipeline.Submission> queued = pipeline.submit(new TransactionSign(rawTx(1)));
+        assertEquals(1, requests.size());
+        assertEquals(1, pipeline.getQueued());
+
+        pipeline.shutdown();
+        assertShutdown(sending);
+        assertShutdown(queued);
+
+        // late acceptance doesn't revive submission
+        requests.get(0).complete(ok(new TransactionSendResult()));
+        assertShutdown(sending);
+        assertEquals(1, requests.size());
+
+        try {
+            pipeline.submit(new TransactionSign(rawTx(2)));
+            fail("Submit after shutdown must fail");
+        } catch (IllegalStateException expected) {
+            assertTrue(pipeline.isShutdown());
+        }
+    }
+
+    @Test
+    public void testShutdownFailsPendingRetry() throws Exception {
+        final FakeNode node = new FakeNode();
+        node.failNextSends.set(1);
+        final TransactionPipeline pipeline = new TransactionPipeline(node)
+                .setRetryDelay(1, TimeUnit.HOURS);
+
+        final CompletableFuture<TransactionPipeline.Submission> future = pipeline.submit(new TransactionSign(rawTx(0)));
+        // first send failed, retry is scheduled
+        assertEquals(1, node.sends.get());
+        assertEquals(1, pipeline.getInFlight());
+
+        pipeline.shutdown();
+        assertShutdown(future);
+        assertEquals(1, node.sends.get());
+    }
+
+    private static void assertShutdown(CompletableFuture<TransactionPipeline.Submission> future) throws Exception {
+        try {
+            future.get(5, TimeUnit.SECONDS);
+            fail("Submission must fail after shutdown");
+        } catch (ExecutionException e) {
+            assertTrue(e.getCause() instanceof TransactionPipeline.SubmissionException);
+            assertEquals("Pipeline has been shut down", e.getCause().getMessage());
+        }
+    }
+}
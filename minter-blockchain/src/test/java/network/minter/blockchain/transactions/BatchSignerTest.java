@@ -0,0 +1,121 @@
+/*
+ * Copyright (C) by MinterTeam. 2020
+ * @link <a href="https://github.com/MinterTeam">Org Github</a>
+ * @link <a href="https://github.com/edwardstock">Maintainer Github</a>
+ *
+ * The MIT License
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package network.minter.blockchain.transactions;
+
+import org.junit.Test;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import com.edwardstock.secp256k1.NativeSecp256k1ContextPool;
+import network.minter.blockchain.models.operational.BatchSigner;
+import network.minter.blockchain.models.operational.BlockchainID;
+import network.minter.blockchain.models.operational.OperationInvalidDataException;
+import network.minter.blockchain.models.operational.Transaction;
+import network.minter.blockchain.models.operational.TransactionSign;
+import network.minter.blockchain.models.operational.TxSendCoin;
+import network.minter.core.MinterSDK;
+import network.minter.core.crypto.MinterAddress;
+import network.minter.core.crypto.PrivateKey;
+import network.minter.core.internal.exceptions.NativeLoadException;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * minter-android-blockchain. 2019
+ * @author Eduard Maximovich <edward.vstock@gmail.com>
+ */
+public class BatchSignerTest {
+    private static final PrivateKey PRIVATE_KEY = new PrivateKey("df1f236d0396cc43147e44206c341a65573326e907d033690e31a21323c03a9f");
+    private static final MinterAddress TO = new MinterAddress("Mxee81347211c72524338f9680072af90744333146");
+
+    static {
+        try {
+            MinterSDK.initialize();
+        } catch (NativeLoadException e) {
+            e.printStackTrace();
+        }
+    }
+
+    private static Transaction sendTx(long nonce, String value) throws OperationInvalidDataException {
+        return new Transaction.Builder(BigInteger.valueOf(nonce))
+                .setBlockchainId(BlockchainID.TestNet)
+                .setGasCoin(0)
+                .setGasPrice(BigInteger.ONE)
+                .setPayload("payout".getBytes())
+                .sendCoin()
+                .setCoin(0)
+                .setTo(TO)
+                .setValue(new BigDecimal(value))
+                .build();
+    }
+
+    @Test
+    public void testBatchEqualsSequential() throws OperationInvalidDataException {
+        final List<Transaction> batch = new ArrayList<>();
+        final List<String> expected = new ArrayList<>();
+        for (int i = 1; i <= 200; i++) {
+            batch.add(sendTx(i, "1." + i));
+            expected.add(sendTx(i, "1." + i).signSingle(PRIVATE_KEY).getTxSign());
+        }
+
+        // context pool smaller than worker pool
+        final BatchSigner signer = new BatchSigner(new ForkJoinPool(4), new NativeSecp256k1ContextPool(2))
+                .setChunkSize(8);
+        final List<TransactionSign> signs = signer.signSingle(batch, PRIVATE_KEY);
+        assertEquals(expected.size(), signs.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(expected.get(i), signs.get(i).getTxSign());
+        }
+    }
+
+    @Test
+    public void testSignSendCoinFromTemplate() throws OperationInvalidDataException {
+        final Transaction template = sendTx(1, "0");
+        final List<BatchSigner.Payout> payouts = new ArrayList<>();
+        for (int i = 1; i <= 100; i++) {
+            payouts.add(new BatchSigner.Payout(BigInteger.valueOf(i + 10), TO, new BigDecimal("0." + i)));
+        }
+
+        final List<TransactionSign> signs = new BatchSigner().signSendCoin(template, payouts, PRIVATE_KEY);
+        assertEquals(payouts.size(), signs.size());
+        for (int i = 0; i < signs.size(); i++) {
+            final String expected = sendTx(i + 11, "0." + (i + 1)).signSingle(PRIVATE_KEY).getTxSign();
+            assertEquals(expected, signs.get(i).getTxSign());
+
+            final Transaction decoded = Transaction.fromEncoded(signs.get(i).getTxSign());
+            assertEquals(BigInteger.valueOf(i + 11), decoded.getNonce());
+            final TxSendCoin data = decoded.getData();
+            assertEquals(TO, data.getTo());
+            assertTrue(new BigDecimal("0." + (i + 1)).compareTo(data.getValue()) == 0);
+        }
+    }
+}
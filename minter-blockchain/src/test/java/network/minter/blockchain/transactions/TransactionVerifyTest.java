@@ -0,0 +1,174 @@
+/*
+ * Copyright (C) by MinterTeam. 2020
+ * @link <a href="https://github.com/MinterTeam">Org Github</a>
+ * @link <a href="https://github.com/edwardstock">Maintainer Github</a>
+ *
+ * The MIT License
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package network.minter.blockchain.transactions;
+
+import org.junit.Test;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import com.edwardstock.secp256k1.NativeSecp256k1;
+import network.minter.blockchain.models.operational.BatchVerifier;
+import network.minter.blockchain.models.operational.BlockchainID;
+import network.minter.blockchain.models.operational.OperationInvalidDataException;
+import network.minter.blockchain.models.operational.Transaction;
+import network.minter.blockchain.models.operational.TxSendCoin;
+import network.minter.core.MinterSDK;
+import network.minter.core.crypto.MinterAddress;
+import network.minter.core.crypto.PrivateKey;
+import network.minter.core.internal.exceptions.NativeLoadException;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * minter-android-blockchain. 2019
+ * @author Eduard Maximovich <edward.vstock@gmail.com>
+ */
+public class TransactionVerifyTest {
+    private static final PrivateKey PRIVATE_KEY = new PrivateKey("df1f236d0396cc43147e44206c341a65573326e907d033690e31a21323c03a9f");
+    private static final MinterAddress SENDER = new MinterAddress("Mxe176cbf6b307c61c5939a517fd0c09a6f999f1d2");
+    private static final MinterAddress TO = new MinterAddress("Mxee81347211c72524338f9680072af90744333146");
+    // nonce 1, send 1 coin #0 to TO, signed by PRIVATE_KEY
+    private static final String SIGNED_TX = "f8700102018001a0df8094ee81347211c72524338f9680072af90744333146880de0b6b3a7640000808001b845f8431ca0ba4f6d3d845352edb3ad650de21baabe940c08d3f7c845d9bd251dfa319b3869a055374982af19de1462da9e584f0bb06423bf0d2bfca7667a408b3bbed0b5a293";
+
+    static {
+        try {
+            MinterSDK.initialize();
+        } catch (NativeLoadException e) {
+            e.printStackTrace();
+        }
+    }
+
+    private static Transaction sendTx(long nonce, String value) throws OperationInvalidDataException {
+        return new Transaction.Builder(BigInteger.valueOf(nonce))
+                .setBlockchainId(BlockchainID.TestNet)
+                .setGasCoin(0)
+                .setGasPrice(BigInteger.ONE)
+                .sendCoin()
+                .setCoin(0)
+                .setTo(TO)
+                .setValue(new BigDecimal(value))
+                .build();
+    }
+
+    @Test
+    public void testRecoverSenderFromEncoded() {
+        Transaction tx = Transaction.fromEncoded(SIGNED_TX);
+        assertEquals(SENDER, tx.recoverSender());
+        assertEquals(Arrays.asList(SENDER), tx.recoverSigners());
+        assertTrue(tx.verifySignatures());
+        assertTrue(tx.verifySignatures(SENDER));
+        assertFalse(tx.verifySignatures(TO));
+    }
+
+    @Test
+    public void testRecoverSenderWithoutNativeLibrary() {
+        final boolean enabled = NativeSecp256k1.isEnabled();
+        NativeSecp256k1.setEnabled(false);
+        try {
+            Transaction tx = Transaction.fromEncoded(SIGNED_TX);
+            assertEquals(SENDER, tx.recoverSender());
+            assertEquals(Arrays.asList(SENDER), new BatchVerifier().recoverSendersEncoded(Arrays.asList(SIGNED_TX)));
+        } finally {
+            NativeSecp256k1.setEnabled(enabled);
+        }
+    }
+
+    @Test
+    public void testRecoverSenderSigned() throws OperationInvalidDataException {
+        final String sign = sendTx(5, "1.5").signSingle(PRIVATE_KEY).getTxSign();
+        assertEquals(PRIVATE_KEY.getPublicKey().toMinter(), Transaction.fromEncoded(sign).recoverSender());
+        assertEquals(SENDER, Transaction.fromEncoded(sign).recoverSender());
+    }
+
+    @Test
+    public void testTamperedTransaction() {
+        // value changed from 1 to 2 after signing
+        final String tampered = SIGNED_TX.replace("880de0b6b3a7640000", "881bc16d674ec80000");
+        assertNotEquals(SIGNED_TX, tampered);
+        Transaction tx = Transaction.fromEncoded(tampered);
+        assertEquals(new BigDecimal("2"), tx.<TxSendCoin>getData().getValue().stripTrailingZeros());
+        assertNotEquals(SENDER, tx.recoverSender());
+        assertFalse(tx.verifySignatures(SENDER));
+    }
+
+    @Test
+    public void testMultisig() throws OperationInvalidDataException {
+        final MinterAddress multisig = new MinterAddress("Mxdb4f4b6942cb927e8d7e3a1f602d0f1fb43b5bd2");
+        final PrivateKey key1 = new PrivateKey("b354c3d1d456d5a1ddd65ca05fd710117701ec69d82dac1858986049a0385af9");
+        final PrivateKey key2 = new PrivateKey("38b7dfb77426247aed6081f769ed8f62aaec2ee2b38336110ac4f7484478dccb");
+
+        final String sign = sendTx(1, "1").signMulti(multisig, Arrays.asList(key1, key2)).getTxSign();
+        final Transaction tx = Transaction.fromEncoded(sign);
+        assertEquals(Transaction.SignatureType.Multi, tx.getSignatureType());
+        assertEquals(multisig, tx.recoverSender());
+        assertEquals(Arrays.asList(key1.getPublicKey().toMinter(), key2.getPublicKey().toMinter()), tx.recoverSigners());
+        assertTrue(tx.verifySignatures(multisig));
+
+        // same key can't sign twice
+        final String duplicated = sendTx(1, "1").signMulti(multisig, Arrays.asList(key1, key1)).getTxSign();
+        assertNull(Transaction.fromEncoded(duplicated).recoverSender());
+        assertFalse(Transaction.fromEncoded(duplicated).verifySignatures());
+    }
+
+    @Test
+    public void testBatchVerifier() throws OperationInvalidDataException {
+        final List<Transaction> txs = new ArrayList<>();
+        final List<String> encoded = new ArrayList<>();
+        final List<MinterAddress> senders = new ArrayList<>();
+        for (int i = 1; i <= 100; i++) {
+            final String sign = sendTx(i, "0." + i).signSingle(PRIVATE_KEY).getTxSign();
+            encoded.add(sign);
+            txs.add(Transaction.fromEncoded(sign));
+            senders.add(i % 10 == 0 ? TO : SENDER);
+        }
+        encoded.add("not a transaction");
+
+        final BatchVerifier verifier = new BatchVerifier(new ForkJoinPool(4))
+                .setChunkSize(8);
+
+        final List<MinterAddress> recovered = verifier.recoverSendersEncoded(encoded);
+        assertEquals(101, recovered.size());
+        for (int i = 0; i < 100; i++) {
+            assertEquals(SENDER, recovered.get(i));
+        }
+        assertNull(recovered.get(100));
+
+        final List<Boolean> verified = verifier.verify(txs, senders);
+        for (int i = 0; i < 100; i++) {
+            assertEquals((i + 1) % 10 != 0, verified.get(i));
+        }
+    }
+}
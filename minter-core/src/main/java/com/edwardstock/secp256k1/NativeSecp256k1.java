@@ -198,6 +198,22 @@ public final class NativeSecp256k1 {
         return new RecoverableSignature(retByteArray[0], retByteArray[1], retByteArray[2]);
     }
 
+    /**
+     * Recover public key from ECDSA recoverable signature. Shipped native library doesn't export recovery function,
+     * so it's done in java and doesn't need a context or loaded library.
+     * @param data Message hash, 32 bytes
+     * @param signature Compact signature: r and s, 64 bytes
+     * @param recId Recovery id 0..3 (v - 27 for minter signatures)
+     * @param compressed Compressed or not public key
+     * @return ECDSA Public key, 33 or 65 bytes, or empty array if signature is invalid
+     */
+    public static byte[] ecdsaRecover(byte[] data, byte[] signature, int recId, boolean compressed) {
+        NativeSecp256k1Util.checkArgument(data.length == 32 && signature.length == 64, "Data must be 32 bytes and signature 64 bytes");
+        NativeSecp256k1Util.checkArgument(recId >= 0 && recId <= 3, "Recovery id must be in range 0..3");
+
+        return Secp256k1Recovery.recover(data, signature, recId, compressed);
+    }
+
     /**
      * libsecp256k1 Seckey Verify - returns 1 if valid, 0 if invalid
      * @param secretKey ECDSA Secret key, 32 bytes
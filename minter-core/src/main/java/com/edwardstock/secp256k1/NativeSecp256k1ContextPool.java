@@ -0,0 +1,372 @@
+/*
+ * Copyright (C) by MinterTeam. 2020
+ * @link <a href="https://github.com/MinterTeam">Org Github</a>
+ * @link <a href="https://github.com/edwardstock">Maintainer Github</a>
+ *
+ * The MIT License
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package com.edwardstock.secp256k1;
+
+import java.security.SecureRandom;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounded pool of secp256k1 contexts. Creating a context precomputes ecmult tables and costs much more than
+ * a signature itself, so contexts are created once (cloned from a master context and randomized) and reused.
+ * <p>
+ * Usage:
+ * <pre>
+ *     {@code
+ *     final NativeSecp256k1ContextPool pool = NativeSecp256k1ContextPool.getDefault();
+ *     long ctx = pool.acquire();
+ *     try {
+ *         NativeSecp256k1.signRecoverableSerialized(ctx, hash, secret);
+ *     } finally {
+ *         pool.release(ctx);
+ *     }
+ *     }
+ * </pre>
+ * If pool is exhausted, {@link #acquire()} blocks until some context will be released or pool will be closed.
+ */
+public final class NativeSecp256k1ContextPool {
+    // waiters re-check closed flag at least this often, as close() can't hand them a context
+    private static final long WAIT_SLICE_MS = 50;
+    private static volatile NativeSecp256k1ContextPool sDefault;
+
+    private final int mMaxSize;
+    private final BlockingQueue<Long> mIdle;
+    private final AtomicInteger mSize = new AtomicInteger(0);
+    private final Object mMasterLock = new Object();
+    private final SecureRandom mRandom = new SecureRandom();
+    private long mMasterCtx = 0;
+    private volatile boolean mClosed = false;
+
+    private final AtomicLong mAcquireCount = new AtomicLong(0);
+    private final AtomicLong mCreateCount = new AtomicLong(0);
+    private final AtomicLong mWaitCount = new AtomicLong(0);
+    private final AtomicLong mWaitNanos = new AtomicLong(0);
+    private final AtomicLong mMaxWaitNanos = new AtomicLong(0);
+
+    /**
+     * @param maxSize maximum contexts count, usually equals to number of threads doing signing
+     */
+    public NativeSecp256k1ContextPool(int maxSize) {
+        NativeSecp256k1Util.checkArgument(maxSize > 0, "Pool size must be greater than zero");
+        mMaxSize = maxSize;
+        mIdle = new ArrayBlockingQueue<>(maxSize);
+    }
+
+    /**
+     * Shared pool, sized by available processors count
+     * @return default pool
+     */
+    public static NativeSecp256k1ContextPool getDefault() {
+        if (sDefault == null) {
+            synchronized (NativeSecp256k1ContextPool.class) {
+                if (sDefault == null) {
+                    sDefault = new NativeSecp256k1ContextPool(Runtime.getRuntime().availableProcessors());
+                }
+            }
+        }
+
+        return sDefault;
+    }
+
+    /**
+     * Replace shared pool, for example to change its size. Previous pool will be closed,
+     * contexts borrowed from it will be destroyed on release.
+     * @param pool new default pool
+     */
+    public static void setDefault(NativeSecp256k1ContextPool pool) {
+        NativeSecp256k1Util.checkArgument(pool != null, "Pool can't be null");
+        final NativeSecp256k1ContextPool prev;
+        synchronized (NativeSecp256k1ContextPool.class) {
+            prev = sDefault;
+            sDefault = pool;
+        }
+        if (prev != null && prev != pool) {
+            prev.close();
+        }
+    }
+
+    /**
+     * Borrow context from pool. Returned context MUST be released with {@link #release(long)}
+     * @return context pointer or 0 if native library is not loaded
+     * @throws IllegalStateException if pool is closed (also while waiting for a free context)
+     * or thread interrupted while waiting for a free context
+     */
+    public long acquire() {
+        if (mClosed) {
+            throw new IllegalStateException("Context pool is closed");
+        }
+        if (!NativeSecp256k1.isEnabled()) {
+            return 0;//nullptr
+        }
+
+        mAcquireCount.incrementAndGet();
+        Long ctx = pollOrCreate();
+        if (ctx != null) {
+            return ctx;
+        }
+
+        final long start = System.nanoTime();
+        try {
+            while ((ctx = mIdle.poll(WAIT_SLICE_MS, TimeUnit.MILLISECONDS)) == null) {
+                if (mClosed) {
+                    throw new IllegalStateException("Context pool has been closed while waiting for a context");
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for secp256k1 context", e);
+        }
+
+        final long waited = System.nanoTime() - start;
+        mWaitCount.incrementAndGet();
+        mWaitNanos.addAndGet(waited);
+        long max;
+        while (waited > (max = mMaxWaitNanos.get())) {
+            if (mMaxWaitNanos.compareAndSet(max, waited)) {
+                break;
+            }
+        }
+
+        return ctx;
+    }
+
+    /**
+     * Borrow context only if it's available without waiting: idle or pool is not full yet.
+     * Useful with {@link java.util.concurrent.ForkJoinPool.ManagedBlocker}
+     * @return context pointer, 0 if native library is not loaded, or null if pool is exhausted
+     * @throws IllegalStateException if pool is closed
+     */
+    public Long tryAcquire() {
+        if (mClosed) {
+            throw new IllegalStateException("Context pool is closed");
+        }
+        if (!NativeSecp256k1.isEnabled()) {
+            return 0L;//nullptr
+        }
+
+        final Long ctx = pollOrCreate();
+        if (ctx != null) {
+            mAcquireCount.incrementAndGet();
+        }
+        return ctx;
+    }
+
+    /**
+     * Return context to pool
+     * @param ctx context pointer given by {@link #acquire()}
+     */
+    public void release(long ctx) {
+        if (ctx == 0) {
+            return;
+        }
+
+        if (mClosed || !mIdle.offer(ctx)) {
+            destroy(ctx);
+            return;
+        }
+
+        // pool has been closed while we were offering context
+        if (mClosed) {
+            drain();
+        }
+    }
+
+    /**
+     * Call function with borrowed context
+     * @param fn function
+     * @param <T> result type
+     * @return function result
+     */
+    public <T> T use(ContextFunction<T> fn) {
+        final long ctx = acquire();
+        try {
+            return fn.apply(ctx);
+        } finally {
+            release(ctx);
+        }
+    }
+
+    /**
+     * Destroy all idle contexts and master context. Borrowed contexts will be destroyed on release,
+     * threads waiting in {@link #acquire()} will fail with {@link IllegalStateException}.
+     */
+    public void close() {
+        mClosed = true;
+        drain();
+        synchronized (mMasterLock) {
+            if (mMasterCtx != 0) {
+                NativeSecp256k1.contextCleanup(mMasterCtx);
+                mMasterCtx = 0;
+            }
+        }
+    }
+
+    public boolean isClosed() {
+        return mClosed;
+    }
+
+    /**
+     * @return snapshot of pool metrics
+     */
+    public Stats getStats() {
+        return new Stats(
+                mMaxSize,
+                mSize.get(),
+                mIdle.size(),
+                mAcquireCount.get(),
+                mCreateCount.get(),
+                mWaitCount.get(),
+                mWaitNanos.get(),
+                mMaxWaitNanos.get()
+        );
+    }
+
+    private Long pollOrCreate() {
+        final Long ctx = mIdle.poll();
+        if (ctx != null) {
+            return ctx;
+        }
+
+        int size;
+        while ((size = mSize.get()) < mMaxSize) {
+            if (mSize.compareAndSet(size, size + 1)) {
+                try {
+                    return createContext();
+                } catch (RuntimeException | Error e) {
+                    mSize.decrementAndGet();
+                    throw e;
+                }
+            }
+        }
+        return null;
+    }
+
+    private void drain() {
+        Long ctx;
+        while ((ctx = mIdle.poll()) != null) {
+            destroy(ctx);
+        }
+    }
+
+    private void destroy(long ctx) {
+        NativeSecp256k1.contextCleanup(ctx);
+        mSize.decrementAndGet();
+    }
+
+    private long createContext() {
+        final long ctx;
+        synchronized (mMasterLock) {
+            if (mMasterCtx == 0) {
+                mMasterCtx = NativeSecp256k1.contextCreate();
+            }
+            ctx = NativeSecp256k1.cloneContext(mMasterCtx);
+        }
+
+        final byte[] seed = new byte[32];
+        mRandom.nextBytes(seed);
+        NativeSecp256k1.randomize(ctx, seed);
+        mCreateCount.incrementAndGet();
+
+        return ctx;
+    }
+
+    public interface ContextFunction<T> {
+        T apply(long ctx);
+    }
+
+    /**
+     * Pool metrics snapshot
+     */
+    public static final class Stats {
+        private final int mMaxSize;
+        private final int mSize;
+        private final int mIdle;
+        private final long mAcquireCount;
+        private final long mCreateCount;
+        private final long mWaitCount;
+        private final long mWaitNanos;
+        private final long mMaxWaitNanos;
+
+        Stats(int maxSize, int size, int idle, long acquireCount, long createCount, long waitCount, long waitNanos, long maxWaitNanos) {
+            mMaxSize = maxSize;
+            mSize = size;
+            mIdle = idle;
+            mAcquireCount = acquireCount;
+            mCreateCount = createCount;
+            mWaitCount = waitCount;
+            mWaitNanos = waitNanos;
+            mMaxWaitNanos = maxWaitNanos;
+        }
+
+        public int getMaxSize() {
+            return mMaxSize;
+        }
+
+        /**
+         * @return contexts count currently alive (idle + borrowed)
+         */
+        public int getSize() {
+            return mSize;
+        }
+
+        public int getIdle() {
+            return mIdle;
+        }
+
+        public long getAcquireCount() {
+            return mAcquireCount;
+        }
+
+        public long getCreateCount() {
+            return mCreateCount;
+        }
+
+        /**
+         * @return how many times {@link #acquire()} has been blocked because pool was exhausted
+         */
+        public long getWaitCount() {
+            return mWaitCount;
+        }
+
+        public long getTotalWaitNanos() {
+            return mWaitNanos;
+        }
+
+        public long getMaxWaitNanos() {
+            return mMaxWaitNanos;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("Stats{maxSize=%d, size=%d, idle=%d, acquired=%d, created=%d, waits=%d, waitNanos=%d, maxWaitNanos=%d}",
+                    mMaxSize, mSize, mIdle, mAcquireCount, mCreateCount, mWaitCount, mWaitNanos, mMaxWaitNanos);
+        }
+    }
+}
@@ -0,0 +1,103 @@
+/*
+ * Copyright (C) by MinterTeam. 2020
+ * @link <a href="https://github.com/MinterTeam">Org Github</a>
+ * @link <a href="https://github.com/edwardstock">Maintainer Github</a>
+ *
+ * The MIT License
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package com.edwardstock.secp256k1;
+
+import org.spongycastle.asn1.x9.X9ECParameters;
+import org.spongycastle.crypto.ec.CustomNamedCurves;
+import org.spongycastle.math.ec.ECAlgorithms;
+import org.spongycastle.math.ec.ECCurve;
+import org.spongycastle.math.ec.ECPoint;
+import org.spongycastle.util.BigIntegers;
+
+import java.math.BigInteger;
+import java.util.Arrays;
+
+/**
+ * Pure java public key recovery from ECDSA signature (SEC 1 v2, 4.1.6) over spongycastle curve arithmetic.
+ * Both multiplications are done in one pass with {@link ECAlgorithms#sumOfTwoMultiplies}.
+ * <p>
+ * Not constant-time, works with public data only.
+ */
+final class Secp256k1Recovery {
+    private static final X9ECParameters CURVE = CustomNamedCurves.getByName("secp256k1");
+    private static final BigInteger P = CURVE.getCurve().getField().getCharacteristic();
+    private static final byte[] EMPTY = new byte[0];
+
+    private Secp256k1Recovery() {
+    }
+
+    /**
+     * @param data message hash, 32 bytes
+     * @param signature r and s, 64 bytes
+     * @param recId recovery id 0..3
+     * @param compressed serialize public key as compressed (33 bytes) or not (65 bytes)
+     * @return public key or empty array if signature is invalid
+     */
+    static byte[] recover(byte[] data, byte[] signature, int recId, boolean compressed) {
+        final BigInteger n = CURVE.getN();
+        final BigInteger r = new BigInteger(1, Arrays.copyOfRange(signature, 0, 32));
+        final BigInteger s = new BigInteger(1, Arrays.copyOfRange(signature, 32, 64));
+        if (r.signum() == 0 || r.compareTo(n) >= 0 || s.signum() == 0 || s.compareTo(n) >= 0) {
+            return EMPTY;
+        }
+
+        final BigInteger x = (recId & 2) == 0 ? r : r.add(n);
+        if (x.compareTo(P) >= 0) {
+            return EMPTY;
+        }
+        final ECPoint point = decompress(CURVE.getCurve(), x, (recId & 1) == 1);
+        if (point == null) {
+            return EMPTY;
+        }
+
+        // Q = r^-1 * (s * R - e * G)
+        final BigInteger rInv = r.modInverse(n);
+        final BigInteger e = new BigInteger(1, data);
+        final BigInteger u1 = n.subtract(e.mod(n)).multiply(rInv).mod(n);
+        final BigInteger u2 = s.multiply(rInv).mod(n);
+
+        final ECPoint q = ECAlgorithms.sumOfTwoMultiplies(CURVE.getG(), u1, point, u2);
+        if (q.isInfinity()) {
+            return EMPTY;
+        }
+
+        return q.getEncoded(compressed);
+    }
+
+    private static ECPoint decompress(ECCurve curve, BigInteger x, boolean yOdd) {
+        final byte[] encoded = new byte[33];
+        encoded[0] = (byte) (yOdd ? 0x03 : 0x02);
+        final byte[] xBytes = BigIntegers.asUnsignedByteArray(32, x);
+        System.arraycopy(xBytes, 0, encoded, 1, 32);
+        try {
+            return curve.decodePoint(encoded);
+        } catch (IllegalArgumentException e) {
+            // x is not on curve
+            return null;
+        }
+    }
+}
@@ -36,26 +36,33 @@ import java.util.Arrays;
 import javax.annotation.Nonnull;
 
 import network.minter.core.internal.helpers.BytesHelper;
-import network.minter.core.internal.helpers.StringHelper;
+import network.minter.core.internal.helpers.HexCodec;
 import network.minter.core.util.FastByteComparisons;
 
 import static network.minter.core.internal.common.Preconditions.checkArgument;
 import static network.minter.core.internal.helpers.BytesHelper.bytesToChars;
 import static network.minter.core.internal.helpers.BytesHelper.charsToBytes;
 import static network.minter.core.internal.helpers.BytesHelper.copyAllBytes;
+import static network.minter.core.internal.helpers.BytesHelper.intsToBytes;
 import static network.minter.core.internal.helpers.BytesHelper.intsToChars;
-import static network.minter.core.internal.helpers.BytesHelper.nativeBytesToChars;
+import static network.minter.core.internal.helpers.BytesHelper.nativeBytes;
 import static network.minter.core.internal.helpers.BytesHelper.nativeChars;
 import static network.minter.core.internal.helpers.StringHelper.charsToString;
 
 /**
  * minter-android-core. 2018
+ * <p>
+ * Data is stored either in char[] (one char per byte) or in byte[]. Byte storage used when object created from
+ * bytes, hex string or {@link ByteBuffer}, it takes half of memory and gives zero-copy access with {@link #getBytesView()}.
+ * Calling {@link #getData()} on byte-backed object switches it to char storage, so returned array stays writable
+ * as before.
  *
  * @author Eduard Maximovich <edward.vstock@gmail.com>
  */
 @Parcel
 public class BytesData implements Comparable<BytesData>, Serializable, Cloneable {
-    protected char[] mData;
+    protected volatile char[] mData;
+    volatile byte[] mBytes;
     boolean mValid = true;
     int mHashCode = 0;
 
@@ -64,29 +71,42 @@ public class BytesData implements Comparable<BytesData>, Serializable, Cloneable
     }
 
     /**
-     * Mutable constructor, be carefully
+     * Copies remaining buffer bytes
      * @param buffer
      */
     public BytesData(ByteBuffer buffer) {
-        this(buffer.asCharBuffer().array());
-        mValid = true;
+        this(buffer, true);
     }
 
     /**
      * @param buffer
-     * @param immutable copy data or not
+     * @param immutable copy data or not (buffer backing array used directly if it covers whole buffer)
      */
     public BytesData(ByteBuffer buffer, boolean immutable) {
-        this(immutable ? copyAllBytes(buffer.asCharBuffer().array()) : buffer.asCharBuffer().array());
+        if (!immutable && buffer.hasArray() && buffer.arrayOffset() == 0 && buffer.position() == 0
+                && buffer.remaining() == buffer.array().length) {
+            mBytes = buffer.array();
+        } else {
+            final byte[] out = new byte[buffer.remaining()];
+            buffer.duplicate().get(out);
+            mBytes = out;
+        }
+        calcHash();
     }
 
     /**
-     * Mutable constructor, be carefully
+     * Mutable constructor, be carefully: storage is shared with source
      * @param data
      */
     @SuppressWarnings("CopyConstructorMissesField")
     public BytesData(BytesData data) {
-        this(data.getData());
+        final byte[] bytes = data.mBytes;
+        if (bytes != null) {
+            mBytes = bytes;
+        } else {
+            mData = data.mData;
+        }
+        calcHash();
         mValid = true;
     }
 
@@ -96,7 +116,17 @@ public class BytesData implements Comparable<BytesData>, Serializable, Cloneable
      */
     @SuppressWarnings("CopyConstructorMissesField")
     public BytesData(BytesData data, boolean immutable) {
-        this(immutable ? data.getDataImmutable() : data.getData());
+        if (!immutable) {
+            final byte[] bytes = data.mBytes;
+            if (bytes != null) {
+                mBytes = bytes;
+            } else {
+                mData = data.mData;
+            }
+        } else {
+            data.copyStorageTo(this);
+        }
+        calcHash();
     }
 
     /**
@@ -108,14 +138,14 @@ public class BytesData implements Comparable<BytesData>, Serializable, Cloneable
     }
 
     /**
-     * Mutable constructor, be carefully
+     * Copies data into byte storage
      * @param data
      */
     public BytesData(Byte[] data) {
         if (data == null)
             throw new NullPointerException("Data must not be null");
 
-        mData = nativeBytesToChars(data);
+        mBytes = nativeBytes(data);
         calcHash();
     }
 
@@ -129,10 +159,28 @@ public class BytesData implements Comparable<BytesData>, Serializable, Cloneable
 
     /**
      * @param data
-     * @param immutable copy data or not
+     * @param immutable copy data or not. If not, source array used as storage as is.
      */
     public BytesData(byte[] data, boolean immutable) {
-        this(immutable ? copyAllBytes(data) : data);
+        if (data == null)
+            throw new NullPointerException("Data must not be null");
+
+        mBytes = immutable ? copyAllBytes(data) : data;
+        calcHash();
+    }
+
+    /**
+     * Copies range of data into byte storage
+     * @param data source
+     * @param offset range start
+     * @param length range length
+     */
+    public BytesData(byte[] data, int offset, int length) {
+        if (data == null)
+            throw new NullPointerException("Data must not be null");
+
+        mBytes = Arrays.copyOfRange(data, offset, offset + length);
+        calcHash();
     }
 
     /**
@@ -146,16 +194,14 @@ public class BytesData implements Comparable<BytesData>, Serializable, Cloneable
         for (byte[] sub : dataArray) {
             len += sub.length;
         }
-        char[] out = new char[len];
+        byte[] out = new byte[len];
         int offset = 0;
         for (byte[] sub : dataArray) {
-            for (int i = 0, c = 0; c < sub.length; c++, i++) {
-                out[c + offset] = (char) (sub[i] & 0xFF);
-            }
+            System.arraycopy(sub, 0, out, offset, sub.length);
             offset += sub.length;
         }
 
-        mData = out;
+        mBytes = out;
         calcHash();
     }
 
@@ -184,14 +230,14 @@ public class BytesData implements Comparable<BytesData>, Serializable, Cloneable
     }
 
     /**
-     * Mutable constructor, be carefully
+     * Copies data into byte storage
      * @param data
      */
     public BytesData(byte[] data) {
 		if (data == null)
             throw new NullPointerException("Data must not be null");
 
-        mData = bytesToChars(data);
+        mBytes = copyAllBytes(data);
         calcHash();
     }
 
@@ -208,19 +254,20 @@ public class BytesData implements Comparable<BytesData>, Serializable, Cloneable
     }
 
     /**
-     * Mutable constructor, be carefully
+     * Copies data into byte storage
      * @param data
      */
     public BytesData(int[] data) {
         if (data == null)
             throw new NullPointerException("Data must not be null");
 
-        mData = intsToChars(data);
-        mHashCode = Arrays.hashCode(data);
+        mBytes = intsToBytes(data);
+        calcHash();
     }
 
     public BytesData(CharSequence hexData) {
-        this(StringHelper.hexStringToInts(hexData.toString()));
+        mBytes = HexCodec.decode(hexData);
+        calcHash();
     }
 
     BytesData() {
@@ -235,6 +282,10 @@ public class BytesData implements Comparable<BytesData>, Serializable, Cloneable
         if (!mValid) {
             return false;
         }
+        // shared (interned) instances
+        if (other == this) {
+            return true;
+        }
 
         if (!(other instanceof BytesData) && !(other instanceof char[]) &&
                 !(other instanceof byte[]) && !(other instanceof int[]) &&
@@ -242,6 +293,17 @@ public class BytesData implements Comparable<BytesData>, Serializable, Cloneable
             return false;
         }
 
+        final byte[] bytes = mBytes;
+        if (bytes != null) {
+            if (other instanceof byte[]) {
+                return Arrays.equals(bytes, (byte[]) other);
+            } else if (other instanceof ByteBuffer) {
+                return Arrays.equals(bytes, ((ByteBuffer) other).array());
+            } else if (other instanceof BytesData && ((BytesData) other).mBytes != null) {
+                return Arrays.equals(bytes, ((BytesData) other).mBytes);
+            }
+        }
+
         char[] otherData;
         if (other instanceof byte[]) {
             otherData = bytesToChars((byte[]) other);
@@ -255,23 +317,24 @@ public class BytesData implements Comparable<BytesData>, Serializable, Cloneable
             byte[] src = ((ByteBuffer) other).array();
             otherData = bytesToChars(src);
         } else {
-            otherData = ((BytesData) other).getData();
+            otherData = ((BytesData) other).chars();
         }
 
-        if (mData.length != otherData.length) {
+        final char[] data = chars();
+        if (data.length != otherData.length) {
             return false;
         }
 
-        return FastByteComparisons.equal(mData, otherData);
+        return FastByteComparisons.equal(data, otherData);
     }
 
     @Override
     public String toString() {
-        return StringHelper.charsToHexString(mData);
+        return toHexString();
     }
 
     public String toStringASCII() {
-        return charsToString(mData);
+        return charsToString(chars());
     }
 
     @Override
@@ -286,23 +349,83 @@ public class BytesData implements Comparable<BytesData>, Serializable, Cloneable
 //                o.getData(), 0, o.getData().length);
     }
 
+    /**
+     * Returns writable data array. If data stored as bytes, storage switches to chars,
+     * use {@link #getBytesView()} if you don't need to modify data.
+     * @return data array
+     */
     public char[] getData() {
-        return mData;
+        if (mBytes == null) {
+            return mData;
+        }
+
+        return switchToChars();
     }
 
     public String stringValue() {
-        return new String(getData());
+        return new String(chars());
     }
 
+    /**
+     * @return copy of data bytes
+     */
     public byte[] getBytes() {
-        return charsToBytes(getData());
+        final byte[] bytes = mBytes;
+        if (bytes != null) {
+            return copyAllBytes(bytes);
+        }
+        return charsToBytes(mData);
+    }
+
+    /**
+     * Zero-copy access to data bytes. DON'T modify returned array.
+     * If data is stored as chars, returns converted copy
+     * @return data bytes
+     */
+    public byte[] getBytesView() {
+        final byte[] bytes = mBytes;
+        if (bytes != null) {
+            return bytes;
+        }
+        return charsToBytes(mData);
+    }
+
+    /**
+     * @return read-only buffer over {@link #getBytesView()}
+     */
+    public ByteBuffer asByteBuffer() {
+        return ByteBuffer.wrap(getBytesView()).asReadOnlyBuffer();
+    }
+
+    /**
+     * @return true if data stored in byte[]
+     */
+    public boolean isByteBacked() {
+        return mBytes != null;
+    }
+
+    /**
+     * Switch storage to byte[], it takes half of memory of char storage.
+     * Arrays returned by {@link #getData()} before this call will no longer be linked with this object
+     * @return self instance
+     */
+    public BytesData compactMutable() {
+        final char[] data = mData;
+        if (mBytes == null && data != null) {
+            setBytes(charsToBytes(data));
+        }
+        return this;
     }
 
     /**
      * @return Size of mData
      */
     public int size() {
-        return getData().length;
+        final byte[] bytes = mBytes;
+        if (bytes != null) {
+            return bytes.length;
+        }
+        return mData.length;
     }
 
     /**
@@ -310,7 +433,7 @@ public class BytesData implements Comparable<BytesData>, Serializable, Cloneable
      * @return hash bytes
      */
     public char[] sha256() {
-        return bytesToChars(HashUtil.sha256(charsToBytes(getData())));
+        return bytesToChars(HashUtil.sha256(getBytesView()));
     }
 
     /**
@@ -318,8 +441,7 @@ public class BytesData implements Comparable<BytesData>, Serializable, Cloneable
      * @return self instance
      */
     public BytesData sha256Mutable() {
-        mData = sha256();
-        calcHash();
+        setBytes(HashUtil.sha256(getBytesView()));
         return this;
     }
 
@@ -328,7 +450,7 @@ public class BytesData implements Comparable<BytesData>, Serializable, Cloneable
      * @return
      */
     public char[] sha3() {
-        return bytesToChars(HashUtil.sha3(charsToBytes(getDataImmutable())));
+        return bytesToChars(HashUtil.sha3(getBytesView()));
     }
 
     /**
@@ -336,8 +458,7 @@ public class BytesData implements Comparable<BytesData>, Serializable, Cloneable
      * @return current object
      */
     public BytesData sha3Mutable() {
-        mData = sha3();
-        calcHash();
+        setBytes(HashUtil.sha3(getBytesView()));
         return this;
     }
 
@@ -346,7 +467,7 @@ public class BytesData implements Comparable<BytesData>, Serializable, Cloneable
      * @return
      */
     public BytesData sha3Data() {
-        return new BytesData(sha3());
+        return new BytesData(HashUtil.sha3(getBytesView()), false);
     }
 
     /**
@@ -355,15 +476,42 @@ public class BytesData implements Comparable<BytesData>, Serializable, Cloneable
      * @return hex string
      */
     public String toHexString(boolean uppercase) {
-        return StringHelper.charsToHexString(getData(), uppercase);
+        return toHexString(null, uppercase);
     }
 
     public String toHexString(String prefix) {
-        return prefix + toHexString();
+        return toHexString(prefix, false);
     }
 
+    /**
+     * Converts mData to hex string, prefix is written into the same buffer
+     * @param prefix prefix or null
+     * @param uppercase Transform hex digits to uppercase, prefix is kept as is
+     * @return hex string
+     */
     public String toHexString(String prefix, boolean uppercase) {
-        return prefix + toHexString(uppercase);
+        final byte[] bytes = mBytes;
+        if (bytes != null) {
+            return HexCodec.encode(prefix, bytes, uppercase);
+        }
+        return HexCodec.encode(prefix, mData, uppercase);
+    }
+
+    /**
+     * Appends hex string without intermediate string
+     * @param sb target
+     * @param prefix prefix or null
+     * @return same builder
+     */
+    public StringBuilder appendHexTo(StringBuilder sb, String prefix) {
+        if (prefix != null) {
+            sb.append(prefix);
+        }
+        final byte[] bytes = mBytes;
+        if (bytes != null) {
+            return HexCodec.append(sb, bytes, 0, bytes.length, false);
+        }
+        return HexCodec.append(sb, mData, false);
     }
 
     /**
@@ -371,7 +519,7 @@ public class BytesData implements Comparable<BytesData>, Serializable, Cloneable
      * @return hex string
      */
     public String toHexString() {
-        return StringHelper.charsToHexString(getData());
+        return toHexString(false);
     }
 
     /**
@@ -379,9 +527,11 @@ public class BytesData implements Comparable<BytesData>, Serializable, Cloneable
      * @return new byte[]
      */
     public char[] getDataImmutable() {
-        final char[] out = new char[size()];
-        System.arraycopy(getData(), 0, out, 0, size());
-        return out;
+        final byte[] bytes = mBytes;
+        if (bytes != null) {
+            return bytesToChars(bytes);
+        }
+        return copyAllBytes(mData);
     }
 
     /**
@@ -390,15 +540,16 @@ public class BytesData implements Comparable<BytesData>, Serializable, Cloneable
      * @see #isValid()
      */
     public void cleanup() {
-        if (mData == null || size() == 0) {
-            mValid = false;
-            return;
+        final byte[] bytes = mBytes;
+        final char[] data = mData;
+        if (bytes != null) {
+            Arrays.fill(bytes, (byte) 0);
         }
-
-        for (int i = 0; i < size(); i++) {
-            getData()[i] = '\0';
+        if (data != null) {
+            Arrays.fill(data, '\0');
         }
         mData = null;
+        mBytes = null;
         mValid = false;
     }
 
@@ -414,209 +565,224 @@ public class BytesData implements Comparable<BytesData>, Serializable, Cloneable
         if (len < 0) {
             throw new IndexOutOfBoundsException("Length can't be less than 0");
         }
-        if (getData().length < len) {
+        if (size() < len) {
             throw new IndexOutOfBoundsException(String.format("Data size less than %d: actual %d", len, size()));
         }
 
-        final char[] out = new char[len];
-        System.arraycopy(getData(), 0, out, 0, len);
-        return out;
+        return charRange(0, len);
     }
 
     public BytesData takeLastMutable(int len) {
-        mData = (takeLast(len));
-        calcHash();
+        if (isByteBacked()) {
+            checkTakeLast(len);
+            setBytes(byteRange(size() - len, len));
+            return this;
+        }
+        setChars(takeLast(len));
         return this;
     }
 
     public BytesData takeFirstMutable(int len) {
-        mData = takeFirst(len);
-        calcHash();
+        final char[] first = takeFirst(len);
+        if (isByteBacked()) {
+            setBytes(byteRange(0, len));
+            return this;
+        }
+        setChars(first);
         return this;
     }
 
     public char[] dropLast() {
-        char[] out = new char[size() - 1];
-        System.arraycopy(getData(), 0, out, 0, size() - 1);
-        return out;
+        return charRange(0, size() - 1);
     }
 
     public BytesData dropLastMutable() {
-        mData = dropLast();
-        calcHash();
+        if (isByteBacked()) {
+            setBytes(byteRange(0, size() - 1));
+            return this;
+        }
+        setChars(dropLast());
         return this;
     }
 
     public char[] dropFirst() {
-        char[] out = new char[size() - 1];
-        System.arraycopy(getData(), 1, out, 0, size() - 1);
-        return out;
+        return charRange(1, size() - 1);
     }
 
     public BytesData dropFirstMutable() {
-        mData = dropFirst();
-        calcHash();
+        if (isByteBacked()) {
+            setBytes(byteRange(1, size() - 1));
+            return this;
+        }
+        setChars(dropFirst());
         return this;
     }
 
     public char[] takeLast(int len) {
-        if (len < 0) {
-            throw new IndexOutOfBoundsException("Length can't be less than 0");
-        }
-        if (len >= size()) {
-            throw new IndexOutOfBoundsException("Length can't be more than mData size");
-        }
+        checkTakeLast(len);
 
         if (len == 0) {
             return new char[0];
         }
 
-        final char[] out = new char[len];
-        System.arraycopy(getData(), size() - len, out, 0, len);
-
-        return out;
+        return charRange(size() - len, len);
     }
 
     public char[] lpad(int size) {
-        return BytesHelper.lpad(size, getData());
+        if (isByteBacked()) {
+            return BytesHelper.lpad(size, getDataImmutable());
+        }
+        return BytesHelper.lpad(size, mData);
     }
 
     public byte[] lpadBytes(int size) {
-        return charsToBytes(BytesHelper.lpad(size, getData()));
+        return BytesHelper.lpad(size, getBytes());
     }
 
     public BytesData lpadMutable(int size) {
-        mData = BytesHelper.lpad(size, getData());
-        calcHash();
+        if (isByteBacked()) {
+            setBytes(BytesHelper.lpad(size, mBytes));
+            return this;
+        }
+        setChars(BytesHelper.lpad(size, mData));
         return this;
     }
 
     public int write(int pos, char val) {
         checkArgument(pos >= 0 && pos < size(), "Position of out bounds");
-        mData[pos] = val;
+        put(pos, val);
 
         return 1;
     }
 
     public int write(int pos, short val) {
         checkArgument(pos >= 0 && pos + 1 < size(), "Value can't be fit into passed position");
-        mData[pos] = (char) (val >>> 8);
-        mData[pos + 1] = (char) (val & 0xFF);
+        put(pos, (val >>> 8));
+        put(pos + 1, (val & 0xFF));
         calcHash();
         return 2;
     }
 
     public int write(int pos, int val) {
         checkArgument(pos >= 0 && pos + 3 < size(), "Value can't be fit into passed position");
-        mData[pos] = (char) (val >>> 24);
-        mData[pos + 1] = (char) (val >>> 16);
-        mData[pos + 2] = (char) (val >>> 8);
-        mData[pos + 3] = (char) (val & 0xFF);
+        put(pos, (val >>> 24));
+        put(pos + 1, (val >>> 16));
+        put(pos + 2, (val >>> 8));
+        put(pos + 3, (val & 0xFF));
         calcHash();
         return val;
     }
 
     public int write(int pos, long val) {
         checkArgument(pos >= 0 && pos + 3 < size(), "Value can't be fit into passed position");
-        mData[pos] = (char) (val >>> 56);
-        mData[pos + 1] = (char) (val >>> 48);
-        mData[pos + 2] = (char) (val >>> 40);
-        mData[pos + 3] = (char) (val >>> 32);
-        mData[pos + 4] = (char) (val >>> 24);
-        mData[pos + 5] = (char) (val >>> 16);
-        mData[pos + 6] = (char) (val >>> 8);
-        mData[pos + 7] = (char) (val & 0xFF);
+        put(pos, (int) (val >>> 56));
+        put(pos + 1, (int) (val >>> 48));
+        put(pos + 2, (int) (val >>> 40));
+        put(pos + 3, (int) (val >>> 32));
+        put(pos + 4, (int) (val >>> 24));
+        put(pos + 5, (int) (val >>> 16));
+        put(pos + 6, (int) (val >>> 8));
+        put(pos + 7, (int) (val & 0xFF));
         calcHash();
 
         return 8;
     }
 
     public int write(int pos, BigInteger val) {
-        final char[] numVal = bytesToChars(val.toByteArray());
-        checkArgument(pos >= 0 && pos + numVal.length <= size(), "Value can't fitted into passed position");
-        System.arraycopy(numVal, 0, mData, pos, numVal.length);
-        return numVal.length;
+        return write(pos, val.toByteArray());
     }
 
     public int write(int pos, char[] data) {
         checkArgument(pos >= 0 && pos + data.length <= size(), "Value can't fitter into passed position");
-        System.arraycopy(data, 0, mData, pos, data.length);
+        final byte[] bytes = mBytes;
+        if (bytes != null) {
+            for (int i = 0; i < data.length; i++) {
+                bytes[pos + i] = (byte) data[i];
+            }
+        } else {
+            System.arraycopy(data, 0, mData, pos, data.length);
+        }
         return data.length;
     }
 
     public int write(int pos, byte[] data) {
         checkArgument(pos >= 0 && pos + data.length <= size(), "Value can't fitter into passed position");
-        System.arraycopy(bytesToChars(data), 0, mData, pos, data.length);
+        final byte[] bytes = mBytes;
+        if (bytes != null) {
+            System.arraycopy(data, 0, bytes, pos, data.length);
+        } else {
+            System.arraycopy(bytesToChars(data), 0, mData, pos, data.length);
+        }
         return data.length;
     }
 
     public int write(int pos, BytesData data) {
-        return write(pos, data.getData());
+        final byte[] bytes = data.mBytes;
+        if (bytes != null) {
+            return write(pos, bytes);
+        }
+        return write(pos, data.mData);
     }
 
     public BytesData takeRangeMutable(int from, int to) {
+        checkRange(from, to);
+        if (isByteBacked()) {
+            final byte[] data = byteRange(from, to - from);
+            memzero();
+            setBytes(data);
+            return this;
+        }
         final char[] data = takeRange(from, to);
         memzero();
-        mData = data;
-        calcHash();
+        setChars(data);
         return this;
     }
 
     public void memzero() {
+        final byte[] bytes = mBytes;
+        if (bytes != null) {
+            Arrays.fill(bytes, (byte) 0);
+            return;
+        }
         Arrays.fill(mData, (char) 0);
     }
 
     public byte[] takeByteRange(int from, int to) {
-        return charsToBytes(takeRange(from, to));
+        checkRange(from, to);
+        return byteRange(from, to - from);
     }
 
     public char[] takeRange(int from, int to) {
-        checkArgument(from >= 0, "From can't be < 0");
-        checkArgument(from <= to, "From can't be > To");
-        checkArgument(to <= size(), "To can't be >= size()");
-
-        final char[] out = new char[to - from];
-        System.arraycopy(
-                getData(), //src
-                from, // src pos
-                out, // dst
-                0, // dst pos
-                to - from // read len
-        );
-        return out;
+        checkRange(from, to);
+        return charRange(from, to - from);
     }
 
     public BytesData takeRangeLengthMutable(int from, int length) {
+        checkArgument(from + length <= size(), "Length out of bound data size");
+        if (isByteBacked()) {
+            final byte[] data = byteRange(from, length);
+            memzero();
+            setBytes(data);
+            return this;
+        }
         final char[] data = takeRangeLength(from, length);
         memzero();
-        mData = data;
-        calcHash();
+        setChars(data);
         return this;
     }
 
     public byte[] takeByteRangeLength(int from, int length) {
-        return charsToBytes(takeRangeLength(from, length));
+        checkArgument(from + length <= size(), "Length out of bound data size");
+        return byteRange(from, length);
     }
 
     public char[] takeRangeLength(int from, int length) {
         checkArgument(from + length <= size(), "Length out of bound data size");
-        final char[] out = new char[length];
-        System.arraycopy(
-                getData(), //src
-                from, // src pos
-                out, // dst
-                0, // dst pos
-                length // read len
-        );
-        return out;
+        return charRange(from, length);
     }
 
     public BytesData takeRangeFromMutable(int from) {
-        final char[] data = takeRangeFrom(from);
-        memzero();
-        mData = data;
-        calcHash();
-        return this;
+        return takeRangeMutable(from, size());
     }
 
     public char[] takeByteRangeFrom(int from) {
@@ -628,15 +794,11 @@ public class BytesData implements Comparable<BytesData>, Serializable, Cloneable
     }
 
     public BytesData takeRangeToMutable(int to) {
-        final char[] data = takeRangeTo(to);
-        memzero();
-        mData = data;
-        calcHash();
-        return this;
+        return takeRangeMutable(0, to);
     }
 
     public byte[] takeByteRangeTo(int to) {
-        return charsToBytes(takeRangeTo(to));
+        return takeByteRange(0, to);
     }
 
     public char[] takeRangeTo(int to) {
@@ -644,23 +806,24 @@ public class BytesData implements Comparable<BytesData>, Serializable, Cloneable
     }
 
     public BigInteger toUShortBigInt(int readFrom2bytes) {
-        final char[] numData = takeRangeLength(readFrom2bytes, 2);
-        return new BigInteger(charsToBytes(numData));
+        return new BigInteger(takeByteRangeLength(readFrom2bytes, 2));
     }
 
     public BigInteger toUIntBigInt(int readFrom4bytes) {
-        final char[] numData = takeRangeLength(readFrom4bytes, 4);
-        return new BigInteger(charsToBytes(numData));
+        return new BigInteger(takeByteRangeLength(readFrom4bytes, 4));
     }
 
     public BigInteger toULongBigInt(int readFrom8bytes) {
-        final char[] numData = takeRangeLength(readFrom8bytes, 8);
-        return new BigInteger(charsToBytes(numData));
+        return new BigInteger(takeByteRangeLength(readFrom8bytes, 8));
     }
 
     public char at(int pos) {
         checkArgument(pos >= 0 && pos < size(), "Position out of bounds");
-        return getData()[pos];
+        final byte[] bytes = mBytes;
+        if (bytes != null) {
+            return (char) (bytes[pos] & 0xFF);
+        }
+        return mData[pos];
     }
 
     @Override
@@ -672,13 +835,125 @@ public class BytesData implements Comparable<BytesData>, Serializable, Cloneable
         }
         BytesData out = new BytesData();
         out.mValid = mValid;
-        out.mData = new char[mData.length];
-        System.arraycopy(mData, 0, out.mData, 0, mData.length);
+        copyStorageTo(out);
 
 		return out;
 	}
 
+    /**
+     * Copy data into another object keeping storage type
+     * @param out target
+     */
+    void copyStorageTo(BytesData out) {
+        final byte[] bytes = mBytes;
+        if (bytes != null) {
+            out.mBytes = copyAllBytes(bytes);
+            out.mData = null;
+        } else {
+            out.mData = copyAllBytes(mData);
+            out.mBytes = null;
+        }
+        out.mHashCode = mHashCode;
+    }
+
+    /**
+     * Read-only chars: returns storage itself or converted copy, doesn't switch storage
+     */
+    char[] chars() {
+        final byte[] bytes = mBytes;
+        if (bytes != null) {
+            return bytesToChars(bytes);
+        }
+        return mData;
+    }
+
+    private synchronized char[] switchToChars() {
+        final byte[] bytes = mBytes;
+        if (bytes == null) {
+            return mData;
+        }
+
+        final char[] data = bytesToChars(bytes);
+        // order matters: readers check mBytes first
+        mData = data;
+        mBytes = null;
+        return data;
+    }
+
+    private void setBytes(byte[] bytes) {
+        mBytes = bytes;
+        mData = null;
+        calcHash();
+    }
+
+    private void setChars(char[] data) {
+        mData = data;
+        mBytes = null;
+        calcHash();
+    }
+
+    private void put(int pos, int val) {
+        final byte[] bytes = mBytes;
+        if (bytes != null) {
+            bytes[pos] = (byte) val;
+        } else {
+            mData[pos] = (char) (val & 0xFF);
+        }
+    }
+
+    private char[] charRange(int from, int length) {
+        final char[] out = new char[length];
+        final byte[] bytes = mBytes;
+        if (bytes != null) {
+            for (int i = 0; i < length; i++) {
+                out[i] = (char) (bytes[from + i] & 0xFF);
+            }
+        } else {
+            System.arraycopy(mData, from, out, 0, length);
+        }
+        return out;
+    }
+
+    private byte[] byteRange(int from, int length) {
+        final byte[] bytes = mBytes;
+        if (bytes != null) {
+            return Arrays.copyOfRange(bytes, from, from + length);
+        }
+        final byte[] out = new byte[length];
+        for (int i = 0; i < length; i++) {
+            out[i] = (byte) mData[from + i];
+        }
+        return out;
+    }
+
+    private void checkTakeLast(int len) {
+        if (len < 0) {
+            throw new IndexOutOfBoundsException("Length can't be less than 0");
+        }
+        if (len >= size()) {
+            throw new IndexOutOfBoundsException("Length can't be more than mData size");
+        }
+    }
+
+    private void checkRange(int from, int to) {
+        checkArgument(from >= 0, "From can't be < 0");
+        checkArgument(from <= to, "From can't be > To");
+        checkArgument(to <= size(), "To can't be >= size()");
+    }
+
 	private void calcHash() {
-        mHashCode = Arrays.hashCode(mData);
+        // the same as Arrays.hashCode(char[]) for both storages
+        int result = 1;
+        final byte[] bytes = mBytes;
+        if (bytes != null) {
+            for (byte b : bytes) {
+                result = 31 * result + (b & 0xFF);
+            }
+        } else {
+            for (char c : mData) {
+                result = 31 * result + c;
+            }
+        }
+        mHashCode = result;
     }
 }
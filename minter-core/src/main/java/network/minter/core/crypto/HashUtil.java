@@ -28,12 +28,15 @@ package network.minter.core.crypto;
 import org.spongycastle.crypto.Digest;
 import org.spongycastle.crypto.digests.RIPEMD160Digest;
 
+import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
 import java.security.Provider;
 import java.security.Security;
+import java.util.List;
 
+import network.minter.core.crypto.cryptohash.KeccakSponge;
 import network.minter.core.internal.helpers.BytesHelper;
 import network.minter.core.internal.helpers.StringHelper;
 import network.minter.core.internal.log.Mint;
@@ -41,6 +44,7 @@ import network.minter.core.util.RLPBoxed;
 import network.minter.core.util.SpongyCastleProvider;
 
 import static java.util.Arrays.copyOfRange;
+import static network.minter.core.internal.common.Preconditions.checkArgument;
 import static network.minter.core.util.ByteUtil.EMPTY_BYTE_ARRAY;
 
 public class HashUtil {
@@ -50,16 +54,31 @@ public class HashUtil {
     public static final byte[] EMPTY_LIST_HASH;
     public static final byte[] EMPTY_TRIE_HASH;
 
+    public static final int SHA3_LENGTH = 32;
+
     private static final Provider CRYPTO_PROVIDER;
 
     private static final String HASH_256_ALGORITHM_NAME;
-    private static final String HASH_512_ALGORITHM_NAME;
+
+    // Provider lookup and new digest on every hash cost more than hashing of small input itself,
+    // so every thread reuses it's own instance. Digests reset themselves after digest()
+    private static final ThreadLocal<KeccakSponge> KECCAK_256 = new ThreadLocal<KeccakSponge>() {
+        @Override
+        protected KeccakSponge initialValue() {
+            return KeccakSponge.keccak256();
+        }
+    };
+    private static final ThreadLocal<KeccakSponge> KECCAK_512 = new ThreadLocal<KeccakSponge>() {
+        @Override
+        protected KeccakSponge initialValue() {
+            return KeccakSponge.keccak512();
+        }
+    };
 
     static {
         Security.addProvider(SpongyCastleProvider.getInstance());
         CRYPTO_PROVIDER = Security.getProvider("SC");
         HASH_256_ALGORITHM_NAME = "ETH-KECCAK-256";
-        HASH_512_ALGORITHM_NAME = "ETH-KECCAK-512";
         EMPTY_DATA_HASH = sha3(EMPTY_BYTE_ARRAY);
         EMPTY_LIST_HASH = sha3(RLPBoxed.encodeList());
         EMPTY_TRIE_HASH = sha3(RLPBoxed.encodeElement(EMPTY_BYTE_ARRAY));
@@ -91,42 +110,18 @@ public class HashUtil {
     }
 
     public static byte[] sha3(char[] input) {
-        MessageDigest digest;
-        try {
-            digest = MessageDigest.getInstance(HASH_256_ALGORITHM_NAME, CRYPTO_PROVIDER);
-            digest.update(BytesHelper.charsToBytes(input));
-            return digest.digest();
-        } catch (NoSuchAlgorithmException e) {
-            Mint.e(e, "Can't find such algorithm");
-            throw new RuntimeException(e);
-        }
-
+        return sha3(BytesHelper.charsToBytes(input));
     }
 
     public static byte[] sha3(byte[] input) {
-        MessageDigest digest;
-        try {
-            digest = MessageDigest.getInstance(HASH_256_ALGORITHM_NAME, CRYPTO_PROVIDER);
-            digest.update(input);
-            return digest.digest();
-        } catch (NoSuchAlgorithmException e) {
-            Mint.e(e, "Can't find such algorithm");
-            throw new RuntimeException(e);
-        }
-
+        return sha3(input, 0, input.length);
     }
 
     public static byte[] sha3(byte[] input1, byte[] input2) {
-        MessageDigest digest;
-        try {
-            digest = MessageDigest.getInstance(HASH_256_ALGORITHM_NAME, CRYPTO_PROVIDER);
-            digest.update(input1, 0, input1.length);
-            digest.update(input2, 0, input2.length);
-            return digest.digest();
-        } catch (NoSuchAlgorithmException e) {
-            Mint.e(e, "Can't find such algorithm");
-            throw new RuntimeException(e);
-        }
+        final KeccakSponge digest = keccak256();
+        digest.update(input1, 0, input1.length);
+        digest.update(input2, 0, input2.length);
+        return digest.digest();
     }
 
     /**
@@ -137,21 +132,104 @@ public class HashUtil {
      * @return - keccak hash of the chunk
      */
     public static byte[] sha3(byte[] input, int start, int length) {
-        MessageDigest digest;
-        try {
-            digest = MessageDigest.getInstance(HASH_256_ALGORITHM_NAME, CRYPTO_PROVIDER);
-            digest.update(input, start, length);
-            return digest.digest();
-        } catch (NoSuchAlgorithmException e) {
-            Mint.e(e, "Can't find such algorithm");
-            throw new RuntimeException(e);
+        final byte[] out = new byte[SHA3_LENGTH];
+        sha3Into(input, start, length, out, 0);
+        return out;
+    }
+
+    /**
+     * Hash remaining bytes of buffer. Buffer position is not changed
+     * @param input - data for hash, heap or direct
+     * @return - keccak hash of the data
+     */
+    public static byte[] sha3(ByteBuffer input) {
+        final byte[] out = new byte[SHA3_LENGTH];
+        sha3Into(input, out, 0);
+        return out;
+    }
+
+    /**
+     * Hash data without allocating result
+     * @param input - data for hash
+     * @param out - output array, must have at least {@link #SHA3_LENGTH} bytes after offset
+     * @param off - output offset
+     * @return - written bytes count: {@link #SHA3_LENGTH}
+     */
+    public static int sha3Into(byte[] input, byte[] out, int off) {
+        return sha3Into(input, 0, input.length, out, off);
+    }
+
+    /**
+     * Hash chunk of the data without allocating result
+     * @param input - data for hash
+     * @param start - start of hashing chunk
+     * @param length - length of hashing chunk
+     * @param out - output array, must have at least {@link #SHA3_LENGTH} bytes after offset
+     * @param off - output offset
+     * @return - written bytes count: {@link #SHA3_LENGTH}
+     */
+    public static int sha3Into(byte[] input, int start, int length, byte[] out, int off) {
+        checkArgument(start >= 0 && length >= 0 && start + length <= input.length, "Input chunk is out of bounds");
+        checkArgument(off >= 0 && out.length - off >= SHA3_LENGTH, "Output must have at least 32 bytes after offset");
+        final KeccakSponge digest = keccak256();
+        digest.update(input, start, length);
+        return digest.digest(out, off, SHA3_LENGTH);
+    }
+
+    /**
+     * Hash remaining bytes of buffer without allocating result. Buffer position is not changed
+     * @param input - data for hash, heap or direct
+     * @param out - output array, must have at least {@link #SHA3_LENGTH} bytes after offset
+     * @param off - output offset
+     * @return - written bytes count: {@link #SHA3_LENGTH}
+     */
+    public static int sha3Into(ByteBuffer input, byte[] out, int off) {
+        if (input.hasArray()) {
+            return sha3Into(input.array(), input.arrayOffset() + input.position(), input.remaining(), out, off);
         }
+
+        checkArgument(off >= 0 && out.length - off >= SHA3_LENGTH, "Output must have at least 32 bytes after offset");
+        final KeccakSponge digest = keccak256();
+        digest.update(input.duplicate());
+        return digest.digest(out, off, SHA3_LENGTH);
+    }
+
+    /**
+     * Hash every input separately with single digest
+     * @param inputs - data for hash, for example encoded transactions of a block
+     * @return - keccak hashes in the same order
+     */
+    public static byte[][] sha3All(List<byte[]> inputs) {
+        return KECCAK_256.get().digestAll(inputs);
+    }
+
+    /**
+     * Hash every input separately, writing hashes one by one without allocating result
+     * @param inputs - data for hash
+     * @param out - output array, must have at least {@code inputs.size() * }{@link #SHA3_LENGTH} bytes after offset
+     * @param off - output offset
+     * @return - written bytes count
+     */
+    public static int sha3AllInto(List<byte[]> inputs, byte[] out, int off) {
+        return KECCAK_256.get().digestAll(inputs, out, off);
     }
 
     public static byte[] sha512(byte[] input) {
+        final KeccakSponge digest = KECCAK_512.get();
+        digest.reset();
+        digest.update(input, 0, input.length);
+        return digest.digest();
+    }
+
+    /**
+     * Keccak-256 through security provider, as it was before thread-local digests. Kept to compare implementations
+     * @param input - data for hash
+     * @return - keccak hash of the data
+     */
+    public static byte[] sha3Provider(byte[] input) {
         MessageDigest digest;
         try {
-            digest = MessageDigest.getInstance(HASH_512_ALGORITHM_NAME, CRYPTO_PROVIDER);
+            digest = MessageDigest.getInstance(HASH_256_ALGORITHM_NAME, CRYPTO_PROVIDER);
             digest.update(input);
             return digest.digest();
         } catch (NoSuchAlgorithmException e) {
@@ -196,4 +274,14 @@ public class HashUtil {
         byte[] hash = sha3(input);
         return copyOfRange(hash, 12, hash.length);
     }
+
+    /**
+     * @return this thread's digest in initial state. Reset here too: if previous call has failed in the middle,
+     * digest may keep it's data
+     */
+    private static KeccakSponge keccak256() {
+        final KeccakSponge digest = KECCAK_256.get();
+        digest.reset();
+        return digest;
+    }
 }
@@ -29,6 +29,7 @@ package network.minter.core.crypto;
 import org.parceler.Parcel;
 
 import network.minter.core.MinterSDK;
+import network.minter.core.internal.helpers.HexCodec;
 import network.minter.core.util.RLPBoxed;
 
 import static network.minter.core.internal.common.Preconditions.checkArgument;
@@ -55,6 +56,20 @@ public class MinterAddress extends PublicKey implements RLPBoxed.FixedByteLength
         );
     }
 
+    /**
+     * Copies 20 bytes of address from data range
+     * @param data source
+     * @param offset address offset
+     * @param length address length, must be 20
+     */
+    public MinterAddress(byte[] data, int offset, int length) {
+        super(
+                checkArgument(length == 20, data, "Minter public key must contains exact 20 bytes"),
+                offset,
+                length
+        );
+    }
+
 	public MinterAddress(char[] data) {
 		super(data);
 	}
@@ -62,7 +77,7 @@ public class MinterAddress extends PublicKey implements RLPBoxed.FixedByteLength
     public MinterAddress(CharSequence hexData) {
         super(
                 checkArgument(
-                        hexData != null && hexData.toString().matches(ADDRESS_PATTERN),
+                        HexCodec.test(hexData, MinterSDK.PREFIX_ADDRESS, 20),
                         hexData,
                         "Minter public key in hex format must contains 40 or 42 characters, where first 2 chars is a prefix: Mx"
                 )
@@ -70,7 +85,7 @@ public class MinterAddress extends PublicKey implements RLPBoxed.FixedByteLength
     }
 
     public MinterAddress(MinterAddress data) {
-        super(data.getData());
+        super(data);
     }
 
     /**
@@ -95,7 +110,7 @@ public class MinterAddress extends PublicKey implements RLPBoxed.FixedByteLength
             return false;
         }
 
-        return input.toString().matches(ADDRESS_PATTERN);
+        return HexCodec.test(input, MinterSDK.PREFIX_ADDRESS, 20);
     }
 
     @Override
@@ -103,8 +118,7 @@ public class MinterAddress extends PublicKey implements RLPBoxed.FixedByteLength
         super.clone();
         MinterAddress out = new MinterAddress();
         out.mValid = mValid;
-        out.mData = new char[mData.length];
-        System.arraycopy(mData, 0, out.mData, 0, mData.length);
+        copyStorageTo(out);
 
         return out;
     }
@@ -29,6 +29,7 @@ package network.minter.core.crypto;
 import org.parceler.Parcel;
 
 import network.minter.core.MinterSDK;
+import network.minter.core.internal.helpers.HexCodec;
 
 import static network.minter.core.internal.common.Preconditions.checkArgument;
 
@@ -52,6 +53,14 @@ public class MinterCheck extends PublicKey {
         );
     }
 
+    public MinterCheck(byte[] data, int offset, int length) {
+        super(
+                checkArgument(length > 0, data, "Minter check data can't be empty"),
+                offset,
+                length
+        );
+    }
+
 	public MinterCheck(char[] data) {
 		super(checkArgument(data.length > 0, data, "Minter check data can't be empty"));
 	}
@@ -59,7 +68,7 @@ public class MinterCheck extends PublicKey {
     public MinterCheck(CharSequence hexData) {
         super(
                 checkArgument(
-                        hexData != null && hexData.toString().matches(PATTERN),
+                        HexCodec.test(hexData, MinterSDK.PREFIX_CHECK, -1),
                         hexData,
                         "Minter check has invalid format and must contains 'Mc' at the beginning"
                 )
@@ -67,7 +76,7 @@ public class MinterCheck extends PublicKey {
     }
 
     public MinterCheck(MinterCheck data) {
-        super(data.getData());
+        super(data);
     }
 
     MinterCheck() {
@@ -78,8 +87,7 @@ public class MinterCheck extends PublicKey {
         super.clone();
         MinterCheck out = new MinterCheck();
         out.mValid = mValid;
-        out.mData = new char[mData.length];
-        System.arraycopy(mData, 0, out.mData, 0, mData.length);
+        copyStorageTo(out);
 
         return out;
     }
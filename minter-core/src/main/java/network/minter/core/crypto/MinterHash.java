@@ -29,6 +29,7 @@ package network.minter.core.crypto;
 import org.parceler.Parcel;
 
 import network.minter.core.MinterSDK;
+import network.minter.core.internal.helpers.HexCodec;
 
 import static network.minter.core.internal.common.Preconditions.checkArgument;
 
@@ -48,7 +49,7 @@ public class MinterHash extends PublicKey {
     public MinterHash(CharSequence hexData) {
         super(
                 checkArgument(
-                        hexData != null && hexData.toString().matches(TX_HASH_PATTERN),
+                        HexCodec.test(hexData, MinterSDK.PREFIX_TX, -1),
                         hexData,
                         "Invalid minter hash hex string"
                 )
@@ -60,7 +61,7 @@ public class MinterHash extends PublicKey {
 	}
 
     public MinterHash(MinterHash data) {
-        super(data.getData());
+        super(data);
     }
 
     MinterHash() {
@@ -71,8 +72,7 @@ public class MinterHash extends PublicKey {
         super.clone();
         MinterHash out = new MinterHash();
         out.mValid = mValid;
-        out.mData = new char[mData.length];
-        System.arraycopy(mData, 0, out.mData, 0, mData.length);
+        copyStorageTo(out);
 
         return out;
     }
@@ -27,6 +27,7 @@
 package network.minter.core.crypto;
 
 import network.minter.core.MinterSDK;
+import network.minter.core.internal.helpers.HexCodec;
 import network.minter.core.util.RLPBoxed;
 
 import static network.minter.core.internal.common.Preconditions.checkArgument;
@@ -43,9 +44,13 @@ public class MinterPublicKey extends PublicKey implements RLPBoxed.FixedByteLeng
         super(data);
     }
 
+    public MinterPublicKey(byte[] data, int offset, int length) {
+        super(data, offset, length);
+    }
+
     public MinterPublicKey(CharSequence hexData) {
         super(checkArgument(
-                hexData != null && hexData.toString().matches(PUB_KEY_PATTERN),
+                HexCodec.test(hexData, MinterSDK.PREFIX_PUBLIC_KEY, 32),
                 hexData,
                 "Invalid public key format"));
     }
@@ -44,6 +44,7 @@ import network.minter.core.bip39.HDKey;
 import network.minter.core.bip39.MnemonicResult;
 import network.minter.core.bip39.NativeHDKeyEncoder;
 import com.edwardstock.secp256k1.NativeSecp256k1;
+import com.edwardstock.secp256k1.NativeSecp256k1ContextPool;
 
 import static network.minter.core.internal.common.Preconditions.checkArgument;
 
@@ -139,14 +140,15 @@ public class PrivateKey extends BytesData implements java.security.PrivateKey {
             throw new IllegalStateException("Can't verify, private key already disposed");
         }
 
-        long ctx = NativeSecp256k1.contextCreate();
+        final NativeSecp256k1ContextPool pool = NativeSecp256k1ContextPool.getDefault();
+        long ctx = pool.acquire();
         boolean res;
         try {
-            res = NativeSecp256k1.secKeyVerify(ctx, getBytes());
+            res = NativeSecp256k1.secKeyVerify(ctx, getBytesView());
         } catch (Throwable t) {
             res = false;
         } finally {
-            NativeSecp256k1.contextCleanup(ctx);
+            pool.release(ctx);
         }
         return res;
     }
@@ -164,12 +166,13 @@ public class PrivateKey extends BytesData implements java.security.PrivateKey {
             throw new IllegalStateException("Can't get public key, private key already disposed");
         }
 
-        long ctx = NativeSecp256k1.contextCreate();
+        final NativeSecp256k1ContextPool pool = NativeSecp256k1ContextPool.getDefault();
+        long ctx = pool.acquire();
         PublicKey out;
         try {
-            out = new PublicKey(NativeSecp256k1.computePubkey(ctx, getBytes(), compressed));
+            out = new PublicKey(NativeSecp256k1.computePubkey(ctx, getBytesView(), compressed));
         } finally {
-            NativeSecp256k1.contextCleanup(ctx);
+            pool.release(ctx);
         }
 
         return out;
@@ -205,8 +208,7 @@ public class PrivateKey extends BytesData implements java.security.PrivateKey {
         super.clone();
         PrivateKey out = new PrivateKey();
         out.mValid = mValid;
-        out.mData = new char[mData.length];
-        System.arraycopy(mData, 0, out.mData, 0, mData.length);
+        copyStorageTo(out);
 
         return out;
     }
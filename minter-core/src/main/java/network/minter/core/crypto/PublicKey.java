@@ -44,6 +44,10 @@ public class PublicKey extends BytesData implements java.security.PublicKey {
         super(data);
     }
 
+    public PublicKey(byte[] data, int offset, int length) {
+        super(data, offset, length);
+    }
+
 	public PublicKey(char[] data) {
 		super(data);
 	}
@@ -97,8 +101,7 @@ public class PublicKey extends BytesData implements java.security.PublicKey {
         super.clone();
         PublicKey out = new PublicKey();
         out.mValid = mValid;
-        out.mData = new char[mData.length];
-        System.arraycopy(mData, 0, out.mData, 0, mData.length);
+        copyStorageTo(out);
 
         return out;
     }
@@ -0,0 +1,437 @@
+/*
+ * Copyright (C) by MinterTeam. 2018
+ * @link https://github.com/MinterTeam
+ *
+ * The MIT License
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package network.minter.core.crypto.cryptohash;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.List;
+
+/**
+ * Keccak sponge (original Keccak padding, as used by Ethereum and Minter) over {@code long} lanes.
+ * <p>
+ * Unlike {@link KeccakCore} it has no block buffer: input is xor-ed into the state right from the caller's
+ * {@code byte[]} or {@link ByteBuffer}, and permutation works on local variables. Instance can be reset and reused,
+ * it is not thread-safe.
+ * <p>
+ * minter-android-core. 2019
+ * @author Eduard Maximovich [edward.vstock@gmail.com]
+ */
+public final class KeccakSponge implements Digest {
+
+    private static final long[] RC = {
+            0x0000000000000001L, 0x0000000000008082L,
+            0x800000000000808AL, 0x8000000080008000L,
+            0x000000000000808BL, 0x0000000080000001L,
+            0x8000000080008081L, 0x8000000000008009L,
+            0x000000000000008AL, 0x0000000000000088L,
+            0x0000000080008009L, 0x000000008000000AL,
+            0x000000008000808BL, 0x800000000000008BL,
+            0x8000000000008089L, 0x8000000000008003L,
+            0x8000000000008002L, 0x8000000000000080L,
+            0x000000000000800AL, 0x800000008000000AL,
+            0x8000000080008081L, 0x8000000000008080L,
+            0x0000000080000001L, 0x8000000080008008L
+    };
+
+    private final long[] mState = new long[25];
+    private final int mDigestLength;
+    private final int mRate;
+    // absorbed bytes in current block
+    private int mPos;
+
+    /**
+     * @param digestLength output length in bytes: 32 for Keccak-256, 64 for Keccak-512 etc
+     */
+    public KeccakSponge(int digestLength) {
+        if (digestLength <= 0 || digestLength > 64 || (digestLength & 7) != 0) {
+            throw new IllegalArgumentException("Digest length must be multiple of 8 in range [8, 64]");
+        }
+        mDigestLength = digestLength;
+        mRate = 200 - 2 * digestLength;
+    }
+
+    public static KeccakSponge keccak256() {
+        return new KeccakSponge(32);
+    }
+
+    public static KeccakSponge keccak512() {
+        return new KeccakSponge(64);
+    }
+
+    private static long decodeLELong(byte[] buf, int off) {
+        return (buf[off] & 0xFFL)
+                | ((buf[off + 1] & 0xFFL) << 8)
+                | ((buf[off + 2] & 0xFFL) << 16)
+                | ((buf[off + 3] & 0xFFL) << 24)
+                | ((buf[off + 4] & 0xFFL) << 32)
+                | ((buf[off + 5] & 0xFFL) << 40)
+                | ((buf[off + 6] & 0xFFL) << 48)
+                | ((buf[off + 7] & 0xFFL) << 56);
+    }
+
+    private static void encodeLELong(long val, byte[] buf, int off) {
+        buf[off] = (byte) val;
+        buf[off + 1] = (byte) (val >>> 8);
+        buf[off + 2] = (byte) (val >>> 16);
+        buf[off + 3] = (byte) (val >>> 24);
+        buf[off + 4] = (byte) (val >>> 32);
+        buf[off + 5] = (byte) (val >>> 40);
+        buf[off + 6] = (byte) (val >>> 48);
+        buf[off + 7] = (byte) (val >>> 56);
+    }
+
+    /**
+     * Keccak-f[1600]. Lane index is x + 5 * y
+     * @param s state
+     */
+    private static void permute(long[] s) {
+        long a00 = s[0], a01 = s[1], a02 = s[2], a03 = s[3], a04 = s[4];
+        long a05 = s[5], a06 = s[6], a07 = s[7], a08 = s[8], a09 = s[9];
+        long a10 = s[10], a11 = s[11], a12 = s[12], a13 = s[13], a14 = s[14];
+        long a15 = s[15], a16 = s[16], a17 = s[17], a18 = s[18], a19 = s[19];
+        long a20 = s[20], a21 = s[21], a22 = s[22], a23 = s[23], a24 = s[24];
+
+        long c0, c1, c2, c3, c4, d0, d1, d2, d3, d4;
+        for (int i = 0; i < 24; i++) {
+            // theta
+            c0 = a00 ^ a05 ^ a10 ^ a15 ^ a20;
+            c1 = a01 ^ a06 ^ a11 ^ a16 ^ a21;
+            c2 = a02 ^ a07 ^ a12 ^ a17 ^ a22;
+            c3 = a03 ^ a08 ^ a13 ^ a18 ^ a23;
+            c4 = a04 ^ a09 ^ a14 ^ a19 ^ a24;
+
+            d0 = ((c1 << 1) | (c1 >>> 63)) ^ c4;
+            d1 = ((c2 << 1) | (c2 >>> 63)) ^ c0;
+            d2 = ((c3 << 1) | (c3 >>> 63)) ^ c1;
+            d3 = ((c4 << 1) | (c4 >>> 63)) ^ c2;
+            d4 = ((c0 << 1) | (c0 >>> 63)) ^ c3;
+
+            a00 ^= d0;
+            a05 ^= d0;
+            a10 ^= d0;
+            a15 ^= d0;
+            a20 ^= d0;
+            a01 ^= d1;
+            a06 ^= d1;
+            a11 ^= d1;
+            a16 ^= d1;
+            a21 ^= d1;
+            a02 ^= d2;
+            a07 ^= d2;
+            a12 ^= d2;
+            a17 ^= d2;
+            a22 ^= d2;
+            a03 ^= d3;
+            a08 ^= d3;
+            a13 ^= d3;
+            a18 ^= d3;
+            a23 ^= d3;
+            a04 ^= d4;
+            a09 ^= d4;
+            a14 ^= d4;
+            a19 ^= d4;
+            a24 ^= d4;
+
+            // rho and pi
+            c1 = (a01 << 1) | (a01 >>> 63);
+            a01 = (a06 << 44) | (a06 >>> 20);
+            a06 = (a09 << 20) | (a09 >>> 44);
+            a09 = (a22 << 61) | (a22 >>> 3);
+            a22 = (a14 << 39) | (a14 >>> 25);
+            a14 = (a20 << 18) | (a20 >>> 46);
+            a20 = (a02 << 62) | (a02 >>> 2);
+            a02 = (a12 << 43) | (a12 >>> 21);
+            a12 = (a13 << 25) | (a13 >>> 39);
+            a13 = (a19 << 8) | (a19 >>> 56);
+            a19 = (a23 << 56) | (a23 >>> 8);
+            a23 = (a15 << 41) | (a15 >>> 23);
+            a15 = (a04 << 27) | (a04 >>> 37);
+            a04 = (a24 << 14) | (a24 >>> 50);
+            a24 = (a21 << 2) | (a21 >>> 62);
+            a21 = (a08 << 55) | (a08 >>> 9);
+            a08 = (a16 << 45) | (a16 >>> 19);
+            a16 = (a05 << 36) | (a05 >>> 28);
+            a05 = (a03 << 28) | (a03 >>> 36);
+            a03 = (a18 << 21) | (a18 >>> 43);
+            a18 = (a17 << 15) | (a17 >>> 49);
+            a17 = (a11 << 10) | (a11 >>> 54);
+            a11 = (a07 << 6) | (a07 >>> 58);
+            a07 = (a10 << 3) | (a10 >>> 61);
+            a10 = c1;
+
+            // chi
+            c0 = a00 ^ (~a01 & a02);
+            c1 = a01 ^ (~a02 & a03);
+            a02 ^= ~a03 & a04;
+            a03 ^= ~a04 & a00;
+            a04 ^= ~a00 & a01;
+            a00 = c0;
+            a01 = c1;
+
+            c0 = a05 ^ (~a06 & a07);
+            c1 = a06 ^ (~a07 & a08);
+            a07 ^= ~a08 & a09;
+            a08 ^= ~a09 & a05;
+            a09 ^= ~a05 & a06;
+            a05 = c0;
+            a06 = c1;
+
+            c0 = a10 ^ (~a11 & a12);
+            c1 = a11 ^ (~a12 & a13);
+            a12 ^= ~a13 & a14;
+            a13 ^= ~a14 & a10;
+            a14 ^= ~a10 & a11;
+            a10 = c0;
+            a11 = c1;
+
+            c0 = a15 ^ (~a16 & a17);
+            c1 = a16 ^ (~a17 & a18);
+            a17 ^= ~a18 & a19;
+            a18 ^= ~a19 & a15;
+            a19 ^= ~a15 & a16;
+            a15 = c0;
+            a16 = c1;
+
+            c0 = a20 ^ (~a21 & a22);
+            c1 = a21 ^ (~a22 & a23);
+            a22 ^= ~a23 & a24;
+            a23 ^= ~a24 & a20;
+            a24 ^= ~a20 & a21;
+            a20 = c0;
+            a21 = c1;
+
+            // iota
+            a00 ^= RC[i];
+        }
+
+        s[0] = a00;
+        s[1] = a01;
+        s[2] = a02;
+        s[3] = a03;
+        s[4] = a04;
+        s[5] = a05;
+        s[6] = a06;
+        s[7] = a07;
+        s[8] = a08;
+        s[9] = a09;
+        s[10] = a10;
+        s[11] = a11;
+        s[12] = a12;
+        s[13] = a13;
+        s[14] = a14;
+        s[15] = a15;
+        s[16] = a16;
+        s[17] = a17;
+        s[18] = a18;
+        s[19] = a19;
+        s[20] = a20;
+        s[21] = a21;
+        s[22] = a22;
+        s[23] = a23;
+        s[24] = a24;
+    }
+
+    @Override
+    public void update(byte in) {
+        mState[mPos >>> 3] ^= (in & 0xFFL) << ((mPos & 7) << 3);
+        if (++mPos == mRate) {
+            permute(mState);
+            mPos = 0;
+        }
+    }
+
+    @Override
+    public void update(byte[] inbuf) {
+        update(inbuf, 0, inbuf.length);
+    }
+
+    @Override
+    public void update(byte[] inbuf, int off, int len) {
+        final long[] s = mState;
+        final int rate = mRate;
+        final int end = off + len;
+
+        // finish unaligned lane
+        while ((mPos & 7) != 0 && off < end) {
+            update(inbuf[off++]);
+        }
+
+        // whole blocks right from input
+        if (mPos == 0) {
+            while (end - off >= rate) {
+                for (int i = 0; i < rate; i += 8) {
+                    s[i >>> 3] ^= decodeLELong(inbuf, off + i);
+                }
+                permute(s);
+                off += rate;
+            }
+        }
+
+        // tail by lanes, then by bytes
+        while (end - off >= 8) {
+            s[mPos >>> 3] ^= decodeLELong(inbuf, off);
+            off += 8;
+            mPos += 8;
+            if (mPos == rate) {
+                permute(s);
+                mPos = 0;
+            }
+        }
+        while (off < end) {
+            update(inbuf[off++]);
+        }
+    }
+
+    /**
+     * Absorb all remaining bytes of the buffer, buffer position will be set to it's limit
+     * @param input heap or direct buffer
+     */
+    public void update(ByteBuffer input) {
+        if (input.hasArray()) {
+            update(input.array(), input.arrayOffset() + input.position(), input.remaining());
+            input.position(input.limit());
+            return;
+        }
+
+        final ByteBuffer src = input.duplicate().order(ByteOrder.LITTLE_ENDIAN);
+        while ((mPos & 7) != 0 && src.hasRemaining()) {
+            update(src.get());
+        }
+        while (src.remaining() >= 8) {
+            mState[mPos >>> 3] ^= src.getLong();
+            mPos += 8;
+            if (mPos == mRate) {
+                permute(mState);
+                mPos = 0;
+            }
+        }
+        while (src.hasRemaining()) {
+            update(src.get());
+        }
+        input.position(input.limit());
+    }
+
+    @Override
+    public byte[] digest() {
+        final byte[] out = new byte[mDigestLength];
+        digest(out, 0, mDigestLength);
+        return out;
+    }
+
+    @Override
+    public byte[] digest(byte[] inbuf) {
+        update(inbuf, 0, inbuf.length);
+        return digest();
+    }
+
+    @Override
+    public int digest(byte[] outbuf, int off, int len) {
+        final long[] s = mState;
+        s[mPos >>> 3] ^= 0x01L << ((mPos & 7) << 3);
+        s[(mRate - 1) >>> 3] ^= 0x80L << 56;
+        permute(s);
+
+        final int n = Math.min(len, mDigestLength);
+        int i = 0;
+        for (; i + 8 <= n; i += 8) {
+            encodeLELong(s[i >>> 3], outbuf, off + i);
+        }
+        for (; i < n; i++) {
+            outbuf[off + i] = (byte) (s[i >>> 3] >>> ((i & 7) << 3));
+        }
+        reset();
+        return n;
+    }
+
+    /**
+     * Hash every input separately, writing digests one by one to {@code outbuf}. Instance state is reset before and
+     * after
+     * @param inputs messages
+     * @param outbuf output, must have at least {@code inputs.size() * getDigestLength()} bytes after offset
+     * @param off output offset
+     * @return written bytes count
+     */
+    public int digestAll(List<byte[]> inputs, byte[] outbuf, int off) {
+        if (off < 0 || outbuf.length - off < inputs.size() * mDigestLength) {
+            throw new IllegalArgumentException("Output buffer is too small for all digests");
+        }
+        reset();
+        int pos = off;
+        for (byte[] input : inputs) {
+            update(input, 0, input.length);
+            pos += digest(outbuf, pos, mDigestLength);
+        }
+        return pos - off;
+    }
+
+    /**
+     * Hash every input separately. Instance state is reset before and after
+     * @param inputs messages
+     * @return digests in the same order
+     */
+    public byte[][] digestAll(List<byte[]> inputs) {
+        reset();
+        final byte[][] out = new byte[inputs.size()][];
+        for (int i = 0; i < out.length; i++) {
+            final byte[] input = inputs.get(i);
+            update(input, 0, input.length);
+            out[i] = new byte[mDigestLength];
+            digest(out[i], 0, mDigestLength);
+        }
+        return out;
+    }
+
+    @Override
+    public int getDigestLength() {
+        return mDigestLength;
+    }
+
+    @Override
+    public void reset() {
+        for (int i = 0; i < 25; i++) {
+            mState[i] = 0;
+        }
+        mPos = 0;
+    }
+
+    @Override
+    public Digest copy() {
+        final KeccakSponge dst = new KeccakSponge(mDigestLength);
+        System.arraycopy(mState, 0, dst.mState, 0, 25);
+        dst.mPos = mPos;
+        return dst;
+    }
+
+    @Override
+    public int getBlockLength() {
+        return mRate;
+    }
+
+    @Override
+    public String toString() {
+        return "Keccak-" + (mDigestLength << 3);
+    }
+}
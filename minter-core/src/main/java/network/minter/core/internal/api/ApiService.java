@@ -43,11 +43,13 @@ import javax.net.ssl.SSLContext;
 
 import network.minter.core.internal.common.Acceptor;
 import network.minter.core.internal.common.Lazy;
+import network.minter.core.internal.common.LazyMem;
 import network.minter.core.internal.common.Pair;
 import network.minter.core.internal.exceptions.NetworkException;
 import network.minter.core.internal.log.Mint;
 import okhttp3.Cache;
 import okhttp3.ConnectionSpec;
+import okhttp3.Dispatcher;
 import okhttp3.Interceptor;
 import okhttp3.OkHttpClient;
 import okhttp3.Request;
@@ -57,6 +59,8 @@ import okhttp3.logging.HttpLoggingInterceptor;
 import retrofit2.Retrofit;
 import retrofit2.converter.gson.GsonConverterFactory;
 
+import static network.minter.core.internal.common.Preconditions.checkArgument;
+
 /**
  * minter-android-core. 2018
  *
@@ -92,6 +96,15 @@ public final class ApiService {
 		private ArrayList<TypeAdapterFactory> mFactories;
 		private List<Pair<String, String>> mHeaders;
 		private List<Interceptor> mInterceptors;
+		private boolean mCacheServices = true;
+		private volatile int mGeneration = 0;
+		// shared between clones, holds connection pool and dispatcher
+		private Lazy<OkHttpClient> mSharedClient = LazyMem.memoize(OkHttpClient::new);
+		// shared between clones, so identical requests of all repositories are coalesced
+		private CoalescingCallAdapterFactory mCoalescer = new CoalescingCallAdapterFactory();
+		private boolean mCoalesceRequests = true;
+		// shared between clones too
+		private ResponseCache mResponseCache = null;
 
 		public Builder(String baseUrl, GsonBuilder gsonBuilder) {
 			mBaseUrl = baseUrl;
@@ -111,6 +124,7 @@ public final class ApiService {
 		 */
 		public Builder setHttpClientConfig(Acceptor<OkHttpClient.Builder> acceptor) {
 			mHttpClientConfig = acceptor;
+			invalidate();
 			return this;
 		}
 
@@ -122,6 +136,7 @@ public final class ApiService {
 		 */
 		public Builder setRetrofitClientConfig(Acceptor<Retrofit.Builder> acceptor) {
 			mRetrofitClientConfig = acceptor;
+			invalidate();
 			return this;
 		}
 
@@ -131,6 +146,7 @@ public final class ApiService {
 			}
 
 			mInterceptors.add(interceptor);
+			invalidate();
 			return this;
 		}
 
@@ -140,20 +156,154 @@ public final class ApiService {
 			}
 
 			mInterceptors.remove(interceptor);
+			invalidate();
 			return this;
 		}
 
+		/**
+		 * Copy builder to configure it for a single endpoint without touching the source.
+		 * Collections are copied, but the underlying http connection pool and dispatcher are shared with the source builder.
+		 *
+		 * @return builder copy
+		 */
 		@Override
 		public Builder clone() {
+			final Builder out;
 			try {
-				return (Builder) super.clone();
+				out = (Builder) super.clone();
 			} catch (CloneNotSupportedException e) {
 				throw new RuntimeException(e);
 			}
+
+			if (mCustomAdapters != null) {
+				out.mCustomAdapters = new ArrayList<>(mCustomAdapters);
+			}
+			if (mFactories != null) {
+				out.mFactories = new ArrayList<>(mFactories);
+			}
+			if (mHeaders != null) {
+				out.mHeaders = new ArrayList<>(mHeaders);
+			}
+			if (mInterceptors != null) {
+				out.mInterceptors = new ArrayList<>(mInterceptors);
+			}
+
+			return out;
+		}
+
+		/**
+		 * Set max count of simultaneously running requests to one host, other requests wait in OkHttp dispatcher queue.
+		 * Dispatcher is shared with clones of this builder, so limit is applied to all of them.
+		 * Default: 5
+		 *
+		 * @param maxRequestsPerHost value greater than 0
+		 * @return self
+		 */
+		public Builder setMaxRequestsPerHost(int maxRequestsPerHost) {
+			checkArgument(maxRequestsPerHost > 0, "Max requests per host must be greater than 0");
+			getDispatcher().setMaxRequestsPerHost(maxRequestsPerHost);
+			return this;
+		}
+
+		/**
+		 * Set max count of simultaneously running requests of all hosts. Dispatcher is shared with clones of this builder.
+		 * Default: 64
+		 *
+		 * @param maxRequests value greater than 0
+		 * @return self
+		 */
+		public Builder setMaxRequests(int maxRequests) {
+			checkArgument(maxRequests > 0, "Max requests must be greater than 0");
+			getDispatcher().setMaxRequests(maxRequests);
+			return this;
+		}
+
+		/**
+		 * @return OkHttp dispatcher shared with clones of this builder, it runs async calls and holds their queue
+		 */
+		public Dispatcher getDispatcher() {
+			return mSharedClient.get().dispatcher();
+		}
+
+		/**
+		 * Enable or disable caching of built endpoint services in {@link network.minter.core.internal.data.DataRepository}.
+		 * If enabled (default), http client, gson and retrofit proxy are built once per repository configurator and reused
+		 * across calls and threads, until {@link #invalidate()} is called or this builder is modified.
+		 *
+		 * @param cacheServices false to build new service on every request
+		 * @return self
+		 */
+		public Builder setCacheServices(boolean cacheServices) {
+			mCacheServices = cacheServices;
+			invalidate();
+			return this;
+		}
+
+		public boolean isCacheServices() {
+			return mCacheServices;
+		}
+
+		/**
+		 * Enable or disable sharing of concurrent identical requests of endpoint methods marked with {@link Coalesce}.
+		 * Default: enabled
+		 *
+		 * @param coalesce false to send every request to network
+		 * @return self
+		 * @see CoalescingCallAdapterFactory
+		 */
+		public Builder setCoalesceRequests(boolean coalesce) {
+			mCoalesceRequests = coalesce;
+			invalidate();
+			return this;
+		}
+
+		public boolean isCoalesceRequests() {
+			return mCoalesceRequests;
+		}
+
+		/**
+		 * @return single-flight call adapter shared with clones of this builder, holds request statistics
+		 */
+		public CoalescingCallAdapterFactory getCoalescer() {
+			return mCoalescer;
+		}
+
+		/**
+		 * Set cache of responses of endpoint methods marked with {@link Cached}. Cache is shared with clones of this builder.
+		 * Default: null, nothing cached
+		 *
+		 * @param cache cache instance or null to disable
+		 * @return self
+		 */
+		public Builder setResponseCache(@Nullable ResponseCache cache) {
+			mResponseCache = cache;
+			invalidate();
+			return this;
+		}
+
+		@Nullable
+		public ResponseCache getResponseCache() {
+			return mResponseCache;
+		}
+
+		/**
+		 * Mark all services built from this builder as stale, so they will be rebuilt on next request.
+		 * Every setter of this builder calls it implicitly.
+		 */
+		public void invalidate() {
+			mGeneration++;
+		}
+
+		/**
+		 * @return configuration version, changes every time builder modified or invalidated
+		 */
+		public int getGeneration() {
+			return mGeneration;
 		}
 
 		public Builder setOnErrorListener(OnErrorListener errorListener) {
 			mErrorListener = errorListener;
+			invalidate();
 			return this;
 		}
 
@@ -162,21 +312,25 @@ public final class ApiService {
 				mCustomAdapters = new ArrayList<>(2);
 			}
 			mCustomAdapters.add(adapter);
+			invalidate();
 			return this;
 		}
 
 		public Builder setAuthHeaderName(String authHeaderName) {
 			mAuthHeaderName = authHeaderName;
+			invalidate();
 			return this;
 		}
 
 		public Builder setConnectionTimeout(int seconds) {
 			mConnectTimeout = seconds;
+			invalidate();
 			return this;
 		}
 
 		public Builder setReadTimeout(int seconds) {
 			mReadTimeout = seconds;
+			invalidate();
 			return this;
 		}
 
@@ -185,16 +339,19 @@ public final class ApiService {
 				mHeaders = new ArrayList<>(2);
 			}
 			mHeaders.add(new Pair<>(key, value));
+			invalidate();
 			return this;
 		}
 
 		public ApiService.Builder setDebug(boolean debug) {
 			mDebug = debug;
+			invalidate();
 			return this;
 		}
 
 		public Builder setTokenGetter(Lazy<String> callback) {
 			mTokenProvider = callback;
+			invalidate();
 			return this;
 		}
 
@@ -207,17 +364,30 @@ public final class ApiService {
 				mFactories = new ArrayList<>(2);
 			}
 			mFactories.add(adapterFactory);
+			invalidate();
+			return this;
+		}
+
+		public Builder unregisterTypeAdapterFactory(TypeAdapterFactory adapterFactory) {
+			if (mFactories == null || adapterFactory == null) {
+				return this;
+			}
+
+			mFactories.remove(adapterFactory);
+			invalidate();
 			return this;
 		}
 
 		public Builder setDateFormat(String dateFormat) {
 			mDateFormat = dateFormat;
 			mDateAsLong = false;
+			invalidate();
 			return this;
 		}
 
 		public Builder setDateAsLong(boolean b) {
 			mDateAsLong = b;
+			invalidate();
 			return this;
 		}
 
@@ -229,26 +399,31 @@ public final class ApiService {
 		 */
 		public Builder authRequired(boolean required) {
 			mAuthRequired = required;
+			invalidate();
 			return this;
 		}
 
 		public Builder authRequired() {
 			mAuthRequired = true;
+			invalidate();
 			return this;
 		}
 
 		public Builder setCache(Cache httpCache) {
 			mHttpCache = httpCache;
+			invalidate();
 			return this;
 		}
 
 		public ApiService.Builder setEmptyAuthTokenListener(EmptyAuthHeaderTokenListener listener) {
 			mEmptyAuthHeaderTokenListener = listener;
+			invalidate();
 			return this;
 		}
 
 		public Builder setDebugRequestLevel(HttpLoggingInterceptor.Level level) {
 			mDebugLevel = level;
+			invalidate();
 			return this;
 		}
 
@@ -259,6 +434,14 @@ public final class ApiService {
 			final Retrofit.Builder builder = new Retrofit.Builder()
 					.addConverterFactory(GsonConverterFactory.create(gson));
 
+			if (mCoalesceRequests) {
+				builder.addCallAdapterFactory(mCoalescer);
+			}
+			// added last to wrap outermost: cache hits don't touch coalescer
+			if (mResponseCache != null) {
+				builder.addCallAdapterFactory(mResponseCache);
+			}
+
 			if (mRetrofitClientConfig != null) {
 				mRetrofitClientConfig.accept(builder);
 			}
@@ -269,29 +452,31 @@ public final class ApiService {
 		}
 
 		private Gson buildGSON() {
-			mGsonBuilder
+			// don't modify source builder, it's shared between clones
+			final GsonBuilder gsonBuilder = mGsonBuilder.create().newBuilder();
+			gsonBuilder
 					.serializeNulls()
 					.setDateFormat(mDateFormat);
 
 			if (mCustomAdapters != null) {
 				for (ServiceTypeAdapter adapter : mCustomAdapters) {
-					mGsonBuilder.registerTypeAdapter(adapter.type, adapter.object);
+					gsonBuilder.registerTypeAdapter(adapter.type, adapter.object);
 				}
 			}
 
 			if (mFactories != null) {
 				for (TypeAdapterFactory factory : mFactories) {
-					mGsonBuilder.registerTypeAdapterFactory(factory);
+					gsonBuilder.registerTypeAdapterFactory(factory);
 				}
 			}
 
 			if (mDateAsLong) {
-				mGsonBuilder.registerTypeAdapter(Date.class,
+				gsonBuilder.registerTypeAdapter(Date.class,
 						(JsonDeserializer<Date>) (json, typeOfT, context) -> new Date(
 								json.getAsJsonPrimitive().getAsLong() * 1000));
 			}
 
-			return mGsonBuilder.create();
+			return gsonBuilder.create();
 		}
 
 		@Nullable
@@ -339,7 +524,7 @@ public final class ApiService {
 		}
 
 		private OkHttpClient buildHttpClient() {
-			OkHttpClient.Builder httpClient = new OkHttpClient.Builder();
+			OkHttpClient.Builder httpClient = mSharedClient.get().newBuilder();
 
 			if (mHttpCache != null) {
 				httpClient.cache(mHttpCache);
@@ -0,0 +1,57 @@
+/*
+ * Copyright (C) by MinterTeam. 2019
+ * @link <a href="https://github.com/MinterTeam">Org Github</a>
+ * @link <a href="https://github.com/edwardstock">Maintainer Github</a>
+ *
+ * The MIT License
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package network.minter.core.internal.api;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * minter-android-core. 2019
+ * <p>
+ * Marks {@link retrofit2.http.GET} endpoint method which successful responses may be kept in {@link ResponseCache}.
+ * Has no effect if cache is not set with {@link ApiService.Builder#setResponseCache(ResponseCache)}.
+ *
+ * @author Eduard Maximovich <edward.vstock@gmail.com>
+ */
+@Documented
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface Cached {
+    /**
+     * @return time to live in seconds, can be overridden with {@link ResponseCache#setTtl(String, long, java.util.concurrent.TimeUnit)}.
+     * Default: {@link ResponseCache#DEFAULT_TTL}, or {@link ResponseCache#DEFAULT_BLOCK_TTL} if {@link #perBlock()}
+     */
+    long ttl() default -1;
+
+    /**
+     * @return true if value may change with every block, so it's dropped on {@link ResponseCache#onBlock(long)}
+     */
+    boolean perBlock() default false;
+}
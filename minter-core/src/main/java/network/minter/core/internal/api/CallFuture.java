@@ -0,0 +1,99 @@
+/*
+ * Copyright (C) by MinterTeam. 2019
+ * @link <a href="https://github.com/MinterTeam">Org Github</a>
+ * @link <a href="https://github.com/edwardstock">Maintainer Github</a>
+ *
+ * The MIT License
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package network.minter.core.internal.api;
+
+import java.util.concurrent.CompletableFuture;
+
+import javax.annotation.Nonnull;
+
+import retrofit2.Call;
+import retrofit2.Callback;
+import retrofit2.HttpException;
+import retrofit2.Response;
+
+import static network.minter.core.internal.common.Preconditions.checkNotNull;
+
+/**
+ * minter-android-core. 2019
+ * <p>
+ * {@link CompletableFuture} backed by OkHttp async dispatcher: request is enqueued instead of executed,
+ * so no thread is blocked while waiting for response. Concurrency is limited by dispatcher,
+ * see {@link ApiService.Builder#setMaxRequestsPerHost(int)}.
+ * <p>
+ * Future completes with response body on 2xx, otherwise with {@link HttpException} (error body stays readable
+ * from {@link HttpException#response()}). Cancelling this future cancels underlying {@link Call}.
+ * Note that futures derived from it (thenApply etc) don't propagate cancellation back, cancel source future instead.
+ *
+ * @author Eduard Maximovich <edward.vstock@gmail.com>
+ */
+public final class CallFuture<T> extends CompletableFuture<T> {
+    private final Call<T> mCall;
+
+    private CallFuture(Call<T> call) {
+        mCall = call;
+    }
+
+    /**
+     * Enqueues call and returns future of it's result
+     * @param call not executed retrofit call
+     * @param <T> response body type
+     * @return future
+     */
+    public static <T> CallFuture<T> enqueue(@Nonnull Call<T> call) {
+        checkNotNull(call, "Call can't be null");
+        final CallFuture<T> future = new CallFuture<>(call);
+        call.enqueue(new Callback<T>() {
+            @Override
+            public void onResponse(@Nonnull Call<T> c, @Nonnull Response<T> response) {
+                if (response.isSuccessful()) {
+                    future.complete(response.body());
+                } else {
+                    future.completeExceptionally(new HttpException(response));
+                }
+            }
+
+            @Override
+            public void onFailure(@Nonnull Call<T> c, @Nonnull Throwable t) {
+                future.completeExceptionally(t);
+            }
+        });
+        return future;
+    }
+
+    /**
+     * @return underlying call
+     */
+    public Call<T> getCall() {
+        return mCall;
+    }
+
+    @Override
+    public boolean cancel(boolean mayInterruptIfRunning) {
+        mCall.cancel();
+        return super.cancel(mayInterruptIfRunning);
+    }
+}
@@ -0,0 +1,347 @@
+/*
+ * Copyright (C) by MinterTeam. 2019
+ * @link <a href="https://github.com/MinterTeam">Org Github</a>
+ * @link <a href="https://github.com/edwardstock">Maintainer Github</a>
+ *
+ * The MIT License
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package network.minter.core.internal.api;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.annotation.Nonnull;
+
+import okhttp3.Request;
+import okio.Timeout;
+import retrofit2.Call;
+import retrofit2.CallAdapter;
+import retrofit2.Callback;
+import retrofit2.Response;
+import retrofit2.Retrofit;
+import retrofit2.http.GET;
+
+/**
+ * minter-android-core. 2019
+ * <p>
+ * Single-flight layer for endpoint methods marked with {@link Coalesce}. While request is in flight, every other
+ * call with the same method and url joins it instead of making new http request, and all of them receive
+ * the same {@link Response} (and the same parsed body instance, so don't modify it). Finished requests are not cached,
+ * next call after completion goes to network again.
+ * <p>
+ * Cancelling one of joined calls doesn't affect others, underlying http call is cancelled only when all of them cancelled.
+ * Error body of shared non-2xx response can be read only once.
+ * <p>
+ * Instance is shared between clones of {@link ApiService.Builder}, so identical requests of different repositories
+ * are coalesced too.
+ *
+ * @author Eduard Maximovich <edward.vstock@gmail.com>
+ */
+public final class CoalescingCallAdapterFactory extends CallAdapter.Factory {
+    private final ConcurrentMap<String, Flight<?>> mFlights = new ConcurrentHashMap<>();
+    private final AtomicLong mRequests = new AtomicLong(0);
+    private final AtomicLong mJoined = new AtomicLong(0);
+
+    @Override
+    public CallAdapter<?, ?> get(@Nonnull Type returnType, @Nonnull Annotation[] annotations, @Nonnull Retrofit retrofit) {
+        if (getRawType(returnType) != Call.class || !(returnType instanceof ParameterizedType)) {
+            return null;
+        }
+
+        boolean coalesce = false, get = false;
+        for (Annotation a : annotations) {
+            coalesce |= a instanceof Coalesce;
+            get |= a instanceof GET;
+        }
+        if (!coalesce) {
+            return null;
+        }
+        if (!get) {
+            throw new IllegalArgumentException("@Coalesce can be used only with @GET requests");
+        }
+
+        // keep platform behavior (callback executor etc), only underlying call is replaced
+        @SuppressWarnings("unchecked") final CallAdapter<Object, Object> next =
+                (CallAdapter<Object, Object>) retrofit.nextCallAdapter(this, returnType, annotations);
+
+        return new CallAdapter<Object, Object>() {
+            @Override
+            public Type responseType() {
+                return next.responseType();
+            }
+
+            @Override
+            public Object adapt(@Nonnull Call<Object> call) {
+                return next.adapt(new CoalescedCall<>(call));
+            }
+        };
+    }
+
+    /**
+     * @return count of requests actually sent to network
+     */
+    public long getRequestCount() {
+        return mRequests.get();
+    }
+
+    /**
+     * @return count of calls which joined already running request instead of sending new one
+     */
+    public long getJoinedCount() {
+        return mJoined.get();
+    }
+
+    private static String key(Request request) {
+        return request.method() + " " + request.url();
+    }
+
+    private final class Flight<T> {
+        private final String mKey;
+        private final Call<T> mCall;
+        private final CompletableFuture<Response<T>> mResult = new CompletableFuture<>();
+        private int mWaiters = 1;
+        private boolean mClosed = false;
+
+        Flight(String key, Call<T> call) {
+            mKey = key;
+            mCall = call;
+        }
+
+        synchronized boolean join() {
+            if (mClosed) {
+                return false;
+            }
+            mWaiters++;
+            return true;
+        }
+
+        void leave() {
+            synchronized (this) {
+                if (--mWaiters > 0 || mResult.isDone()) {
+                    return;
+                }
+                mClosed = true;
+            }
+            mFlights.remove(mKey, this);
+            mCall.cancel();
+        }
+
+        void execute() {
+            mRequests.incrementAndGet();
+            try {
+                finish(mCall.execute(), null);
+            } catch (Throwable t) {
+                finish(null, t);
+            }
+        }
+
+        void enqueue() {
+            mRequests.incrementAndGet();
+            mCall.enqueue(new Callback<T>() {
+                @Override
+                public void onResponse(@Nonnull Call<T> call, @Nonnull Response<T> response) {
+                    finish(response, null);
+                }
+
+                @Override
+                public void onFailure(@Nonnull Call<T> call, @Nonnull Throwable t) {
+                    finish(null, t);
+                }
+            });
+        }
+
+        private void finish(Response<T> response, Throwable t) {
+            // new calls must not join finished request
+            synchronized (this) {
+                mClosed = true;
+            }
+            mFlights.remove(mKey, this);
+            if (t != null) {
+                mResult.completeExceptionally(t);
+            } else {
+                mResult.complete(response);
+            }
+        }
+    }
+
+    private final class CoalescedCall<T> implements Call<T> {
+        private final Call<T> mDelegate;
+        private final AtomicBoolean mExecuted = new AtomicBoolean(false);
+        private final CompletableFuture<Response<T>> mResult = new CompletableFuture<>();
+        private volatile boolean mCanceled = false;
+        private Flight<T> mFlight;
+
+        CoalescedCall(Call<T> delegate) {
+            mDelegate = delegate;
+        }
+
+        @Override
+        public Response<T> execute() throws IOException {
+            final Flight<T> leader = start();
+            if (leader != null) {
+                leader.execute();
+            }
+
+            try {
+                return mResult.get();
+            } catch (InterruptedException e) {
+                cancel();
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted while waiting for response");
+            } catch (ExecutionException e) {
+                final Throwable cause = e.getCause();
+                if (cause instanceof IOException) {
+                    throw (IOException) cause;
+                } else if (cause instanceof RuntimeException) {
+                    throw (RuntimeException) cause;
+                } else if (cause instanceof Error) {
+                    throw (Error) cause;
+                }
+                throw new IOException(cause);
+            }
+        }
+
+        @Override
+        public void enqueue(@Nonnull Callback<T> callback) {
+            mResult.whenComplete((response, t) -> {
+                if (t != null) {
+                    callback.onFailure(this, t);
+                } else {
+                    callback.onResponse(this, response);
+                }
+            });
+
+            final Flight<T> leader = start();
+            if (leader != null) {
+                leader.enqueue();
+            }
+        }
+
+        @Override
+        public boolean isExecuted() {
+            return mExecuted.get();
+        }
+
+        @Override
+        public void cancel() {
+            final Flight<T> flight;
+            synchronized (this) {
+                if (mCanceled) {
+                    return;
+                }
+                mCanceled = true;
+                flight = mFlight;
+            }
+            mResult.completeExceptionally(new IOException("Canceled"));
+            if (flight != null) {
+                flight.leave();
+            }
+        }
+
+        @Override
+        public boolean isCanceled() {
+            return mCanceled;
+        }
+
+        @SuppressWarnings("MethodDoesntCallSuperMethod")
+        @Override
+        public Call<T> clone() {
+            return new CoalescedCall<>(mDelegate.clone());
+        }
+
+        @Override
+        public Request request() {
+            return mDelegate.request();
+        }
+
+        @Override
+        public Timeout timeout() {
+            return mDelegate.timeout();
+        }
+
+        /**
+         * Join running request with the same key or register new one
+         * @return new flight which should be started by this call, or null if joined existing one
+         */
+        @SuppressWarnings("unchecked")
+        private Flight<T> start() {
+            if (!mExecuted.compareAndSet(false, true)) {
+                throw new IllegalStateException("Already executed.");
+            }
+
+            if (mCanceled) {
+                return null;
+            }
+
+            final String key = key(mDelegate.request());
+            Flight<T> flight;
+            boolean leader;
+            while (true) {
+                final Flight<T> created = new Flight<>(key, mDelegate);
+                flight = (Flight<T>) mFlights.putIfAbsent(key, created);
+                if (flight == null) {
+                    flight = created;
+                    leader = true;
+                    break;
+                }
+                if (flight.join()) {
+                    leader = false;
+                    mJoined.incrementAndGet();
+                    break;
+                }
+                // finished or cancelled, but not removed yet
+                mFlights.remove(key, flight);
+            }
+
+            final boolean canceled;
+            synchronized (this) {
+                mFlight = flight;
+                canceled = mCanceled;
+            }
+
+            final Flight<T> joined = flight;
+            joined.mResult.whenComplete((response, t) -> {
+                if (t != null) {
+                    mResult.completeExceptionally(t);
+                } else {
+                    mResult.complete(response);
+                }
+            });
+
+            if (canceled) {
+                // cancelled while joining, others may have joined already, so new flight is started anyway
+                flight.leave();
+            }
+
+            return leader ? flight : null;
+        }
+    }
+}
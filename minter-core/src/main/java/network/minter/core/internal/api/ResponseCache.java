@@ -0,0 +1,582 @@
+/*
+ * Copyright (C) by MinterTeam. 2019
+ * @link <a href="https://github.com/MinterTeam">Org Github</a>
+ * @link <a href="https://github.com/edwardstock">Maintainer Github</a>
+ *
+ * The MIT License
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package network.minter.core.internal.api;
+
+import java.io.IOException;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.annotation.Nonnull;
+
+import okhttp3.Request;
+import okio.Timeout;
+import retrofit2.Call;
+import retrofit2.CallAdapter;
+import retrofit2.Callback;
+import retrofit2.Response;
+import retrofit2.Retrofit;
+import retrofit2.http.GET;
+
+import static network.minter.core.internal.common.Preconditions.checkArgument;
+import static network.minter.core.internal.common.Preconditions.checkNotNull;
+
+/**
+ * minter-android-core. 2019
+ * <p>
+ * In-memory cache of successful responses of endpoint methods marked with {@link Cached}, keyed by request method and url.
+ * Size is bounded, least recently used entries are evicted first. Every entry lives {@link Cached#ttl()} seconds
+ * (or time set by {@link #setTtl(String, long, TimeUnit)} for url path), entries marked {@link Cached#perBlock()}
+ * are also dropped when new block is reported with {@link #onBlock(long)}. Height is reported automatically by
+ * successful responses of endpoint methods marked with {@link ReportsHeight}, for example network status requests
+ * (including ones made by block stream), so in most cases there is no need to call {@link #onBlock(long)} manually.
+ * <p>
+ * When entry is read after {@link #setRefreshAhead(double)} part of it's ttl, it's refreshed in background while
+ * caller receives current value, so frequently used values never expire.
+ * <p>
+ * Cached {@link Response} and it's body are shared between callers, so don't modify them.
+ * Instance is shared between clones of {@link ApiService.Builder}.
+ *
+ * @author Eduard Maximovich <edward.vstock@gmail.com>
+ */
+public final class ResponseCache extends CallAdapter.Factory {
+    /**
+     * Default {@link Cached#ttl()} in seconds
+     */
+    public final static long DEFAULT_TTL = 60;
+    /**
+     * Default {@link Cached#ttl()} in seconds of entries marked {@link Cached#perBlock()}, about one block time
+     */
+    public final static long DEFAULT_BLOCK_TTL = 5;
+    private final int mMaxEntries;
+    private final LinkedHashMap<String, Entry> mEntries;
+    private final Map<String, Long> mTtlOverrides = new ConcurrentHashMap<>();
+    private final AtomicLong mHits = new AtomicLong(0);
+    private final AtomicLong mMisses = new AtomicLong(0);
+    private final AtomicLong mEvictions = new AtomicLong(0);
+    private final AtomicLong mRefreshes = new AtomicLong(0);
+    private volatile double mRefreshAhead = 0.8;
+    private volatile Ticker mTicker = System::nanoTime;
+    private volatile long mHeight = -1;
+
+    /**
+     * @param maxEntries max count of kept responses
+     */
+    public ResponseCache(int maxEntries) {
+        checkArgument(maxEntries > 0, "Max entries must be greater than 0");
+        mMaxEntries = maxEntries;
+        mEntries = new LinkedHashMap<String, Entry>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                if (size() > mMaxEntries) {
+                    mEvictions.incrementAndGet();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Override ttl of all requests with given url path
+     * @param path url path, for example: "/coin_info"
+     * @param ttl time to live, 0 disables caching of this path
+     * @param unit ttl unit
+     * @return self
+     */
+    public ResponseCache setTtl(@Nonnull String path, long ttl, @Nonnull TimeUnit unit) {
+        checkNotNull(path, "Path required");
+        checkArgument(ttl >= 0, "TTL can't be negative");
+        mTtlOverrides.put(path, unit.toNanos(ttl));
+        return this;
+    }
+
+    /**
+     * @param factor part of ttl after which read entry is refreshed in background, from 0 to 1. 1 disables refresh-ahead.
+     *               Default: 0.8
+     * @return self
+     */
+    public ResponseCache setRefreshAhead(double factor) {
+        checkArgument(factor > 0 && factor <= 1, "Refresh-ahead factor must be in range (0, 1]");
+        mRefreshAhead = factor;
+        return this;
+    }
+
+    /**
+     * @param ticker time source for ttl, for example to control time in tests. Default: {@link System#nanoTime()}
+     * @return self
+     */
+    public ResponseCache setTicker(@Nonnull Ticker ticker) {
+        mTicker = checkNotNull(ticker, "Ticker required");
+        return this;
+    }
+
+    /**
+     * Report current block height. If it's greater than last known, entries marked {@link Cached#perBlock()} are dropped
+     * @param height block height
+     */
+    public void onBlock(long height) {
+        synchronized (mEntries) {
+            if (height <= mHeight) {
+                return;
+            }
+            mHeight = height;
+            final Iterator<Entry> it = mEntries.values().iterator();
+            while (it.hasNext()) {
+                if (it.next().perBlock) {
+                    it.remove();
+                }
+            }
+        }
+    }
+
+    /**
+     * @return last height reported with {@link #onBlock(long)} or -1
+     */
+    public long getHeight() {
+        return mHeight;
+    }
+
+    /**
+     * Drop all entries
+     */
+    public void invalidateAll() {
+        synchronized (mEntries) {
+            mEntries.clear();
+        }
+    }
+
+    /**
+     * Drop entries of given url path
+     * @param path url path, for example: "/coin_info"
+     */
+    public void invalidate(@Nonnull String path) {
+        synchronized (mEntries) {
+            final Iterator<Entry> it = mEntries.values().iterator();
+            while (it.hasNext()) {
+                if (it.next().path.equals(path)) {
+                    it.remove();
+                }
+            }
+        }
+    }
+
+    public int size() {
+        synchronized (mEntries) {
+            return mEntries.size();
+        }
+    }
+
+    /**
+     * @return snapshot of cache statistics
+     */
+    public Stats getStats() {
+        return new Stats(mHits.get(), mMisses.get(), mEvictions.get(), mRefreshes.get(), size());
+    }
+
+    @Override
+    public CallAdapter<?, ?> get(@Nonnull Type returnType, @Nonnull Annotation[] annotations, @Nonnull Retrofit retrofit) {
+        if (getRawType(returnType) != Call.class || !(returnType instanceof ParameterizedType)) {
+            return null;
+        }
+
+        Cached cached = null;
+        ReportsHeight reportsHeight = null;
+        boolean get = false;
+        for (Annotation a : annotations) {
+            if (a instanceof Cached) {
+                cached = (Cached) a;
+            } else if (a instanceof ReportsHeight) {
+                reportsHeight = (ReportsHeight) a;
+            }
+            get |= a instanceof GET;
+        }
+        if (cached == null && reportsHeight == null) {
+            return null;
+        }
+        if (cached != null && !get) {
+            throw new IllegalArgumentException("@Cached can be used only with @GET requests");
+        }
+
+        @SuppressWarnings("unchecked") final CallAdapter<Object, Object> next =
+                (CallAdapter<Object, Object>) retrofit.nextCallAdapter(this, returnType, annotations);
+        final Cached options = cached;
+        final HeightReader heightReader = reportsHeight == null ? null : createHeightReader(reportsHeight.value());
+
+        return new CallAdapter<Object, Object>() {
+            @Override
+            public Type responseType() {
+                return next.responseType();
+            }
+
+            @Override
+            public Object adapt(@Nonnull Call<Object> call) {
+                Call<Object> out = call;
+                if (heightReader != null) {
+                    out = new HeightCall<>(out, heightReader);
+                }
+                if (options != null) {
+                    out = new CachedCall<>(out, options);
+                }
+                return next.adapt(out);
+            }
+        };
+    }
+
+    private static HeightReader createHeightReader(Class<? extends HeightReader> type) {
+        try {
+            return type.getDeclaredConstructor().newInstance();
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalArgumentException("Unable to create height reader " + type.getName(), e);
+        }
+    }
+
+    private static String key(Request request) {
+        return request.method() + " " + request.url();
+    }
+
+    private Entry lookup(String key) {
+        final Entry entry;
+        synchronized (mEntries) {
+            entry = mEntries.get(key);
+            if (entry != null && entry.expiresAt - mTicker.read() <= 0) {
+                mEntries.remove(key);
+                return null;
+            }
+        }
+        return entry;
+    }
+
+    private void store(String key, Entry entry) {
+        if (entry.ttl <= 0) {
+            return;
+        }
+        synchronized (mEntries) {
+            // block changed while request was running
+            if (entry.perBlock && entry.height != mHeight) {
+                return;
+            }
+            mEntries.put(key, entry);
+        }
+    }
+
+    /**
+     * Reads block height from response body of method marked with {@link ReportsHeight}
+     */
+    public interface HeightReader {
+        /**
+         * @param body successful response body, not null
+         * @return block height or -1 if body doesn't contain it
+         */
+        long read(@Nonnull Object body);
+    }
+
+    /**
+     * Monotonic time source
+     */
+    public interface Ticker {
+        /**
+         * @return current time in nanoseconds, only differences are meaningful
+         */
+        long read();
+    }
+
+    public static final class Stats {
+        public final long hits;
+        public final long misses;
+        public final long evictions;
+        public final long refreshes;
+        public final int size;
+
+        Stats(long hits, long misses, long evictions, long refreshes, int size) {
+            this.hits = hits;
+            this.misses = misses;
+            this.evictions = evictions;
+            this.refreshes = refreshes;
+            this.size = size;
+        }
+
+        /**
+         * @return hits / (hits + misses), or 0 if nothing requested yet
+         */
+        public double getHitRate() {
+            final long total = hits + misses;
+            return total == 0 ? 0 : (double) hits / total;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("ResponseCache.Stats{hits=%d, misses=%d, evictions=%d, refreshes=%d, size=%d}",
+                    hits, misses, evictions, refreshes, size);
+        }
+    }
+
+    private static final class Entry {
+        final Response<?> response;
+        final Call<?> source;
+        final String path;
+        final boolean perBlock;
+        final long height;
+        final long ttl;
+        final long refreshAt;
+        final long expiresAt;
+        final AtomicBoolean refreshing = new AtomicBoolean(false);
+
+        Entry(Response<?> response, Call<?> source, String path, boolean perBlock, long height, long ttl, double refreshAhead, long now) {
+            this.response = response;
+            this.source = source;
+            this.path = path;
+            this.perBlock = perBlock;
+            this.height = height;
+            this.ttl = ttl;
+            refreshAt = now + (long) (ttl * refreshAhead);
+            expiresAt = now + ttl;
+        }
+    }
+
+    private final class CachedCall<T> implements Call<T> {
+        private final Call<T> mDelegate;
+        private final Cached mOptions;
+        private final AtomicBoolean mExecuted = new AtomicBoolean(false);
+        private volatile boolean mCanceled = false;
+
+        CachedCall(Call<T> delegate, Cached options) {
+            mDelegate = delegate;
+            mOptions = options;
+        }
+
+        @Override
+        public Response<T> execute() throws IOException {
+            if (!mExecuted.compareAndSet(false, true)) {
+                throw new IllegalStateException("Already executed.");
+            }
+
+            final Response<T> cached = fromCache();
+            if (cached != null) {
+                return cached;
+            }
+
+            final long height = mHeight;
+            final Response<T> response = mDelegate.execute();
+            toCache(mDelegate, response, height);
+            return response;
+        }
+
+        @Override
+        public void enqueue(@Nonnull Callback<T> callback) {
+            if (!mExecuted.compareAndSet(false, true)) {
+                throw new IllegalStateException("Already executed.");
+            }
+
+            final Response<T> cached = fromCache();
+            if (cached != null) {
+                callback.onResponse(this, cached);
+                return;
+            }
+
+            final long height = mHeight;
+            mDelegate.enqueue(new Callback<T>() {
+                @Override
+                public void onResponse(@Nonnull Call<T> call, @Nonnull Response<T> response) {
+                    toCache(mDelegate, response, height);
+                    callback.onResponse(CachedCall.this, response);
+                }
+
+                @Override
+                public void onFailure(@Nonnull Call<T> call, @Nonnull Throwable t) {
+                    callback.onFailure(CachedCall.this, t);
+                }
+            });
+        }
+
+        @Override
+        public boolean isExecuted() {
+            return mExecuted.get();
+        }
+
+        @Override
+        public void cancel() {
+            mCanceled = true;
+            mDelegate.cancel();
+        }
+
+        @Override
+        public boolean isCanceled() {
+            return mCanceled;
+        }
+
+        @SuppressWarnings("MethodDoesntCallSuperMethod")
+        @Override
+        public Call<T> clone() {
+            return new CachedCall<>(mDelegate.clone(), mOptions);
+        }
+
+        @Override
+        public Request request() {
+            return mDelegate.request();
+        }
+
+        @Override
+        public Timeout timeout() {
+            return mDelegate.timeout();
+        }
+
+        @SuppressWarnings("unchecked")
+        private Response<T> fromCache() {
+            final Entry entry = lookup(key(mDelegate.request()));
+            if (entry == null) {
+                mMisses.incrementAndGet();
+                return null;
+            }
+
+            mHits.incrementAndGet();
+            if (mTicker.read() - entry.refreshAt >= 0 && entry.refreshing.compareAndSet(false, true)) {
+                refresh((Call<T>) entry.source, entry);
+            }
+            return (Response<T>) entry.response;
+        }
+
+        private void refresh(Call<T> source, Entry entry) {
+            mRefreshes.incrementAndGet();
+            final Call<T> call = source.clone();
+            final long height = mHeight;
+            call.enqueue(new Callback<T>() {
+                @Override
+                public void onResponse(@Nonnull Call<T> c, @Nonnull Response<T> response) {
+                    if (!toCache(call, response, height)) {
+                        entry.refreshing.set(false);
+                    }
+                }
+
+                @Override
+                public void onFailure(@Nonnull Call<T> c, @Nonnull Throwable t) {
+                    // try again on next read, old value lives until expiration
+                    entry.refreshing.set(false);
+                }
+            });
+        }
+
+        private boolean toCache(Call<T> source, Response<T> response, long height) {
+            if (!response.isSuccessful()) {
+                return false;
+            }
+            final Request request = source.request();
+            final String path = request.url().encodedPath();
+            final Long override = mTtlOverrides.get(path);
+            final long ttl;
+            if (override != null) {
+                ttl = override;
+            } else if (mOptions.ttl() >= 0) {
+                ttl = TimeUnit.SECONDS.toNanos(mOptions.ttl());
+            } else {
+                ttl = TimeUnit.SECONDS.toNanos(mOptions.perBlock() ? DEFAULT_BLOCK_TTL : DEFAULT_TTL);
+            }
+            store(key(request), new Entry(response, source, path, mOptions.perBlock(), height, ttl, mRefreshAhead, mTicker.read()));
+            return true;
+        }
+    }
+
+    /**
+     * Reports height from successful responses of delegate, cached responses never get here
+     */
+    private final class HeightCall<T> implements Call<T> {
+        private final Call<T> mDelegate;
+        private final HeightReader mReader;
+
+        HeightCall(Call<T> delegate, HeightReader reader) {
+            mDelegate = delegate;
+            mReader = reader;
+        }
+
+        @Override
+        public Response<T> execute() throws IOException {
+            final Response<T> response = mDelegate.execute();
+            report(response);
+            return response;
+        }
+
+        @Override
+        public void enqueue(@Nonnull Callback<T> callback) {
+            mDelegate.enqueue(new Callback<T>() {
+                @Override
+                public void onResponse(@Nonnull Call<T> call, @Nonnull Response<T> response) {
+                    report(response);
+                    callback.onResponse(HeightCall.this, response);
+                }
+
+                @Override
+                public void onFailure(@Nonnull Call<T> call, @Nonnull Throwable t) {
+                    callback.onFailure(HeightCall.this, t);
+                }
+            });
+        }
+
+        @Override
+        public boolean isExecuted() {
+            return mDelegate.isExecuted();
+        }
+
+        @Override
+        public void cancel() {
+            mDelegate.cancel();
+        }
+
+        @Override
+        public boolean isCanceled() {
+            return mDelegate.isCanceled();
+        }
+
+        @SuppressWarnings("MethodDoesntCallSuperMethod")
+        @Override
+        public Call<T> clone() {
+            return new HeightCall<>(mDelegate.clone(), mReader);
+        }
+
+        @Override
+        public Request request() {
+            return mDelegate.request();
+        }
+
+        @Override
+        public Timeout timeout() {
+            return mDelegate.timeout();
+        }
+
+        private void report(Response<T> response) {
+            if (response.isSuccessful() && response.body() != null) {
+                onBlock(mReader.read(response.body()));
+            }
+        }
+    }
+}
@@ -26,19 +26,8 @@
 
 package network.minter.core.internal.api.converters;
 
-import com.google.gson.JsonDeserializationContext;
-import com.google.gson.JsonDeserializer;
-import com.google.gson.JsonElement;
-import com.google.gson.JsonParseException;
-import com.google.gson.JsonPrimitive;
-import com.google.gson.JsonSerializationContext;
-import com.google.gson.JsonSerializer;
-
-import java.lang.reflect.Type;
-
 import network.minter.core.crypto.BytesData;
-import network.minter.core.internal.helpers.StringHelper;
-import network.minter.core.internal.log.Mint;
+import network.minter.core.internal.helpers.HexCodec;
 
 import static network.minter.core.MinterSDK.PREFIX_ADDRESS;
 import static network.minter.core.MinterSDK.PREFIX_CHECK;
@@ -49,38 +38,26 @@ import static network.minter.core.MinterSDK.PREFIX_TX;
  * minter-android-core. 2019
  * @author Eduard Maximovich <edward.vstock@gmail.com>
  */
-public class BytesDataJsonConverter implements JsonDeserializer<BytesData>, JsonSerializer<BytesData> {
-    @Override
-    public BytesData deserialize(JsonElement json, Type typeOfT, JsonDeserializationContext context)
-            throws JsonParseException {
-        String s;
-        try {
-            s = json.getAsString();
-        } catch (Exception e) {
-            Mint.e("Unable to deserialize BytesData: %s", json.toString());
-            s = null;
-        }
+public class BytesDataJsonConverter extends HexJsonConverter<BytesData> {
 
-        if (s == null) {
-            return null;
-        }
+    public BytesDataJsonConverter() {
+        super(null);
+    }
 
-        if (s.length() > 2) {
-            final String pref = s.substring(0, 2);
-            if (pref.equals(PREFIX_ADDRESS) || pref.equals(PREFIX_CHECK) || pref.equals(PREFIX_PUBLIC_KEY) || pref.equals(PREFIX_TX)) {
-                s = s.substring(2);
-            }
+    @Override
+    protected BytesData fromString(String value) {
+        int from = 0;
+        if (value.length() > 2 && (value.startsWith(PREFIX_ADDRESS) || value.startsWith(PREFIX_CHECK) || value.startsWith(PREFIX_PUBLIC_KEY) || value.startsWith(PREFIX_TX))) {
+            from = 2;
+        }
+        if (value.startsWith("0x", from)) {
+            from += 2;
         }
 
-        if (!s.matches(StringHelper.HEX_NUM_PATTERN)) {
+        if (value.length() - from < 2 || !HexCodec.isHex(value, from, value.length())) {
             return null;
         }
 
-        return new BytesData(json.getAsString());
-    }
-
-    @Override
-    public JsonElement serialize(BytesData src, Type typeOfSrc, JsonSerializationContext context) {
-        return new JsonPrimitive(src.toHexString());
+        return new BytesData(value);
     }
 }
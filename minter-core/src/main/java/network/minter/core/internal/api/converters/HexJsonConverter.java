@@ -0,0 +1,106 @@
+/*
+ * Copyright (C) by MinterTeam. 2019
+ * @link <a href="https://github.com/MinterTeam">Org Github</a>
+ * @link <a href="https://github.com/edwardstock">Maintainer Github</a>
+ *
+ * The MIT License
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package network.minter.core.internal.api.converters;
+
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+
+import network.minter.core.crypto.BytesData;
+import network.minter.core.internal.log.Mint;
+
+/**
+ * minter-android-core. 2019
+ * <p>
+ * Base of hex-string adapters: reads string token and writes prefix with hex digits built in one buffer, without
+ * {@link com.google.gson.JsonElement} in between. Validation is done by {@link network.minter.core.internal.helpers.HexCodec},
+ * invalid strings and non-string values are read as null. Subclasses can share equal values through {@link #getPool()}.
+ *
+ * @author Eduard Maximovich <edward.vstock@gmail.com>
+ */
+public abstract class HexJsonConverter<T extends BytesData> extends TypeAdapter<T> {
+    private final String mPrefix;
+
+    /**
+     * @param prefix written prefix, or null to write plain hex
+     */
+    protected HexJsonConverter(String prefix) {
+        mPrefix = prefix;
+    }
+
+    @Override
+    public void write(JsonWriter out, T value) throws IOException {
+        if (value == null) {
+            out.nullValue();
+            return;
+        }
+        out.value(value.toHexString(mPrefix, false));
+    }
+
+    @Override
+    public T read(JsonReader in) throws IOException {
+        final JsonToken token = in.peek();
+        if (token == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        if (token != JsonToken.STRING && token != JsonToken.NUMBER) {
+            Mint.e("Unable to deserialize hex string from %s at %s", token, in.getPath());
+            in.skipValue();
+            return null;
+        }
+
+        final String value = in.nextString();
+        final InternPool<T> pool = getPool();
+        if (pool == null) {
+            return fromString(value);
+        }
+
+        final T pooled = pool.get(value);
+        if (pooled != null) {
+            return pooled;
+        }
+        return pool.intern(value, fromString(value));
+    }
+
+    /**
+     * @return pool of shared values or null to create new object for every value. Default: null
+     * @see InternPools
+     */
+    protected InternPool<T> getPool() {
+        return null;
+    }
+
+    /**
+     * @param value json string
+     * @return object or null if value has invalid format
+     */
+    protected abstract T fromString(String value);
+}
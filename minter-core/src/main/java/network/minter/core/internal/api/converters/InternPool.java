@@ -0,0 +1,133 @@
+/*
+ * Copyright (C) by MinterTeam. 2019
+ * @link <a href="https://github.com/MinterTeam">Org Github</a>
+ * @link <a href="https://github.com/edwardstock">Maintainer Github</a>
+ *
+ * The MIT License
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package network.minter.core.internal.api.converters;
+
+import java.lang.ref.WeakReference;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static network.minter.core.internal.common.Preconditions.checkArgument;
+
+/**
+ * minter-android-core. 2019
+ * <p>
+ * Bounded pool of shared immutable-by-contract values, keyed by their source string (usually json value).
+ * Values are weakly referenced: entry doesn't keep object alive, so pool never holds memory the app doesn't use.
+ * When pool is full, least recently used entry is evicted.
+ * <p>
+ * Pooled objects are shared between all parsed models, so don't modify them.
+ *
+ * @author Eduard Maximovich <edward.vstock@gmail.com>
+ */
+public final class InternPool<T> {
+    private final int mMaxEntries;
+    private final LinkedHashMap<String, WeakReference<T>> mEntries;
+    private final AtomicLong mHits = new AtomicLong(0);
+    private final AtomicLong mMisses = new AtomicLong(0);
+
+    /**
+     * @param maxEntries max count of kept values
+     */
+    public InternPool(int maxEntries) {
+        checkArgument(maxEntries > 0, "Max entries must be greater than 0");
+        mMaxEntries = maxEntries;
+        mEntries = new LinkedHashMap<String, WeakReference<T>>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, WeakReference<T>> eldest) {
+                return size() > mMaxEntries;
+            }
+        };
+    }
+
+    /**
+     * @param key source string
+     * @return pooled value or null if there is no value or it was collected
+     */
+    public T get(String key) {
+        if (key == null) {
+            return null;
+        }
+        synchronized (mEntries) {
+            final WeakReference<T> ref = mEntries.get(key);
+            final T value = ref == null ? null : ref.get();
+            if (value == null) {
+                if (ref != null) {
+                    mEntries.remove(key);
+                }
+                mMisses.incrementAndGet();
+                return null;
+            }
+            mHits.incrementAndGet();
+            return value;
+        }
+    }
+
+    /**
+     * @param key source string
+     * @param value parsed value
+     * @return already pooled value with the same key, or given value which is pooled now
+     */
+    public T intern(String key, T value) {
+        if (key == null || value == null) {
+            return value;
+        }
+        synchronized (mEntries) {
+            final WeakReference<T> ref = mEntries.get(key);
+            final T existing = ref == null ? null : ref.get();
+            if (existing != null) {
+                return existing;
+            }
+            mEntries.put(key, new WeakReference<>(value));
+            return value;
+        }
+    }
+
+    public int size() {
+        synchronized (mEntries) {
+            return mEntries.size();
+        }
+    }
+
+    public int getMaxEntries() {
+        return mMaxEntries;
+    }
+
+    public long getHits() {
+        return mHits.get();
+    }
+
+    public long getMisses() {
+        return mMisses.get();
+    }
+
+    public void clear() {
+        synchronized (mEntries) {
+            mEntries.clear();
+        }
+    }
+}
@@ -0,0 +1,105 @@
+/*
+ * Copyright (C) by MinterTeam. 2019
+ * @link <a href="https://github.com/MinterTeam">Org Github</a>
+ * @link <a href="https://github.com/edwardstock">Maintainer Github</a>
+ *
+ * The MIT License
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package network.minter.core.internal.api.converters;
+
+import javax.annotation.Nullable;
+
+import network.minter.core.crypto.MinterAddress;
+import network.minter.core.crypto.MinterPublicKey;
+
+/**
+ * minter-android-core. 2019
+ * <p>
+ * Shared pools of frequently repeated values: addresses, validator public keys and coin symbols. Json converters
+ * and streaming adapters take values from these pools, so equal values of all parsed models are the same object.
+ * <p>
+ * Disabled by default. Don't enable it if you modify parsed addresses or public keys in place.
+ *
+ * @author Eduard Maximovich <edward.vstock@gmail.com>
+ */
+public final class InternPools {
+    public static final int DEFAULT_ADDRESSES_SIZE = 4096;
+    public static final int DEFAULT_PUBLIC_KEYS_SIZE = 1024;
+    public static final int DEFAULT_SYMBOLS_SIZE = 1024;
+
+    private static final InternPool<MinterAddress> sAddresses = new InternPool<>(DEFAULT_ADDRESSES_SIZE);
+    private static final InternPool<MinterPublicKey> sPublicKeys = new InternPool<>(DEFAULT_PUBLIC_KEYS_SIZE);
+    private static final InternPool<String> sSymbols = new InternPool<>(DEFAULT_SYMBOLS_SIZE);
+    private static volatile boolean sEnabled = false;
+
+    private InternPools() {
+    }
+
+    public static boolean isEnabled() {
+        return sEnabled;
+    }
+
+    /**
+     * Enable or disable interning. Disabling also clears pools
+     * @param enabled true to enable
+     */
+    public static void setEnabled(boolean enabled) {
+        sEnabled = enabled;
+        if (!enabled) {
+            clear();
+        }
+    }
+
+    /**
+     * @return addresses pool or null if interning is disabled
+     */
+    @Nullable
+    public static InternPool<MinterAddress> addresses() {
+        return sEnabled ? sAddresses : null;
+    }
+
+    /**
+     * @return public keys pool or null if interning is disabled
+     */
+    @Nullable
+    public static InternPool<MinterPublicKey> publicKeys() {
+        return sEnabled ? sPublicKeys : null;
+    }
+
+    /**
+     * @param symbol coin symbol, can be null
+     * @return pooled equal string if interning is enabled, otherwise the same string
+     */
+    public static String symbol(String symbol) {
+        if (!sEnabled || symbol == null) {
+            return symbol;
+        }
+        final String pooled = sSymbols.get(symbol);
+        return pooled != null ? pooled : sSymbols.intern(symbol, symbol);
+    }
+
+    public static void clear() {
+        sAddresses.clear();
+        sPublicKeys.clear();
+        sSymbols.clear();
+    }
+}
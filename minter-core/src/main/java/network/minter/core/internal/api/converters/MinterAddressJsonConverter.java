@@ -26,42 +26,31 @@
 
 package network.minter.core.internal.api.converters;
 
-import com.google.gson.JsonDeserializationContext;
-import com.google.gson.JsonDeserializer;
-import com.google.gson.JsonElement;
-import com.google.gson.JsonParseException;
-import com.google.gson.JsonPrimitive;
-import com.google.gson.JsonSerializationContext;
-import com.google.gson.JsonSerializer;
-
-import java.lang.reflect.Type;
-
+import network.minter.core.MinterSDK;
 import network.minter.core.crypto.MinterAddress;
+import network.minter.core.internal.helpers.HexCodec;
 
 /**
  * minter-android-core. 2019
  * @author Eduard Maximovich <edward.vstock@gmail.com>
  */
-public class MinterAddressJsonConverter implements JsonDeserializer<MinterAddress>, JsonSerializer<MinterAddress> {
-    @Override
-    public MinterAddress deserialize(JsonElement json, Type typeOfT, JsonDeserializationContext context)
-            throws JsonParseException {
+public class MinterAddressJsonConverter extends HexJsonConverter<MinterAddress> {
 
-        if (json.isJsonNull()) {
-            return null;
-        }
-
-        String val = json.getAsString();
+    public MinterAddressJsonConverter() {
+        super(MinterSDK.PREFIX_ADDRESS);
+    }
 
-        try {
-            return new MinterAddress(val);
-        } catch (IllegalArgumentException e) {
+    @Override
+    protected MinterAddress fromString(String value) {
+        if (!HexCodec.test(value, MinterSDK.PREFIX_ADDRESS, 20)) {
             return null;
         }
+
+        return new MinterAddress(value);
     }
 
     @Override
-    public JsonElement serialize(MinterAddress src, Type typeOfSrc, JsonSerializationContext context) {
-        return new JsonPrimitive(src.toString());
+    protected InternPool<MinterAddress> getPool() {
+        return InternPools.addresses();
     }
 }
@@ -26,44 +26,26 @@
 
 package network.minter.core.internal.api.converters;
 
-import com.google.gson.JsonDeserializationContext;
-import com.google.gson.JsonDeserializer;
-import com.google.gson.JsonElement;
-import com.google.gson.JsonParseException;
-import com.google.gson.JsonPrimitive;
-import com.google.gson.JsonSerializationContext;
-import com.google.gson.JsonSerializer;
-
-import java.lang.reflect.Type;
-
+import network.minter.core.MinterSDK;
 import network.minter.core.crypto.MinterCheck;
+import network.minter.core.internal.helpers.HexCodec;
 
 /**
  * minter-android-core. 2019
  * @author Eduard Maximovich <edward.vstock@gmail.com>
  */
-public class MinterCheckJsonConverter implements JsonDeserializer<MinterCheck>, JsonSerializer<MinterCheck> {
-
-    @Override
-    public MinterCheck deserialize(JsonElement json, Type typeOfT, JsonDeserializationContext context)
-            throws JsonParseException {
-
-        if (json.isJsonNull()) {
-            return null;
-        }
+public class MinterCheckJsonConverter extends HexJsonConverter<MinterCheck> {
 
-        String val = json.getAsString();
+    public MinterCheckJsonConverter() {
+        super(MinterSDK.PREFIX_CHECK);
+    }
 
-        if (!val.matches(MinterCheck.PATTERN)) {
+    @Override
+    protected MinterCheck fromString(String value) {
+        if (!HexCodec.test(value, MinterSDK.PREFIX_CHECK, -1)) {
             return null;
         }
 
-        return new MinterCheck(val);
-
-    }
-
-    @Override
-    public JsonElement serialize(MinterCheck src, Type typeOfSrc, JsonSerializationContext context) {
-        return new JsonPrimitive(src.toString());
+        return new MinterCheck(value);
     }
 }
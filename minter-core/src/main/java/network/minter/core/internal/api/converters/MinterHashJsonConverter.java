@@ -26,43 +26,26 @@
 
 package network.minter.core.internal.api.converters;
 
-import com.google.gson.JsonDeserializationContext;
-import com.google.gson.JsonDeserializer;
-import com.google.gson.JsonElement;
-import com.google.gson.JsonParseException;
-import com.google.gson.JsonPrimitive;
-import com.google.gson.JsonSerializationContext;
-import com.google.gson.JsonSerializer;
-
-import java.lang.reflect.Type;
-
+import network.minter.core.MinterSDK;
 import network.minter.core.crypto.MinterHash;
+import network.minter.core.internal.helpers.HexCodec;
 
 /**
  * minter-android-core. 2019
  * @author Eduard Maximovich <edward.vstock@gmail.com>
  */
-public class MinterHashJsonConverter implements JsonDeserializer<MinterHash>, JsonSerializer<MinterHash> {
-    @Override
-    public MinterHash deserialize(JsonElement json, Type typeOfT, JsonDeserializationContext context)
-            throws JsonParseException {
-
-        if (json.isJsonNull()) {
-            return null;
-        }
+public class MinterHashJsonConverter extends HexJsonConverter<MinterHash> {
 
-        String val = json.getAsString();
+    public MinterHashJsonConverter() {
+        super(MinterSDK.PREFIX_TX);
+    }
 
-        if (!val.matches(MinterHash.TX_HASH_PATTERN)) {
+    @Override
+    protected MinterHash fromString(String value) {
+        if (!HexCodec.test(value, MinterSDK.PREFIX_TX, -1)) {
             return null;
         }
 
-        return new MinterHash(val);
-
-    }
-
-    @Override
-    public JsonElement serialize(MinterHash src, Type typeOfSrc, JsonSerializationContext context) {
-        return new JsonPrimitive(src.toString());
+        return new MinterHash(value);
     }
 }
@@ -26,44 +26,31 @@
 
 package network.minter.core.internal.api.converters;
 
-import com.google.gson.JsonDeserializationContext;
-import com.google.gson.JsonDeserializer;
-import com.google.gson.JsonElement;
-import com.google.gson.JsonParseException;
-import com.google.gson.JsonPrimitive;
-import com.google.gson.JsonSerializationContext;
-import com.google.gson.JsonSerializer;
-
-import java.lang.reflect.Type;
-
+import network.minter.core.MinterSDK;
 import network.minter.core.crypto.MinterPublicKey;
+import network.minter.core.internal.helpers.HexCodec;
 
 /**
  * minter-android-core. 2019
  * @author Eduard Maximovich <edward.vstock@gmail.com>
  */
-public class MinterPublicKeyJsonConverter implements JsonDeserializer<MinterPublicKey>, JsonSerializer<MinterPublicKey> {
-
-    @Override
-    public MinterPublicKey deserialize(JsonElement json, Type typeOfT, JsonDeserializationContext context)
-            throws JsonParseException {
-
-        if (json.isJsonNull()) {
-            return null;
-        }
+public class MinterPublicKeyJsonConverter extends HexJsonConverter<MinterPublicKey> {
 
-        String val = json.getAsString();
+    public MinterPublicKeyJsonConverter() {
+        super(MinterSDK.PREFIX_PUBLIC_KEY);
+    }
 
-        if (!val.matches(MinterPublicKey.PUB_KEY_PATTERN)) {
+    @Override
+    protected MinterPublicKey fromString(String value) {
+        if (!HexCodec.test(value, MinterSDK.PREFIX_PUBLIC_KEY, 32)) {
             return null;
         }
 
-        return new MinterPublicKey(val);
-
+        return new MinterPublicKey(value);
     }
 
     @Override
-    public JsonElement serialize(MinterPublicKey src, Type typeOfSrc, JsonSerializationContext context) {
-        return new JsonPrimitive(src.toString());
+    protected InternPool<MinterPublicKey> getPool() {
+        return InternPools.publicKeys();
     }
 }
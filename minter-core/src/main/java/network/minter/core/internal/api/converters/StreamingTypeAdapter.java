@@ -0,0 +1,173 @@
+/*
+ * Copyright (C) by MinterTeam. 2019
+ * @link <a href="https://github.com/MinterTeam">Org Github</a>
+ * @link <a href="https://github.com/edwardstock">Maintainer Github</a>
+ *
+ * The MIT License
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package network.minter.core.internal.api.converters;
+
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+
+import static network.minter.core.internal.common.Preconditions.checkNotNull;
+
+/**
+ * minter-android-core. 2019
+ * <p>
+ * Base of hand-written adapters that read object fields straight from {@link JsonReader} without building
+ * {@link com.google.gson.JsonElement} tree. Unknown fields are skipped. Writing is done by delegate
+ * (usually reflective adapter from {@link com.google.gson.Gson#getDelegateAdapter}).
+ * <p>
+ * Tree-based adapters of the same type should give way to it, see {@link #isStreaming(TypeAdapter)}
+ *
+ * @author Eduard Maximovich <edward.vstock@gmail.com>
+ */
+public abstract class StreamingTypeAdapter<T> extends TypeAdapter<T> {
+    private final TypeAdapter<T> mWriteDelegate;
+
+    protected StreamingTypeAdapter(TypeAdapter<T> writeDelegate) {
+        mWriteDelegate = checkNotNull(writeDelegate, "Write delegate required");
+    }
+
+    /**
+     * @param adapter any adapter
+     * @return true if adapter reads json without building tree
+     */
+    public static boolean isStreaming(TypeAdapter<?> adapter) {
+        return adapter instanceof StreamingTypeAdapter;
+    }
+
+    /**
+     * @param in reader
+     * @return string value, numbers and booleans as strings, or null
+     * @throws IOException
+     */
+    protected static String nextString(JsonReader in) throws IOException {
+        final JsonToken token = in.peek();
+        if (token == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        if (token == JsonToken.BOOLEAN) {
+            return Boolean.toString(in.nextBoolean());
+        }
+        return in.nextString();
+    }
+
+    /**
+     * @param in reader
+     * @return coin symbol or null, shared with equal symbols if {@link InternPools} is enabled
+     * @throws IOException
+     */
+    protected static String nextSymbol(JsonReader in) throws IOException {
+        return InternPools.symbol(nextString(in));
+    }
+
+    /**
+     * @param in reader
+     * @param defaultValue value for json null
+     * @return number or quoted number
+     * @throws IOException
+     */
+    protected static long nextLong(JsonReader in, long defaultValue) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return defaultValue;
+        }
+        return in.nextLong();
+    }
+
+    /**
+     * @param in reader
+     * @param defaultValue value for json null
+     * @return number or quoted number
+     * @throws IOException
+     */
+    protected static int nextInt(JsonReader in, int defaultValue) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return defaultValue;
+        }
+        return in.nextInt();
+    }
+
+    /**
+     * @param in reader
+     * @param defaultValue value for json null
+     * @return boolean, also accepts "true"/"false" strings
+     * @throws IOException
+     */
+    protected static boolean nextBoolean(JsonReader in, boolean defaultValue) throws IOException {
+        final JsonToken token = in.peek();
+        if (token == JsonToken.NULL) {
+            in.nextNull();
+            return defaultValue;
+        }
+        if (token == JsonToken.STRING) {
+            return Boolean.parseBoolean(in.nextString());
+        }
+        return in.nextBoolean();
+    }
+
+    @Override
+    public void write(JsonWriter out, T value) throws IOException {
+        mWriteDelegate.write(out, value);
+    }
+
+    @Override
+    public T read(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+
+        final T out = create();
+        in.beginObject();
+        while (in.hasNext()) {
+            if (!readField(in, in.nextName(), out)) {
+                in.skipValue();
+            }
+        }
+        in.endObject();
+        return out;
+    }
+
+    /**
+     * @return new empty model
+     */
+    protected abstract T create();
+
+    /**
+     * Read field value
+     * @param in reader, positioned at field value
+     * @param name field name
+     * @param out target model
+     * @return false if field is unknown and should be skipped
+     * @throws IOException
+     */
+    protected abstract boolean readField(JsonReader in, String name, T out) throws IOException;
+}
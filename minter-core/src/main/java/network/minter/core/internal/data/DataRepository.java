@@ -26,12 +26,18 @@
 
 package network.minter.core.internal.data;
 
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.CompletableFuture;
+
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 
 import network.minter.core.internal.api.ApiService;
+import network.minter.core.internal.api.CallFuture;
 import network.minter.core.internal.common.Lazy;
 import network.minter.core.internal.common.LazyMem;
+import retrofit2.Call;
 
 import static network.minter.core.internal.common.Preconditions.checkNotNull;
 
@@ -41,8 +47,11 @@ import static network.minter.core.internal.common.Preconditions.checkNotNull;
  * @author Eduard Maximovich <edward.vstock@gmail.com>
  */
 public abstract class DataRepository<Service> {
+    private final static Object NO_CONFIGURATOR = new Object();
     private final ApiService.Builder mApi;
     private final Lazy<Service> mService;
+    // weak keys: capturing lambdas are new instances on every call, so they should not stay here forever
+    private final Map<Object, CachedService<Service>> mServiceCache = new WeakHashMap<>();
 
     public DataRepository(@Nonnull final ApiService.Builder apiBuilder) {
         mApi = checkNotNull(apiBuilder, "Api client required");
@@ -64,7 +73,8 @@ public abstract class DataRepository<Service> {
     }
 
     /**
-     * Creates and returns newly created endpoint service
+     * Returns endpoint service. If {@link ApiService.Builder#isCacheServices()} enabled, service built once and reused,
+     * otherwise creates new one on every call
      *
      * @return
      */
@@ -73,13 +83,66 @@ public abstract class DataRepository<Service> {
         return getInstantService(null);
     }
 
+    /**
+     * Returns endpoint service configured by given configurator.
+     * Cached services are keyed by configurator instance, so the same configurator (repository itself or non-capturing lambda)
+     * gives the same service until {@link ApiService.Builder} will be changed or {@link #invalidateServices()} called.
+     * @param cfg configurator or null
+     * @return endpoint service
+     */
     @Nonnull
     public Service getInstantService(@Nullable Configurator cfg) {
+        if (cfg == null && this instanceof Configurator) {
+            return getInstantService(((Configurator) this));
+        }
+
+        if (!mApi.isCacheServices()) {
+            return buildService(cfg);
+        }
+
+        final Object key = cfg == null ? NO_CONFIGURATOR : cfg;
+        final int generation = mApi.getGeneration();
+        synchronized (mServiceCache) {
+            final CachedService<Service> cached = mServiceCache.get(key);
+            if (cached != null && cached.generation == generation) {
+                return cached.service;
+            }
+        }
+
+        // building outside of lock, worst case is the same service will be built twice
+        final Service service = buildService(cfg);
+        synchronized (mServiceCache) {
+            mServiceCache.put(key, new CachedService<>(service, generation));
+        }
+
+        return service;
+    }
+
+    /**
+     * Drop all cached services of this repository. Next request will build new http client and endpoint service
+     */
+    public void invalidateServices() {
+        synchronized (mServiceCache) {
+            mServiceCache.clear();
+        }
+    }
+
+    /**
+     * Enqueues call to OkHttp dispatcher without blocking current thread
+     * @param call not executed call
+     * @param <T> response body type
+     * @return future of response body, cancelling it cancels the call
+     * @see CallFuture
+     */
+    @Nonnull
+    protected static <T> CompletableFuture<T> async(@Nonnull Call<T> call) {
+        return CallFuture.enqueue(call);
+    }
+
+    private Service buildService(@Nullable Configurator cfg) {
         final ApiService.Builder b = mApi.clone();
         if (cfg != null) {
             cfg.configure(b);
-        } else if (this instanceof Configurator) {
-            return getInstantService(((Configurator) this));
         }
 
         return b.build().create(getServiceClass());
@@ -138,4 +201,14 @@ public abstract class DataRepository<Service> {
     public interface Configurator {
         void configure(ApiService.Builder api);
     }
+
+    private final static class CachedService<Service> {
+        final Service service;
+        final int generation;
+
+        CachedService(Service service, int generation) {
+            this.service = service;
+            this.generation = generation;
+        }
+    }
 }
@@ -158,6 +158,30 @@ public class BytesHelper {
 		return biArr;
 	}
 
+	/**
+	 * @param input data
+	 * @return count of leading zero bytes, the same as data length if all bytes are zero
+	 */
+	public static int countLeadingZeroes(char[] input) {
+		int i = 0;
+		while (i < input.length && input[i] == 0x00) {
+			i++;
+		}
+		return i;
+	}
+
+	/**
+	 * @param input data
+	 * @return count of leading zero bytes, the same as data length if all bytes are zero
+	 */
+	public static int countLeadingZeroes(byte[] input) {
+		int i = 0;
+		while (i < input.length && input[i] == 0x00) {
+			i++;
+		}
+		return i;
+	}
+
 	public static char[] dropLeadingZeroes(char[] input) {
 		if (input == null || input.length == 0) {
 			return input;
@@ -0,0 +1,310 @@
+/*
+ * Copyright (C) by MinterTeam. 2019
+ * @link <a href="https://github.com/MinterTeam">Org Github</a>
+ * @link <a href="https://github.com/edwardstock">Maintainer Github</a>
+ *
+ * The MIT License
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package network.minter.core.internal.helpers;
+
+import network.minter.core.MinterSDK;
+
+/**
+ * minter-android-core. 2019
+ * <p>
+ * Table-driven hex encoder/decoder. Knows Minter prefixes ({@code Mx}, {@code Mt}, {@code Mp}, {@code Mc}, also
+ * with lowercase "m") and {@code 0x}, skips them by index without regex and substrings.
+ *
+ * @author Eduard Maximovich <edward.vstock@gmail.com>
+ */
+public final class HexCodec {
+    // two chars for every byte value
+    private static final char[] PAIRS_LOWER = new char[512];
+    private static final char[] PAIRS_UPPER = new char[512];
+    // ascii char to nibble, -1 for non hex
+    private static final byte[] NIBBLES = new byte[128];
+    private static final String[] MINTER_PREFIXES = {
+            MinterSDK.PREFIX_ADDRESS,
+            MinterSDK.PREFIX_TX,
+            MinterSDK.PREFIX_PUBLIC_KEY,
+            MinterSDK.PREFIX_CHECK
+    };
+
+    static {
+        final char[] lower = "0123456789abcdef".toCharArray();
+        final char[] upper = "0123456789ABCDEF".toCharArray();
+        for (int i = 0; i < 256; i++) {
+            PAIRS_LOWER[i << 1] = lower[i >>> 4];
+            PAIRS_LOWER[(i << 1) + 1] = lower[i & 0x0F];
+            PAIRS_UPPER[i << 1] = upper[i >>> 4];
+            PAIRS_UPPER[(i << 1) + 1] = upper[i & 0x0F];
+        }
+        for (int i = 0; i < NIBBLES.length; i++) {
+            NIBBLES[i] = -1;
+        }
+        for (int i = 0; i < 16; i++) {
+            NIBBLES[lower[i]] = (byte) i;
+            NIBBLES[upper[i]] = (byte) i;
+        }
+    }
+
+    private HexCodec() {
+    }
+
+    /**
+     * @param c char
+     * @return nibble value or -1 if char is not a hex digit
+     */
+    public static int nibble(char c) {
+        return c < 128 ? NIBBLES[c] : -1;
+    }
+
+    /**
+     * @param s input
+     * @param prefix prefix, for example {@link MinterSDK#PREFIX_ADDRESS}
+     * @return true if input starts with prefix or with it's lowercase variant (Mx or mx)
+     */
+    public static boolean hasPrefix(CharSequence s, String prefix) {
+        if (s.length() < prefix.length()) {
+            return false;
+        }
+        boolean exact = true;
+        boolean lower = true;
+        for (int i = 0; i < prefix.length(); i++) {
+            final char p = prefix.charAt(i);
+            final char c = s.charAt(i);
+            exact &= c == p;
+            lower &= c == Character.toLowerCase(p);
+        }
+        return exact || lower;
+    }
+
+    /**
+     * @param s input
+     * @return length of leading Minter prefix (Mx, Mt, Mp, Mc) plus length of following "0x", if any
+     */
+    public static int prefixLength(CharSequence s) {
+        int len = 0;
+        for (String prefix : MINTER_PREFIXES) {
+            if (hasPrefix(s, prefix)) {
+                len = prefix.length();
+                break;
+            }
+        }
+        if (s.length() >= len + 2 && s.charAt(len) == '0' && s.charAt(len + 1) == 'x') {
+            len += 2;
+        }
+        return len;
+    }
+
+    /**
+     * @param s input
+     * @param from start index, inclusive
+     * @param to end index, exclusive
+     * @return true if every char in range is a hex digit
+     */
+    public static boolean isHex(CharSequence s, int from, int to) {
+        for (int i = from; i < to; i++) {
+            final char c = s.charAt(i);
+            if (c >= 128 || NIBBLES[c] < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Regex-free replacement of Minter patterns: optional prefix (or it's lowercase variant) and hex digits
+     * @param s input, can be null
+     * @param prefix expected prefix
+     * @param bytesLength exact data length in bytes, or -1 to accept any non-empty count of hex digits
+     * @return true if input matches
+     */
+    public static boolean test(CharSequence s, String prefix, int bytesLength) {
+        if (s == null) {
+            return false;
+        }
+        final int from = hasPrefix(s, prefix) ? prefix.length() : 0;
+        final int len = s.length() - from;
+        if (bytesLength < 0 ? len == 0 : len != bytesLength * 2) {
+            return false;
+        }
+        return isHex(s, from, s.length());
+    }
+
+    /**
+     * Decode range of hex digits. Odd last digit is ignored, non-hex chars are decoded as -1 nibble, like
+     * {@link Character#digit(char, int)} does
+     * @param s input
+     * @param from start index, inclusive
+     * @param to end index, exclusive
+     * @param out destination, must fit {@code (to - from) / 2} bytes after offset
+     * @param off destination offset
+     * @return decoded bytes count
+     */
+    public static int decode(CharSequence s, int from, int to, byte[] out, int off) {
+        final int n = (to - from) >>> 1;
+        for (int i = 0, p = from; i < n; i++, p += 2) {
+            out[off + i] = (byte) ((nibble(s.charAt(p)) << 4) + nibble(s.charAt(p + 1)));
+        }
+        return n;
+    }
+
+    /**
+     * @param s hex string with or without prefix
+     * @return decoded bytes, empty array for null or empty input
+     */
+    public static byte[] decode(CharSequence s) {
+        if (s == null || s.length() == 0) {
+            return new byte[0];
+        }
+        final int from = prefixLength(s);
+        final byte[] out = new byte[(s.length() - from) >>> 1];
+        decode(s, from, s.length(), out, 0);
+        return out;
+    }
+
+    /**
+     * @param s hex string with or without prefix
+     * @return decoded bytes, one char per byte
+     */
+    public static char[] decodeChars(CharSequence s) {
+        if (s == null || s.length() == 0) {
+            return new char[0];
+        }
+        final int from = prefixLength(s);
+        final char[] out = new char[(s.length() - from) >>> 1];
+        for (int i = 0, p = from; i < out.length; i++, p += 2) {
+            out[i] = (char) ((nibble(s.charAt(p)) << 4) + nibble(s.charAt(p + 1)));
+        }
+        return out;
+    }
+
+    /**
+     * @param s hex string with or without prefix
+     * @return decoded bytes, one int per byte
+     */
+    public static int[] decodeInts(CharSequence s) {
+        if (s == null || s.length() == 0) {
+            return new int[0];
+        }
+        final int from = prefixLength(s);
+        final int[] out = new int[(s.length() - from) >>> 1];
+        for (int i = 0, p = from; i < out.length; i++, p += 2) {
+            out[i] = (nibble(s.charAt(p)) << 4) + nibble(s.charAt(p + 1));
+        }
+        return out;
+    }
+
+    /**
+     * @param prefix prefix or null
+     * @param data bytes
+     * @param off data offset
+     * @param len data length
+     * @param uppercase use A-F instead of a-f, prefix is kept as is
+     * @return prefix and hex digits
+     */
+    public static String encode(String prefix, byte[] data, int off, int len, boolean uppercase) {
+        final int pl = prefix == null ? 0 : prefix.length();
+        final char[] out = new char[pl + len * 2];
+        if (pl > 0) {
+            prefix.getChars(0, pl, out, 0);
+        }
+        final char[] pairs = uppercase ? PAIRS_UPPER : PAIRS_LOWER;
+        for (int i = 0, p = pl; i < len; i++, p += 2) {
+            final int v = (data[off + i] & 0xFF) << 1;
+            out[p] = pairs[v];
+            out[p + 1] = pairs[v + 1];
+        }
+        return new String(out);
+    }
+
+    public static String encode(String prefix, byte[] data, boolean uppercase) {
+        return encode(prefix, data, 0, data == null ? 0 : data.length, uppercase);
+    }
+
+    public static String encode(byte[] data, boolean uppercase) {
+        return encode(null, data, uppercase);
+    }
+
+    /**
+     * @param prefix prefix or null
+     * @param data bytes, one per char (only low byte is used)
+     * @param uppercase use A-F instead of a-f, prefix is kept as is
+     * @return prefix and hex digits
+     */
+    public static String encode(String prefix, char[] data, boolean uppercase) {
+        final int pl = prefix == null ? 0 : prefix.length();
+        final int len = data == null ? 0 : data.length;
+        final char[] out = new char[pl + len * 2];
+        if (pl > 0) {
+            prefix.getChars(0, pl, out, 0);
+        }
+        final char[] pairs = uppercase ? PAIRS_UPPER : PAIRS_LOWER;
+        for (int i = 0, p = pl; i < len; i++, p += 2) {
+            final int v = (data[i] & 0xFF) << 1;
+            out[p] = pairs[v];
+            out[p + 1] = pairs[v + 1];
+        }
+        return new String(out);
+    }
+
+    public static String encode(char[] data, boolean uppercase) {
+        return encode(null, data, uppercase);
+    }
+
+    /**
+     * Append hex digits without intermediate string
+     * @param sb target
+     * @param data bytes
+     * @param off data offset
+     * @param len data length
+     * @param uppercase use A-F instead of a-f
+     * @return same builder
+     */
+    public static StringBuilder append(StringBuilder sb, byte[] data, int off, int len, boolean uppercase) {
+        final char[] pairs = uppercase ? PAIRS_UPPER : PAIRS_LOWER;
+        sb.ensureCapacity(sb.length() + len * 2);
+        for (int i = 0; i < len; i++) {
+            final int v = (data[off + i] & 0xFF) << 1;
+            sb.append(pairs[v]).append(pairs[v + 1]);
+        }
+        return sb;
+    }
+
+    /**
+     * Append hex digits without intermediate string
+     * @param sb target
+     * @param data bytes, one per char (only low byte is used)
+     * @param uppercase use A-F instead of a-f
+     * @return same builder
+     */
+    public static StringBuilder append(StringBuilder sb, char[] data, boolean uppercase) {
+        final char[] pairs = uppercase ? PAIRS_UPPER : PAIRS_LOWER;
+        sb.ensureCapacity(sb.length() + data.length * 2);
+        for (char c : data) {
+            final int v = (c & 0xFF) << 1;
+            sb.append(pairs[v]).append(pairs[v + 1]);
+        }
+        return sb;
+    }
+}
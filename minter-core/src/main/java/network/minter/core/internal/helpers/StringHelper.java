@@ -28,7 +28,6 @@ package network.minter.core.internal.helpers;
 
 import java.math.BigDecimal;
 
-import network.minter.core.MinterSDK;
 import network.minter.core.crypto.BytesData;
 
 /**
@@ -39,7 +38,6 @@ import network.minter.core.crypto.BytesData;
 public class StringHelper {
     // 20 byte address with or without prefix
     public static final String HEX_NUM_PATTERN = "^(0x)?([a-fA-F0-9]{2,})$";
-    private final static char[] hexArray = "0123456789ABCDEF".toLowerCase().toCharArray();
 
     public static String strlpad(int size, String input) {
         int offset = size - input.length();
@@ -82,120 +80,23 @@ public class StringHelper {
     }
 
 	public static String charsToHexString(final char[] data, boolean uppercase) {
-		if (data == null || data.length == 0) {
-			return "";
-		}
-
-		int size = data.length;
-		char[] hexChars = new char[data.length * 2];
-		for (int j = 0; j < size; j++) {
-			int v = data[j] & 0xFF;
-			hexChars[j * 2] = hexArray[v >>> 4];
-			hexChars[j * 2 + 1] = hexArray[v & 0x0F];
-		}
-
-		if (uppercase) {
-			return new String(hexChars).toUpperCase();
-		}
-
-		return new String(hexChars);
+		return HexCodec.encode(data, uppercase);
 	}
 
     public static String bytesToHexString(final byte[] data, boolean uppercase) {
-        if (data == null || data.length == 0) {
-            return "";
-        }
-
-        int size = data.length;
-        char[] hexChars = new char[data.length * 2];
-        for (int j = 0; j < size; j++) {
-            int v = data[j] & 0xFF;
-            hexChars[j * 2] = hexArray[v >>> 4];
-            hexChars[j * 2 + 1] = hexArray[v & 0x0F];
-        }
-
-        if (uppercase) {
-            return new String(hexChars).toUpperCase();
-        }
-
-        return new String(hexChars);
+        return HexCodec.encode(data, uppercase);
     }
 
 	public static int[] hexStringToInts(final String s) {
-		if (s == null || s.length() == 0) {
-			return new int[0];
-		}
-
-		String in = s
-				.replace(MinterSDK.PREFIX_ADDRESS, "")
-				.replace(MinterSDK.PREFIX_ADDRESS.toLowerCase(), "")
-				.replace(MinterSDK.PREFIX_CHECK, "")
-				.replace(MinterSDK.PREFIX_CHECK.toLowerCase(), "")
-				.replace(MinterSDK.PREFIX_PUBLIC_KEY, "")
-				.replace(MinterSDK.PREFIX_PUBLIC_KEY.toLowerCase(), "")
-				.replace(MinterSDK.PREFIX_TX, "")
-				.replace(MinterSDK.PREFIX_TX.toLowerCase(), "")
-				.replace("0x", "");
-
-		int len = in.length();
-		int[] data = new int[len / 2];
-		for (int i = 0; i < len; i += 2) {
-			data[i / 2] = ((Character.digit(in.charAt(i), 16) << 4)
-					+ Character.digit(in.charAt(i + 1), 16)
-			);
-		}
-		return data;
+		return HexCodec.decodeInts(s);
 	}
 
     public static byte[] hexStringToBytes(final String s) {
-        if (s == null || s.length() == 0) {
-            return new byte[0];
-        }
-
-        String in = s
-                .replace(MinterSDK.PREFIX_ADDRESS, "")
-                .replace(MinterSDK.PREFIX_ADDRESS.toLowerCase(), "")
-                .replace(MinterSDK.PREFIX_CHECK, "")
-                .replace(MinterSDK.PREFIX_CHECK.toLowerCase(), "")
-                .replace(MinterSDK.PREFIX_PUBLIC_KEY, "")
-                .replace(MinterSDK.PREFIX_PUBLIC_KEY.toLowerCase(), "")
-                .replace(MinterSDK.PREFIX_TX, "")
-                .replace(MinterSDK.PREFIX_TX.toLowerCase(), "")
-                .replace("0x", "");
-
-        int len = in.length();
-        byte[] data = new byte[len / 2];
-        for (int i = 0; i < len; i += 2) {
-            data[i / 2] = (byte) ((Character.digit(in.charAt(i), 16) << 4)
-                    + Character.digit(in.charAt(i + 1), 16));
-        }
-        return data;
+        return HexCodec.decode(s);
     }
 
 	public static char[] hexStringToChars(final String s) {
-		if (s == null || s.length() == 0) {
-			return new char[0];
-		}
-
-		String in = s
-				.replace(MinterSDK.PREFIX_ADDRESS, "")
-				.replace(MinterSDK.PREFIX_ADDRESS.toLowerCase(), "")
-				.replace(MinterSDK.PREFIX_CHECK, "")
-				.replace(MinterSDK.PREFIX_CHECK.toLowerCase(), "")
-				.replace(MinterSDK.PREFIX_PUBLIC_KEY, "")
-				.replace(MinterSDK.PREFIX_PUBLIC_KEY.toLowerCase(), "")
-				.replace(MinterSDK.PREFIX_TX, "")
-				.replace(MinterSDK.PREFIX_TX.toLowerCase(), "")
-				.replace("0x", "");
-
-		int len = in.length();
-		char[] data = new char[len / 2];
-		for (int i = 0; i < len; i += 2) {
-			data[i / 2] = (char) ((Character.digit(in.charAt(i), 16) << 4)
-					+ Character.digit(in.charAt(i + 1), 16)
-			);
-		}
-		return data;
+		return HexCodec.decodeChars(s);
 	}
 
     public static String bytesToString(BytesData data) {
@@ -317,7 +218,8 @@ public class StringHelper {
     }
 
     public static boolean testHex(String s) {
-        return s.matches(HEX_NUM_PATTERN);
+        final int from = s.startsWith("0x") ? 2 : 0;
+        return s.length() - from >= 2 && HexCodec.isHex(s, from, s.length());
     }
 
     public static class DecimalStringFraction {
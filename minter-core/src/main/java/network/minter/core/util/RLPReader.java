@@ -0,0 +1,417 @@
+/*
+ * Copyright (C) by MinterTeam. 2019
+ * @link <a href="https://github.com/MinterTeam">Org Github</a>
+ * @link <a href="https://github.com/edwardstock">Maintainer Github</a>
+ *
+ * The MIT License
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package network.minter.core.util;
+
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+import network.minter.core.crypto.BytesData;
+import network.minter.core.crypto.MinterAddress;
+import network.minter.core.crypto.MinterPublicKey;
+
+import static network.minter.core.internal.common.Preconditions.checkNotNull;
+
+/**
+ * minter-android-core. 2019
+ * <p>
+ * Lazy cursor-style RLP decoder. Items are not copied: {@link #next()} parses only item header and exposes
+ * {@link #offset()} and {@link #length()} of it's payload in source array. Typed readers ({@link #readLong()},
+ * {@link #readBigInteger()}, {@link #readAddress()} etc) read value directly from payload.
+ * <p>
+ * Lists (and byte strings that contain RLP, like transaction data) are traversed in place
+ * with {@link #beginList()}/{@link #endList()} and {@link #beginNested()}/{@link #endNested()}.
+ * <p>
+ * Not thread safe.
+ *
+ * @author Eduard Maximovich <edward.vstock@gmail.com>
+ */
+public final class RLPReader {
+    private static final int OFFSET_SHORT_ITEM = 0x80;
+    private static final int OFFSET_LONG_ITEM = 0xb7;
+    private static final int OFFSET_SHORT_LIST = 0xc0;
+    private static final int OFFSET_LONG_LIST = 0xf7;
+
+    private final byte[] mData;
+    // end position of every entered list
+    private int[] mEnds = new int[8];
+    private int mDepth;
+    private int mEnd;
+    private int mPos;
+
+    // current item
+    private int mItemOffset;
+    private int mItemLength;
+    private boolean mItemList;
+    private boolean mHasItem;
+
+    public RLPReader(byte[] data) {
+        this(data, 0, data.length);
+    }
+
+    public RLPReader(byte[] data, int offset, int length) {
+        checkNotNull(data, "Data can't be null");
+        if (offset < 0 || length < 0 || offset + length > data.length) {
+            throw new IndexOutOfBoundsException(String.format("Invalid range: offset %d, length %d, data size %d", offset, length, data.length));
+        }
+        mData = data;
+        mPos = offset;
+        mEnd = offset + length;
+    }
+
+    /**
+     * Reads remaining buffer bytes. Heap buffers are read without copying.
+     * Buffer position is not changed.
+     * @param buffer source
+     */
+    public RLPReader(ByteBuffer buffer) {
+        this(arrayOf(buffer), buffer.hasArray() ? buffer.arrayOffset() + buffer.position() : 0, buffer.remaining());
+    }
+
+    public RLPReader(BytesData data) {
+        this(data.getBytesView());
+    }
+
+    private static byte[] arrayOf(ByteBuffer buffer) {
+        if (buffer.hasArray()) {
+            return buffer.array();
+        }
+        final byte[] out = new byte[buffer.remaining()];
+        buffer.duplicate().get(out);
+        return out;
+    }
+
+    /**
+     * @return true if current list (or whole data on top level) has more items
+     */
+    public boolean hasNext() {
+        return mPos < mEnd;
+    }
+
+    /**
+     * @return count of remaining items in current list without reading them
+     */
+    public int remaining() {
+        int pos = mPos;
+        int count = 0;
+        while (pos < mEnd) {
+            final int next = skipItem(pos);
+            // next <= pos: length overflowed int
+            if (next <= pos || next > mEnd) {
+                throw error("Item at position %d lays outside of data bounds", pos);
+            }
+            pos = next;
+            count++;
+        }
+        return count;
+    }
+
+    /**
+     * Parses next item header and moves cursor to the next item
+     * @return self
+     */
+    public RLPReader next() {
+        if (mPos >= mEnd) {
+            throw error("No more items at position %d", mPos);
+        }
+
+        final int prefix = mData[mPos] & 0xFF;
+        if (prefix < OFFSET_SHORT_ITEM) {
+            setItem(mPos, 1, false);
+        } else if (prefix <= OFFSET_LONG_ITEM) {
+            setItem(mPos + 1, prefix - OFFSET_SHORT_ITEM, false);
+        } else if (prefix < OFFSET_SHORT_LIST) {
+            final int lenOfLen = prefix - OFFSET_LONG_ITEM;
+            setItem(mPos + 1 + lenOfLen, readLength(mPos + 1, lenOfLen), false);
+        } else if (prefix <= OFFSET_LONG_LIST) {
+            setItem(mPos + 1, prefix - OFFSET_SHORT_LIST, true);
+        } else {
+            final int lenOfLen = prefix - OFFSET_LONG_LIST;
+            setItem(mPos + 1 + lenOfLen, readLength(mPos + 1, lenOfLen), true);
+        }
+
+        mPos = mItemOffset + mItemLength;
+        return this;
+    }
+
+    /**
+     * @return source array, use it with {@link #offset()} and {@link #length()}
+     */
+    public byte[] data() {
+        return mData;
+    }
+
+    /**
+     * @return payload offset of current item
+     */
+    public int offset() {
+        checkItem();
+        return mItemOffset;
+    }
+
+    /**
+     * @return payload length of current item
+     */
+    public int length() {
+        checkItem();
+        return mItemLength;
+    }
+
+    /**
+     * @return true if current item is a list
+     */
+    public boolean isList() {
+        checkItem();
+        return mItemList;
+    }
+
+    /**
+     * @return current cursor position in source array
+     */
+    public int position() {
+        return mPos;
+    }
+
+    /**
+     * Skips next item
+     * @return self
+     */
+    public RLPReader skip() {
+        return next();
+    }
+
+    /**
+     * Enters next item, it must be a list
+     * @return self
+     */
+    public RLPReader beginList() {
+        next();
+        if (!mItemList) {
+            throw error("Expected list at position %d", mItemOffset);
+        }
+        return enter();
+    }
+
+    /**
+     * Leaves current list, remaining items are skipped
+     * @return self
+     */
+    public RLPReader endList() {
+        return leave();
+    }
+
+    /**
+     * Enters next byte string item and reads it's payload as RLP
+     * @return self
+     */
+    public RLPReader beginNested() {
+        next();
+        if (mItemList) {
+            throw error("Expected byte string at position %d", mItemOffset);
+        }
+        return enter();
+    }
+
+    public RLPReader endNested() {
+        return leave();
+    }
+
+    /**
+     * Reads unsigned big-endian value up to 8 bytes. Empty item is 0
+     * @return value
+     * @throws RuntimeException if value does not fit signed long (>= 2^63), use {@link #readBigInteger()} for it
+     */
+    public long readLong() {
+        nextItem();
+        if (mItemLength > 8) {
+            throw error("Value at position %d is too long for long: %d bytes, use readBigInteger()", mItemOffset, mItemLength);
+        }
+        final long value = toLong(mItemOffset, mItemLength);
+        if (value < 0) {
+            throw error("Value at position %d does not fit signed long, use readBigInteger()", mItemOffset);
+        }
+        return value;
+    }
+
+    /**
+     * Reads unsigned big-endian value up to 4 bytes. Empty item is 0
+     * @return value
+     * @throws RuntimeException if value does not fit signed int (>= 2^31), use {@link #readLong()} for it
+     */
+    public int readInt() {
+        nextItem();
+        if (mItemLength > 4) {
+            throw error("Value at position %d is too long for int: %d bytes, use readLong()", mItemOffset, mItemLength);
+        }
+        final long value = toLong(mItemOffset, mItemLength);
+        if (value > Integer.MAX_VALUE) {
+            throw error("Value at position %d does not fit signed int, use readLong()", mItemOffset);
+        }
+        return (int) value;
+    }
+
+    /**
+     * Reads unsigned big-endian value. Empty item is 0
+     * @return value
+     */
+    public BigInteger readBigInteger() {
+        nextItem();
+        if (mItemLength == 0) {
+            return BigInteger.ZERO;
+        }
+        if (mItemLength < 8) {
+            return BigInteger.valueOf(toLong(mItemOffset, mItemLength));
+        }
+        return new BigInteger(1, Arrays.copyOfRange(mData, mItemOffset, mItemOffset + mItemLength));
+    }
+
+    /**
+     * @return copy of item payload
+     */
+    public byte[] readBytes() {
+        nextItem();
+        return Arrays.copyOfRange(mData, mItemOffset, mItemOffset + mItemLength);
+    }
+
+    /**
+     * @return byte-backed data with copy of item payload
+     */
+    public BytesData readBytesData() {
+        nextItem();
+        return new BytesData(mData, mItemOffset, mItemLength);
+    }
+
+    /**
+     * @return item payload as string in default charset
+     */
+    public String readString() {
+        nextItem();
+        return new String(mData, mItemOffset, mItemLength);
+    }
+
+    /**
+     * Reads 20 bytes address
+     * @return address
+     */
+    public MinterAddress readAddress() {
+        nextItem();
+        return new MinterAddress(mData, mItemOffset, mItemLength);
+    }
+
+    /**
+     * Reads 32 bytes public key
+     * @return public key
+     */
+    public MinterPublicKey readPublicKey() {
+        nextItem();
+        return new MinterPublicKey(mData, mItemOffset, mItemLength);
+    }
+
+    private void nextItem() {
+        next();
+        if (mItemList) {
+            throw error("Expected byte string, but list found at position %d", mItemOffset);
+        }
+    }
+
+    private RLPReader enter() {
+        if (mDepth == mEnds.length) {
+            mEnds = Arrays.copyOf(mEnds, mDepth * 2);
+        }
+        mEnds[mDepth++] = mEnd;
+        mEnd = mItemOffset + mItemLength;
+        mPos = mItemOffset;
+        mHasItem = false;
+        return this;
+    }
+
+    private RLPReader leave() {
+        if (mDepth == 0) {
+            throw new IllegalStateException("There is no entered list");
+        }
+        mPos = mEnd;
+        mEnd = mEnds[--mDepth];
+        mHasItem = false;
+        return this;
+    }
+
+    private void setItem(int offset, int length, boolean list) {
+        // offset + length may overflow int
+        if (length < 0 || offset > mEnd || length > mEnd - offset) {
+            throw error("Item at position %d with length %d lays outside of data bounds", offset, length);
+        }
+        mItemOffset = offset;
+        mItemLength = length;
+        mItemList = list;
+        mHasItem = true;
+    }
+
+    private void checkItem() {
+        if (!mHasItem) {
+            throw new IllegalStateException("Call next() before reading item info");
+        }
+    }
+
+    private int skipItem(int pos) {
+        final int prefix = mData[pos] & 0xFF;
+        if (prefix < OFFSET_SHORT_ITEM) {
+            return pos + 1;
+        } else if (prefix <= OFFSET_LONG_ITEM) {
+            return pos + 1 + prefix - OFFSET_SHORT_ITEM;
+        } else if (prefix < OFFSET_SHORT_LIST) {
+            final int lenOfLen = prefix - OFFSET_LONG_ITEM;
+            return pos + 1 + lenOfLen + readLength(pos + 1, lenOfLen);
+        } else if (prefix <= OFFSET_LONG_LIST) {
+            return pos + 1 + prefix - OFFSET_SHORT_LIST;
+        }
+        final int lenOfLen = prefix - OFFSET_LONG_LIST;
+        return pos + 1 + lenOfLen + readLength(pos + 1, lenOfLen);
+    }
+
+    private int readLength(int pos, int lenOfLen) {
+        if (lenOfLen > 4 || pos + lenOfLen > mEnd) {
+            throw error("Invalid length of length %d at position %d", lenOfLen, pos);
+        }
+        final long len = toLong(pos, lenOfLen);
+        if (len > Integer.MAX_VALUE) {
+            throw error("Item length %d at position %d is too big", len, pos);
+        }
+        return (int) len;
+    }
+
+    private long toLong(int offset, int length) {
+        long out = 0;
+        for (int i = offset; i < offset + length; i++) {
+            out = (out << 8) | (mData[i] & 0xFF);
+        }
+        return out;
+    }
+
+    private static RuntimeException error(String message, Object... args) {
+        return new RuntimeException("RLP wrong encoding: " + String.format(message, args));
+    }
+}
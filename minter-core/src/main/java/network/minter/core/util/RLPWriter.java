@@ -0,0 +1,630 @@
+/*
+ * Copyright (C) by MinterTeam. 2019
+ * @link <a href="https://github.com/MinterTeam">Org Github</a>
+ * @link <a href="https://github.com/edwardstock">Maintainer Github</a>
+ *
+ * The MIT License
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package network.minter.core.util;
+
+import java.math.BigInteger;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+import network.minter.core.crypto.BytesData;
+
+import static network.minter.core.internal.common.Preconditions.checkArgument;
+import static network.minter.core.internal.common.Preconditions.checkNotNull;
+
+/**
+ * minter-android-core. 2019
+ * <p>
+ * Two-pass RLP writer. {@link Encodable} is called twice: first pass only measures items and remembers list sizes,
+ * second pass writes them directly into target byte[] or {@link ByteBuffer}, so no intermediate arrays created.
+ * Output is byte-to-byte the same as {@link RLPBoxed#encode(Object)} gives for the same values.
+ * <p>
+ * Instance is not thread safe, but can be reused: list sizes buffer grows once and then stays allocated.
+ * Static methods use thread-local instance.
+ *
+ * @author Eduard Maximovich <edward.vstock@gmail.com>
+ */
+public final class RLPWriter {
+    private static final int SIZE_THRESHOLD = 56;
+    private static final int OFFSET_SHORT_ITEM = 0x80;
+    private static final int OFFSET_SHORT_LIST = 0xc0;
+
+    private static final int MODE_IDLE = 0;
+    private static final int MODE_MEASURE = 1;
+    private static final int MODE_WRITE = 2;
+
+    private static final ThreadLocal<RLPWriter> sLocal = new ThreadLocal<RLPWriter>() {
+        @Override
+        protected RLPWriter initialValue() {
+            return new RLPWriter();
+        }
+    };
+
+    // payload size of every list (or nested item) in order of opening
+    private int[] mSizes = new int[16];
+    // stack of open lists: index in mSizes
+    private int[] mStack = new int[8];
+    // measure: stack of start offsets
+    private int[] mStarts = new int[8];
+    private int mCount;
+    private int mDepth;
+    private int mMode = MODE_IDLE;
+    private int mSize;
+
+    private byte[] mOut;
+    private int mPos;
+    private ByteBuffer mBuffer;
+
+    /**
+     * Object that can write itself using {@link RLPWriter}. Implementation MUST write the same items on every call.
+     */
+    public interface Encodable {
+        void writeRLP(RLPWriter writer);
+    }
+
+    /**
+     * Encodes item into new exactly sized array
+     * @param item encodable item
+     * @return RLP encoded bytes
+     */
+    public static byte[] encode(Encodable item) {
+        final RLPWriter writer = obtain();
+        final byte[] out = new byte[writer.measure(item)];
+        writer.writePass(item, out, 0, null);
+        return out;
+    }
+
+    /**
+     * Encodes object tree the same way as {@link RLPBoxed#encode(Object)} does
+     * @param input object or Object[] of objects
+     * @return RLP encoded bytes
+     */
+    public static byte[] encode(final Object input) {
+        return encode(new Encodable() {
+            @Override
+            public void writeRLP(RLPWriter writer) {
+                writer.write(input);
+            }
+        });
+    }
+
+    /**
+     * @param item encodable item
+     * @return RLP encoded data as char[], for compatibility with {@link RLPBoxed}
+     */
+    public static char[] encodeChars(Encodable item) {
+        final RLPWriter writer = obtain();
+        final int size = writer.measure(item);
+        final byte[] out = new byte[size];
+        writer.writePass(item, out, 0, null);
+
+        final char[] res = new char[size];
+        for (int i = 0; i < size; i++) {
+            res[i] = (char) (out[i] & 0xFF);
+        }
+        return res;
+    }
+
+    private static RLPWriter obtain() {
+        final RLPWriter writer = sLocal.get();
+        // encodable can encode something else while writing itself
+        if (writer.mMode != MODE_IDLE) {
+            return new RLPWriter();
+        }
+        return writer;
+    }
+
+    /**
+     * Calculates encoded size without writing anything
+     * @param item encodable item
+     * @return encoded size in bytes
+     */
+    public int measure(Encodable item) {
+        if (mMode != MODE_IDLE) {
+            throw new IllegalStateException("Writer is busy");
+        }
+        mMode = MODE_MEASURE;
+        mSize = 0;
+        mCount = 0;
+        mDepth = 0;
+        try {
+            item.writeRLP(this);
+            checkArgument(mDepth == 0, "Not all lists closed");
+            return mSize;
+        } finally {
+            mMode = MODE_IDLE;
+        }
+    }
+
+    /**
+     * Writes item into array
+     * @param item encodable item
+     * @param out target array
+     * @param offset where to start
+     * @return written bytes count
+     * @throws IndexOutOfBoundsException if array does not have enough space
+     */
+    public int encode(Encodable item, byte[] out, int offset) {
+        final int size = measure(item);
+        if (offset < 0 || out.length - offset < size) {
+            throw new IndexOutOfBoundsException(String.format("Not enough space: required %d, available %d", size, out.length - offset));
+        }
+        writePass(item, out, offset, null);
+        return size;
+    }
+
+    /**
+     * Writes item into buffer starting from it's current position. Position is moved to the end of written data.
+     * @param item encodable item
+     * @param buffer target buffer
+     * @return written bytes count
+     * @throws BufferOverflowException if buffer does not have enough space
+     */
+    public int encode(Encodable item, ByteBuffer buffer) {
+        final int size = measure(item);
+        if (buffer.remaining() < size) {
+            throw new BufferOverflowException();
+        }
+        if (buffer.hasArray()) {
+            writePass(item, buffer.array(), buffer.arrayOffset() + buffer.position(), null);
+            buffer.position(buffer.position() + size);
+        } else {
+            writePass(item, null, 0, buffer);
+        }
+        return size;
+    }
+
+    private void writePass(Encodable item, byte[] out, int offset, ByteBuffer buffer) {
+        final int measured = mSize;
+        mMode = MODE_WRITE;
+        mOut = out;
+        mPos = offset;
+        mBuffer = buffer;
+        mCount = 0;
+        mDepth = 0;
+        mSize = 0;
+        try {
+            item.writeRLP(this);
+            checkArgument(mDepth == 0, "Not all lists closed");
+            if (mSize != measured) {
+                throw new IllegalStateException(String.format("Encodable wrote %d bytes but measured %d", mSize, measured));
+            }
+        } finally {
+            mMode = MODE_IDLE;
+            mOut = null;
+            mBuffer = null;
+        }
+    }
+
+    /**
+     * Opens list. All items written before {@link #endList()} will be part of it
+     * @return self
+     */
+    public RLPWriter beginList() {
+        return begin(OFFSET_SHORT_LIST);
+    }
+
+    public RLPWriter endList() {
+        return end();
+    }
+
+    /**
+     * Opens byte string item which content is written by following calls. Used to embed RLP encoded structure
+     * as single item (like transaction data). Unlike other items, header is always written, even for single byte content.
+     * @return self
+     */
+    public RLPWriter beginNested() {
+        return begin(OFFSET_SHORT_ITEM);
+    }
+
+    public RLPWriter endNested() {
+        return end();
+    }
+
+    /**
+     * Writes already RLP encoded data as is
+     * @param encoded encoded data
+     * @return self
+     */
+    public RLPWriter writeRaw(byte[] encoded) {
+        ensureActive();
+        putBytes(encoded, 0, encoded.length);
+        return this;
+    }
+
+    /**
+     * Writes already RLP encoded data as is
+     * @param encoded encoded data
+     * @return self
+     */
+    public RLPWriter writeRaw(char[] encoded) {
+        ensureActive();
+        putChars(encoded, 0, encoded.length);
+        return this;
+    }
+
+    /**
+     * The same as {@link RLPBoxed#encode(Object)} for byte[]: leading zeroes are dropped
+     * @param data item
+     * @return self
+     */
+    public RLPWriter writeBytes(byte[] data) {
+        return writeBytes(data, 0, data.length);
+    }
+
+    public RLPWriter writeBytes(byte[] data, int offset, int length) {
+        return writeBytes(data, offset, length, false);
+    }
+
+    private RLPWriter writeBytes(byte[] data, int offset, int length, boolean keepAllZero) {
+        ensureActive();
+        if (length == 1 && (data[offset] & 0xFF) <= OFFSET_SHORT_ITEM) {
+            putByte(data[offset]);
+            return this;
+        }
+
+        int start = offset;
+        final int end = offset + length;
+        while (start < end && data[start] == 0) {
+            start++;
+        }
+        if (keepAllZero && start == end) {
+            // all zero data is written as is
+            start = offset;
+        }
+        putHeader(end - start, OFFSET_SHORT_ITEM);
+        putBytes(data, start, end - start);
+        return this;
+    }
+
+    /**
+     * The same as {@link RLPBoxed#encode(Object)} for char[]: leading zeroes are dropped if data is not all-zero
+     * @param data item
+     * @return self
+     */
+    public RLPWriter writeChars(char[] data) {
+        return writeChars(data, 0, data.length);
+    }
+
+    public RLPWriter writeChars(char[] data, int offset, int length) {
+        ensureActive();
+        if (length == 1 && (data[offset] & 0xFF) <= OFFSET_SHORT_ITEM) {
+            putByte((byte) data[offset]);
+            return this;
+        }
+
+        int start = offset;
+        final int end = offset + length;
+        while (start < end && data[start] == 0) {
+            start++;
+        }
+        if (start == end) {
+            // all zero data is written as is
+            start = offset;
+        }
+        putHeader(end - start, OFFSET_SHORT_ITEM);
+        putChars(data, start, end - start);
+        return this;
+    }
+
+    /**
+     * The same as {@link RLPBoxed#encode(Object)} for {@link BytesData}: leading zeroes are dropped
+     * if data is not {@link RLPBoxed.FixedByteLength}
+     * @param data item
+     * @return self
+     */
+    public RLPWriter writeData(BytesData data) {
+        ensureActive();
+        if (data.isByteBacked()) {
+            final byte[] view = data.getBytesView();
+            if (data instanceof RLPBoxed.FixedByteLength) {
+                return writeFixedBytes(view, 0, view.length);
+            }
+            return writeBytes(view, 0, view.length);
+        }
+
+        final char[] chars = data.getData();
+        final int length = chars.length;
+        if (length == 1 && (chars[0] & 0xFF) <= OFFSET_SHORT_ITEM) {
+            putByte((byte) chars[0]);
+            return this;
+        }
+        int start = 0;
+        if (!(data instanceof RLPBoxed.FixedByteLength)) {
+            while (start < length && chars[start] == 0) {
+                start++;
+            }
+        }
+        putHeader(length - start, OFFSET_SHORT_ITEM);
+        putChars(chars, start, length - start);
+        return this;
+    }
+
+    /**
+     * The same as {@link #writeChars(char[])} for {@link BytesData#getData()}, but reads data without
+     * converting byte storage to chars: leading zeroes are dropped if data is not all-zero
+     * @param data item
+     * @return self
+     */
+    public RLPWriter writeDataChars(BytesData data) {
+        if (data.isByteBacked()) {
+            final byte[] view = data.getBytesView();
+            return writeBytes(view, 0, view.length, true);
+        }
+        final char[] chars = data.getData();
+        return writeChars(chars, 0, chars.length);
+    }
+
+    private RLPWriter writeFixedBytes(byte[] data, int offset, int length) {
+        if (length == 1 && (data[offset] & 0xFF) <= OFFSET_SHORT_ITEM) {
+            putByte(data[offset]);
+            return this;
+        }
+        putHeader(length, OFFSET_SHORT_ITEM);
+        putBytes(data, offset, length);
+        return this;
+    }
+
+    /**
+     * The same as {@link RLPBoxed#encode(Object)} for Long and Integer: zero is an empty item
+     * @param value item
+     * @return self
+     */
+    public RLPWriter writeLong(long value) {
+        ensureActive();
+        if (value < 0) {
+            return writeBigInteger(BigInteger.valueOf(value));
+        }
+        if (value <= OFFSET_SHORT_ITEM && value != 0) {
+            putByte((byte) value);
+            return this;
+        }
+
+        final int len = (64 - Long.numberOfLeadingZeros(value) + 7) / 8;
+        putHeader(len, OFFSET_SHORT_ITEM);
+        for (int i = len - 1; i >= 0; i--) {
+            putByte((byte) (value >>> (i * 8)));
+        }
+        return this;
+    }
+
+    /**
+     * The same as {@link RLPBoxed#encode(Object)} for BigInteger: zero is an empty item,
+     * 0x80 - 0xFF values are written with header
+     * @param value item
+     * @return self
+     */
+    public RLPWriter writeBigInteger(BigInteger value) {
+        ensureActive();
+        final int signum = value.signum();
+        if (signum == 0) {
+            putHeader(0, OFFSET_SHORT_ITEM);
+            return this;
+        }
+        if (signum < 0) {
+            final byte[] raw = value.toByteArray();
+            return writeBytes(raw, 0, raw.length);
+        }
+
+        final int bitLength = value.bitLength();
+        if (bitLength < 8) {
+            // [0x01, 0x7f]: one byte in two's complement
+            putByte(value.byteValue());
+            return this;
+        }
+
+        final int len = (bitLength + 7) / 8;
+        putHeader(len, OFFSET_SHORT_ITEM);
+        if (bitLength < 64) {
+            final long v = value.longValue();
+            for (int i = len - 1; i >= 0; i--) {
+                putByte((byte) (v >>> (i * 8)));
+            }
+        } else {
+            final byte[] raw = value.toByteArray();
+            putBytes(raw, raw.length - len, len);
+        }
+        return this;
+    }
+
+    /**
+     * The same as {@link RLPBoxed#encode(Object)} for String: string bytes in default charset
+     * @param value item
+     * @return self
+     */
+    public RLPWriter writeString(String value) {
+        ensureActive();
+        final byte[] data = value.getBytes();
+        if (data.length > 1 && isNullBytes(data)) {
+            return writeFixedBytes(data, 0, data.length);
+        }
+        return writeBytes(data, 0, data.length);
+    }
+
+    /**
+     * Writes any supported value using the same rules as {@link RLPBoxed#encode(Object)}.
+     * Object[] (and other non-primitive arrays) are written as lists.
+     * @param input item
+     * @return self
+     */
+    public RLPWriter write(Object input) {
+        if (input instanceof Value) {
+            return write(((Value) input).asObj());
+        }
+        if (input != null && input.getClass().isArray() && !input.getClass().getComponentType().isPrimitive()) {
+            beginList();
+            for (Object item : (Object[]) input) {
+                write(item);
+            }
+            return endList();
+        }
+
+        if (input instanceof byte[]) {
+            return writeBytes((byte[]) input);
+        } else if (input instanceof char[]) {
+            return writeChars((char[]) input);
+        } else if (input instanceof String) {
+            return writeString((String) input);
+        } else if (input instanceof Long) {
+            return writeLong((Long) input);
+        } else if (input instanceof Integer) {
+            return writeLong((Integer) input);
+        } else if (input instanceof BigInteger) {
+            return writeBigInteger((BigInteger) input);
+        } else if (input instanceof BytesData) {
+            return writeData((BytesData) input);
+        }
+
+        throw new RuntimeException("Unsupported type: supported types: byte[], String, Long, Integer, BigInteger, BytesData, UnsignedBytes for now");
+    }
+
+    /**
+     * Writes list of items
+     * @param items list items
+     * @return self
+     */
+    public RLPWriter writeList(Iterable<?> items) {
+        checkNotNull(items, "Items can't be null");
+        beginList();
+        for (Object item : items) {
+            write(item);
+        }
+        return endList();
+    }
+
+    private RLPWriter begin(int offset) {
+        ensureActive();
+        if (mDepth == mStack.length) {
+            mStack = Arrays.copyOf(mStack, mDepth * 2);
+            mStarts = Arrays.copyOf(mStarts, mDepth * 2);
+        }
+        if (mCount == mSizes.length) {
+            mSizes = Arrays.copyOf(mSizes, mCount * 2);
+        }
+
+        final int idx = mCount++;
+        mStack[mDepth] = idx;
+        if (mMode == MODE_MEASURE) {
+            mStarts[mDepth] = mSize;
+        } else {
+            putHeader(mSizes[idx], offset);
+        }
+        mDepth++;
+        return this;
+    }
+
+    private RLPWriter end() {
+        ensureActive();
+        checkArgument(mDepth > 0, "There is no open list");
+        mDepth--;
+        if (mMode == MODE_MEASURE) {
+            final int payload = mSize - mStarts[mDepth];
+            mSizes[mStack[mDepth]] = payload;
+            mSize += headerSize(payload);
+        }
+        return this;
+    }
+
+    private void ensureActive() {
+        if (mMode == MODE_IDLE) {
+            throw new IllegalStateException("Writer can be used only inside Encodable.writeRLP()");
+        }
+    }
+
+    private static boolean isNullBytes(byte[] data) {
+        for (byte b : data) {
+            if (b != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int headerSize(int length) {
+        if (length < SIZE_THRESHOLD) {
+            return 1;
+        }
+        return 1 + lengthOfLength(length);
+    }
+
+    private static int lengthOfLength(int length) {
+        return (32 - Integer.numberOfLeadingZeros(length) + 7) / 8;
+    }
+
+    private void putHeader(int length, int offset) {
+        if (mMode == MODE_MEASURE) {
+            mSize += headerSize(length);
+            return;
+        }
+
+        if (length < SIZE_THRESHOLD) {
+            putByte((byte) (length + offset));
+            return;
+        }
+
+        final int lenOfLen = lengthOfLength(length);
+        putByte((byte) (lenOfLen + offset + SIZE_THRESHOLD - 1));
+        for (int i = lenOfLen - 1; i >= 0; i--) {
+            putByte((byte) (length >>> (i * 8)));
+        }
+    }
+
+    private void putByte(byte b) {
+        mSize++;
+        if (mMode == MODE_MEASURE) {
+            return;
+        }
+        if (mOut != null) {
+            mOut[mPos++] = b;
+        } else {
+            mBuffer.put(b);
+        }
+    }
+
+    private void putBytes(byte[] data, int offset, int length) {
+        mSize += length;
+        if (mMode == MODE_MEASURE) {
+            return;
+        }
+        if (mOut != null) {
+            System.arraycopy(data, offset, mOut, mPos, length);
+            mPos += length;
+        } else {
+            mBuffer.put(data, offset, length);
+        }
+    }
+
+    private void putChars(char[] data, int offset, int length) {
+        if (mMode == MODE_MEASURE) {
+            mSize += length;
+            return;
+        }
+        for (int i = offset; i < offset + length; i++) {
+            putByte((byte) data[i]);
+        }
+    }
+}
@@ -42,6 +42,8 @@ import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
 
 /**
  * minter-android-core. 2018
@@ -536,5 +538,75 @@ public class BytesDataTest {
 
 
 
+    }
+
+    @Test
+    public void testByteStorageZeroCopyView() {
+        final byte[] src = new byte[]{0x01, (byte) 0xFF, 0x7F, (byte) 0x80};
+        BytesData bd = new BytesData(src);
+        assertTrue(bd.isByteBacked());
+        // constructor copies source
+        assertNotSame(src, bd.getBytesView());
+        // view is not copied
+        assertSame(bd.getBytesView(), bd.getBytesView());
+        assertNotSame(bd.getBytesView(), bd.getBytes());
+        assertEquals(4, bd.asByteBuffer().remaining());
+        assertTrue(bd.asByteBuffer().isReadOnly());
+
+        BytesData wrapped = new BytesData(src, false);
+        assertSame(src, wrapped.getBytesView());
+        assertEquals("01ff7f80", wrapped.toHexString());
+        assertEquals((char) 0xFF, wrapped.at(1));
+    }
+
+    @Test
+    public void testByteAndCharStorageEquality() {
+        BytesData bytes = new BytesData(new byte[]{0x01, (byte) 0xFF, 0x7F, (byte) 0x80});
+        BytesData chars = new BytesData(new char[]{0x01, 0xFF, 0x7F, 0x80});
+        BytesData hex = new BytesData("01ff7f80");
+
+        assertTrue(bytes.isByteBacked());
+        assertFalse(chars.isByteBacked());
+        assertTrue(hex.isByteBacked());
+
+        assertEquals(bytes, chars);
+        assertEquals(chars, bytes);
+        assertEquals(bytes, hex);
+        assertEquals(bytes.hashCode(), chars.hashCode());
+        assertEquals(bytes.hashCode(), hex.hashCode());
+        assertEquals(chars.toHexString(), bytes.toHexString());
+        assertEquals(chars.sha3Data(), bytes.sha3Data());
+        assertTrue(equal(chars.takeRange(1, 3), bytes.takeRange(1, 3)));
+        assertTrue(equal(chars.takeByteRange(1, 3), bytes.takeByteRange(1, 3)));
+
+        BytesData compact = chars.clone().compactMutable();
+        assertTrue(compact.isByteBacked());
+        assertEquals(chars, compact);
+        assertEquals(chars.hashCode(), compact.hashCode());
+
+        BytesData clone = bytes.clone();
+        assertTrue(clone.isByteBacked());
+        assertNotSame(bytes.getBytesView(), clone.getBytesView());
+        assertEquals(bytes, clone);
+    }
+
+    @Test
+    public void testByteStorageSwitchesOnGetData() {
+        BytesData bd = new BytesData(new byte[]{0x01, 0x02, 0x03});
+        assertTrue(bd.isByteBacked());
+
+        char[] data = bd.getData();
+        assertFalse(bd.isByteBacked());
+        data[0] = 0x05;
+        assertEquals(0x05, bd.at(0));
+        assertEquals(0x05, bd.getBytesView()[0]);
+
+        bd.sha3Mutable();
+        assertTrue(bd.isByteBacked());
+        assertEquals(32, bd.size());
+
+        bd.takeFirstMutable(20);
+        assertTrue(bd.isByteBacked());
+        assertEquals(20, bd.size());
     }
 }
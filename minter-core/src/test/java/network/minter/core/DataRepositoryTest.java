@@ -0,0 +1,269 @@
+/*
+ * Copyright (C) by MinterTeam. 2020
+ * @link <a href="https://github.com/MinterTeam">Org Github</a>
+ * @link <a href="https://github.com/edwardstock">Maintainer Github</a>
+ *
+ * The MIT License
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package network.minter.core;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import javax.annotation.Nonnull;
+
+import network.minter.core.internal.api.ApiService;
+import network.minter.core.internal.api.CallFuture;
+import network.minter.core.internal.api.Coalesce;
+import network.minter.core.internal.data.DataRepository;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import retrofit2.Call;
+import retrofit2.HttpException;
+import retrofit2.http.GET;
+import retrofit2.http.Query;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * minter-core. 2020
+ * @author Eduard Maximovich [edward.vstock@gmail.com]
+ */
+public class DataRepositoryTest {
+
+    @Test
+    public void testServiceCachedPerConfigurator() {
+        ApiService.Builder builder = new ApiService.Builder("http://localhost/");
+        TestRepository repo = new TestRepository(builder);
+
+        TestEndpoint first = repo.getInstantService();
+        assertSame(first, repo.getInstantService());
+
+        DataRepository.Configurator cfg = api -> api.setReadTimeout(10);
+        TestEndpoint configured = repo.getInstantService(cfg);
+        assertNotSame(first, configured);
+        assertSame(configured, repo.getInstantService(cfg));
+        // configurator must not modify source builder
+        assertSame(first, repo.getInstantService());
+    }
+
+    @Test
+    public void testServiceRebuiltOnInvalidate() {
+        ApiService.Builder builder = new ApiService.Builder("http://localhost/");
+        TestRepository repo = new TestRepository(builder);
+
+        TestEndpoint first = repo.getInstantService();
+        builder.addHeader("X-Test", "1");
+        TestEndpoint second = repo.getInstantService();
+        assertNotSame(first, second);
+
+        builder.invalidate();
+        TestEndpoint third = repo.getInstantService();
+        assertNotSame(second, third);
+
+        repo.invalidateServices();
+        assertNotSame(third, repo.getInstantService());
+    }
+
+    @Test
+    public void testServiceCacheDisabled() {
+        ApiService.Builder builder = new ApiService.Builder("http://localhost/");
+        builder.setCacheServices(false);
+        TestRepository repo = new TestRepository(builder);
+
+        assertNotSame(repo.getInstantService(), repo.getInstantService());
+    }
+
+    @Test
+    public void testAsyncResult() throws Exception {
+        MockWebServer server = new MockWebServer();
+        server.enqueue(new MockResponse().setBody("\"ok\""));
+        server.enqueue(new MockResponse().setResponseCode(500).setBody("\"fail\""));
+        server.start();
+        try {
+            TestRepository repo = new TestRepository(new ApiService.Builder(server.url("/").toString()));
+            assertEquals("ok", repo.statusAsync().get(5, TimeUnit.SECONDS));
+
+            try {
+                repo.statusAsync().get(5, TimeUnit.SECONDS);
+                fail("Expected http error");
+            } catch (ExecutionException e) {
+                assertTrue(e.getCause() instanceof HttpException);
+                assertEquals(500, ((HttpException) e.getCause()).code());
+            }
+        } finally {
+            server.shutdown();
+        }
+    }
+
+    @Test
+    public void testAsyncCancelAndPerHostLimit() throws Exception {
+        MockWebServer server = new MockWebServer();
+        for (int i = 0; i < 3; i++) {
+            server.enqueue(new MockResponse().setBody("\"ok\"").setBodyDelay(300, TimeUnit.MILLISECONDS));
+        }
+        server.start();
+        try {
+            ApiService.Builder builder = new ApiService.Builder(server.url("/").toString());
+            builder.setMaxRequestsPerHost(1);
+            TestRepository repo = new TestRepository(builder);
+
+            List<CompletableFuture<Object>> futures = new ArrayList<>();
+            for (int i = 0; i < 3; i++) {
+                futures.add(repo.statusAsync());
+            }
+            assertTrue(builder.getDispatcher().runningCallsCount() <= 1);
+
+            CallFuture<Object> last = (CallFuture<Object>) futures.get(2);
+            assertTrue(last.cancel(true));
+            assertTrue(last.getCall().isCanceled());
+
+            assertEquals("ok", futures.get(0).get(5, TimeUnit.SECONDS));
+            assertEquals("ok", futures.get(1).get(5, TimeUnit.SECONDS));
+            assertTrue(last.isCancelled());
+        } finally {
+            server.shutdown();
+        }
+    }
+
+    @Test
+    public void testCoalesceIdenticalRequests() throws Exception {
+        MockWebServer server = new MockWebServer();
+        server.enqueue(new MockResponse().setBody("\"first\"").setBodyDelay(300, TimeUnit.MILLISECONDS));
+        server.enqueue(new MockResponse().setBody("\"second\""));
+        server.enqueue(new MockResponse().setBody("\"third\""));
+        server.start();
+        try {
+            ApiService.Builder builder = new ApiService.Builder(server.url("/").toString());
+            TestRepository repo = new TestRepository(builder);
+
+            List<CompletableFuture<Object>> futures = new ArrayList<>();
+            for (int i = 0; i < 5; i++) {
+                futures.add(repo.coinAsync("BIP"));
+            }
+            Object first = futures.get(0).get(5, TimeUnit.SECONDS);
+            assertEquals("first", first);
+            for (CompletableFuture<Object> f : futures) {
+                assertSame(first, f.get(5, TimeUnit.SECONDS));
+            }
+            assertEquals(1, server.getRequestCount());
+            assertEquals(4, builder.getCoalescer().getJoinedCount());
+
+            // finished request is not cached
+            assertEquals("second", repo.coinAsync("BIP").get(5, TimeUnit.SECONDS));
+            // not marked endpoint is not coalesced
+            assertEquals("third", repo.statusAsync().get(5, TimeUnit.SECONDS));
+            assertEquals(3, server.getRequestCount());
+        } finally {
+            server.shutdown();
+        }
+    }
+
+    @Test
+    public void testCoalesceDifferentQueryAndCancel() throws Exception {
+        MockWebServer server = new MockWebServer();
+        for (int i = 0; i < 2; i++) {
+            server.enqueue(new MockResponse().setBody("\"ok\"").setBodyDelay(300, TimeUnit.MILLISECONDS));
+        }
+        server.start();
+        try {
+            ApiService.Builder builder = new ApiService.Builder(server.url("/").toString());
+            TestRepository repo = new TestRepository(builder);
+
+            CompletableFuture<Object> bip1 = repo.coinAsync("BIP");
+            CompletableFuture<Object> bip2 = repo.coinAsync("BIP");
+            CompletableFuture<Object> mnt = repo.coinAsync("MNT");
+
+            // cancelling leader doesn't cancel joined call
+            assertTrue(bip1.cancel(true));
+            assertEquals("ok", bip2.get(5, TimeUnit.SECONDS));
+            assertEquals("ok", mnt.get(5, TimeUnit.SECONDS));
+            assertTrue(bip1.isCancelled());
+            assertEquals(2, server.getRequestCount());
+        } finally {
+            server.shutdown();
+        }
+    }
+
+    @Test
+    public void testCoalesceDisabled() throws Exception {
+        MockWebServer server = new MockWebServer();
+        for (int i = 0; i < 3; i++) {
+            server.enqueue(new MockResponse().setBody("\"ok\"").setBodyDelay(100, TimeUnit.MILLISECONDS));
+        }
+        server.start();
+        try {
+            ApiService.Builder builder = new ApiService.Builder(server.url("/").toString());
+            builder.setCoalesceRequests(false);
+            TestRepository repo = new TestRepository(builder);
+
+            List<CompletableFuture<Object>> futures = new ArrayList<>();
+            for (int i = 0; i < 3; i++) {
+                futures.add(repo.coinAsync("BIP"));
+            }
+            for (CompletableFuture<Object> f : futures) {
+                assertEquals("ok", f.get(5, TimeUnit.SECONDS));
+            }
+            assertEquals(3, server.getRequestCount());
+        } finally {
+            server.shutdown();
+        }
+    }
+
+    interface TestEndpoint {
+        @GET("status")
+        Call<Object> status();
+
+        @Coalesce
+        @GET("coin")
+        Call<Object> coin(@Query("symbol") String symbol);
+    }
+
+    static class TestRepository extends DataRepository<TestEndpoint> {
+        TestRepository(@Nonnull ApiService.Builder apiBuilder) {
+            super(apiBuilder);
+        }
+
+        CompletableFuture<Object> statusAsync() {
+            return async(getInstantService().status());
+        }
+
+        CompletableFuture<Object> coinAsync(String symbol) {
+            return async(getInstantService().coin(symbol));
+        }
+
+        @Nonnull
+        @Override
+        protected Class<TestEndpoint> getServiceClass() {
+            return TestEndpoint.class;
+        }
+    }
+}
@@ -0,0 +1,161 @@
+/*
+ * Copyright (C) by MinterTeam. 2020
+ * @link <a href="https://github.com/MinterTeam">Org Github</a>
+ * @link <a href="https://github.com/edwardstock">Maintainer Github</a>
+ *
+ * The MIT License
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package network.minter.core;
+
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import network.minter.core.crypto.HashUtil;
+import network.minter.core.internal.helpers.StringHelper;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * minter-android-core. 2019
+ * @author Eduard Maximovich [edward.vstock@gmail.com]
+ */
+public class HashUtilTest {
+
+    private static byte[] data(int size) {
+        final byte[] out = new byte[size];
+        for (int i = 0; i < size; i++) {
+            out[i] = (byte) (i * 31 + 7);
+        }
+        return out;
+    }
+
+    @Test
+    public void testKnownHashes() {
+        assertEquals("c5d2460186f7233c927e7db2dcc703c0e500b653ca82273b7bfad8045d85a470",
+                StringHelper.bytesToHexString(HashUtil.sha3(new byte[0])));
+        assertEquals("4e03657aea45a94fc7d47ba826c8d667c0d1e6e33a64a036ec44f58fa12d6c45",
+                StringHelper.bytesToHexString(HashUtil.sha3("abc".getBytes(StandardCharsets.US_ASCII))));
+    }
+
+    @Test
+    public void testSameAsProvider() {
+        // around keccak-256 block size (136) and multiple blocks
+        for (int size : new int[]{0, 1, 20, 32, 135, 136, 137, 271, 272, 273, 1000, 4096}) {
+            final byte[] input = data(size);
+            final byte[] expected = HashUtil.sha3Provider(input);
+            assertArrayEquals("size " + size, expected, HashUtil.sha3(input));
+            // reused digest gives the same result
+            assertArrayEquals("size " + size, expected, HashUtil.sha3(input));
+        }
+    }
+
+    @Test
+    public void testChunksAndBuffers() {
+        final byte[] input = data(500);
+        final byte[] expected = HashUtil.sha3Provider(Arrays.copyOfRange(input, 100, 400));
+
+        assertArrayEquals(expected, HashUtil.sha3(input, 100, 300));
+
+        final byte[] out = new byte[40];
+        assertEquals(32, HashUtil.sha3Into(input, 100, 300, out, 8));
+        assertArrayEquals(expected, Arrays.copyOfRange(out, 8, 40));
+
+        final ByteBuffer heap = ByteBuffer.wrap(input, 100, 300);
+        assertArrayEquals(expected, HashUtil.sha3(heap));
+        assertEquals(100, heap.position());
+
+        final ByteBuffer slice = ByteBuffer.wrap(input, 100, 300).slice();
+        assertArrayEquals(expected, HashUtil.sha3(slice));
+
+        final ByteBuffer direct = ByteBuffer.allocateDirect(3000);
+        final byte[] big = data(3000);
+        direct.put(big);
+        direct.flip();
+        assertArrayEquals(HashUtil.sha3Provider(big), HashUtil.sha3(direct));
+        assertEquals(0, direct.position());
+    }
+
+    @Test
+    public void testHashAll() {
+        final List<byte[]> inputs = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            inputs.add(data(i * 7));
+        }
+        final byte[][] hashes = HashUtil.sha3All(inputs);
+        final byte[] flat = new byte[inputs.size() * HashUtil.SHA3_LENGTH];
+        assertEquals(flat.length, HashUtil.sha3AllInto(inputs, flat, 0));
+        for (int i = 0; i < inputs.size(); i++) {
+            final byte[] expected = HashUtil.sha3Provider(inputs.get(i));
+            assertArrayEquals(expected, hashes[i]);
+            assertArrayEquals(expected, Arrays.copyOfRange(flat, i * 32, (i + 1) * 32));
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testOutputTooSmall() {
+        HashUtil.sha3Into(data(10), new byte[40], 9);
+    }
+
+    @Test
+    public void testFailedCallDoesNotBreakDigest() {
+        try {
+            HashUtil.sha3(data(10), 5, 10);
+        } catch (RuntimeException ignore) {
+        }
+        assertArrayEquals(HashUtil.sha3Provider(data(10)), HashUtil.sha3(data(10)));
+    }
+
+    @Test
+    public void testThreads() throws Exception {
+        final ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            final List<Future<Boolean>> results = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                final int seed = t;
+                results.add(executor.submit(() -> {
+                    for (int i = 0; i < 200; i++) {
+                        final byte[] input = data(seed * 50 + i);
+                        if (!Arrays.equals(HashUtil.sha3Provider(input), HashUtil.sha3(input))) {
+                            return false;
+                        }
+                    }
+                    return true;
+                }));
+            }
+            for (Future<Boolean> result : results) {
+                assertTrue(result.get());
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+}
@@ -0,0 +1,196 @@
+/*
+ * Copyright (C) by MinterTeam. 2020
+ * @link <a href="https://github.com/MinterTeam">Org Github</a>
+ * @link <a href="https://github.com/edwardstock">Maintainer Github</a>
+ *
+ * The MIT License
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package network.minter.core;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+import network.minter.core.crypto.BytesData;
+import network.minter.core.crypto.MinterAddress;
+import network.minter.core.crypto.MinterCheck;
+import network.minter.core.crypto.MinterHash;
+import network.minter.core.crypto.MinterPublicKey;
+import network.minter.core.internal.api.converters.BytesDataJsonConverter;
+import network.minter.core.internal.api.converters.MinterAddressJsonConverter;
+import network.minter.core.internal.api.converters.MinterCheckJsonConverter;
+import network.minter.core.internal.api.converters.MinterHashJsonConverter;
+import network.minter.core.internal.api.converters.MinterPublicKeyJsonConverter;
+import network.minter.core.internal.helpers.HexCodec;
+import network.minter.core.internal.helpers.StringHelper;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * minter-android-core. 2019
+ * @author Eduard Maximovich [edward.vstock@gmail.com]
+ */
+public class HexCodecTest {
+    private static final String ADDRESS = "Mxee81347211c72524338f9680072af90744333146";
+    private static final String PUB_KEY = "Mp4ae1ee73e6136c85b0ca933a9a1347758a334885f10b3238398a67ac2eb153b8";
+
+    private static class Holder {
+        MinterAddress address;
+        MinterPublicKey publicKey;
+        MinterHash hash;
+        MinterCheck check;
+        BytesData data;
+    }
+
+    private static Gson gson() {
+        return new GsonBuilder()
+                .registerTypeAdapter(MinterAddress.class, new MinterAddressJsonConverter())
+                .registerTypeAdapter(MinterPublicKey.class, new MinterPublicKeyJsonConverter())
+                .registerTypeAdapter(MinterHash.class, new MinterHashJsonConverter())
+                .registerTypeAdapter(MinterCheck.class, new MinterCheckJsonConverter())
+                .registerTypeAdapter(BytesData.class, new BytesDataJsonConverter())
+                .create();
+    }
+
+    @Test
+    public void testEncodeDecodeAllBytes() {
+        final byte[] data = new byte[256];
+        for (int i = 0; i < data.length; i++) {
+            data[i] = (byte) i;
+        }
+        final String lower = HexCodec.encode(data, false);
+        final String upper = HexCodec.encode(data, true);
+        assertEquals(512, lower.length());
+        assertEquals("000102", lower.substring(0, 6));
+        assertEquals("fdfeff", lower.substring(506));
+        assertEquals(lower.toUpperCase(), upper);
+
+        assertArrayEquals(data, HexCodec.decode(lower));
+        assertArrayEquals(data, HexCodec.decode(upper));
+        assertArrayEquals(data, HexCodec.decode("0x" + lower));
+        assertEquals("Mx000102", HexCodec.encode("Mx", data, 0, 3, true));
+        assertEquals("", HexCodec.encode((byte[]) null, false));
+        assertEquals(0, HexCodec.decode("").length);
+    }
+
+    @Test
+    public void testSameAsCharacterDigit() {
+        final Random random = new Random(1);
+        final String alphabet = "0123456789abcdefABCDEFxyz-";
+        for (int n = 0; n < 200; n++) {
+            final StringBuilder sb = new StringBuilder();
+            final int len = random.nextInt(40);
+            for (int i = 0; i < len; i++) {
+                sb.append(alphabet.charAt(random.nextInt(alphabet.length())));
+            }
+            final String in = sb.toString();
+            final byte[] expected = new byte[in.length() / 2];
+            for (int i = 0; i + 1 < in.length(); i += 2) {
+                expected[i / 2] = (byte) ((Character.digit(in.charAt(i), 16) << 4) + Character.digit(in.charAt(i + 1), 16));
+            }
+            assertArrayEquals(in, expected, HexCodec.decode(in));
+        }
+    }
+
+    @Test
+    public void testPrefixes() {
+        for (String prefix : new String[]{"Mx", "mx", "Mt", "mt", "Mp", "mp", "Mc", "mc", "0x", "Mx0x"}) {
+            assertArrayEquals(prefix, new byte[]{(byte) 0xAB, 0x01}, StringHelper.hexStringToBytes(prefix + "ab01"));
+            assertEquals(prefix, prefix.length(), HexCodec.prefixLength(prefix + "ab01"));
+        }
+        assertEquals(0, HexCodec.prefixLength("ab01"));
+        assertEquals(0, HexCodec.prefixLength("MX"));
+
+        assertTrue(HexCodec.test(ADDRESS, "Mx", 20));
+        assertTrue(HexCodec.test(ADDRESS.substring(2), "Mx", 20));
+        assertTrue(HexCodec.test("mx" + ADDRESS.substring(2), "Mx", 20));
+        assertFalse(HexCodec.test("MX" + ADDRESS.substring(2), "Mx", 20));
+        assertFalse(HexCodec.test(ADDRESS + "0", "Mx", 20));
+        assertFalse(HexCodec.test(ADDRESS.replace('e', 'g'), "Mx", 20));
+        assertFalse(HexCodec.test(null, "Mx", 20));
+        assertTrue(HexCodec.test("Mt1", "Mt", -1));
+        assertFalse(HexCodec.test("Mt", "Mt", -1));
+
+        assertTrue(MinterAddress.testString(ADDRESS));
+        assertFalse(MinterAddress.testString(PUB_KEY));
+        assertTrue(StringHelper.testHex("0xab1"));
+        assertFalse(StringHelper.testHex("0xa"));
+        assertFalse(StringHelper.testHex("Mxab"));
+    }
+
+    @Test
+    public void testBytesDataHex() {
+        final MinterAddress address = new MinterAddress(ADDRESS);
+        assertEquals(ADDRESS, address.toString());
+        assertEquals(ADDRESS.substring(2).toUpperCase(), address.toHexString(true));
+        assertEquals("Mx" + ADDRESS.substring(2).toUpperCase(), address.toHexString("Mx", true));
+
+        final StringBuilder sb = new StringBuilder("to: ");
+        address.appendHexTo(sb, "Mx");
+        assertEquals("to: " + ADDRESS, sb.toString());
+
+        // char storage
+        final BytesData chars = new BytesData(new char[]{0x01, 0xFF, 0x10});
+        assertEquals("01ff10", chars.toHexString());
+        assertEquals("01ff10", chars.appendHexTo(new StringBuilder(), null).toString());
+    }
+
+    @Test
+    public void testJsonConverters() {
+        final Gson gson = gson();
+        final Holder holder = new Holder();
+        holder.address = new MinterAddress(ADDRESS);
+        holder.publicKey = new MinterPublicKey(PUB_KEY);
+        holder.hash = new MinterHash("Mtabcdef");
+        holder.check = new MinterCheck("Mc0102");
+        holder.data = new BytesData(new byte[]{1, 2, 3});
+
+        final String json = gson.toJson(holder);
+        assertEquals("{\"address\":\"" + ADDRESS + "\",\"publicKey\":\"" + PUB_KEY
+                + "\",\"hash\":\"Mtabcdef\",\"check\":\"Mc0102\",\"data\":\"010203\"}", json);
+
+        final Holder read = gson.fromJson(json, Holder.class);
+        assertEquals(holder.address, read.address);
+        assertEquals(holder.publicKey, read.publicKey);
+        assertEquals(holder.hash, read.hash);
+        assertEquals(holder.check, read.check);
+        assertEquals(holder.data, read.data);
+
+        final Holder invalid = gson.fromJson("{\"address\":\"Mxzz\",\"publicKey\":\"" + ADDRESS
+                + "\",\"hash\":null,\"check\":\"Mx01\",\"data\":{\"a\":1}}", Holder.class);
+        assertNull(invalid.address);
+        assertNull(invalid.publicKey);
+        assertNull(invalid.hash);
+        assertNull(invalid.check);
+        assertNull(invalid.data);
+
+        assertEquals(new BytesData(new byte[]{(byte) 0xab, 0x01}), gson.fromJson("{\"data\":\"Mt0xab01\"}", Holder.class).data);
+        assertNull(gson.fromJson("{\"data\":\"0xa\"}", Holder.class).data);
+    }
+}
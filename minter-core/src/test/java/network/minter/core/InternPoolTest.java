@@ -0,0 +1,143 @@
+/*
+ * Copyright (C) by MinterTeam. 2020
+ * @link <a href="https://github.com/MinterTeam">Org Github</a>
+ * @link <a href="https://github.com/edwardstock">Maintainer Github</a>
+ *
+ * The MIT License
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package network.minter.core;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+
+import org.junit.After;
+import org.junit.Test;
+
+import network.minter.core.crypto.MinterAddress;
+import network.minter.core.crypto.MinterPublicKey;
+import network.minter.core.internal.api.converters.InternPool;
+import network.minter.core.internal.api.converters.InternPools;
+import network.minter.core.internal.api.converters.MinterAddressJsonConverter;
+import network.minter.core.internal.api.converters.MinterPublicKeyJsonConverter;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+/**
+ * minter-android-core. 2019
+ * @author Eduard Maximovich [edward.vstock@gmail.com]
+ */
+public class InternPoolTest {
+    private static final String ADDRESS = "Mxee81347211c72524338f9680072af90744333146";
+    private static final String PUB_KEY = "Mp4ae1ee73e6136c85b0ca933a9a1347758a334885f10b3238398a67ac2eb153b8";
+
+    private static class Holder {
+        MinterAddress from;
+        MinterAddress to;
+        MinterPublicKey proposer;
+    }
+
+    private static Gson gson() {
+        return new GsonBuilder()
+                .registerTypeAdapter(MinterAddress.class, new MinterAddressJsonConverter())
+                .registerTypeAdapter(MinterPublicKey.class, new MinterPublicKeyJsonConverter())
+                .create();
+    }
+
+    private static String json(String to) {
+        return "{\"from\":\"" + ADDRESS + "\",\"to\":\"" + to + "\",\"proposer\":\"" + PUB_KEY + "\"}";
+    }
+
+    @After
+    public void tearDown() {
+        InternPools.setEnabled(false);
+    }
+
+    @Test
+    public void testPool() {
+        final InternPool<String> pool = new InternPool<>(2);
+        final String a = new String("a");
+        assertNull(pool.get("a"));
+        assertSame(a, pool.intern("a", a));
+        assertSame(a, pool.intern("a", new String("a")));
+        assertSame(a, pool.get("a"));
+
+        final String b = "b";
+        final String c = "c";
+        pool.intern("b", b);
+        // "a" is recently used, "b" is evicted
+        pool.get("a");
+        pool.intern("c", c);
+        assertEquals(2, pool.size());
+        assertNull(pool.get("b"));
+        assertSame(a, pool.get("a"));
+        assertSame(c, pool.get("c"));
+        assertEquals(4, pool.getHits());
+        assertEquals(2, pool.getMisses());
+
+        assertNull(pool.intern(null, null));
+        pool.clear();
+        assertEquals(0, pool.size());
+    }
+
+    @Test
+    public void testDisabledByDefault() {
+        assertFalse(InternPools.isEnabled());
+        assertNull(InternPools.addresses());
+
+        final Gson gson = gson();
+        final Holder first = gson.fromJson(json(ADDRESS), Holder.class);
+        final Holder second = gson.fromJson(json(ADDRESS), Holder.class);
+        assertEquals(first.from, second.from);
+        assertNotSame(first.from, first.to);
+        assertNotSame(first.from, second.from);
+        assertNotSame(first.proposer, second.proposer);
+    }
+
+    @Test
+    public void testConvertersShareValues() {
+        InternPools.setEnabled(true);
+        final Gson gson = gson();
+        final Holder first = gson.fromJson(json(ADDRESS), Holder.class);
+        final Holder second = gson.fromJson(json("Mx0000000000000000000000000000000000000001"), Holder.class);
+
+        assertSame(first.from, first.to);
+        assertSame(first.from, second.from);
+        assertSame(first.proposer, second.proposer);
+        assertEquals(new MinterAddress(ADDRESS), first.from);
+        assertEquals(new MinterAddress("Mx0000000000000000000000000000000000000001"), second.to);
+        assertNotSame(first.from, second.to);
+
+        // invalid values are not pooled
+        assertNull(gson.fromJson(json("Mxzz"), Holder.class).to);
+        assertEquals(2, InternPools.addresses().size());
+
+        final String symbol = new String("MNT");
+        assertSame(InternPools.symbol("MNT"), InternPools.symbol(symbol));
+
+        InternPools.setEnabled(false);
+        assertNotSame(first.from, gson.fromJson(json(ADDRESS), Holder.class).from);
+    }
+}
@@ -0,0 +1,152 @@
+/*
+ * Copyright (C) by MinterTeam. 2020
+ * @link <a href="https://github.com/MinterTeam">Org Github</a>
+ * @link <a href="https://github.com/edwardstock">Maintainer Github</a>
+ *
+ * The MIT License
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package network.minter.core;
+
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import network.minter.core.crypto.cryptohash.Keccak256;
+import network.minter.core.crypto.cryptohash.Keccak512;
+import network.minter.core.crypto.cryptohash.KeccakSponge;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+/**
+ * minter-android-core. 2019
+ * @author Eduard Maximovich [edward.vstock@gmail.com]
+ */
+public class KeccakSpongeTest {
+    private static final int[] SIZES = {0, 1, 7, 8, 9, 31, 32, 33, 71, 72, 73, 135, 136, 137, 200, 271, 272, 273, 1000, 4096};
+
+    private static byte[] data(int size) {
+        final byte[] out = new byte[size];
+        for (int i = 0; i < size; i++) {
+            out[i] = (byte) (i * 13 + 5);
+        }
+        return out;
+    }
+
+    @Test
+    public void testSameAsKeccakCore() {
+        final KeccakSponge sponge256 = KeccakSponge.keccak256();
+        final KeccakSponge sponge512 = KeccakSponge.keccak512();
+        for (int size : SIZES) {
+            final byte[] input = data(size);
+            assertArrayEquals("256, size " + size, new Keccak256().digest(input), sponge256.digest(input));
+            assertArrayEquals("512, size " + size, new Keccak512().digest(input), sponge512.digest(input));
+        }
+    }
+
+    @Test
+    public void testSplitUpdates() {
+        final KeccakSponge sponge = KeccakSponge.keccak256();
+        for (int size : SIZES) {
+            final byte[] input = data(size);
+            final byte[] expected = new Keccak256().digest(input);
+            for (int step : new int[]{1, 3, 8, 13, 136, 150}) {
+                for (int off = 0; off < size; off += step) {
+                    sponge.update(input, off, Math.min(step, size - off));
+                }
+                assertArrayEquals("size " + size + ", step " + step, expected, sponge.digest());
+            }
+        }
+    }
+
+    @Test
+    public void testByteBuffers() {
+        final KeccakSponge sponge = KeccakSponge.keccak256();
+        for (int size : SIZES) {
+            final byte[] input = data(size);
+            final byte[] expected = new Keccak256().digest(input);
+
+            final ByteBuffer direct = ByteBuffer.allocateDirect(size + 3);
+            direct.put(new byte[3]).put(input);
+            direct.position(3);
+            // unaligned lane before buffer
+            sponge.update(input, 0, Math.min(size, 5));
+            direct.position(3 + Math.min(size, 5));
+            sponge.update(direct);
+            assertEquals(direct.limit(), direct.position());
+            assertArrayEquals("direct, size " + size, expected, sponge.digest());
+
+            final ByteBuffer heap = ByteBuffer.wrap(input);
+            sponge.update(heap);
+            assertEquals(size, heap.position());
+            assertArrayEquals("heap, size " + size, expected, sponge.digest());
+        }
+    }
+
+    @Test
+    public void testDigestAll() {
+        final List<byte[]> inputs = new ArrayList<>();
+        for (int size : SIZES) {
+            inputs.add(data(size));
+        }
+
+        final KeccakSponge sponge = KeccakSponge.keccak256();
+        // dirty state must not affect result
+        sponge.update(data(10));
+        final byte[][] digests = sponge.digestAll(inputs);
+        final byte[] flat = new byte[inputs.size() * 32 + 4];
+        assertEquals(inputs.size() * 32, sponge.digestAll(inputs, flat, 4));
+
+        for (int i = 0; i < inputs.size(); i++) {
+            final byte[] expected = new Keccak256().digest(inputs.get(i));
+            assertArrayEquals(expected, digests[i]);
+            assertArrayEquals(expected, Arrays.copyOfRange(flat, 4 + i * 32, 4 + (i + 1) * 32));
+        }
+    }
+
+    @Test
+    public void testCopyAndTruncatedDigest() {
+        final byte[] input = data(300);
+        final KeccakSponge sponge = KeccakSponge.keccak256();
+        sponge.update(input, 0, 150);
+        final KeccakSponge copy = (KeccakSponge) sponge.copy();
+        sponge.update(input, 150, 150);
+        copy.update(input, 150, 150);
+        final byte[] expected = new Keccak256().digest(input);
+        assertArrayEquals(expected, copy.digest());
+
+        final byte[] out = new byte[20];
+        assertEquals(20, sponge.digest(out, 0, 20));
+        assertArrayEquals(Arrays.copyOf(expected, 20), out);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testDigestAllSmallOutput() {
+        final List<byte[]> inputs = new ArrayList<>();
+        inputs.add(data(1));
+        inputs.add(data(2));
+        KeccakSponge.keccak256().digestAll(inputs, new byte[63], 0);
+    }
+}
@@ -28,10 +28,13 @@ package network.minter.core;
 
 
 import com.edwardstock.secp256k1.NativeSecp256k1;
+import com.edwardstock.secp256k1.NativeSecp256k1ContextPool;
 import com.edwardstock.secp256k1.NativeSecp256k1Util;
 import org.junit.Before;
 import org.junit.Test;
 
+import java.util.concurrent.atomic.AtomicReference;
+
 import network.minter.core.internal.helpers.StringHelper;
 
 import static junit.framework.Assert.assertFalse;
@@ -39,6 +42,9 @@ import static junit.framework.Assert.assertTrue;
 import static com.edwardstock.secp256k1.NativeSecp256k1.contextCleanup;
 import static com.edwardstock.secp256k1.NativeSecp256k1.contextCreate;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
 
 /**
  * MinterWallet. 2018
@@ -355,4 +361,122 @@ public class NativeSecp256k1Test {
         //System.out.println(" TEST " + new BigInteger(1, resultbytes).toString(16));
         assertFalse(result);
     }
+
+    @Test
+    public void testContextPoolReusesContexts() {
+        byte[] sec = StringHelper.hexStringToBytes(
+                "67E56582298859DDAE725F972992A07C6C4FB9F62A8FFF58CE3CA926A1063530".toLowerCase());
+
+        NativeSecp256k1ContextPool pool = new NativeSecp256k1ContextPool(2);
+        try {
+            long ctx = pool.acquire();
+            assertNotEquals(0, ctx);
+            assertTrue(NativeSecp256k1.secKeyVerify(ctx, sec));
+            pool.release(ctx);
+
+            long ctx2 = pool.acquire();
+            assertEquals(ctx, ctx2);
+            pool.release(ctx2);
+
+            for (int i = 0; i < 10; i++) {
+                assertTrue(pool.use(c -> NativeSecp256k1.secKeyVerify(c, sec)));
+            }
+
+            NativeSecp256k1ContextPool.Stats stats = pool.getStats();
+            assertEquals(1, stats.getSize());
+            assertEquals(1, stats.getIdle());
+            assertEquals(1, stats.getCreateCount());
+            assertEquals(12, stats.getAcquireCount());
+            assertEquals(0, stats.getWaitCount());
+        } finally {
+            pool.close();
+        }
+    }
+
+    @Test
+    public void testContextPoolWaitsWhenExhausted() throws InterruptedException {
+        NativeSecp256k1ContextPool pool = new NativeSecp256k1ContextPool(1);
+        try {
+            long ctx = pool.acquire();
+            Thread t = new Thread(() -> pool.release(pool.acquire()));
+            t.start();
+            Thread.sleep(50);
+            pool.release(ctx);
+            t.join();
+
+            NativeSecp256k1ContextPool.Stats stats = pool.getStats();
+            assertEquals(1, stats.getCreateCount());
+            assertEquals(1, stats.getWaitCount());
+            assertTrue(stats.getMaxWaitNanos() > 0);
+        } finally {
+            pool.close();
+        }
+        assertTrue(pool.isClosed());
+        assertEquals(0, pool.getStats().getSize());
+    }
+
+    @Test
+    public void testContextPoolTryAcquire() {
+        NativeSecp256k1ContextPool pool = new NativeSecp256k1ContextPool(1);
+        try {
+            Long ctx = pool.tryAcquire();
+            assertNotNull(ctx);
+            assertNull(pool.tryAcquire());
+            pool.release(ctx);
+            assertEquals(ctx, pool.tryAcquire());
+            pool.release(ctx);
+            assertEquals(0, pool.getStats().getWaitCount());
+        } finally {
+            pool.close();
+        }
+    }
+
+    @Test
+    public void testContextPoolWakesWaitersOnClose() throws InterruptedException {
+        NativeSecp256k1ContextPool pool = new NativeSecp256k1ContextPool(1);
+        long ctx = pool.acquire();
+        AtomicReference<Throwable> error = new AtomicReference<>();
+        Thread t = new Thread(() -> {
+            try {
+                pool.release(pool.acquire());
+            } catch (Throwable e) {
+                error.set(e);
+            }
+        });
+        t.start();
+        pool.close();
+        t.join(5000);
+        assertFalse(t.isAlive());
+        assertTrue(error.get() instanceof IllegalStateException);
+
+        // borrowed context is destroyed on release
+        pool.release(ctx);
+        assertEquals(0, pool.getStats().getSize());
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testContextPoolAcquireAfterClose() {
+        NativeSecp256k1ContextPool pool = new NativeSecp256k1ContextPool(1);
+        pool.close();
+        pool.acquire();
+    }
+
+    /**
+     * This tests public key recovery from recoverable signature
+     */
+    @Test
+    public void testRecover() {
+        byte[] data = StringHelper.hexStringToBytes("be9677d2ea649220f63b2ccf6275a49a0a64e9f59dd9961d69a01a8d525788f8"); //sha256hash of "minter"
+        byte[] sig = StringHelper.hexStringToBytes(
+                "18c86cd2b39792b0e372fb092afbed29db4f3f6f4d261486a3495806bf0a9ef1" +
+                        "15edb329d2c11c21be4828442413c290e4f241b9e919667b15e81e73b104ea84");
+        String expected = "04fc448eb5f2c1846022f7bbef1bfc8cf504b688f8a9f30a625a8d7182b7fa332e1ffcd7ab3c2f7dc47e78406ebba2b5e276931650d716aafd8d1d3ccbcb915aab";
+
+        assertEquals(expected, StringHelper.bytesToHexString(NativeSecp256k1.ecdsaRecover(data, sig, 0, false)));
+        assertEquals(expected.substring(2, 66), StringHelper.bytesToHexString(NativeSecp256k1.ecdsaRecover(data, sig, 0, true)).substring(2));
+        // other recovery id gives other key
+        assertNotEquals(expected, StringHelper.bytesToHexString(NativeSecp256k1.ecdsaRecover(data, sig, 1, false)));
+        // invalid signature
+        assertEquals(0, NativeSecp256k1.ecdsaRecover(data, new byte[64], 0, false).length);
+    }
 }
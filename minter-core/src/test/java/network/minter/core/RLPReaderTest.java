@@ -0,0 +1,198 @@
+/*
+ * Copyright (C) by MinterTeam. 2019
+ * @link <a href="https://github.com/MinterTeam">Org Github</a>
+ * @link <a href="https://github.com/edwardstock">Maintainer Github</a>
+ *
+ * The MIT License
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package network.minter.core;
+
+import org.junit.Test;
+
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.util.Random;
+
+import network.minter.core.crypto.BytesData;
+import network.minter.core.crypto.MinterAddress;
+import network.minter.core.crypto.MinterPublicKey;
+import network.minter.core.util.RLPReader;
+import network.minter.core.util.RLPWriter;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * minter-android-core. 2019
+ *
+ * @author Eduard Maximovich [edward.vstock[at]gmail.com]
+ */
+public class RLPReaderTest {
+    private static final MinterAddress ADDRESS = new MinterAddress("Mx00e1347211c72524338f9680072af90744333146");
+    private static final MinterPublicKey PUB_KEY = new MinterPublicKey("Mpe78a2556e65fcc63b9338c0ab50442625850cf93df64d674130befa3af00c686");
+
+    @Test
+    public void testReadScalars() {
+        final long[] longs = {0, 1, 0x7F, 0x80, 0x81, 0xFF, 0x100, 0xFFFF, 0x10000, Long.MAX_VALUE};
+        for (long v : longs) {
+            // Long 0x80 is written raw for compatibility with RLPBoxed, so it is read back as empty item
+            if (v != 0x80) {
+                assertEquals(v, new RLPReader(RLPWriter.encode(v)).readLong());
+            }
+            assertEquals(BigInteger.valueOf(v), new RLPReader(RLPWriter.encode(BigInteger.valueOf(v))).readBigInteger());
+        }
+
+        final BigInteger big = new BigInteger("ffffffffffffffffffffffffffff", 16);
+        assertEquals(big, new RLPReader(RLPWriter.encode(big)).readBigInteger());
+        assertEquals(Integer.MAX_VALUE, new RLPReader(RLPWriter.encode(Integer.MAX_VALUE)).readInt());
+        assertEquals("MNT", new RLPReader(RLPWriter.encode("MNT")).readString());
+        assertEquals(ADDRESS, new RLPReader(RLPWriter.encode(ADDRESS)).readAddress());
+        assertEquals(PUB_KEY, new RLPReader(RLPWriter.encode(PUB_KEY)).readPublicKey());
+    }
+
+    @Test
+    public void testReadNestedLists() {
+        final Random random = new Random(42);
+        final byte[] longItem = new byte[1024];
+        random.nextBytes(longItem);
+        longItem[0] = 1;
+
+        final byte[] encoded = RLPWriter.encode(new RLPWriter.Encodable() {
+            @Override
+            public void writeRLP(RLPWriter writer) {
+                writer.beginList()
+                        .writeLong(100)
+                        .beginNested()
+                        .beginList().writeLong(0).write(ADDRESS).endList()
+                        .endNested()
+                        .beginList().writeBytes(longItem).writeLong(5).endList()
+                        .beginList().endList()
+                        .writeString("end")
+                        .endList();
+            }
+        });
+
+        final RLPReader reader = new RLPReader(encoded);
+        reader.beginList();
+        assertEquals(5, reader.remaining());
+        assertEquals(100, reader.readLong());
+
+        reader.beginNested().beginList();
+        assertEquals(0, reader.readLong());
+        assertEquals(ADDRESS, reader.readAddress());
+        assertFalse(reader.hasNext());
+        reader.endList().endNested();
+
+        reader.beginList();
+        assertArrayEquals(longItem, reader.readBytes());
+        // not read items are skipped by endList()
+        reader.endList();
+
+        reader.beginList();
+        assertFalse(reader.hasNext());
+        reader.endList();
+
+        assertEquals("end", reader.readString());
+        reader.endList();
+        assertFalse(reader.hasNext());
+    }
+
+    @Test
+    public void testSliceViews() {
+        final byte[] payload = new byte[]{0x10, 0x20, 0x30};
+        final byte[] encoded = RLPWriter.encode(new Object[]{payload});
+        final byte[] shifted = new byte[encoded.length + 4];
+        System.arraycopy(encoded, 0, shifted, 2, encoded.length);
+
+        final RLPReader reader = new RLPReader(shifted, 2, encoded.length);
+        reader.beginList();
+        reader.next();
+        assertTrue(reader.data() == shifted);
+        assertEquals(3, reader.length());
+        assertEquals(0x10, reader.data()[reader.offset()]);
+
+        final ByteBuffer buffer = ByteBuffer.wrap(shifted, 2, encoded.length);
+        final RLPReader bufferReader = new RLPReader(buffer.slice());
+        bufferReader.beginList();
+        assertEquals(new BytesData(payload), bufferReader.readBytesData());
+        assertEquals(0, buffer.position() - 2);
+    }
+
+    @Test(expected = RuntimeException.class)
+    public void testTruncatedData() {
+        final byte[] encoded = RLPWriter.encode(new Object[]{ADDRESS, 1L});
+        new RLPReader(encoded, 0, encoded.length - 2).beginList();
+    }
+
+    @Test(expected = RuntimeException.class)
+    public void testItemLengthOverflow() {
+        // long item with length 0x7FFFFFFF: offset + length overflows int
+        new RLPReader(new byte[]{(byte) 0xBB, 0x7F, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, 0x01}).next();
+    }
+
+    @Test
+    public void testRemainingLengthOverflow() {
+        final RLPReader reader = new RLPReader(new byte[]{(byte) 0xC6, (byte) 0xBB, 0x7F, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, 0x01});
+        reader.beginList();
+        try {
+            reader.remaining();
+            fail("Overflowed item length must be rejected");
+        } catch (RuntimeException e) {
+            assertTrue(e.getMessage().contains("outside of data bounds"));
+        }
+    }
+
+    @Test
+    public void testReadLongRejectsUnsignedOverflow() {
+        final BigInteger big = BigInteger.ONE.shiftLeft(63);
+        final byte[] encoded = RLPWriter.encode(new Object[]{big, Long.MAX_VALUE, 1L << 31, Integer.MAX_VALUE});
+
+        RLPReader reader = new RLPReader(encoded);
+        reader.beginList();
+        try {
+            reader.readLong();
+            fail("2^63 does not fit long");
+        } catch (RuntimeException e) {
+            assertTrue(e.getMessage().contains("readBigInteger()"));
+        }
+        assertEquals(Long.MAX_VALUE, reader.readLong());
+        try {
+            reader.readInt();
+            fail("2^31 does not fit int");
+        } catch (RuntimeException e) {
+            assertTrue(e.getMessage().contains("readLong()"));
+        }
+        assertEquals(Integer.MAX_VALUE, reader.readInt());
+
+        reader = new RLPReader(encoded);
+        reader.beginList();
+        assertEquals(big, reader.readBigInteger());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidAddressLength() {
+        new RLPReader(RLPWriter.encode(new byte[]{1, 2, 3})).readAddress();
+    }
+}
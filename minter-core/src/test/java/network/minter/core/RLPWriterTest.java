@@ -0,0 +1,179 @@
+/*
+ * Copyright (C) by MinterTeam. 2019
+ * @link <a href="https://github.com/MinterTeam">Org Github</a>
+ * @link <a href="https://github.com/edwardstock">Maintainer Github</a>
+ *
+ * The MIT License
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package network.minter.core;
+
+import org.junit.Test;
+
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.util.Random;
+
+import network.minter.core.crypto.BytesData;
+import network.minter.core.crypto.MinterAddress;
+import network.minter.core.util.RLPBoxed;
+import network.minter.core.util.RLPWriter;
+
+import static network.minter.core.internal.helpers.BytesHelper.charsToBytes;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * minter-android-core. 2019
+ *
+ * @author Eduard Maximovich [edward.vstock[at]gmail.com]
+ */
+public class RLPWriterTest {
+    private static final MinterAddress ADDRESS = new MinterAddress("Mx00e1347211c72524338f9680072af90744333146");
+
+    private static Object[] sampleTx(long nonce) {
+        return new Object[]{
+                BigInteger.valueOf(nonce),
+                BigInteger.valueOf(2),
+                BigInteger.ONE,
+                0L,
+                BigInteger.ONE,
+                RLPBoxed.encode(new Object[]{0L, ADDRESS, new BigInteger("1000000000000000000")}),
+                new char[0],
+                new char[0],
+                BigInteger.ONE
+        };
+    }
+
+    private static void assertSameEncoding(Object input) {
+        final byte[] expected = charsToBytes(RLPBoxed.encode(input));
+        assertArrayEquals(expected, RLPWriter.encode(input));
+    }
+
+    @Test
+    public void testScalarsEncodedAsBoxed() {
+        final long[] longs = {0, 1, 0x7F, 0x80, 0x81, 0xFF, 0x100, 0xFFFF, 0x10000, Long.MAX_VALUE, -1, Long.MIN_VALUE};
+        for (long v : longs) {
+            assertSameEncoding(v);
+            assertSameEncoding((int) v);
+            assertSameEncoding(BigInteger.valueOf(v));
+        }
+        assertSameEncoding(new BigInteger("ffffffffffffffffffffffff", 16));
+
+        assertSameEncoding(new byte[0]);
+        assertSameEncoding(new byte[]{0});
+        assertSameEncoding(new byte[]{0, 0});
+        assertSameEncoding(new byte[]{0, 5});
+        assertSameEncoding(new byte[]{(byte) 0x80});
+        assertSameEncoding(new byte[]{(byte) 0x81});
+        assertSameEncoding(new char[]{0, 0});
+        assertSameEncoding(new char[]{0, 5});
+        assertSameEncoding("");
+        assertSameEncoding("MNT\0\0\0\0\0\0\0");
+        assertSameEncoding("\0\0");
+        assertSameEncoding(ADDRESS);
+        assertSameEncoding(new BytesData(new char[]{0, 0, 1}));
+        assertSameEncoding(new BytesData(new byte[]{0, 0, 1}));
+    }
+
+    @Test
+    public void testLongItemsAndListsEncodedAsBoxed() {
+        final Random random = new Random(42);
+        for (int len : new int[]{55, 56, 57, 255, 256, 1024, 70000}) {
+            final byte[] data = new byte[len];
+            random.nextBytes(data);
+            data[0] = 1;
+            assertSameEncoding(data);
+            assertSameEncoding(new Object[]{data, new Object[]{data, 1L}});
+        }
+
+        assertSameEncoding(new Object[0]);
+        assertSameEncoding(new Object[]{new Object[0], new Object[]{new Object[0]}});
+        assertSameEncoding(sampleTx(1));
+        assertSameEncoding(sampleTx(0x80));
+    }
+
+    @Test
+    public void testWriteIntoArrayAndBuffer() {
+        final Object[] tx = sampleTx(100);
+        final byte[] expected = charsToBytes(RLPBoxed.encode(tx));
+        final RLPWriter.Encodable item = new RLPWriter.Encodable() {
+            @Override
+            public void writeRLP(RLPWriter writer) {
+                writer.write(tx);
+            }
+        };
+
+        final RLPWriter writer = new RLPWriter();
+        assertEquals(expected.length, writer.measure(item));
+
+        final byte[] out = new byte[expected.length + 10];
+        assertEquals(expected.length, writer.encode(item, out, 5));
+        for (int i = 0; i < expected.length; i++) {
+            assertEquals(expected[i], out[i + 5]);
+        }
+
+        final ByteBuffer heap = ByteBuffer.allocate(expected.length + 3);
+        heap.position(3);
+        writer.encode(item, heap);
+        assertEquals(heap.capacity(), heap.position());
+
+        final ByteBuffer direct = ByteBuffer.allocateDirect(expected.length);
+        writer.encode(item, direct);
+        direct.flip();
+        final byte[] directOut = new byte[direct.remaining()];
+        direct.get(directOut);
+        assertArrayEquals(expected, directOut);
+    }
+
+    @Test
+    public void testWriteDataCharsKeepsStorage() {
+        final char[][] samples = {
+                new char[0], new char[]{0}, new char[]{0, 0}, new char[]{0, 5}, new char[]{0, 0x80},
+                new char[]{0x80}, new char[]{0x81}, new char[]{1, 0, 2}, new char[60]
+        };
+        for (final char[] sample : samples) {
+            final BytesData bytes = new BytesData(charsToBytes(sample));
+            final BytesData chars = new BytesData(sample);
+            final byte[] expected = charsToBytes(RLPBoxed.encode(sample));
+            for (final BytesData data : new BytesData[]{bytes, chars}) {
+                assertArrayEquals(expected, RLPWriter.encode(new RLPWriter.Encodable() {
+                    @Override
+                    public void writeRLP(RLPWriter writer) {
+                        writer.writeDataChars(data);
+                    }
+                }));
+            }
+            assertTrue(bytes.isByteBacked());
+        }
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testWriteIntoSmallArray() {
+        new RLPWriter().encode(new RLPWriter.Encodable() {
+            @Override
+            public void writeRLP(RLPWriter writer) {
+                writer.beginList().writeLong(1000).endList();
+            }
+        }, new byte[2], 0);
+    }
+}
@@ -0,0 +1,282 @@
+/*
+ * Copyright (C) by MinterTeam. 2020
+ * @link <a href="https://github.com/MinterTeam">Org Github</a>
+ * @link <a href="https://github.com/edwardstock">Maintainer Github</a>
+ *
+ * The MIT License
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package network.minter.core;
+
+import org.junit.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.annotation.Nonnull;
+
+import network.minter.core.internal.api.ApiService;
+import network.minter.core.internal.api.Cached;
+import network.minter.core.internal.api.ReportsHeight;
+import network.minter.core.internal.api.ResponseCache;
+import network.minter.core.internal.data.DataRepository;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import retrofit2.Call;
+import retrofit2.http.GET;
+import retrofit2.http.Query;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * minter-core. 2020
+ * @author Eduard Maximovich [edward.vstock@gmail.com]
+ */
+public class ResponseCacheTest {
+
+    @Test
+    public void testHitMissAndTtl() throws Exception {
+        MockWebServer server = new MockWebServer();
+        server.enqueue(new MockResponse().setBody("\"bip\""));
+        server.enqueue(new MockResponse().setBody("\"mnt\""));
+        server.enqueue(new MockResponse().setBody("\"bip2\""));
+        server.start();
+        try {
+            ResponseCache cache = new ResponseCache(10).setRefreshAhead(1);
+            TestRepository repo = new TestRepository(new ApiService.Builder(server.url("/").toString()).setResponseCache(cache));
+
+            assertEquals("bip", repo.getInstantService().coin("BIP").execute().body());
+            assertEquals("bip", repo.getInstantService().coin("BIP").execute().body());
+            assertEquals("mnt", repo.coinAsync("MNT").get(5, TimeUnit.SECONDS));
+            assertEquals("bip", repo.coinAsync("BIP").get(5, TimeUnit.SECONDS));
+            assertEquals(2, server.getRequestCount());
+
+            ResponseCache.Stats stats = cache.getStats();
+            assertEquals(2, stats.hits);
+            assertEquals(2, stats.misses);
+            assertEquals(2, stats.size);
+            assertEquals(0.5, stats.getHitRate(), 0.0001);
+
+            cache.setTtl("/coin", 0, TimeUnit.SECONDS);
+            cache.invalidate("/coin");
+            assertEquals("bip2", repo.coinAsync("BIP").get(5, TimeUnit.SECONDS));
+            assertEquals(0, cache.size());
+        } finally {
+            server.shutdown();
+        }
+    }
+
+    @Test
+    public void testEvictionAndErrorsNotCached() throws Exception {
+        MockWebServer server = new MockWebServer();
+        server.enqueue(new MockResponse().setResponseCode(500).setBody("\"fail\""));
+        for (int i = 0; i < 4; i++) {
+            server.enqueue(new MockResponse().setBody("\"ok" + i + "\""));
+        }
+        server.start();
+        try {
+            ResponseCache cache = new ResponseCache(2);
+            TestRepository repo = new TestRepository(new ApiService.Builder(server.url("/").toString()).setResponseCache(cache));
+
+            assertEquals(500, repo.getInstantService().coin("A").execute().code());
+            assertEquals("ok0", repo.getInstantService().coin("A").execute().body());
+            assertEquals("ok1", repo.getInstantService().coin("B").execute().body());
+            assertEquals("ok2", repo.getInstantService().coin("C").execute().body());
+            // A was least recently used
+            assertEquals("ok3", repo.getInstantService().coin("A").execute().body());
+            assertEquals("ok2", repo.getInstantService().coin("C").execute().body());
+            assertEquals(2, cache.size());
+            assertEquals(2, cache.getStats().evictions);
+            assertEquals(5, server.getRequestCount());
+        } finally {
+            server.shutdown();
+        }
+    }
+
+    @Test
+    public void testPerBlockInvalidation() throws Exception {
+        MockWebServer server = new MockWebServer();
+        server.enqueue(new MockResponse().setBody("\"1\""));
+        server.enqueue(new MockResponse().setBody("\"bip\""));
+        server.enqueue(new MockResponse().setBody("\"2\""));
+        server.start();
+        try {
+            ResponseCache cache = new ResponseCache(10);
+            cache.onBlock(100);
+            TestRepository repo = new TestRepository(new ApiService.Builder(server.url("/").toString()).setResponseCache(cache));
+
+            assertEquals("1", repo.getInstantService().gasPrice().execute().body());
+            assertEquals("bip", repo.getInstantService().coin("BIP").execute().body());
+            cache.onBlock(100);
+            assertEquals("1", repo.getInstantService().gasPrice().execute().body());
+
+            cache.onBlock(101);
+            assertEquals("2", repo.getInstantService().gasPrice().execute().body());
+            // not per-block entry survives
+            assertEquals("bip", repo.getInstantService().coin("BIP").execute().body());
+            assertEquals(3, server.getRequestCount());
+        } finally {
+            server.shutdown();
+        }
+    }
+
+    @Test
+    public void testHeightReportedByResponses() throws Exception {
+        MockWebServer server = new MockWebServer();
+        server.enqueue(new MockResponse().setBody("100"));
+        server.enqueue(new MockResponse().setBody("\"1\""));
+        server.enqueue(new MockResponse().setBody("100"));
+        server.enqueue(new MockResponse().setBody("101"));
+        server.enqueue(new MockResponse().setBody("\"2\""));
+        server.enqueue(new MockResponse().setResponseCode(500).setBody("200"));
+        server.start();
+        try {
+            ResponseCache cache = new ResponseCache(10);
+            TestRepository repo = new TestRepository(new ApiService.Builder(server.url("/").toString()).setResponseCache(cache));
+
+            repo.getInstantService().height().execute();
+            assertEquals(100, cache.getHeight());
+            assertEquals("1", repo.getInstantService().gasPrice().execute().body());
+
+            // same block, entry is alive
+            repo.getInstantService().height().execute();
+            assertEquals("1", repo.getInstantService().gasPrice().execute().body());
+
+            repo.heightAsync().get(5, TimeUnit.SECONDS);
+            assertEquals(101, cache.getHeight());
+            assertEquals("2", repo.getInstantService().gasPrice().execute().body());
+
+            // errors don't report anything
+            repo.getInstantService().height().execute();
+            assertEquals(101, cache.getHeight());
+            assertEquals(6, server.getRequestCount());
+        } finally {
+            server.shutdown();
+        }
+    }
+
+    @Test
+    public void testPerBlockDefaultTtl() throws Exception {
+        MockWebServer server = new MockWebServer();
+        server.enqueue(new MockResponse().setBody("\"1\""));
+        server.enqueue(new MockResponse().setBody("\"2\""));
+        server.start();
+        try {
+            final AtomicLong now = new AtomicLong(0);
+            ResponseCache cache = new ResponseCache(10).setRefreshAhead(1).setTicker(now::get);
+            TestRepository repo = new TestRepository(new ApiService.Builder(server.url("/").toString()).setResponseCache(cache));
+
+            assertEquals("1", repo.getInstantService().gasPrice().execute().body());
+            now.addAndGet(TimeUnit.SECONDS.toNanos(ResponseCache.DEFAULT_BLOCK_TTL) - 1);
+            assertEquals("1", repo.getInstantService().gasPrice().execute().body());
+
+            // no block reported, but entry lives only about one block time
+            now.addAndGet(1);
+            assertEquals("2", repo.getInstantService().gasPrice().execute().body());
+            assertEquals(2, server.getRequestCount());
+        } finally {
+            server.shutdown();
+        }
+    }
+
+    @Test
+    public void testRefreshAheadAndExpiration() throws Exception {
+        MockWebServer server = new MockWebServer();
+        server.enqueue(new MockResponse().setBody("\"old\""));
+        server.enqueue(new MockResponse().setBody("\"new\""));
+        server.enqueue(new MockResponse().setBody("\"newer\""));
+        server.start();
+        try {
+            final AtomicLong now = new AtomicLong(0);
+            ResponseCache cache = new ResponseCache(10).setRefreshAhead(0.5).setTicker(now::get);
+            ApiService.Builder builder = new ApiService.Builder(server.url("/").toString()).setResponseCache(cache);
+            TestRepository repo = new TestRepository(builder);
+
+            assertEquals("old", repo.getInstantService().coin("BIP").execute().body());
+            now.addAndGet(TimeUnit.MILLISECONDS.toNanos(900));
+            assertEquals("old", repo.getInstantService().coin("BIP").execute().body());
+            assertEquals(0, cache.getStats().refreshes);
+
+            // ttl is 2 seconds, so refresh starts after 1 second
+            final CountDownLatch refreshed = new CountDownLatch(1);
+            builder.getDispatcher().setIdleCallback(refreshed::countDown);
+            now.addAndGet(TimeUnit.MILLISECONDS.toNanos(200));
+            assertEquals("old", repo.getInstantService().coin("BIP").execute().body());
+            assertTrue(refreshed.await(5, TimeUnit.SECONDS));
+
+            assertEquals("new", repo.getInstantService().coin("BIP").execute().body());
+            assertEquals(2, server.getRequestCount());
+            assertEquals(1, cache.getStats().refreshes);
+
+            // refreshed entry expires 2 seconds after refresh
+            builder.getDispatcher().setIdleCallback(null);
+            now.addAndGet(TimeUnit.SECONDS.toNanos(2));
+            assertEquals("newer", repo.getInstantService().coin("BIP").execute().body());
+            assertEquals(3, server.getRequestCount());
+        } finally {
+            server.shutdown();
+        }
+    }
+
+    interface TestEndpoint {
+        @Cached(ttl = 2)
+        @GET("coin")
+        Call<Object> coin(@Query("symbol") String symbol);
+
+        @Cached(perBlock = true)
+        @GET("gas")
+        Call<Object> gasPrice();
+
+        @ReportsHeight(TestHeightReader.class)
+        @GET("height")
+        Call<Object> height();
+    }
+
+    public static final class TestHeightReader implements ResponseCache.HeightReader {
+        @Override
+        public long read(@Nonnull Object body) {
+            return ((Number) body).longValue();
+        }
+    }
+
+    static class TestRepository extends DataRepository<TestEndpoint> {
+        TestRepository(@Nonnull ApiService.Builder apiBuilder) {
+            super(apiBuilder);
+        }
+
+        CompletableFuture<Object> coinAsync(String symbol) {
+            return async(getInstantService().coin(symbol));
+        }
+
+        CompletableFuture<Object> heightAsync() {
+            return async(getInstantService().height());
+        }
+
+        @Nonnull
+        @Override
+        protected Class<TestEndpoint> getServiceClass() {
+            return TestEndpoint.class;
+        }
+    }
+}
@@ -55,6 +55,7 @@ import network.minter.core.internal.api.converters.MinterPublicKeyJsonConverter;
 import network.minter.core.internal.log.Mint;
 import network.minter.core.internal.log.StdLogger;
 import network.minter.core.internal.log.TimberLogger;
+import network.minter.explorer.api.converters.ExplorerStreamingAdapterFactory;
 import network.minter.explorer.repo.ExplorerAddressRepository;
 import network.minter.explorer.repo.ExplorerCoinsRepository;
 import network.minter.explorer.repo.ExplorerTransactionRepository;
@@ -99,6 +100,7 @@ public class MinterExplorerApi {
     private GateGasRepository mGasRepository;
     private GateEstimateRepository mGateEstimateRepo;
     private GateTransactionRepository mGateTxRepo;
+    private ExplorerStreamingAdapterFactory mStreamingAdapters;
 
     private MinterExplorerApi() {
         this(BASE_API_URL, BASE_GATE_URL);
@@ -280,6 +282,31 @@ public class MinterExplorerApi {
         return mApiService;
     }
 
+    /**
+     * Enable streaming json adapters of heavy response models (blocks, transactions history etc). They read
+     * response directly into models without building intermediate json tree.
+     * Disabled by default.
+     * @param enable true to enable
+     * @see ExplorerStreamingAdapterFactory
+     */
+    public void setStreamingAdapters(boolean enable) {
+        if (enable == isStreamingAdapters()) {
+            return;
+        }
+
+        if (enable) {
+            mStreamingAdapters = new ExplorerStreamingAdapterFactory();
+            mApiService.registerTypeAdapterFactory(mStreamingAdapters);
+        } else {
+            mApiService.unregisterTypeAdapterFactory(mStreamingAdapters);
+            mStreamingAdapters = null;
+        }
+    }
+
+    public boolean isStreamingAdapters() {
+        return mStreamingAdapters != null;
+    }
+
     public ApiService.Builder getGateApiService() {
         return mGateApiService;
     }
@@ -28,6 +28,7 @@ package network.minter.explorer.api;
 
 import java.util.List;
 
+import network.minter.core.internal.api.Coalesce;
 import network.minter.explorer.models.AddressData;
 import network.minter.explorer.models.BCExplorerResult;
 import network.minter.explorer.models.DelegationInfo;
@@ -50,6 +51,7 @@ public interface ExplorerAddressEndpoint {
      * @param address
      * @return Retrofit call with {@link ExpResult}
      */
+    @Coalesce
     @GET("addresses/{address}")
     Call<BCExplorerResult<AddressData>> balance(@Path("address") String address);
 
@@ -58,6 +60,7 @@ public interface ExplorerAddressEndpoint {
      * @param address
      * @return Retrofit call with {@link ExpResult}
      */
+    @Coalesce
     @GET("addresses/{address}")
     Call<BCExplorerResult<AddressData>> balance(@Path("address") String address, @Query("withSum") Integer withSum);
 
@@ -67,6 +70,7 @@ public interface ExplorerAddressEndpoint {
      * @param addresses
      * @return Retrofit call with {@link ExpResult}
      */
+    @Coalesce
     @GET("addresses")
     Call<BCExplorerResult<List<AddressData>>> balanceMultiple(@Query(value = "addresses[]", encoded = true) List<String> addresses);
 
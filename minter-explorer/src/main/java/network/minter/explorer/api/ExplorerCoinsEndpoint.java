@@ -28,6 +28,8 @@ package network.minter.explorer.api;
 
 import java.util.List;
 
+import network.minter.core.internal.api.Cached;
+import network.minter.core.internal.api.Coalesce;
 import network.minter.explorer.models.CoinItem;
 import network.minter.explorer.models.ExpResult;
 import retrofit2.Call;
@@ -40,9 +42,13 @@ import retrofit2.http.Query;
  */
 public interface ExplorerCoinsEndpoint {
 
+    @Coalesce
+    @Cached(ttl = 300)
     @GET("coins")
     Call<ExpResult<List<CoinItem>>> getAll();
 
+    @Coalesce
+    @Cached(ttl = 300)
     @GET("coins")
     Call<ExpResult<List<CoinItem>>> search(@Query("symbol") String symbol);
 }
@@ -51,6 +51,9 @@ public interface ExplorerTransactionEndpoint {
     @GET("addresses/{address}/transactions")
     Call<ExpResult<List<HistoryTransaction>>> getTransactionsByAddress(@Path("address") String address, @Query("start_block") long fromBlock, @Query("end_block") long toBlock);
 
+    @GET("addresses/{address}/transactions")
+    Call<ExpResult<List<HistoryTransaction>>> getTransactionsByAddress(@Path("address") String address, @Query("start_block") long fromBlock, @Query("end_block") long toBlock, @Query("page") long page);
+
     @GET("transactions")
     Call<ExpResult<List<HistoryTransaction>>> getTransactions(@QueryMap Map<String, Object> query);
 
@@ -28,6 +28,7 @@ package network.minter.explorer.api;
 
 import java.util.List;
 
+import network.minter.core.internal.api.Cached;
 import network.minter.explorer.models.ExpResult;
 import network.minter.explorer.models.ValidatorItem;
 import retrofit2.Call;
@@ -39,6 +40,7 @@ import retrofit2.http.GET;
  */
 public interface ExplorerValidatorsEndpoint {
 
+    @Cached
     @GET("validators")
     Call<ExpResult<List<ValidatorItem>>> getValidators();
 }
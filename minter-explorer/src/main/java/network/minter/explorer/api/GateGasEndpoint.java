@@ -26,6 +26,8 @@
 
 package network.minter.explorer.api;
 
+import network.minter.core.internal.api.Cached;
+import network.minter.core.internal.api.Coalesce;
 import network.minter.explorer.models.GasValue;
 import network.minter.explorer.models.GateResult;
 import retrofit2.Call;
@@ -38,6 +40,8 @@ import retrofit2.http.GET;
  */
 public interface GateGasEndpoint {
 
+    @Coalesce
+    @Cached(perBlock = true)
     @GET("min-gas")
     Call<GateResult<GasValue>> getMinGas();
 }
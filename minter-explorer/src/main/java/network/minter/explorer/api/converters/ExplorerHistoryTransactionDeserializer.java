@@ -26,36 +26,66 @@
 package network.minter.explorer.api.converters;
 
 import com.google.gson.Gson;
-import com.google.gson.JsonDeserializationContext;
-import com.google.gson.JsonDeserializer;
 import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
-import com.google.gson.JsonParseException;
+import com.google.gson.TypeAdapter;
+import com.google.gson.TypeAdapterFactory;
+import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
 
-import java.lang.reflect.Type;
+import java.io.IOException;
 
-import network.minter.explorer.MinterExplorerApi;
+import network.minter.core.internal.api.converters.StreamingTypeAdapter;
 import network.minter.explorer.models.HistoryTransaction;
 
 /**
  * minter-android-explorer. 2018
+ * <p>
+ * Reads common fields using reflective adapter of the same Gson and then dispatches "data" by transaction type.
+ * All adapters are taken from Gson cache, so nothing is built per element.
  *
  * @author Eduard Maximovich <edward.vstock@gmail.com>
  */
-public class ExplorerHistoryTransactionDeserializer implements JsonDeserializer<HistoryTransaction> {
+public class ExplorerHistoryTransactionDeserializer implements TypeAdapterFactory {
+
+    @SuppressWarnings("unchecked")
     @Override
-    public HistoryTransaction deserialize(JsonElement json, Type typeOfT, JsonDeserializationContext context) throws JsonParseException {
-        final Gson gson = MinterExplorerApi.getInstance().getGsonBuilder().create();
-        final HistoryTransaction tx = gson.fromJson(json, HistoryTransaction.class);
-
-	    if (tx.type != null && tx.type.getCls() != null) {
-		    JsonObject obj = json.getAsJsonObject().get("data").getAsJsonObject();
-		    tx.data = gson.fromJson(obj, tx.type.getCls());
-	    } else {
-		    JsonObject obj = json.getAsJsonObject().get("data").getAsJsonObject();
-		    tx.data = gson.fromJson(obj, HistoryTransaction.TxDefaultResult.class);
-	    }
-
-        return tx;
+    public <T> TypeAdapter<T> create(Gson gson, TypeToken<T> type) {
+        if (type.getRawType() != HistoryTransaction.class) {
+            return null;
+        }
+
+        final TypeAdapter<HistoryTransaction> delegate = gson.getDelegateAdapter(this, TypeToken.get(HistoryTransaction.class));
+        if (StreamingTypeAdapter.isStreaming(delegate)) {
+            // streaming adapters enabled, they don't need a tree
+            return (TypeAdapter<T>) delegate;
+        }
+        final TypeAdapter<JsonElement> elementAdapter = gson.getAdapter(JsonElement.class);
+
+        return (TypeAdapter<T>) new TypeAdapter<HistoryTransaction>() {
+            @Override
+            public void write(JsonWriter out, HistoryTransaction value) throws IOException {
+                delegate.write(out, value);
+            }
+
+            @Override
+            public HistoryTransaction read(JsonReader in) throws IOException {
+                final JsonElement json = elementAdapter.read(in);
+                if (json.isJsonNull()) {
+                    return null;
+                }
+
+                final HistoryTransaction tx = delegate.fromJsonTree(json);
+                final JsonObject obj = json.getAsJsonObject().get("data").getAsJsonObject();
+                if (tx.type != null && tx.type.getCls() != null) {
+                    tx.data = gson.getAdapter(tx.type.getCls()).fromJsonTree(obj);
+                } else {
+                    tx.data = gson.getAdapter(HistoryTransaction.TxDefaultResult.class).fromJsonTree(obj);
+                }
+
+                return tx;
+            }
+        };
     }
 }
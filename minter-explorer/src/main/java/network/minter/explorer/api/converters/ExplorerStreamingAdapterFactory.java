@@ -0,0 +1,266 @@
+/*
+ * Copyright (C) by MinterTeam. 2019
+ * @link <a href="https://github.com/MinterTeam">Org Github</a>
+ * @link <a href="https://github.com/edwardstock">Maintainer Github</a>
+ *
+ * The MIT License
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package network.minter.explorer.api.converters;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonElement;
+import com.google.gson.TypeAdapter;
+import com.google.gson.TypeAdapterFactory;
+import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.Date;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+
+import network.minter.core.Coin;
+import network.minter.core.crypto.MinterAddress;
+import network.minter.core.crypto.MinterHash;
+import network.minter.core.internal.api.converters.StreamingTypeAdapter;
+import network.minter.explorer.models.AddressData;
+import network.minter.explorer.models.HistoryTransaction;
+
+/**
+ * minter-android-explorer. 2019
+ * <p>
+ * Streaming adapters of explorer response models: {@link HistoryTransaction} and {@link AddressData}.
+ * Transaction data is read directly into class of it's type, tree is built only if "data" goes before "type".
+ * <p>
+ * Enable it with {@link network.minter.explorer.MinterExplorerApi#setStreamingAdapters(boolean)}
+ *
+ * @author Eduard Maximovich <edward.vstock@gmail.com>
+ */
+public final class ExplorerStreamingAdapterFactory implements TypeAdapterFactory {
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public <T> TypeAdapter<T> create(Gson gson, TypeToken<T> type) {
+        final Class<? super T> cls = type.getRawType();
+        final TypeAdapter<?> out;
+        if (cls == HistoryTransaction.class) {
+            out = new HistoryTransactionAdapter(gson, gson.getDelegateAdapter(this, TypeToken.get(HistoryTransaction.class)));
+        } else if (cls == AddressData.class) {
+            out = new AddressDataAdapter(gson.getDelegateAdapter(this, TypeToken.get(AddressData.class)));
+        } else {
+            return null;
+        }
+
+        return (TypeAdapter<T>) out;
+    }
+
+    static final class HistoryTransactionAdapter extends StreamingTypeAdapter<HistoryTransaction> {
+        private final TypeAdapter<BigInteger> mBigInt;
+        private final TypeAdapter<BigDecimal> mBigDec;
+        private final TypeAdapter<MinterHash> mHash;
+        private final TypeAdapter<MinterAddress> mAddress;
+        private final TypeAdapter<Date> mDate;
+        private final TypeAdapter<HistoryTransaction.Type> mType;
+        private final TypeAdapter<JsonElement> mElement;
+        private final TypeAdapter<?> mDefaultData;
+        private final Map<HistoryTransaction.Type, TypeAdapter<?>> mData = new EnumMap<>(HistoryTransaction.Type.class);
+
+        HistoryTransactionAdapter(Gson gson, TypeAdapter<HistoryTransaction> delegate) {
+            super(delegate);
+            mBigInt = gson.getAdapter(BigInteger.class);
+            mBigDec = gson.getAdapter(BigDecimal.class);
+            mHash = gson.getAdapter(MinterHash.class);
+            mAddress = gson.getAdapter(MinterAddress.class);
+            mDate = gson.getAdapter(Date.class);
+            mType = gson.getAdapter(HistoryTransaction.Type.class);
+            mElement = gson.getAdapter(JsonElement.class);
+            mDefaultData = gson.getAdapter(HistoryTransaction.TxDefaultResult.class);
+            for (HistoryTransaction.Type type : HistoryTransaction.Type.values()) {
+                mData.put(type, type.getCls() != null ? gson.getAdapter(type.getCls()) : mDefaultData);
+            }
+        }
+
+        @Override
+        public HistoryTransaction read(JsonReader in) throws IOException {
+            if (in.peek() == JsonToken.NULL) {
+                in.nextNull();
+                return null;
+            }
+
+            final HistoryTransaction out = create();
+            JsonElement pendingData = null;
+            boolean typeRead = false;
+            in.beginObject();
+            while (in.hasNext()) {
+                final String name = in.nextName();
+                if (name.equals("type")) {
+                    typeRead = true;
+                }
+                if (name.equals("data") && !typeRead) {
+                    // type is unknown yet
+                    pendingData = mElement.read(in);
+                } else if (!readField(in, name, out)) {
+                    in.skipValue();
+                }
+            }
+            in.endObject();
+
+            if (pendingData != null) {
+                out.data = dataAdapter(out.type).fromJsonTree(pendingData);
+            }
+            return out;
+        }
+
+        private TypeAdapter<?> dataAdapter(HistoryTransaction.Type type) {
+            return type == null ? mDefaultData : mData.get(type);
+        }
+
+        @Override
+        protected HistoryTransaction create() {
+            return new HistoryTransaction();
+        }
+
+        @Override
+        protected boolean readField(JsonReader in, String name, HistoryTransaction out) throws IOException {
+            switch (name) {
+                case "txn":
+                    out.txn = mBigInt.read(in);
+                    return true;
+                case "hash":
+                    out.hash = mHash.read(in);
+                    return true;
+                case "nonce":
+                    out.nonce = mBigInt.read(in);
+                    return true;
+                case "height":
+                    out.block = mBigInt.read(in);
+                    return true;
+                case "timestamp":
+                    out.timestamp = mDate.read(in);
+                    return true;
+                case "fee":
+                    out.fee = mBigDec.read(in);
+                    return true;
+                case "type":
+                    out.type = mType.read(in);
+                    return true;
+                case "from":
+                    out.from = mAddress.read(in);
+                    return true;
+                case "data":
+                    out.data = dataAdapter(out.type).read(in);
+                    return true;
+                case "payload":
+                    out.payload = nextString(in);
+                    return true;
+            }
+            return false;
+        }
+    }
+
+    static final class AddressDataAdapter extends StreamingTypeAdapter<AddressData> {
+
+        AddressDataAdapter(TypeAdapter<AddressData> delegate) {
+            super(delegate);
+        }
+
+        private static BigDecimal nextDecimal(JsonReader in) throws IOException {
+            final String value = nextString(in);
+            return value == null ? null : new BigDecimal(value);
+        }
+
+        @Override
+        protected AddressData create() {
+            return new AddressData();
+        }
+
+        @Override
+        protected boolean readField(JsonReader in, String name, AddressData out) throws IOException {
+            if (in.peek() == JsonToken.NULL) {
+                // keep defaults
+                in.nextNull();
+                return true;
+            }
+
+            switch (name) {
+                case "address":
+                    out.address = new MinterAddress(in.nextString());
+                    return true;
+                case "total_balance_sum":
+                    out.totalBalanceInBase = nextDecimal(in);
+                    return true;
+                case "total_balance_sum_usd":
+                    out.totalBalanceInUSD = nextDecimal(in);
+                    return true;
+                case "balances":
+                    out.coins = readBalances(in);
+                    return true;
+            }
+            return false;
+        }
+
+        private Map<String, AddressData.CoinBalance> readBalances(JsonReader in) throws IOException {
+            final Map<String, AddressData.CoinBalance> out = new HashMap<>();
+            in.beginArray();
+            while (in.hasNext()) {
+                final AddressData.CoinBalance b = new AddressData.CoinBalance();
+                in.beginObject();
+                while (in.hasNext()) {
+                    final String name = in.nextName();
+                    if (name.equals("amount")) {
+                        b.amount = nextDecimal(in);
+                    } else if (name.equals("coin") && in.peek() != JsonToken.NULL) {
+                        b.coin = readCoin(in);
+                    } else {
+                        in.skipValue();
+                    }
+                }
+                in.endObject();
+                out.put(b.coin == null ? null : b.coin.symbol, b);
+            }
+            in.endArray();
+            return out;
+        }
+
+        private Coin readCoin(JsonReader in) throws IOException {
+            Long id = null;
+            String symbol = null;
+            in.beginObject();
+            while (in.hasNext()) {
+                final String name = in.nextName();
+                if (name.equals("id")) {
+                    id = nextLong(in, 0);
+                } else if (name.equals("symbol")) {
+                    symbol = nextSymbol(in);
+                } else {
+                    in.skipValue();
+                }
+            }
+            in.endObject();
+            return new Coin(id, symbol);
+        }
+    }
+}
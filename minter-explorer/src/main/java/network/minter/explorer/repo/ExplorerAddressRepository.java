@@ -28,6 +28,7 @@ package network.minter.explorer.repo;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 import javax.annotation.Nonnull;
 
@@ -80,6 +81,13 @@ public class ExplorerAddressRepository extends DataRepository<ExplorerAddressEnd
         return getInstantService(this).balanceMultiple(sAddresses);
     }
 
+    /**
+     * Async variant of {@link #getAddressesData(List)}
+     */
+    public CompletableFuture<BCExplorerResult<List<AddressData>>> getAddressesDataAsync(List<MinterAddress> addresses) {
+        return async(getAddressesData(addresses));
+    }
+
     /**
      * Get full information about given address
      * @param address minter address
@@ -89,6 +97,13 @@ public class ExplorerAddressRepository extends DataRepository<ExplorerAddressEnd
         return getAddressData(address.toString());
     }
 
+    /**
+     * Async variant of {@link #getAddressData(MinterAddress)}
+     */
+    public CompletableFuture<BCExplorerResult<AddressData>> getAddressDataAsync(MinterAddress address) {
+        return async(getAddressData(address));
+    }
+
     /**
      * Get full information about given address
      * @param address minter address
@@ -98,6 +113,13 @@ public class ExplorerAddressRepository extends DataRepository<ExplorerAddressEnd
         return getAddressData(address.toString(), withSum);
     }
 
+    /**
+     * Async variant of {@link #getAddressData(MinterAddress, boolean)}
+     */
+    public CompletableFuture<BCExplorerResult<AddressData>> getAddressDataAsync(MinterAddress address, boolean withSum) {
+        return async(getAddressData(address, withSum));
+    }
+
     /**
      * Get full information about given address
      * @param address string minter address WITH prefix "Mx"
@@ -107,6 +129,13 @@ public class ExplorerAddressRepository extends DataRepository<ExplorerAddressEnd
         return getInstantService().balance(address);
     }
 
+    /**
+     * Async variant of {@link #getAddressData(String)}
+     */
+    public CompletableFuture<BCExplorerResult<AddressData>> getAddressDataAsync(String address) {
+        return async(getAddressData(address));
+    }
+
     /**
      * Get full information about given address
      * @param address string minter address WITH prefix "Mx"
@@ -117,6 +146,13 @@ public class ExplorerAddressRepository extends DataRepository<ExplorerAddressEnd
         return getInstantService().balance(address, withSum ? 1 : 0);
     }
 
+    /**
+     * Async variant of {@link #getAddressData(String, boolean)}
+     */
+    public CompletableFuture<BCExplorerResult<AddressData>> getAddressDataAsync(String address, boolean withSum) {
+        return async(getAddressData(address, withSum));
+    }
+
     /**
      * Get list of delegated coins to validators
      * @param address
@@ -128,6 +164,13 @@ public class ExplorerAddressRepository extends DataRepository<ExplorerAddressEnd
         return getInstantService().getDelegationsForAddress(address.toString(), 1);
     }
 
+    /**
+     * Async variant of {@link #getDelegations(MinterAddress)}
+     */
+    public CompletableFuture<ExpResult<List<DelegationInfo>>> getDelegationsAsync(MinterAddress address) {
+        return async(getDelegations(address));
+    }
+
     /**
      * Get list of delegated coins to validators
      * @param address
@@ -139,6 +182,13 @@ public class ExplorerAddressRepository extends DataRepository<ExplorerAddressEnd
         return getInstantService().getDelegationsForAddress(address.toString(), page);
     }
 
+    /**
+     * Async variant of {@link #getDelegations(MinterAddress, long)}
+     */
+    public CompletableFuture<ExpResult<List<DelegationInfo>>> getDelegationsAsync(MinterAddress address, long page) {
+        return async(getDelegations(address, page));
+    }
+
     /**
      * Get list of reward events
      * @param address
@@ -151,10 +201,46 @@ public class ExplorerAddressRepository extends DataRepository<ExplorerAddressEnd
         return getInstantService().getRewards(address.toString(), page);
     }
 
+    /**
+     * Async variant of {@link #getRewards(MinterAddress, long)}
+     */
+    public CompletableFuture<ExpResult<List<RewardData>>> getRewardsAsync(MinterAddress address, long page) {
+        return async(getRewards(address, page));
+    }
+
     public Call<ExpResult<List<RewardData>>> getRewards(MinterAddress address) {
         return getRewards(address, 1);
     }
 
+    /**
+     * Async variant of {@link #getRewards(MinterAddress)}
+     */
+    public CompletableFuture<ExpResult<List<RewardData>>> getRewardsAsync(MinterAddress address) {
+        return async(getRewards(address));
+    }
+
+    /**
+     * Lazy iterator over all pages of delegated coins
+     * @param address
+     * @return pager, closing it cancels prefetched requests
+     * @see ExplorerPager
+     */
+    public ExplorerPager<DelegationInfo> getDelegationsPager(MinterAddress address) {
+        checkNotNull(address, "Address can't be null");
+        return new ExplorerPager<>(page -> getDelegationsAsync(address, page));
+    }
+
+    /**
+     * Lazy iterator over all pages of reward events
+     * @param address
+     * @return pager, closing it cancels prefetched requests
+     * @see ExplorerPager
+     */
+    public ExplorerPager<RewardData> getRewardsPager(MinterAddress address) {
+        checkNotNull(address, "Address can't be null");
+        return new ExplorerPager<>(page -> getRewardsAsync(address, page));
+    }
+
     @Nonnull
     @Override
     protected Class<ExplorerAddressEndpoint> getServiceClass() {
@@ -27,6 +27,7 @@
 package network.minter.explorer.repo;
 
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 import javax.annotation.Nonnull;
 
@@ -58,6 +59,13 @@ public class ExplorerCoinsRepository extends DataRepository<ExplorerCoinsEndpoin
         return getInstantService().getAll();
     }
 
+    /**
+     * Async variant of {@link #getAll()}
+     */
+    public CompletableFuture<ExpResult<List<CoinItem>>> getAllAsync() {
+        return async(getAll());
+    }
+
     /**
      * Search coin by it symbol
      *
@@ -68,6 +76,13 @@ public class ExplorerCoinsRepository extends DataRepository<ExplorerCoinsEndpoin
         return getInstantService().search(symbol.toUpperCase());
     }
 
+    /**
+     * Async variant of {@link #search(String)}
+     */
+    public CompletableFuture<ExpResult<List<CoinItem>>> searchAsync(String symbol) {
+        return async(search(symbol));
+    }
+
 
     @Nonnull
     @Override
@@ -0,0 +1,189 @@
+/*
+ * Copyright (C) by MinterTeam. 2019
+ * @link <a href="https://github.com/MinterTeam">Org Github</a>
+ * @link <a href="https://github.com/edwardstock">Maintainer Github</a>
+ *
+ * The MIT License
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package network.minter.explorer.repo;
+
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import javax.annotation.Nonnull;
+
+import network.minter.explorer.models.ExpResult;
+
+import static network.minter.core.internal.common.Preconditions.checkArgument;
+import static network.minter.core.internal.common.Preconditions.checkNotNull;
+
+/**
+ * minter-android-explorer. 2019
+ * <p>
+ * Lazy iterator over all pages of explorer list endpoint. First page is requested on first {@link #hasNext()},
+ * after that up to {@link #setPrefetch(int)} next pages are loaded in background while current one is iterated.
+ * Without prefetch next page is requested when current one is exhausted.
+ * Iteration stops at {@link ExpResult.Meta#lastPage}, only current and prefetched pages are kept in memory.
+ * <p>
+ * Request errors are rethrown from {@link #hasNext()}/{@link #next()}. Not thread safe.
+ *
+ * @author Eduard Maximovich <edward.vstock@gmail.com>
+ */
+public final class ExplorerPager<T> implements Iterator<T>, AutoCloseable {
+    private final PageLoader<T> mLoader;
+    private final ArrayDeque<CompletableFuture<ExpResult<List<T>>>> mPages = new ArrayDeque<>();
+    private int mPrefetch = 2;
+    private Iterator<T> mCurrent = Collections.emptyIterator();
+    private long mNextPage = 1;
+    // unknown until first page loaded
+    private long mLastPage = -1;
+    private ExpResult.Meta mMeta;
+    private boolean mClosed = false;
+
+    public interface PageLoader<T> {
+        /**
+         * @param page page number, starting from 1
+         * @return page request
+         */
+        CompletableFuture<ExpResult<List<T>>> load(long page);
+    }
+
+    public ExplorerPager(@Nonnull PageLoader<T> loader) {
+        mLoader = checkNotNull(loader, "Page loader required");
+    }
+
+    /**
+     * @param prefetch count of pages loaded ahead of current, 0 loads pages one by one. Default: 2
+     * @return self
+     */
+    public ExplorerPager<T> setPrefetch(int prefetch) {
+        checkArgument(prefetch >= 0, "Prefetch can't be negative");
+        mPrefetch = prefetch;
+        return this;
+    }
+
+    /**
+     * Request first page without waiting for it
+     * @return self
+     */
+    public ExplorerPager<T> start() {
+        if (mNextPage == 1 && mPages.isEmpty()) {
+            request();
+        }
+        return this;
+    }
+
+    /**
+     * @return meta of last loaded page, or null if nothing loaded yet
+     */
+    public ExpResult.Meta getMeta() {
+        return mMeta;
+    }
+
+    @Override
+    public boolean hasNext() {
+        while (!mCurrent.hasNext()) {
+            if (mClosed) {
+                return false;
+            }
+            // nothing prefetched: request next page now
+            if (mPages.isEmpty() && (mLastPage < 0 || mNextPage <= mLastPage)) {
+                request();
+            }
+            if (mPages.isEmpty()) {
+                return false;
+            }
+            final long page = mNextPage - mPages.size();
+            final ExpResult<List<T>> result = await(mPages.poll(), page);
+            mMeta = result.getMeta();
+            mLastPage = Math.max(mMeta.lastPage, page);
+            mCurrent = result.result == null ? Collections.emptyIterator() : result.result.iterator();
+            fill();
+        }
+        return true;
+    }
+
+    @Override
+    public T next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        return mCurrent.next();
+    }
+
+    /**
+     * @return sequential stream of all items. Closing stream cancels prefetched requests
+     */
+    public Stream<T> stream() {
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(this, Spliterator.ORDERED | Spliterator.NONNULL), false)
+                .onClose(this::close);
+    }
+
+    /**
+     * Cancel prefetched requests and stop iteration
+     */
+    @Override
+    public void close() {
+        mClosed = true;
+        mCurrent = Collections.emptyIterator();
+        for (CompletableFuture<?> f : mPages) {
+            f.cancel(true);
+        }
+        mPages.clear();
+    }
+
+    private void fill() {
+        while (mPages.size() < mPrefetch && mNextPage <= mLastPage) {
+            request();
+        }
+    }
+
+    private void request() {
+        mPages.add(mLoader.load(mNextPage++));
+    }
+
+    private static <T> ExpResult<List<T>> await(CompletableFuture<ExpResult<List<T>>> future, long page) {
+        final ExpResult<List<T>> result;
+        try {
+            result = future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new RuntimeException(String.format("Unable to load page %d", page), e.getCause());
+        }
+        if (result == null || !result.isOk()) {
+            throw new IllegalStateException(String.format("Unable to load page %d: %s", page,
+                    result == null || result.error == null ? "empty response" : result.error.message));
+        }
+        return result;
+    }
+}
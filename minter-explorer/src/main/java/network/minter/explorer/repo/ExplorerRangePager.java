@@ -0,0 +1,157 @@
+/*
+ * Copyright (C) by MinterTeam. 2019
+ * @link <a href="https://github.com/MinterTeam">Org Github</a>
+ * @link <a href="https://github.com/edwardstock">Maintainer Github</a>
+ *
+ * The MIT License
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package network.minter.explorer.repo;
+
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import javax.annotation.Nonnull;
+
+import network.minter.explorer.models.ExpResult;
+
+import static network.minter.core.internal.common.Preconditions.checkArgument;
+import static network.minter.core.internal.common.Preconditions.checkNotNull;
+
+/**
+ * minter-android-explorer. 2019
+ * <p>
+ * Lazy iterator over block range. Range is split into windows of {@link #setBlocksPerRequest(long)} blocks,
+ * every window is iterated with {@link ExplorerPager}. First pages of up to {@link #setPrefetch(int)} next windows are
+ * requested while current window is iterated, so memory usage doesn't depend on range size.
+ * <p>
+ * Windows are iterated from lower blocks to higher, items inside of window are in explorer order.
+ * Not thread safe.
+ *
+ * @author Eduard Maximovich <edward.vstock@gmail.com>
+ */
+public final class ExplorerRangePager<T> implements Iterator<T>, AutoCloseable {
+    private final RangeLoader<T> mLoader;
+    private final long mToBlock;
+    private final ArrayDeque<ExplorerPager<T>> mWindows = new ArrayDeque<>();
+    private long mBlocksPerRequest = 1000;
+    private int mPrefetch = 2;
+    private long mNextBlock;
+    private ExplorerPager<T> mCurrent;
+    private boolean mClosed = false;
+
+    public interface RangeLoader<T> {
+        /**
+         * @param fromBlock first block, inclusive
+         * @param toBlock last block, inclusive
+         * @param page page number, starting from 1
+         * @return page request
+         */
+        CompletableFuture<ExpResult<List<T>>> load(long fromBlock, long toBlock, long page);
+    }
+
+    public ExplorerRangePager(long fromBlock, long toBlock, @Nonnull RangeLoader<T> loader) {
+        checkArgument(fromBlock >= 0 && toBlock >= fromBlock, "Invalid block range");
+        mLoader = checkNotNull(loader, "Range loader required");
+        mNextBlock = fromBlock;
+        mToBlock = toBlock;
+    }
+
+    /**
+     * @param blocks size of block window requested at once. Default: 1000
+     * @return self
+     */
+    public ExplorerRangePager<T> setBlocksPerRequest(long blocks) {
+        checkArgument(blocks > 0, "Blocks per request must be greater than 0");
+        mBlocksPerRequest = blocks;
+        return this;
+    }
+
+    /**
+     * @param prefetch count of windows (and pages inside window) loaded ahead of current. Default: 2
+     * @return self
+     */
+    public ExplorerRangePager<T> setPrefetch(int prefetch) {
+        checkArgument(prefetch >= 0, "Prefetch can't be negative");
+        mPrefetch = prefetch;
+        return this;
+    }
+
+    @Override
+    public boolean hasNext() {
+        while (mCurrent == null || !mCurrent.hasNext()) {
+            if (mClosed) {
+                return false;
+            }
+            fill(1);
+            mCurrent = mWindows.poll();
+            if (mCurrent == null) {
+                return false;
+            }
+            fill(mPrefetch);
+        }
+        return true;
+    }
+
+    @Override
+    public T next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        return mCurrent.next();
+    }
+
+    /**
+     * @return sequential stream of all items. Closing stream cancels prefetched requests
+     */
+    public Stream<T> stream() {
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(this, Spliterator.ORDERED | Spliterator.NONNULL), false)
+                .onClose(this::close);
+    }
+
+    @Override
+    public void close() {
+        mClosed = true;
+        if (mCurrent != null) {
+            mCurrent.close();
+        }
+        for (ExplorerPager<T> window : mWindows) {
+            window.close();
+        }
+        mWindows.clear();
+    }
+
+    private void fill(int count) {
+        while (mWindows.size() < count && mNextBlock <= mToBlock) {
+            final long from = mNextBlock;
+            final long to = Math.min(mToBlock, from + mBlocksPerRequest - 1);
+            mNextBlock = to + 1;
+            mWindows.add(new ExplorerPager<T>(page -> mLoader.load(from, to, page)).setPrefetch(mPrefetch).start());
+        }
+    }
+}
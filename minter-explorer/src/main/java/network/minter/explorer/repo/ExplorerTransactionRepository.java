@@ -28,6 +28,8 @@ package network.minter.explorer.repo;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 import javax.annotation.Nonnull;
 
@@ -65,6 +67,13 @@ public class ExplorerTransactionRepository extends DataRepository<ExplorerTransa
         return getInstantService().getTransactions(builder.build());
     }
 
+    /**
+     * Async variant of {@link #getTransactions(TxSearchQuery)}
+     */
+    public CompletableFuture<ExpResult<List<HistoryTransaction>>> getTransactionsAsync(TxSearchQuery builder) {
+        return async(getTransactions(builder));
+    }
+
     /**
      * Get transactions list for given minter address
      * Method not finished
@@ -79,6 +88,13 @@ public class ExplorerTransactionRepository extends DataRepository<ExplorerTransa
         return getInstantService().getTransactionsByAddress(address.toString());
     }
 
+    /**
+     * Async variant of {@link #getTransactions(MinterAddress)}
+     */
+    public CompletableFuture<ExpResult<List<HistoryTransaction>>> getTransactionsAsync(MinterAddress address) {
+        return async(getTransactions(address));
+    }
+
     /**
      * Get transactions list for given minter address
      * Method not finished
@@ -94,6 +110,13 @@ public class ExplorerTransactionRepository extends DataRepository<ExplorerTransa
         return getInstantService().getTransactionsByAddress(address.toString(), page);
     }
 
+    /**
+     * Async variant of {@link #getTransactions(MinterAddress, long)}
+     */
+    public CompletableFuture<ExpResult<List<HistoryTransaction>>> getTransactionsAsync(MinterAddress address, long page) {
+        return async(getTransactions(address, page));
+    }
+
     /**
      * Get transactions list for given minter address
      * Method not finished
@@ -111,6 +134,13 @@ public class ExplorerTransactionRepository extends DataRepository<ExplorerTransa
         return getInstantService().getTransactionsByAddress(address.toString(), fromBlock, toBlock);
     }
 
+    /**
+     * Async variant of {@link #getTransactions(MinterAddress, long, long)}
+     */
+    public CompletableFuture<ExpResult<List<HistoryTransaction>>> getTransactionsAsync(MinterAddress address, long fromBlock, long toBlock) {
+        return async(getTransactions(address, fromBlock, toBlock));
+    }
+
     /**
      * Get transactions list for multiple minter addresses
      * @param addresses list of minter addresses
@@ -120,6 +150,13 @@ public class ExplorerTransactionRepository extends DataRepository<ExplorerTransa
         return getTransactions(addresses, 1);
     }
 
+    /**
+     * Async variant of {@link #getTransactions(List)}
+     */
+    public CompletableFuture<ExpResult<List<HistoryTransaction>>> getTransactionsAsync(List<MinterAddress> addresses) {
+        return async(getTransactions(addresses));
+    }
+
     /**
      * Get transactions list for multiple minter addresses with given page number
      * @param addresses list of minter addresses
@@ -138,6 +175,13 @@ public class ExplorerTransactionRepository extends DataRepository<ExplorerTransa
         return getInstantService().getTransactions(out, page);
     }
 
+    /**
+     * Async variant of {@link #getTransactions(List, long)}
+     */
+    public CompletableFuture<ExpResult<List<HistoryTransaction>>> getTransactionsAsync(List<MinterAddress> addresses, long page) {
+        return async(getTransactions(addresses, page));
+    }
+
     /**
      * Get transactions list for multiple minter addresses with given page number
      * @param addresses list of minter addresses
@@ -156,9 +200,71 @@ public class ExplorerTransactionRepository extends DataRepository<ExplorerTransa
         return getInstantService().getTransactions(out, page, limit);
     }
 
+    /**
+     * Async variant of {@link #getTransactions(List, long, int)}
+     */
+    public CompletableFuture<ExpResult<List<HistoryTransaction>>> getTransactionsAsync(List<MinterAddress> addresses, long page, int limit) {
+        return async(getTransactions(addresses, page, limit));
+    }
+
+    /**
+     * Lazy iterator over all pages of filtered transactions list. Page number of query is ignored
+     * @param builder search query
+     * @return pager, closing it cancels prefetched requests
+     * @see ExplorerPager
+     */
+    public ExplorerPager<HistoryTransaction> getTransactionsPager(TxSearchQuery builder) {
+        checkArgument(builder != null, "Query can't be null");
+        return new ExplorerPager<>(page -> {
+            final Map<String, Object> query = builder.build();
+            query.put("page", page);
+            return async(getInstantService().getTransactions(query));
+        });
+    }
+
+    /**
+     * Lazy iterator over all pages of transactions for given minter address
+     * @param address minter address
+     * @return pager, closing it cancels prefetched requests
+     * @see ExplorerPager
+     */
+    public ExplorerPager<HistoryTransaction> getTransactionsPager(MinterAddress address) {
+        checkArgument(address != null, "Address can't be null");
+        return new ExplorerPager<>(page -> getTransactionsAsync(address, page));
+    }
+
+    /**
+     * Lazy iterator over all pages of transactions for multiple minter addresses
+     * @param addresses list of minter addresses
+     * @return pager, closing it cancels prefetched requests
+     * @see ExplorerPager
+     */
+    public ExplorerPager<HistoryTransaction> getTransactionsPager(List<MinterAddress> addresses) {
+        checkArgument(addresses != null, "Address list can't be null");
+        checkArgument(addresses.size() > 0, "Address list can't be empty");
+        return new ExplorerPager<>(page -> getTransactionsAsync(addresses, page));
+    }
+
+    /**
+     * Lazy iterator over transactions of given minter address in block range. Range is requested by windows
+     * of {@link ExplorerRangePager#setBlocksPerRequest(long)} blocks, so memory usage doesn't depend on range size
+     * @param address minter address
+     * @param fromBlock first block, inclusive
+     * @param toBlock last block, inclusive
+     * @return pager, closing it cancels prefetched requests
+     * @see ExplorerRangePager
+     */
+    public ExplorerRangePager<HistoryTransaction> getTransactionsPager(MinterAddress address, long fromBlock, long toBlock) {
+        checkArgument(address != null, "Address can't be null");
+        checkArgument(fromBlock >= 0 && toBlock >= 0, "Start and End block must be greater or equals to zero");
+        final String addr = address.toString();
+        return new ExplorerRangePager<>(fromBlock, toBlock,
+                (from, to, page) -> async(getInstantService().getTransactionsByAddress(addr, from, to, page)));
+    }
+
     @Override
     public void configure(ApiService.Builder api) {
-        api.registerTypeAdapter(HistoryTransaction.class, new ExplorerHistoryTransactionDeserializer());
+        api.registerTypeAdapterFactory(new ExplorerHistoryTransactionDeserializer());
     }
 
     @Nonnull
@@ -27,6 +27,7 @@
 package network.minter.explorer.repo;
 
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 import javax.annotation.Nonnull;
 
@@ -54,6 +55,13 @@ public class ExplorerValidatorsRepository extends DataRepository<ExplorerValidat
         return getInstantService().getValidators();
     }
 
+    /**
+     * Async variant of {@link #getValidators()}
+     */
+    public CompletableFuture<ExpResult<List<ValidatorItem>>> getValidatorsAsync() {
+        return async(getValidators());
+    }
+
     @Nonnull
     @Override
     protected Class<ExplorerValidatorsEndpoint> getServiceClass() {
@@ -28,6 +28,7 @@ package network.minter.explorer.repo;
 
 import java.math.BigDecimal;
 import java.math.BigInteger;
+import java.util.concurrent.CompletableFuture;
 
 import javax.annotation.Nonnull;
 
@@ -68,6 +69,13 @@ public class GateEstimateRepository extends DataRepository<GateEstimateEndpoint>
         return getCoinExchangeCurrencyToSell(coinToSell, valueToSell.multiply(Transaction.VALUE_MUL_DEC).toBigInteger(), coinToBuy);
     }
 
+    /**
+     * Async variant of {@link #getCoinExchangeCurrencyToSell(String, BigDecimal, String)}
+     */
+    public CompletableFuture<GateResult<ExchangeSellValue>> getCoinExchangeCurrencyToSellAsync(@Nonnull String coinToSell, BigDecimal valueToSell, @Nonnull String coinToBuy) {
+        return async(getCoinExchangeCurrencyToSell(coinToSell, valueToSell, coinToBuy));
+    }
+
     /**
      * @param coinToSell Selling coin
      * @param valueToSell Selling amount of exchange (big integer amount like: 1 BIP equals
@@ -82,6 +90,13 @@ public class GateEstimateRepository extends DataRepository<GateEstimateEndpoint>
         );
     }
 
+    /**
+     * Async variant of {@link #getCoinExchangeCurrencyToSell(String, BigInteger, String)}
+     */
+    public CompletableFuture<GateResult<ExchangeSellValue>> getCoinExchangeCurrencyToSellAsync(@Nonnull String coinToSell, BigInteger valueToSell, @Nonnull String coinToBuy) {
+        return async(getCoinExchangeCurrencyToSell(coinToSell, valueToSell, coinToBuy));
+    }
+
     /**
      * @param coinToSell Selling coin
      * @param valueToBuy Buying amount of exchange (human readable amount like: 1 BIP equals 1.0 in
@@ -93,6 +108,13 @@ public class GateEstimateRepository extends DataRepository<GateEstimateEndpoint>
         return getCoinExchangeCurrencyToBuy(coinToSell, valueToBuy.multiply(Transaction.VALUE_MUL_DEC).toBigInteger(), coinToBuy);
     }
 
+    /**
+     * Async variant of {@link #getCoinExchangeCurrencyToBuy(String, BigDecimal, String)}
+     */
+    public CompletableFuture<GateResult<ExchangeBuyValue>> getCoinExchangeCurrencyToBuyAsync(@Nonnull String coinToSell, BigDecimal valueToBuy, @Nonnull String coinToBuy) {
+        return async(getCoinExchangeCurrencyToBuy(coinToSell, valueToBuy, coinToBuy));
+    }
+
     /**
      * @param coinToSell Selling coin
      * @param valueToBuy Buying amount of exchange (big integer amount like: 1 BIP equals
@@ -107,6 +129,13 @@ public class GateEstimateRepository extends DataRepository<GateEstimateEndpoint>
         );
     }
 
+    /**
+     * Async variant of {@link #getCoinExchangeCurrencyToBuy(String, BigInteger, String)}
+     */
+    public CompletableFuture<GateResult<ExchangeBuyValue>> getCoinExchangeCurrencyToBuyAsync(@Nonnull String coinToSell, BigInteger valueToBuy, @Nonnull String coinToBuy) {
+        return async(getCoinExchangeCurrencyToBuy(coinToSell, valueToBuy, coinToBuy));
+    }
+
     /**
      * Resolve transaction commission before sending it
      * @param sign Transaction sign is NOT A TRANSACTION HASH, it's a valid transaction and valid to send
@@ -118,6 +147,13 @@ public class GateEstimateRepository extends DataRepository<GateEstimateEndpoint>
         return getTransactionCommission(sign.getTxSign());
     }
 
+    /**
+     * Async variant of {@link #getTransactionCommission(TransactionSign)}
+     */
+    public CompletableFuture<GateResult<TransactionCommissionValue>> getTransactionCommissionAsync(TransactionSign sign) {
+        return async(getTransactionCommission(sign));
+    }
+
     /**
      * Resolve transaction commission before sending it
      * @param sign
@@ -128,11 +164,25 @@ public class GateEstimateRepository extends DataRepository<GateEstimateEndpoint>
         return getInstantService().getTxCommission(sign);
     }
 
+    /**
+     * Async variant of {@link #getTransactionCommission(String)}
+     */
+    public CompletableFuture<GateResult<TransactionCommissionValue>> getTransactionCommissionAsync(String sign) {
+        return async(getTransactionCommission(sign));
+    }
+
     public Call<GateResult<TxCount>> getTransactionCount(@Nonnull MinterAddress address) {
         checkArgument(address != null, "Address can't be null");
         return getTransactionCount(address.toString());
     }
 
+    /**
+     * Async variant of {@link #getTransactionCount(MinterAddress)}
+     */
+    public CompletableFuture<GateResult<TxCount>> getTransactionCountAsync(@Nonnull MinterAddress address) {
+        return async(getTransactionCount(address));
+    }
+
     /**
      * Returns the number of transactions sent from an address
      * @param address fq address
@@ -142,6 +192,13 @@ public class GateEstimateRepository extends DataRepository<GateEstimateEndpoint>
         return getInstantService().getTransactionsCount(checkNotNull(address, "Address required!"));
     }
 
+    /**
+     * Async variant of {@link #getTransactionCount(String)}
+     */
+    public CompletableFuture<GateResult<TxCount>> getTransactionCountAsync(@Nonnull String address) {
+        return async(getTransactionCount(address));
+    }
+
     @Nonnull
     @Override
     protected Class<GateEstimateEndpoint> getServiceClass() {
@@ -26,6 +26,8 @@
 
 package network.minter.explorer.repo;
 
+import java.util.concurrent.CompletableFuture;
+
 import javax.annotation.Nonnull;
 
 import network.minter.core.internal.api.ApiService;
@@ -52,6 +54,13 @@ public class GateGasRepository extends DataRepository<GateGasEndpoint> {
         return getInstantService().getMinGas();
     }
 
+    /**
+     * Async variant of {@link #getMinGas()}
+     */
+    public CompletableFuture<GateResult<GasValue>> getMinGasAsync() {
+        return async(getMinGas());
+    }
+
     @Nonnull
     @Override
     protected Class<GateGasEndpoint> getServiceClass() {
@@ -26,6 +26,8 @@
 
 package network.minter.explorer.repo;
 
+import java.util.concurrent.CompletableFuture;
+
 import javax.annotation.Nonnull;
 
 import network.minter.blockchain.models.TransactionSendResult;
@@ -61,6 +63,13 @@ public class GateTransactionRepository extends DataRepository<GateTransactionEnd
         );
     }
 
+    /**
+     * Async variant of {@link #sendTransaction(TransactionSign)}
+     */
+    public CompletableFuture<GateResult<TransactionSendResult>> sendTransactionAsync(@Nonnull TransactionSign transactionSign) {
+        return async(sendTransaction(transactionSign));
+    }
+
     @Nonnull
     @Override
     protected Class<GateTransactionEndpoint> getServiceClass() {
@@ -0,0 +1,247 @@
+/*
+ * Copyright (C) by MinterTeam. 2019
+ * @link <a href="https://github.com/MinterTeam">Org Github</a>
+ * @link <a href="https://github.com/edwardstock">Maintainer Github</a>
+ *
+ * The MIT License
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package network.minter.explorer.tests.repo;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import network.minter.explorer.models.ExpResult;
+import network.minter.explorer.repo.ExplorerPager;
+import network.minter.explorer.repo.ExplorerRangePager;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * minter-android-explorer. 2019
+ * @author Eduard Maximovich [edward.vstock@gmail.com]
+ */
+public class ExplorerPagerTest {
+
+    private static ExpResult<List<Integer>> page(long page, long lastPage, int perPage) {
+        final ExpResult<List<Integer>> res = new ExpResult<>();
+        res.meta = new ExpResult.Meta();
+        res.meta.currentPage = (int) page;
+        res.meta.lastPage = (int) lastPage;
+        res.meta.perPage = perPage;
+        res.result = new ArrayList<>(perPage);
+        for (int i = 0; i < perPage; i++) {
+            res.result.add((int) ((page - 1) * perPage + i));
+        }
+        return res;
+    }
+
+    @Test
+    public void testAllPagesInOrder() {
+        final List<CompletableFuture<ExpResult<List<Integer>>>> requests = new ArrayList<>();
+        final ExplorerPager<Integer> pager = new ExplorerPager<Integer>(page -> {
+            final CompletableFuture<ExpResult<List<Integer>>> f = new CompletableFuture<>();
+            requests.add(f);
+            return f;
+        }).setPrefetch(2);
+
+        pager.start();
+        assertEquals(1, requests.size());
+        requests.get(0).complete(page(1, 5, 3));
+
+        assertTrue(pager.hasNext());
+        // pages 2 and 3 are requested before first page is consumed
+        assertEquals(3, requests.size());
+        for (int i = 1; i < requests.size(); i++) {
+            requests.get(i).complete(page(i + 1, 5, 3));
+        }
+
+        final List<Integer> out = new ArrayList<>();
+        while (pager.hasNext()) {
+            out.add(pager.next());
+            for (int i = 0; i < requests.size(); i++) {
+                if (!requests.get(i).isDone()) {
+                    requests.get(i).complete(page(i + 1, 5, 3));
+                }
+            }
+        }
+
+        // nothing requested after last page
+        assertEquals(5, requests.size());
+        assertEquals(15, out.size());
+        for (int i = 0; i < out.size(); i++) {
+            assertEquals(Integer.valueOf(i), out.get(i));
+        }
+        assertEquals(5, pager.getMeta().currentPage);
+    }
+
+    @Test
+    public void testWithoutPrefetch() {
+        final List<Long> requests = new ArrayList<>();
+        final ExplorerPager<Integer> pager = new ExplorerPager<Integer>(page -> {
+            requests.add(page);
+            return CompletableFuture.completedFuture(page(page, 3, 2));
+        }).setPrefetch(0);
+
+        final List<Integer> out = new ArrayList<>();
+        while (pager.hasNext()) {
+            out.add(pager.next());
+            // next page is requested only when current one is exhausted
+            assertEquals((out.size() + 1) / 2, requests.size());
+        }
+
+        assertEquals(6, out.size());
+        for (int i = 0; i < out.size(); i++) {
+            assertEquals(Integer.valueOf(i), out.get(i));
+        }
+        assertEquals(3, requests.size());
+    }
+
+    @Test
+    public void testRangeWithoutPrefetch() {
+        final AtomicInteger requests = new AtomicInteger();
+        final ExplorerRangePager<Long> pager = new ExplorerRangePager<Long>(0, 29, (from, to, page) -> {
+            requests.incrementAndGet();
+            final ExpResult<List<Long>> res = new ExpResult<>();
+            res.meta = new ExpResult.Meta();
+            res.meta.currentPage = (int) page;
+            res.meta.lastPage = 3;
+            res.result = new ArrayList<>();
+            res.result.add(from * 10 + page);
+            return CompletableFuture.completedFuture(res);
+        }).setBlocksPerRequest(10).setPrefetch(0);
+
+        final List<Long> out = new ArrayList<>();
+        pager.forEachRemaining(out::add);
+
+        // 3 windows, 3 pages each
+        assertEquals(9, out.size());
+        assertEquals(Long.valueOf(1), out.get(0));
+        assertEquals(Long.valueOf(3), out.get(2));
+        assertEquals(Long.valueOf(101), out.get(3));
+        assertEquals(Long.valueOf(203), out.get(8));
+        assertEquals(9, requests.get());
+    }
+
+    @Test
+    public void testStream() {
+        final AtomicInteger requests = new AtomicInteger();
+        final List<Integer> out = new ExplorerPager<Integer>(page -> {
+            requests.incrementAndGet();
+            return CompletableFuture.completedFuture(page(page, 4, 10));
+        }).stream().limit(15).collect(Collectors.toList());
+
+        assertEquals(15, out.size());
+        assertEquals(Integer.valueOf(14), out.get(14));
+        // current page plus prefetch
+        assertTrue(requests.get() <= 4);
+    }
+
+    @Test
+    public void testCloseCancelsPrefetched() {
+        final List<CompletableFuture<ExpResult<List<Integer>>>> requests = new ArrayList<>();
+        final ExplorerPager<Integer> pager = new ExplorerPager<Integer>(page -> {
+            final CompletableFuture<ExpResult<List<Integer>>> f = new CompletableFuture<>();
+            if (page == 1) {
+                f.complete(page(1, 10, 1));
+            }
+            requests.add(f);
+            return f;
+        }).setPrefetch(3);
+
+        assertTrue(pager.hasNext());
+        assertEquals(4, requests.size());
+        pager.close();
+        assertFalse(pager.hasNext());
+        for (int i = 1; i < requests.size(); i++) {
+            assertTrue(requests.get(i).isCancelled());
+        }
+    }
+
+    @Test
+    public void testErrorRethrown() {
+        final IOException error = new IOException("Connection reset");
+        final ExplorerPager<Integer> pager = new ExplorerPager<>(page -> {
+            if (page == 2) {
+                final CompletableFuture<ExpResult<List<Integer>>> f = new CompletableFuture<>();
+                f.completeExceptionally(error);
+                return f;
+            }
+            return CompletableFuture.completedFuture(page(page, 3, 2));
+        });
+
+        assertEquals(Integer.valueOf(0), pager.next());
+        assertEquals(Integer.valueOf(1), pager.next());
+        try {
+            pager.next();
+            fail("Error must be rethrown");
+        } catch (RuntimeException e) {
+            assertSame(error, e.getCause());
+        }
+    }
+
+    @Test
+    public void testRangeWindows() {
+        final List<long[]> requests = new ArrayList<>();
+        final ExplorerRangePager<Long> pager = new ExplorerRangePager<Long>(10, 54, (from, to, page) -> {
+            requests.add(new long[]{from, to, page});
+            // two pages per window, one item per page
+            final ExpResult<List<Long>> res = new ExpResult<>();
+            res.meta = new ExpResult.Meta();
+            res.meta.currentPage = (int) page;
+            res.meta.lastPage = 2;
+            res.result = new ArrayList<>();
+            res.result.add(from * 10 + page);
+            return CompletableFuture.completedFuture(res);
+        }).setBlocksPerRequest(20).setPrefetch(1);
+
+        final List<Long> out = new ArrayList<>();
+        pager.forEachRemaining(out::add);
+
+        assertEquals(6, out.size());
+        assertEquals(Long.valueOf(101), out.get(0));
+        assertEquals(Long.valueOf(102), out.get(1));
+        assertEquals(Long.valueOf(301), out.get(2));
+        assertEquals(Long.valueOf(302), out.get(3));
+        assertEquals(Long.valueOf(501), out.get(4));
+        assertEquals(Long.valueOf(502), out.get(5));
+        assertEquals(6, requests.size());
+
+        long lastTo = 9;
+        for (long[] req : requests) {
+            if (req[2] == 1) {
+                assertEquals(lastTo + 1, req[0]);
+                lastTo = req[1];
+            }
+        }
+        assertEquals(54, lastTo);
+    }
+}
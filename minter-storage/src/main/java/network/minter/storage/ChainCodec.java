@@ -0,0 +1,565 @@
+/*
+ * Copyright (C) by MinterTeam. 2020
+ * @link <a href="https://github.com/MinterTeam">Org Github</a>
+ * @link <a href="https://github.com/edwardstock">Maintainer Github</a>
+ *
+ * The MIT License
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package network.minter.storage;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import network.minter.blockchain.models.BlockInfo;
+import network.minter.blockchain.models.EventList;
+import network.minter.blockchain.models.HistoryTransaction;
+import network.minter.blockchain.models.ValidatorInfo;
+import network.minter.core.crypto.BytesData;
+import network.minter.core.crypto.MinterAddress;
+import network.minter.core.crypto.MinterCheck;
+import network.minter.core.crypto.MinterPublicKey;
+
+/**
+ * minter-storage. 2020
+ * <p>
+ * Compact binary form of chain models. Fields are written in fixed order without names, integers as varints,
+ * nullable values are prefixed with presence marker (for strings and byte arrays it's merged with length).
+ * Polymorphic values (transaction data, event value) are prefixed with index of concrete class. Transaction data
+ * of unknown class is rejected with {@link IllegalArgumentException} instead of being stored without payload.
+ * <p>
+ * Field order is the format, so new fields must be appended to the end of model encoding and
+ * {@link ChainStore#FORMAT_VERSION} increased.
+ *
+ * @author Eduard Maximovich [edward.vstock@gmail.com]
+ */
+final class ChainCodec {
+    private final static Charset UTF_8 = Charset.forName("UTF-8");
+    // bare TxBaseResult is not here: it means data was parsed without it's concrete type and payload is lost
+    private final static List<Class<? extends HistoryTransaction.TxBaseResult>> DATA_CLASSES = Arrays.asList(
+            HistoryTransaction.TxSendCoinResult.class,
+            HistoryTransaction.TxCreateResult.class,
+            HistoryTransaction.TxConvertCoinResult.class,
+            HistoryTransaction.TxDeclareCandidacyResult.class,
+            HistoryTransaction.TxSetCandidateOnlineOfflineResult.class,
+            HistoryTransaction.TxDelegateUnbondResult.class,
+            HistoryTransaction.TxRedeemCheckResult.class,
+            HistoryTransaction.TxCreateMultisigResult.class,
+            HistoryTransaction.TxMultisendResult.class,
+            HistoryTransaction.TxEditCandidateResult.class
+    );
+    private final static List<Class<? extends EventList.BaseEvent>> EVENT_CLASSES = Arrays.asList(
+            EventList.BaseEvent.class,
+            EventList.RewardEvent.class,
+            EventList.SlashEvent.class
+    );
+
+    private ChainCodec() {
+    }
+
+    /**
+     * Block without transactions, they are stored as separate records
+     */
+    static void writeBlock(Writer w, BlockInfo block) {
+        w.bytes(block.hash);
+        w.varLong(block.height);
+        w.string(block.time);
+        w.bigInt(block.numTxs);
+        w.bigInt(block.totalTxs);
+        w.bigInt(block.blockReward);
+        w.string(block.size);
+        w.bytes(block.proposer);
+        if (block.validators == null) {
+            w.varLong(0);
+        } else {
+            w.varLong(block.validators.size() + 1);
+            for (ValidatorInfo v : block.validators) {
+                w.bytes(v.publicKey);
+                w.bool(v.signed);
+            }
+        }
+    }
+
+    static BlockInfo readBlock(Reader r) {
+        final BlockInfo block = new BlockInfo();
+        block.hash = r.bytesData();
+        block.height = r.varLong();
+        block.time = r.string();
+        block.numTxs = r.bigInt();
+        block.totalTxs = r.bigInt();
+        block.blockReward = r.bigInt();
+        block.size = r.string();
+        block.proposer = r.publicKey();
+        final int validators = (int) r.varLong() - 1;
+        if (validators >= 0) {
+            block.validators = new ArrayList<>(validators);
+            for (int i = 0; i < validators; i++) {
+                final ValidatorInfo v = new ValidatorInfo();
+                v.publicKey = r.publicKey();
+                v.signed = r.bool();
+                block.validators.add(v);
+            }
+        }
+        return block;
+    }
+
+    static void writeTransaction(Writer w, HistoryTransaction tx) {
+        w.bytes(tx.hash);
+        w.bytes(tx.rawTx);
+        w.bytes(tx.from);
+        w.bigInt(tx.nonce);
+        w.varLong(tx.type == null ? 0 : tx.type.ordinal() + 1);
+        w.varLong(tx.gasPrice);
+        w.varLong(tx.gas);
+        w.string(tx.gasCoin);
+        w.string(tx.payload);
+        w.string(tx.serviceData);
+        writeData(w, tx.data);
+        if (tx.tags == null) {
+            w.varLong(0);
+        } else {
+            w.varLong(tx.tags.size() + 1);
+            for (Map.Entry<String, String> e : tx.tags.entrySet()) {
+                w.string(e.getKey());
+                w.string(e.getValue());
+            }
+        }
+    }
+
+    static HistoryTransaction readTransaction(Reader r) {
+        final HistoryTransaction tx = new HistoryTransaction();
+        tx.hash = r.bytesData();
+        tx.rawTx = r.bytesData();
+        tx.from = r.address();
+        tx.nonce = r.bigInt();
+        final int type = (int) r.varLong();
+        tx.type = type == 0 ? null : HistoryTransaction.Type.values()[type - 1];
+        tx.gasPrice = (int) r.varLong();
+        tx.gas = (int) r.varLong();
+        tx.gasCoin = r.string();
+        tx.payload = r.string();
+        tx.serviceData = r.string();
+        tx.data = readData(r);
+        final int tags = (int) r.varLong() - 1;
+        if (tags >= 0) {
+            tx.tags = new HashMap<>(tags);
+            for (int i = 0; i < tags; i++) {
+                tx.tags.put(r.string(), r.string());
+            }
+        }
+        return tx;
+    }
+
+    static void writeEvents(Writer w, EventList events) {
+        if (events.events == null) {
+            w.varLong(0);
+            return;
+        }
+        w.varLong(events.events.size() + 1);
+        for (EventList.EventItem item : events.events) {
+            w.varLong(item.type == null ? 0 : item.type.ordinal() + 1);
+            final EventList.BaseEvent value = item.value;
+            if (value == null) {
+                w.varLong(0);
+                continue;
+            }
+            w.varLong(classIndex(EVENT_CLASSES, value.getClass()) + 1);
+            w.bytes(value.address);
+            w.bigInt(value.amount);
+            w.bytes(value.validatorPublicKey);
+            if (value instanceof EventList.RewardEvent) {
+                w.string(((EventList.RewardEvent) value).role);
+            } else if (value instanceof EventList.SlashEvent) {
+                w.string(((EventList.SlashEvent) value).coin);
+            }
+        }
+    }
+
+    static EventList readEvents(Reader r) {
+        final EventList out = new EventList();
+        final int count = (int) r.varLong() - 1;
+        if (count < 0) {
+            return out;
+        }
+        out.events = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            final EventList.EventItem item = new EventList.EventItem();
+            final int type = (int) r.varLong();
+            item.type = type == 0 ? null : EventList.Type.values()[type - 1];
+            final int cls = (int) r.varLong();
+            if (cls != 0) {
+                final EventList.BaseEvent value = newInstance(EVENT_CLASSES.get(cls - 1));
+                value.address = r.address();
+                value.amount = r.bigInt();
+                value.validatorPublicKey = r.publicKey();
+                if (value instanceof EventList.RewardEvent) {
+                    ((EventList.RewardEvent) value).role = r.string();
+                } else if (value instanceof EventList.SlashEvent) {
+                    ((EventList.SlashEvent) value).coin = r.string();
+                }
+                item.value = value;
+            }
+            out.events.add(item);
+        }
+        return out;
+    }
+
+    private static void writeData(Writer w, HistoryTransaction.TxBaseResult data) {
+        if (data == null) {
+            w.varLong(0);
+            return;
+        }
+        w.varLong(classIndex(DATA_CLASSES, data.getClass()) + 1);
+
+        if (data instanceof HistoryTransaction.TxSendCoinResult) {
+            writeSend(w, (HistoryTransaction.TxSendCoinResult) data);
+        } else if (data instanceof HistoryTransaction.TxCreateResult) {
+            final HistoryTransaction.TxCreateResult d = (HistoryTransaction.TxCreateResult) data;
+            w.string(d.name);
+            w.string(d.symbol);
+            w.bigInt(d.initialAmount);
+            w.bigInt(d.initialReserve);
+            w.string(d.constantReserveRatio == null ? null : d.constantReserveRatio.toPlainString());
+        } else if (data instanceof HistoryTransaction.TxConvertCoinResult) {
+            final HistoryTransaction.TxConvertCoinResult d = (HistoryTransaction.TxConvertCoinResult) data;
+            w.string(d.coinToSell);
+            w.string(d.coinToBuy);
+            w.bigInt(d.valueToBuy);
+            w.bigInt(d.valueToSell);
+            w.bigInt(d.minValueToBuy);
+            w.bigInt(d.maxValueToSell);
+        } else if (data instanceof HistoryTransaction.TxDeclareCandidacyResult) {
+            final HistoryTransaction.TxDeclareCandidacyResult d = (HistoryTransaction.TxDeclareCandidacyResult) data;
+            w.bytes(d.address);
+            w.bytes(d.publicKey);
+            w.varLong(d.commission);
+            w.string(d.coin);
+            w.bigInt(d.stake);
+        } else if (data instanceof HistoryTransaction.TxSetCandidateOnlineOfflineResult) {
+            w.bytes(((HistoryTransaction.TxSetCandidateOnlineOfflineResult) data).publicKey);
+        } else if (data instanceof HistoryTransaction.TxDelegateUnbondResult) {
+            final HistoryTransaction.TxDelegateUnbondResult d = (HistoryTransaction.TxDelegateUnbondResult) data;
+            w.bytes(d.publicKey);
+            w.string(d.coin);
+            w.string(d.value);
+        } else if (data instanceof HistoryTransaction.TxRedeemCheckResult) {
+            final HistoryTransaction.TxRedeemCheckResult d = (HistoryTransaction.TxRedeemCheckResult) data;
+            w.bytes(d.rawCheck);
+            w.bytes(d.proof);
+        } else if (data instanceof HistoryTransaction.TxCreateMultisigResult) {
+            final HistoryTransaction.TxCreateMultisigResult d = (HistoryTransaction.TxCreateMultisigResult) data;
+            w.bigInt(d.threshold);
+            w.varLong(d.weights == null ? 0 : d.weights.size() + 1);
+            if (d.weights != null) {
+                for (BigInteger v : d.weights) {
+                    w.bigInt(v);
+                }
+            }
+            w.varLong(d.addresses == null ? 0 : d.addresses.size() + 1);
+            if (d.addresses != null) {
+                for (MinterAddress v : d.addresses) {
+                    w.bytes(v);
+                }
+            }
+        } else if (data instanceof HistoryTransaction.TxMultisendResult) {
+            final List<HistoryTransaction.TxSendCoinResult> items = ((HistoryTransaction.TxMultisendResult) data).items;
+            w.varLong(items == null ? 0 : items.size() + 1);
+            if (items != null) {
+                for (HistoryTransaction.TxSendCoinResult v : items) {
+                    writeSend(w, v);
+                }
+            }
+        } else if (data instanceof HistoryTransaction.TxEditCandidateResult) {
+            final List<HistoryTransaction.CandidateEditResult> items = ((HistoryTransaction.TxEditCandidateResult) data).items;
+            w.varLong(items == null ? 0 : items.size() + 1);
+            if (items != null) {
+                for (HistoryTransaction.CandidateEditResult v : items) {
+                    w.bytes(v.rewardAddress);
+                    w.bytes(v.ownerAddress);
+                    w.bytes(v.pubKey);
+                }
+            }
+        }
+    }
+
+    private static HistoryTransaction.TxBaseResult readData(Reader r) {
+        final int cls = (int) r.varLong();
+        if (cls == 0) {
+            return null;
+        }
+        final HistoryTransaction.TxBaseResult data = newInstance(DATA_CLASSES.get(cls - 1));
+
+        if (data instanceof HistoryTransaction.TxSendCoinResult) {
+            readSend(r, (HistoryTransaction.TxSendCoinResult) data);
+        } else if (data instanceof HistoryTransaction.TxCreateResult) {
+            final HistoryTransaction.TxCreateResult d = (HistoryTransaction.TxCreateResult) data;
+            d.name = r.string();
+            d.symbol = r.string();
+            d.initialAmount = r.bigInt();
+            d.initialReserve = r.bigInt();
+            final String crr = r.string();
+            d.constantReserveRatio = crr == null ? null : new BigDecimal(crr);
+        } else if (data instanceof HistoryTransaction.TxConvertCoinResult) {
+            final HistoryTransaction.TxConvertCoinResult d = (HistoryTransaction.TxConvertCoinResult) data;
+            d.coinToSell = r.string();
+            d.coinToBuy = r.string();
+            d.valueToBuy = r.bigInt();
+            d.valueToSell = r.bigInt();
+            d.minValueToBuy = r.bigInt();
+            d.maxValueToSell = r.bigInt();
+        } else if (data instanceof HistoryTransaction.TxDeclareCandidacyResult) {
+            final HistoryTransaction.TxDeclareCandidacyResult d = (HistoryTransaction.TxDeclareCandidacyResult) data;
+            d.address = r.address();
+            d.publicKey = r.publicKey();
+            d.commission = (int) r.varLong();
+            d.coin = r.string();
+            d.stake = r.bigInt();
+        } else if (data instanceof HistoryTransaction.TxSetCandidateOnlineOfflineResult) {
+            ((HistoryTransaction.TxSetCandidateOnlineOfflineResult) data).publicKey = r.publicKey();
+        } else if (data instanceof HistoryTransaction.TxDelegateUnbondResult) {
+            final HistoryTransaction.TxDelegateUnbondResult d = (HistoryTransaction.TxDelegateUnbondResult) data;
+            d.publicKey = r.publicKey();
+            d.coin = r.string();
+            d.value = r.string();
+        } else if (data instanceof HistoryTransaction.TxRedeemCheckResult) {
+            final HistoryTransaction.TxRedeemCheckResult d = (HistoryTransaction.TxRedeemCheckResult) data;
+            final byte[] check = r.bytes();
+            d.rawCheck = check == null ? null : new MinterCheck(check);
+            d.proof = r.bytesData();
+        } else if (data instanceof HistoryTransaction.TxCreateMultisigResult) {
+            final HistoryTransaction.TxCreateMultisigResult d = (HistoryTransaction.TxCreateMultisigResult) data;
+            d.threshold = r.bigInt();
+            final int weights = (int) r.varLong() - 1;
+            d.weights = weights < 0 ? null : new ArrayList<>(weights);
+            for (int i = 0; i < weights; i++) {
+                d.weights.add(r.bigInt());
+            }
+            final int addresses = (int) r.varLong() - 1;
+            d.addresses = addresses < 0 ? null : new ArrayList<>(addresses);
+            for (int i = 0; i < addresses; i++) {
+                d.addresses.add(r.address());
+            }
+        } else if (data instanceof HistoryTransaction.TxMultisendResult) {
+            final HistoryTransaction.TxMultisendResult d = (HistoryTransaction.TxMultisendResult) data;
+            final int items = (int) r.varLong() - 1;
+            d.items = items < 0 ? null : new ArrayList<>(items);
+            for (int i = 0; i < items; i++) {
+                final HistoryTransaction.TxSendCoinResult v = new HistoryTransaction.TxSendCoinResult();
+                readSend(r, v);
+                d.items.add(v);
+            }
+        } else if (data instanceof HistoryTransaction.TxEditCandidateResult) {
+            final HistoryTransaction.TxEditCandidateResult d = (HistoryTransaction.TxEditCandidateResult) data;
+            final int items = (int) r.varLong() - 1;
+            d.items = items < 0 ? null : new ArrayList<>(items);
+            for (int i = 0; i < items; i++) {
+                final HistoryTransaction.CandidateEditResult v = new HistoryTransaction.CandidateEditResult();
+                v.rewardAddress = r.address();
+                v.ownerAddress = r.address();
+                v.pubKey = r.publicKey();
+                d.items.add(v);
+            }
+        }
+        return data;
+    }
+
+    private static void writeSend(Writer w, HistoryTransaction.TxSendCoinResult d) {
+        w.bytes(d.to);
+        w.string(d.coin);
+        w.bigInt(d.amount);
+    }
+
+    private static void readSend(Reader r, HistoryTransaction.TxSendCoinResult d) {
+        d.to = r.address();
+        d.coin = r.string();
+        d.amount = r.bigInt();
+    }
+
+    private static int classIndex(List<? extends Class<?>> classes, Class<?> cls) {
+        final int idx = classes.indexOf(cls);
+        if (idx < 0) {
+            throw new IllegalArgumentException("Unsupported model class: " + cls.getName());
+        }
+        return idx;
+    }
+
+    private static <T> T newInstance(Class<T> cls) {
+        try {
+            return cls.newInstance();
+        } catch (InstantiationException | IllegalAccessException e) {
+            throw new IllegalStateException("Unable to create " + cls.getName(), e);
+        }
+    }
+
+    /**
+     * Growable output buffer
+     */
+    static final class Writer {
+        private byte[] mBuf;
+        private int mSize = 0;
+
+        Writer(int capacity) {
+            mBuf = new byte[capacity];
+        }
+
+        void reset() {
+            mSize = 0;
+        }
+
+        int size() {
+            return mSize;
+        }
+
+        byte[] array() {
+            return mBuf;
+        }
+
+        void raw(byte[] data, int offset, int length) {
+            ensure(length);
+            System.arraycopy(data, offset, mBuf, mSize, length);
+            mSize += length;
+        }
+
+        void int64(long v) {
+            ensure(8);
+            for (int i = 7; i >= 0; i--) {
+                mBuf[mSize++] = (byte) (v >>> (i * 8));
+            }
+        }
+
+        void varLong(long v) {
+            ensure(10);
+            while ((v & ~0x7FL) != 0) {
+                mBuf[mSize++] = (byte) ((v & 0x7F) | 0x80);
+                v >>>= 7;
+            }
+            mBuf[mSize++] = (byte) v;
+        }
+
+        void bool(boolean v) {
+            ensure(1);
+            mBuf[mSize++] = (byte) (v ? 1 : 0);
+        }
+
+        void bytes(byte[] v) {
+            if (v == null) {
+                varLong(0);
+                return;
+            }
+            varLong(v.length + 1);
+            raw(v, 0, v.length);
+        }
+
+        void bytes(BytesData v) {
+            bytes(v == null ? null : v.getBytesView());
+        }
+
+        void string(String v) {
+            bytes(v == null ? null : v.getBytes(UTF_8));
+        }
+
+        void bigInt(BigInteger v) {
+            bytes(v == null ? null : v.toByteArray());
+        }
+
+        private void ensure(int count) {
+            if (mSize + count > mBuf.length) {
+                mBuf = Arrays.copyOf(mBuf, Math.max(mBuf.length * 2, mSize + count));
+            }
+        }
+    }
+
+    /**
+     * Reader over buffer slice, doesn't change source buffer position
+     */
+    static final class Reader {
+        private final ByteBuffer mBuf;
+
+        Reader(ByteBuffer buf) {
+            mBuf = buf;
+        }
+
+        long int64() {
+            return mBuf.getLong();
+        }
+
+        long varLong() {
+            long out = 0;
+            int shift = 0;
+            byte b;
+            do {
+                if (shift >= 64) {
+                    throw new IllegalStateException("Malformed varint");
+                }
+                b = mBuf.get();
+                out |= (long) (b & 0x7F) << shift;
+                shift += 7;
+            } while ((b & 0x80) != 0);
+            return out;
+        }
+
+        boolean bool() {
+            return mBuf.get() != 0;
+        }
+
+        byte[] bytes() {
+            final int len = (int) varLong() - 1;
+            if (len < 0) {
+                return null;
+            }
+            final byte[] out = new byte[len];
+            mBuf.get(out);
+            return out;
+        }
+
+        BytesData bytesData() {
+            final byte[] v = bytes();
+            return v == null ? null : new BytesData(v);
+        }
+
+        MinterAddress address() {
+            final byte[] v = bytes();
+            return v == null ? null : new MinterAddress(v);
+        }
+
+        MinterPublicKey publicKey() {
+            final byte[] v = bytes();
+            return v == null ? null : new MinterPublicKey(v);
+        }
+
+        String string() {
+            final byte[] v = bytes();
+            return v == null ? null : new String(v, UTF_8);
+        }
+
+        BigInteger bigInt() {
+            final byte[] v = bytes();
+            return v == null ? null : new BigInteger(v);
+        }
+    }
+}
@@ -0,0 +1,585 @@
+/*
+ * Copyright (C) by MinterTeam. 2020
+ * @link <a href="https://github.com/MinterTeam">Org Github</a>
+ * @link <a href="https://github.com/edwardstock">Maintainer Github</a>
+ *
+ * The MIT License
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package network.minter.storage;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+import network.minter.blockchain.models.BlockInfo;
+import network.minter.blockchain.models.EventList;
+import network.minter.blockchain.models.HistoryTransaction;
+import network.minter.blockchain.repo.BlockCache;
+import network.minter.core.crypto.BytesData;
+
+import static network.minter.core.internal.common.Preconditions.checkArgument;
+import static network.minter.core.internal.common.Preconditions.checkNotNull;
+
+/**
+ * minter-storage. 2020
+ * <p>
+ * Local store of blocks, their transactions and events in compact binary form (see {@link ChainCodec}).
+ * Data is appended to memory-mapped segment files (seg-000000.dat, seg-000001.dat, ...) of fixed capacity,
+ * block and all it's transactions are always written to one segment.
+ * <p>
+ * Indexes height -> block, height -> events, block hash -> block and transaction hash -> transaction are kept in memory
+ * and rebuilt on open by scanning record headers. If store wasn't closed properly, records of the last segment are
+ * verified by checksum and broken tail is cut off, so data written before last {@link #sync()} always survives.
+ * <p>
+ * Can be used as disk tier of {@link BlockCache}. Reads are concurrent, writes are exclusive.
+ *
+ * @author Eduard Maximovich [edward.vstock@gmail.com]
+ */
+public final class ChainStore implements BlockCache.Storage, Closeable {
+    /**
+     * Version of record format, stored in meta file
+     */
+    public final static int FORMAT_VERSION = 2;
+    /**
+     * Default segment capacity: 256Mb
+     */
+    public final static int DEFAULT_SEGMENT_SIZE = 256 * 1024 * 1024;
+
+    private final static byte TYPE_BLOCK = 1;
+    private final static byte TYPE_TX = 2;
+    private final static byte TYPE_EVENTS = 3;
+    private final static String META_FILE = "store.meta";
+
+    private final File mDir;
+    private final int mSegmentSize;
+    private final List<StoreSegment> mSegments = new ArrayList<>();
+    private final Map<Long, Long> mBlocks = new HashMap<>();
+    private final Map<Long, Long> mEvents = new HashMap<>();
+    private final Map<ByteBuffer, Long> mBlockHashes = new HashMap<>();
+    private final Map<ByteBuffer, Long> mTxHashes = new HashMap<>();
+    private final ReadWriteLock mLock = new ReentrantReadWriteLock();
+    private final ChainCodec.Writer mWriter = new ChainCodec.Writer(64 * 1024);
+    private long mFirstHeight = -1;
+    private long mLastHeight = -1;
+    private boolean mRecovered = false;
+    private boolean mClosed = false;
+
+    /**
+     * Open or create store with default segment size
+     * @param dir store directory, created if not exists
+     * @throws IOException
+     */
+    public ChainStore(@Nonnull File dir) throws IOException {
+        this(dir, DEFAULT_SEGMENT_SIZE);
+    }
+
+    /**
+     * Open or create store
+     * @param dir store directory, created if not exists
+     * @param segmentSize capacity of new segment files, biggest block with transactions must fit into it
+     * @throws IOException
+     */
+    public ChainStore(@Nonnull File dir, int segmentSize) throws IOException {
+        checkNotNull(dir, "Directory required");
+        checkArgument(segmentSize >= 4096, "Segment size must be at least 4096 bytes");
+        if (!dir.isDirectory() && !dir.mkdirs()) {
+            throw new IOException("Unable to create directory " + dir);
+        }
+        mDir = dir;
+        mSegmentSize = segmentSize;
+        try {
+            open();
+        } catch (IOException | RuntimeException e) {
+            closeSegments();
+            throw e;
+        }
+    }
+
+    /**
+     * @return true if store wasn't closed properly last time and it's tail was verified on open
+     */
+    public boolean isRecovered() {
+        return mRecovered;
+    }
+
+    /**
+     * Store block and it's transactions. Already stored heights are ignored
+     * @param block block
+     * @throws IOException if block doesn't fit into segment or store is closed
+     * @throws IllegalArgumentException if transaction data has unsupported class, nothing is stored in this case
+     */
+    @Override
+    public void putBlock(@Nonnull BlockInfo block) throws IOException {
+        checkNotNull(block, "Block required");
+        mLock.writeLock().lock();
+        try {
+            checkOpen();
+            if (mBlocks.containsKey(block.height)) {
+                return;
+            }
+
+            final List<HistoryTransaction> txs = block.transactions;
+            final int txCount = txs == null ? 0 : txs.size();
+            // encode all records first to know which segment they fit into
+            final ChainCodec.Writer w = mWriter;
+            w.reset();
+            final int[] bounds = new int[txCount + 2];
+            w.int64(block.height);
+            w.varLong(txs == null ? 0 : txCount + 1);
+            ChainCodec.writeBlock(w, block);
+            bounds[1] = w.size();
+            for (int i = 0; i < txCount; i++) {
+                w.int64(block.height);
+                ChainCodec.writeTransaction(w, txs.get(i));
+                bounds[i + 2] = w.size();
+            }
+
+            final StoreSegment seg = segmentFor(w.size() + (txCount + 1) * StoreSegment.HEADER_SIZE);
+            for (int i = 0; i < txCount + 1; i++) {
+                final byte type = i == 0 ? TYPE_BLOCK : TYPE_TX;
+                final int offset = seg.append(type, w.array(), bounds[i], bounds[i + 1] - bounds[i]);
+                index(seg, type, offset, seg.payload(offset));
+            }
+        } finally {
+            mLock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Store events of block. Already stored heights are ignored
+     * @param height block height
+     * @param events events
+     * @throws IOException if events don't fit into segment or store is closed
+     */
+    @Override
+    public void putEvents(long height, @Nonnull EventList events) throws IOException {
+        checkNotNull(events, "Events required");
+        mLock.writeLock().lock();
+        try {
+            checkOpen();
+            if (mEvents.containsKey(height)) {
+                return;
+            }
+            final ChainCodec.Writer w = mWriter;
+            w.reset();
+            w.int64(height);
+            ChainCodec.writeEvents(w, events);
+
+            final StoreSegment seg = segmentFor(w.size() + StoreSegment.HEADER_SIZE);
+            final int offset = seg.append(TYPE_EVENTS, w.array(), 0, w.size());
+            index(seg, TYPE_EVENTS, offset, seg.payload(offset));
+        } finally {
+            mLock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * @param height block height
+     * @return block with transactions or null if not stored
+     */
+    @Nullable
+    @Override
+    public BlockInfo getBlock(long height) throws IOException {
+        mLock.readLock().lock();
+        try {
+            checkOpen();
+            return readBlock(mBlocks.get(height));
+        } finally {
+            mLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @param hash block hash
+     * @return block with transactions or null if not stored
+     */
+    @Nullable
+    public BlockInfo getBlockByHash(@Nonnull BytesData hash) throws IOException {
+        checkNotNull(hash, "Hash required");
+        mLock.readLock().lock();
+        try {
+            checkOpen();
+            return readBlock(mBlockHashes.get(key(hash)));
+        } finally {
+            mLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @param hash transaction hash, usually {@link network.minter.core.crypto.MinterHash}
+     * @return transaction or null if not stored
+     */
+    @Nullable
+    public HistoryTransaction getTransaction(@Nonnull BytesData hash) throws IOException {
+        checkNotNull(hash, "Hash required");
+        mLock.readLock().lock();
+        try {
+            checkOpen();
+            final Long pos = mTxHashes.get(key(hash));
+            if (pos == null) {
+                return null;
+            }
+            final ChainCodec.Reader r = new ChainCodec.Reader(payload(pos));
+            r.int64();
+            return ChainCodec.readTransaction(r);
+        } finally {
+            mLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @param hash transaction hash
+     * @return height of block containing transaction or -1 if not stored
+     */
+    public long getTransactionHeight(@Nonnull BytesData hash) throws IOException {
+        checkNotNull(hash, "Hash required");
+        mLock.readLock().lock();
+        try {
+            checkOpen();
+            final Long pos = mTxHashes.get(key(hash));
+            return pos == null ? -1 : payload(pos).getLong(0);
+        } finally {
+            mLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @param height block height
+     * @return events or null if not stored
+     */
+    @Nullable
+    @Override
+    public EventList getEvents(long height) throws IOException {
+        mLock.readLock().lock();
+        try {
+            checkOpen();
+            final Long pos = mEvents.get(height);
+            if (pos == null) {
+                return null;
+            }
+            final ChainCodec.Reader r = new ChainCodec.Reader(payload(pos));
+            r.int64();
+            return ChainCodec.readEvents(r);
+        } finally {
+            mLock.readLock().unlock();
+        }
+    }
+
+    public boolean hasBlock(long height) {
+        mLock.readLock().lock();
+        try {
+            return mBlocks.containsKey(height);
+        } finally {
+            mLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @return lowest stored block height or -1 if empty
+     */
+    public long getFirstHeight() {
+        mLock.readLock().lock();
+        try {
+            return mFirstHeight;
+        } finally {
+            mLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @return highest stored block height or -1 if empty
+     */
+    public long getLastHeight() {
+        mLock.readLock().lock();
+        try {
+            return mLastHeight;
+        } finally {
+            mLock.readLock().unlock();
+        }
+    }
+
+    public int getBlocksCount() {
+        mLock.readLock().lock();
+        try {
+            return mBlocks.size();
+        } finally {
+            mLock.readLock().unlock();
+        }
+    }
+
+    public int getTransactionsCount() {
+        mLock.readLock().lock();
+        try {
+            return mTxHashes.size();
+        } finally {
+            mLock.readLock().unlock();
+        }
+    }
+
+    public int getSegmentsCount() {
+        mLock.readLock().lock();
+        try {
+            return mSegments.size();
+        } finally {
+            mLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Flush written data to disk. Data written before sync survives process or system crash
+     */
+    public void sync() throws IOException {
+        mLock.writeLock().lock();
+        try {
+            checkOpen();
+            if (!mSegments.isEmpty()) {
+                mSegments.get(mSegments.size() - 1).sync();
+            }
+        } finally {
+            mLock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Flush data and mark store as properly closed, so next open doesn't verify it
+     */
+    @Override
+    public void close() throws IOException {
+        mLock.writeLock().lock();
+        try {
+            if (mClosed) {
+                return;
+            }
+            mClosed = true;
+            closeSegments();
+            writeMeta();
+        } finally {
+            mLock.writeLock().unlock();
+        }
+    }
+
+    private void open() throws IOException {
+        final File meta = new File(mDir, META_FILE);
+        final boolean clean = readMeta(meta);
+        // store is dirty until closed
+        if (meta.exists() && !meta.delete()) {
+            throw new IOException("Unable to delete " + meta);
+        }
+
+        for (int i = 0; ; i++) {
+            final File file = segmentFile(i);
+            if (!file.exists()) {
+                break;
+            }
+            mSegments.add(new StoreSegment(file, i, mSegmentSize));
+        }
+
+        for (int i = 0; i < mSegments.size(); i++) {
+            final StoreSegment seg = mSegments.get(i);
+            if (!clean && i == mSegments.size() - 1) {
+                recover(seg);
+            }
+            seg.scan(false, (type, offset, payload) -> index(seg, type, offset, payload));
+        }
+    }
+
+    /**
+     * Cut off records broken by crash, including block which didn't get all of it's transactions written
+     */
+    private void recover(StoreSegment seg) {
+        mRecovered = true;
+        final GroupTracker tracker = new GroupTracker();
+        final boolean valid = seg.scan(true, tracker);
+        if (tracker.mTxLeft > 0) {
+            seg.truncate(tracker.mGroupOffset);
+            seg.sync();
+        } else if (!valid) {
+            seg.clearTail();
+            seg.sync();
+        }
+    }
+
+    private boolean readMeta(File meta) throws IOException {
+        if (!meta.exists()) {
+            return false;
+        }
+        try (RandomAccessFile f = new RandomAccessFile(meta, "r")) {
+            final int version = f.readInt();
+            if (version != FORMAT_VERSION) {
+                throw new IOException(String.format(Locale.US, "Unsupported store format version %d, expected %d", version, FORMAT_VERSION));
+            }
+            return f.readBoolean();
+        }
+    }
+
+    private void writeMeta() throws IOException {
+        try (FileOutputStream out = new FileOutputStream(new File(mDir, META_FILE))) {
+            final ByteBuffer buf = ByteBuffer.allocate(5);
+            buf.putInt(FORMAT_VERSION).put((byte) 1);
+            out.write(buf.array());
+            out.getFD().sync();
+        }
+    }
+
+    private void index(StoreSegment seg, byte type, int offset, ByteBuffer payload) {
+        final long pos = position(seg.getIndex(), offset);
+        final ChainCodec.Reader r = new ChainCodec.Reader(payload);
+        final long height = r.int64();
+        switch (type) {
+            case TYPE_BLOCK:
+                r.varLong();
+                mBlocks.put(height, pos);
+                indexHash(mBlockHashes, r.bytes(), pos);
+                mFirstHeight = mFirstHeight < 0 ? height : Math.min(mFirstHeight, height);
+                mLastHeight = Math.max(mLastHeight, height);
+                break;
+            case TYPE_TX:
+                indexHash(mTxHashes, r.bytes(), pos);
+                break;
+            case TYPE_EVENTS:
+                mEvents.put(height, pos);
+                break;
+            default:
+                // unknown record of newer version, skip it
+                break;
+        }
+    }
+
+    private static void indexHash(Map<ByteBuffer, Long> index, byte[] hash, long pos) {
+        if (hash != null && hash.length > 0) {
+            index.put(ByteBuffer.wrap(hash), pos);
+        }
+    }
+
+    private BlockInfo readBlock(Long pos) {
+        if (pos == null) {
+            return null;
+        }
+        final StoreSegment seg = mSegments.get(segmentIndex(pos));
+        int offset = (int) (long) pos;
+        final ChainCodec.Reader r = new ChainCodec.Reader(seg.payload(offset));
+        r.int64();
+        final int txCount = (int) r.varLong() - 1;
+        final BlockInfo block = ChainCodec.readBlock(r);
+        if (txCount >= 0) {
+            block.transactions = new ArrayList<>(txCount);
+            // transactions directly follow their block
+            for (int i = 0; i < txCount; i++) {
+                offset = seg.next(offset);
+                final ChainCodec.Reader tr = new ChainCodec.Reader(seg.payload(offset));
+                tr.int64();
+                block.transactions.add(ChainCodec.readTransaction(tr));
+            }
+        }
+        return block;
+    }
+
+    private StoreSegment segmentFor(int size) throws IOException {
+        if (size > mSegmentSize) {
+            throw new IOException(String.format(Locale.US, "Record group of %d bytes doesn't fit into segment of %d bytes", size, mSegmentSize));
+        }
+        if (!mSegments.isEmpty()) {
+            final StoreSegment last = mSegments.get(mSegments.size() - 1);
+            if (last.remaining() >= size) {
+                return last;
+            }
+            // sealed segment is never written again
+            last.sync();
+        }
+        final StoreSegment seg = new StoreSegment(segmentFile(mSegments.size()), mSegments.size(), mSegmentSize);
+        mSegments.add(seg);
+        return seg;
+    }
+
+    private ByteBuffer payload(long pos) {
+        return mSegments.get(segmentIndex(pos)).payload((int) pos);
+    }
+
+    private File segmentFile(int index) {
+        return new File(mDir, String.format(Locale.US, "seg-%06d.dat", index));
+    }
+
+    private void checkOpen() throws IOException {
+        if (mClosed) {
+            throw new IOException("Store is closed");
+        }
+    }
+
+    private void closeSegments() throws IOException {
+        IOException error = null;
+        for (StoreSegment seg : mSegments) {
+            try {
+                seg.close();
+            } catch (IOException e) {
+                error = e;
+            }
+        }
+        if (error != null) {
+            throw error;
+        }
+    }
+
+    /**
+     * Finds last block record which is not followed by all of it's transactions
+     */
+    private static final class GroupTracker implements StoreSegment.RecordVisitor {
+        private int mGroupOffset = -1;
+        private long mTxLeft = 0;
+
+        @Override
+        public void onRecord(byte type, int offset, ByteBuffer payload) {
+            if (type == TYPE_BLOCK) {
+                final ChainCodec.Reader r = new ChainCodec.Reader(payload);
+                r.int64();
+                mGroupOffset = offset;
+                mTxLeft = Math.max(0, r.varLong() - 1);
+            } else if (type == TYPE_TX && mTxLeft > 0) {
+                mTxLeft--;
+            }
+        }
+    }
+
+    private static ByteBuffer key(BytesData hash) {
+        return ByteBuffer.wrap(hash.getBytesView());
+    }
+
+    private static long position(int segment, int offset) {
+        return ((long) segment << 32) | (offset & 0xFFFFFFFFL);
+    }
+
+    private static int segmentIndex(long pos) {
+        return (int) (pos >>> 32);
+    }
+}
@@ -0,0 +1,203 @@
+/*
+ * Copyright (C) by MinterTeam. 2020
+ * @link <a href="https://github.com/MinterTeam">Org Github</a>
+ * @link <a href="https://github.com/edwardstock">Maintainer Github</a>
+ *
+ * The MIT License
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package network.minter.storage;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.zip.CRC32;
+
+/**
+ * minter-storage. 2020
+ * <p>
+ * One memory-mapped data file of {@link ChainStore}. Records are appended one after another:
+ * [type: 1 byte][payload length: int32][payload crc32: int32][payload]. Type 0 marks end of data,
+ * so unused tail of preallocated file (zeroes) is not a record.
+ * <p>
+ * Not thread safe, synchronized by store.
+ *
+ * @author Eduard Maximovich [edward.vstock@gmail.com]
+ */
+final class StoreSegment implements Closeable {
+    final static int HEADER_SIZE = 1 + 4 + 4;
+    final static byte TYPE_END = 0;
+
+    private final int mIndex;
+    private final RandomAccessFile mFile;
+    private final MappedByteBuffer mMap;
+    private int mSize = 0;
+
+    interface RecordVisitor {
+        void onRecord(byte type, int offset, ByteBuffer payload);
+    }
+
+    StoreSegment(File file, int index, int capacity) throws IOException {
+        mIndex = index;
+        mFile = new RandomAccessFile(file, "rw");
+        try {
+            // existing segment may be created with different capacity
+            final long size = Math.max(capacity, mFile.length());
+            mMap = mFile.getChannel().map(FileChannel.MapMode.READ_WRITE, 0, size);
+        } catch (IOException e) {
+            mFile.close();
+            throw e;
+        }
+    }
+
+    int getIndex() {
+        return mIndex;
+    }
+
+    int getSize() {
+        return mSize;
+    }
+
+    int getCapacity() {
+        return mMap.capacity();
+    }
+
+    int remaining() {
+        return mMap.capacity() - mSize;
+    }
+
+    /**
+     * Walk records from the beginning and set write position after the last one
+     * @param verify check payload checksums and stop at first broken record
+     * @param visitor receives every valid record
+     * @return true if all data is valid, false if broken tail was found and cut off
+     */
+    boolean scan(boolean verify, RecordVisitor visitor) {
+        final ByteBuffer buf = mMap.duplicate();
+        final CRC32 crc = new CRC32();
+        int pos = 0;
+        boolean clean = true;
+        while (pos + HEADER_SIZE <= buf.capacity()) {
+            final byte type = buf.get(pos);
+            if (type == TYPE_END) {
+                break;
+            }
+            final int length = buf.getInt(pos + 1);
+            final int checksum = buf.getInt(pos + 5);
+            final int start = pos + HEADER_SIZE;
+            if (length < 0 || length > buf.capacity() - start) {
+                clean = false;
+                break;
+            }
+            final ByteBuffer payload = slice(buf, start, length);
+            if (verify) {
+                crc.reset();
+                crc.update(slice(buf, start, length));
+                if ((int) crc.getValue() != checksum) {
+                    clean = false;
+                    break;
+                }
+            }
+            visitor.onRecord(type, pos, payload);
+            pos = start + length;
+        }
+        mSize = pos;
+        return clean;
+    }
+
+    /**
+     * Zero everything after write position, so broken record leftovers will never be read as data
+     */
+    void clearTail() {
+        truncate(mSize);
+    }
+
+    /**
+     * Drop records starting from given offset and zero the space they used
+     */
+    void truncate(int offset) {
+        mSize = offset;
+        final byte[] zeroes = new byte[8192];
+        final ByteBuffer buf = mMap.duplicate();
+        buf.position(mSize);
+        while (buf.hasRemaining()) {
+            buf.put(zeroes, 0, Math.min(zeroes.length, buf.remaining()));
+        }
+    }
+
+    /**
+     * @return offset of written record
+     */
+    int append(byte type, byte[] data, int offset, int length) {
+        final int pos = mSize;
+        final CRC32 crc = new CRC32();
+        crc.update(data, offset, length);
+
+        final ByteBuffer buf = mMap.duplicate();
+        buf.position(pos + 1);
+        buf.putInt(length);
+        buf.putInt((int) crc.getValue());
+        buf.put(data, offset, length);
+        // type goes last: until it's set, reader sees end of data here
+        buf.put(pos, type);
+        mSize = pos + HEADER_SIZE + length;
+        return pos;
+    }
+
+    byte type(int offset) {
+        return mMap.get(offset);
+    }
+
+    /**
+     * @return offset of record following given one
+     */
+    int next(int offset) {
+        return offset + HEADER_SIZE + mMap.getInt(offset + 1);
+    }
+
+    /**
+     * @return independent view of record payload
+     */
+    ByteBuffer payload(int offset) {
+        return slice(mMap, offset + HEADER_SIZE, mMap.getInt(offset + 1));
+    }
+
+    void sync() {
+        mMap.force();
+    }
+
+    @Override
+    public void close() throws IOException {
+        mMap.force();
+        mFile.close();
+    }
+
+    private static ByteBuffer slice(ByteBuffer src, int offset, int length) {
+        final ByteBuffer out = src.duplicate();
+        out.limit(offset + length);
+        out.position(offset);
+        return out.slice();
+    }
+}
@@ -0,0 +1,305 @@
+package network.minter.storage;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.RandomAccessFile;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Collections;
+
+import network.minter.blockchain.MinterBlockChainApi;
+import network.minter.blockchain.models.BlockInfo;
+import network.minter.blockchain.models.EventList;
+import network.minter.blockchain.models.HistoryTransaction;
+import network.minter.blockchain.repo.BlockChainTransactionRepository;
+import network.minter.core.crypto.BytesData;
+import network.minter.core.crypto.MinterAddress;
+import network.minter.core.crypto.MinterHash;
+import network.minter.core.crypto.MinterPublicKey;
+import network.minter.core.internal.log.StdLogger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * minter-storage. 2020
+ * @author Eduard Maximovich [edward.vstock@gmail.com]
+ */
+public class ChainStoreTest {
+    private static final MinterAddress ADDRESS = new MinterAddress("Mxee81347211c72524338f9680072af90744333146");
+    private static final MinterPublicKey PUB_KEY = new MinterPublicKey("Mp4ae1ee73e6136c85b0ca933a9a1347758a334885f10b3238398a67ac2eb153b8");
+    private static final String BLOCK_JSON = "{\"hash\":\"3f5d2e1a\",\"height\":\"12\",\"time\":\"2019-06-01T10:00:00Z\",\"num_txs\":\"2\"," +
+            "\"total_txs\":\"100\",\"block_reward\":\"333000000000000000000\",\"size\":\"1234\",\"transactions\":[" +
+            "{\"hash\":\"Mt1ab5b2b25d1c8e98fd8b0f1ad4a1e5f4a3d2c1b0a9f8e7d6c5b4a39281706050\",\"raw_tx\":\"f88301\"," +
+            "\"from\":\"Mxeeee1973381ab793719fff497b9a516719fcd5a2\",\"nonce\":\"5\",\"gas_price\":1,\"gas_coin\":\"MNT\",\"gas\":10," +
+            "\"type\":1,\"data\":{\"coin\":\"MNT\",\"to\":\"Mx06431236daf96979aa6cdf470a7df26430ad8efb\",\"value\":\"1000000000000000000\"}," +
+            "\"payload\":\"\",\"tags\":{\"tx.type\":\"01\"}}," +
+            "{\"hash\":\"Mt2ab5b2b25d1c8e98fd8b0f1ad4a1e5f4a3d2c1b0a9f8e7d6c5b4a39281706050\"," +
+            "\"from\":\"Mxeeee1973381ab793719fff497b9a516719fcd5a2\",\"nonce\":\"6\",\"type\":7,\"gas_price\":1,\"gas_coin\":\"MNT\",\"gas\":200," +
+            "\"data\":{\"pub_key\":\"Mp0208f8a2bd535f65ecbe4b057b3b3c5fbfae6a3ff3c8b1e4a2b4b3fdf2e66c0a\",\"coin\":\"MNT\",\"value\":\"15\"}," +
+            "\"payload\":null}]}";
+
+    @Rule
+    public TemporaryFolder mTmp = new TemporaryFolder();
+
+    private static GsonBuilder gsonBuilder() {
+        return MinterBlockChainApi.createInstance("http://localhost:8841/", false, new StdLogger()).getGsonBuilder();
+    }
+
+    private static byte[] hash(long height, int index) {
+        byte[] out = new byte[32];
+        for (int i = 0; i < 8; i++) {
+            out[i] = (byte) (height >>> (i * 8));
+        }
+        out[8] = (byte) index;
+        out[31] = (byte) (index == 0 ? 0xB : 0x7);
+        return out;
+    }
+
+    private static BlockInfo block(long height, int txCount) {
+        BlockInfo block = new BlockInfo();
+        block.hash = new BytesData(hash(height, 0));
+        block.height = height;
+        block.time = "2020-01-01T00:00:00Z";
+        block.size = String.valueOf(height * 10);
+        block.numTxs = BigInteger.valueOf(txCount);
+        block.blockReward = new BigInteger("333000000000000000000");
+        block.proposer = PUB_KEY;
+        block.transactions = new ArrayList<>();
+
+        for (int i = 1; i <= txCount; i++) {
+            HistoryTransaction tx = new HistoryTransaction();
+            tx.hash = new MinterHash(hash(height, i));
+            tx.from = ADDRESS;
+            tx.nonce = BigInteger.valueOf(i);
+            tx.gasPrice = 1;
+            tx.type = HistoryTransaction.Type.Send;
+            tx.gasCoin = "MNT";
+            tx.tags = Collections.singletonMap("tx.type", "01");
+            HistoryTransaction.TxSendCoinResult data = new HistoryTransaction.TxSendCoinResult();
+            data.to = ADDRESS;
+            data.coin = "MNT";
+            data.amount = new BigInteger("1000000000000000000").multiply(BigInteger.valueOf(i));
+            tx.data = data;
+            block.transactions.add(tx);
+        }
+        return block;
+    }
+
+    private static EventList events(long height) {
+        EventList events = new EventList();
+        events.events = new ArrayList<>();
+        EventList.EventItem item = new EventList.EventItem();
+        item.type = EventList.Type.Reward;
+        EventList.RewardEvent reward = new EventList.RewardEvent();
+        reward.address = ADDRESS;
+        reward.validatorPublicKey = PUB_KEY;
+        reward.amount = BigInteger.valueOf(height);
+        reward.role = "DAO";
+        item.value = reward;
+        events.events.add(item);
+        return events;
+    }
+
+    @Test
+    public void testRoundTrip() throws Exception {
+        File dir = mTmp.newFolder("chain");
+        try (ChainStore store = new ChainStore(dir, 1024 * 1024)) {
+            for (long h = 10; h < 60; h++) {
+                store.putBlock(block(h, (int) (h % 4)));
+                store.putEvents(h, events(h));
+            }
+            // already stored
+            store.putBlock(block(10, 3));
+
+            assertEquals(50, store.getBlocksCount());
+            assertEquals(10, store.getFirstHeight());
+            assertEquals(59, store.getLastHeight());
+            assertNull(store.getBlock(60));
+            assertNull(store.getEvents(9));
+
+            BlockInfo block = store.getBlock(43);
+            assertNotNull(block);
+            assertEquals(43, block.height);
+            assertEquals("430", block.size);
+            assertEquals(new BytesData(hash(43, 0)), block.hash);
+            assertEquals(PUB_KEY, block.proposer);
+            assertEquals(new BigInteger("333000000000000000000"), block.blockReward);
+            assertEquals(3, block.transactions.size());
+
+            HistoryTransaction tx = block.transactions.get(2);
+            assertEquals(ADDRESS, tx.from);
+            assertEquals(BigInteger.valueOf(3), tx.nonce);
+            assertEquals(HistoryTransaction.Type.Send, tx.type);
+            assertEquals("01", tx.tags.get("tx.type"));
+            HistoryTransaction.TxSendCoinResult data = (HistoryTransaction.TxSendCoinResult) tx.data;
+            assertEquals(new BigInteger("3000000000000000000"), data.amount);
+
+            // empty block keeps empty list
+            assertTrue(store.getBlock(44).transactions.isEmpty());
+
+            EventList events = store.getEvents(43);
+            assertNotNull(events);
+            assertEquals(EventList.Type.Reward, events.events.get(0).type);
+            EventList.RewardEvent reward = (EventList.RewardEvent) events.events.get(0).value;
+            assertEquals(BigInteger.valueOf(43), reward.amount);
+            assertEquals("DAO", reward.role);
+        }
+    }
+
+    @Test
+    public void testHashLookup() throws Exception {
+        try (ChainStore store = new ChainStore(mTmp.newFolder("chain"), 1024 * 1024)) {
+            for (long h = 1; h <= 20; h++) {
+                store.putBlock(block(h, 2));
+            }
+            assertEquals(40, store.getTransactionsCount());
+
+            HistoryTransaction tx = store.getTransaction(new MinterHash(hash(17, 2)));
+            assertNotNull(tx);
+            assertEquals(BigInteger.valueOf(2), tx.nonce);
+            assertEquals(17, store.getTransactionHeight(new MinterHash(hash(17, 2))));
+
+            BlockInfo block = store.getBlockByHash(new BytesData(hash(5, 0)));
+            assertNotNull(block);
+            assertEquals(5, block.height);
+
+            assertNull(store.getTransaction(new MinterHash(hash(21, 1))));
+            assertEquals(-1, store.getTransactionHeight(new MinterHash(hash(21, 1))));
+        }
+    }
+
+    @Test
+    public void testReopenAndSegmentRoll() throws Exception {
+        File dir = mTmp.newFolder("chain");
+        try (ChainStore store = new ChainStore(dir, 8192)) {
+            for (long h = 1; h <= 100; h++) {
+                store.putBlock(block(h, 3));
+                store.putEvents(h, events(h));
+            }
+            assertTrue(store.getSegmentsCount() > 1);
+            assertFalse(store.isRecovered());
+        }
+
+        try (ChainStore store = new ChainStore(dir, 8192)) {
+            assertFalse(store.isRecovered());
+            assertEquals(100, store.getBlocksCount());
+            assertEquals(300, store.getTransactionsCount());
+            for (long h = 1; h <= 100; h++) {
+                BlockInfo block = store.getBlock(h);
+                assertNotNull(block);
+                assertEquals(h, block.height);
+                assertEquals(3, block.transactions.size());
+                assertNotNull(store.getEvents(h));
+            }
+            assertEquals(77, store.getTransactionHeight(new MinterHash(hash(77, 3))));
+
+            // appending continues after reopen
+            store.putBlock(block(101, 1));
+            assertEquals(101, store.getLastHeight());
+        }
+    }
+
+    @Test
+    public void testTornTailRecovery() throws Exception {
+        File dir = mTmp.newFolder("chain");
+        ChainStore store = new ChainStore(dir, 64 * 1024);
+        for (long h = 1; h <= 10; h++) {
+            store.putBlock(block(h, 2));
+        }
+        store.sync();
+        // simulate crash: store is never closed, last transaction record of block 10 is damaged
+        File segment = new File(dir, "seg-000000.dat");
+        long lastTxOffset;
+        try (RandomAccessFile f = new RandomAccessFile(segment, "rw")) {
+            long pos = 0;
+            long prev = 0;
+            while (f.length() > pos + 9) {
+                f.seek(pos);
+                if (f.readByte() == 0) {
+                    break;
+                }
+                prev = pos;
+                pos += 9 + f.readInt();
+            }
+            lastTxOffset = prev;
+            f.seek(lastTxOffset + 9);
+            f.writeByte(0xFF);
+        }
+
+        try (ChainStore recovered = new ChainStore(dir, 64 * 1024)) {
+            assertTrue(recovered.isRecovered());
+            // whole block 10 dropped, as it lost one of it's transactions
+            assertEquals(9, recovered.getBlocksCount());
+            assertEquals(9, recovered.getLastHeight());
+            assertNull(recovered.getBlock(10));
+            assertNull(recovered.getTransaction(new MinterHash(hash(10, 1))));
+            assertEquals(2, recovered.getBlock(9).transactions.size());
+
+            // space is reused
+            recovered.putBlock(block(10, 2));
+            assertEquals(2, recovered.getBlock(10).transactions.size());
+        }
+
+        try (ChainStore reopened = new ChainStore(dir, 64 * 1024)) {
+            assertFalse(reopened.isRecovered());
+            assertEquals(10, reopened.getBlocksCount());
+        }
+    }
+
+    @Test
+    public void testRoundTripParsedBlock() throws Exception {
+        // the same adapters as block repository uses
+        final Gson gson = gsonBuilder()
+                .registerTypeAdapterFactory(new BlockChainTransactionRepository.HistoryTransactionDeserializer())
+                .create();
+        final BlockInfo parsed = gson.fromJson(BLOCK_JSON, BlockInfo.class);
+
+        File dir = mTmp.newFolder("parsed");
+        try (ChainStore store = new ChainStore(dir, 1024 * 1024)) {
+            store.putBlock(parsed);
+        }
+        try (ChainStore store = new ChainStore(dir, 1024 * 1024)) {
+            final BlockInfo block = store.getBlock(12);
+            assertNotNull(block);
+            assertEquals(2, block.transactions.size());
+            assertEquals(gson.toJson(parsed), gson.toJson(block));
+
+            final HistoryTransaction send = block.transactions.get(0);
+            assertTrue(send.data instanceof HistoryTransaction.TxSendCoinResult);
+            assertEquals("MNT", ((HistoryTransaction.TxSendCoinResult) send.data).coin);
+            assertEquals(new BigInteger("1000000000000000000"), ((HistoryTransaction.TxSendCoinResult) send.data).amount);
+            final HistoryTransaction delegate = block.transactions.get(1);
+            assertTrue(delegate.data instanceof HistoryTransaction.TxDelegateUnbondResult);
+            assertEquals("15", ((HistoryTransaction.TxDelegateUnbondResult) delegate.data).value);
+        }
+    }
+
+    @Test
+    public void testRejectsUntypedTransactionData() throws Exception {
+        // parsed without history transaction adapter: data has no concrete type
+        final BlockInfo parsed = gsonBuilder().create().fromJson(BLOCK_JSON, BlockInfo.class);
+        assertEquals(HistoryTransaction.TxBaseResult.class, parsed.transactions.get(0).data.getClass());
+
+        File dir = mTmp.newFolder("untyped");
+        try (ChainStore store = new ChainStore(dir, 1024 * 1024)) {
+            try {
+                store.putBlock(parsed);
+                fail("Data without payload must not be stored");
+            } catch (IllegalArgumentException expected) {
+            }
+            assertEquals(0, store.getBlocksCount());
+            assertNull(store.getBlock(12));
+        }
+    }
+}